@@ -0,0 +1,78 @@
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import model.calendar.Calendar;
+import model.event.CalendarEvent;
+import model.event.SingleEvent;
+
+/**
+ * A small stand-alone benchmark that measures how long {@code Calendar.query} takes for a
+ * one-week window as the calendar grows. Run it with the calendar sizes to try as arguments,
+ * for example {@code java CalendarQueryBenchmark 1000 10000 100000 1000000}.
+ */
+public class CalendarQueryBenchmark {
+  private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+  private static final int WARMUP_QUERIES = 20_000;
+  private static final int MEASURED_QUERIES = 20_000;
+  private static final LocalDateTime FIRST_EVENT = LocalDateTime.of(2000, 1, 3, 9, 0);
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the calendar sizes (number of events) to measure.
+   */
+  public static void main(String[] args) {
+    int[] sizes = args.length == 0 ? DEFAULT_SIZES
+            : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+    System.out.println("events\tmedian (us)\tp99 (us)\tavg hits");
+    for (int size : sizes) {
+      Calendar calendar = new PrefilledCalendar(makeEvents(size));
+      Random random = new Random(size);
+
+      for (int i = 0; i < WARMUP_QUERIES; i++) {
+        queryRandomWeek(calendar, random, size);
+      }
+
+      long[] nanos = new long[MEASURED_QUERIES];
+      long hits = 0;
+      for (int i = 0; i < MEASURED_QUERIES; i++) {
+        long before = System.nanoTime();
+        hits += queryRandomWeek(calendar, random, size);
+        nanos[i] = System.nanoTime() - before;
+      }
+      Arrays.sort(nanos);
+
+      System.out.printf("%d\t%.2f\t%.2f\t%.1f%n", size, nanos[nanos.length / 2] / 1000.0,
+              nanos[nanos.length * 99 / 100] / 1000.0, (double) hits / MEASURED_QUERIES);
+    }
+  }
+
+  // One event every six hours, so a week always holds about 28 events whatever the size
+  private static Set<CalendarEvent> makeEvents(int size) {
+    Set<CalendarEvent> events = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      LocalDateTime start = FIRST_EVENT.plusHours(6L * i);
+      events.add(new SingleEvent.Builder("Event " + i, start, start.plusHours(1)).build());
+    }
+    return events;
+  }
+
+  private static int queryRandomWeek(Calendar calendar, Random random, int size) {
+    LocalDateTime start = FIRST_EVENT.plusHours(6L * random.nextInt(size));
+    return calendar.query(start, start.plusWeeks(1)).size();
+  }
+
+  /**
+   * A calendar that starts out with a given set of events, skipping the duplicate checks that
+   * {@code addEvent} would do for each one.
+   */
+  private static class PrefilledCalendar extends Calendar {
+    PrefilledCalendar(Set<CalendarEvent> events) {
+      super(events);
+    }
+  }
+}
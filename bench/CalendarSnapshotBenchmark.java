@@ -0,0 +1,72 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+import model.application.CalendarManager;
+import model.calendar.IBetterCalendar;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+
+/**
+ * A small stand-alone benchmark that measures how long it takes to save a {@code CalendarManager}
+ * to a snapshot file and to load it back. Run it with the total number of events and the number
+ * of calendars to spread them over, for example
+ * {@code java CalendarSnapshotBenchmark 1000000 4}. Every tenth event is a weekly series of ten.
+ */
+public class CalendarSnapshotBenchmark {
+  private static final int ROUNDS = 5;
+  private static final LocalDateTime FIRST_EVENT = LocalDateTime.of(2000, 1, 3, 9, 0);
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the number of events, then the number of calendars.
+   * @throws IOException if the snapshot file cannot be written or read.
+   */
+  public static void main(String[] args) throws IOException {
+    int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int calendars = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+    CalendarManager manager = new CalendarManager();
+    for (int c = 0; c < calendars; c++) {
+      manager.createCalendar("Calendar " + c, "America/New_York");
+      fill(manager.getCalendar("Calendar " + c), events / calendars);
+    }
+
+    Path file = Files.createTempFile("calendars", ".snapshot");
+    try {
+      System.out.println("round\tsave (ms)\tload (ms)\tsize (MB)");
+      for (int round = 1; round <= ROUNDS; round++) {
+        long before = System.nanoTime();
+        manager.writeSnapshot(file);
+        long saved = System.nanoTime();
+        CalendarManager.readSnapshot(file, false);
+        long loaded = System.nanoTime();
+        System.out.printf("%d\t%.1f\t%.1f\t%.1f%n", round, (saved - before) / 1e6,
+                (loaded - saved) / 1e6, Files.size(file) / 1e6);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  // Events an hour apart with a few subjects, so subjects repeat the way they do in real use
+  private static void fill(IBetterCalendar calendar, int count) {
+    int added = 0;
+    for (int i = 0; added < count; i++) {
+      LocalDateTime start = FIRST_EVENT.plusHours(i);
+      if (i % 100 == 0 && count - added >= 10) {
+        calendar.addEvent(new RecurringEventSeries(new SingleEvent.Builder("Weekly " + i,
+                start.plusMinutes(30), start.plusMinutes(45)).build(), 10,
+                start.getDayOfWeek()));
+        added += 10;
+      } else {
+        calendar.addEvent(new SingleEvent.Builder("Meeting " + i % 50, start,
+                start.plusMinutes(30)).description("Room " + i % 20).build());
+        added++;
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A stand-alone load generator for the calendar's server mode. It opens many connections at once
+ * to a running server, and each one creates its own calendar and then repeatedly creates an event
+ * and asks for the status at that time. Run it as
+ * {@code java CommandServerLoadGenerator <port> [clients] [requests per client]} against a server
+ * started with {@code --mode server --port <port>}.
+ */
+public class CommandServerLoadGenerator {
+  private static final int DEFAULT_CLIENTS = 1_000;
+  private static final int DEFAULT_REQUESTS = 100;
+  private static final LocalDateTime FIRST_EVENT = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+  /**
+   * Runs the load generator.
+   *
+   * @param args the server port, then optionally the number of clients and requests per client.
+   * @throws Exception if the server cannot be reached.
+   */
+  public static void main(String[] args) throws Exception {
+    int port = Integer.parseInt(args[0]);
+    int clients = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CLIENTS;
+    int requests = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUESTS;
+
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    AtomicLong errors = new AtomicLong();
+    List<Future<long[]>> results = new ArrayList<>();
+    long before = System.nanoTime();
+    for (int client = 0; client < clients; client++) {
+      // Named by the start time as well, so running again on the same server makes new calendars
+      String calendar = "Load" + before + "-" + client;
+      results.add(executor.submit(() -> runClient(port, calendar, requests, errors)));
+    }
+
+    long[] nanos = new long[clients * requests];
+    int index = 0;
+    for (Future<long[]> result : results) {
+      for (long latency : result.get()) {
+        nanos[index++] = latency;
+      }
+    }
+    double seconds = (System.nanoTime() - before) / 1e9;
+    executor.shutdown();
+    Arrays.sort(nanos);
+
+    System.out.println("clients\trequests/s\tmedian (us)\tp99 (us)\terrors");
+    System.out.printf("%d\t%.0f\t%.2f\t%.2f\t%d%n", clients, nanos.length / seconds,
+            nanos[nanos.length / 2] / 1000.0, nanos[nanos.length * 99 / 100] / 1000.0,
+            errors.get());
+  }
+
+  // Returns how long each request took, from sending its commands to reading its status
+  private static long[] runClient(int port, String calendar, int requests,
+                                  AtomicLong errors)
+          throws IOException {
+    long[] nanos = new long[requests];
+    try (Socket socket = new Socket("localhost", port);
+         PrintWriter out = new PrintWriter(socket.getOutputStream(), true,
+                 StandardCharsets.UTF_8);
+         BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                 StandardCharsets.UTF_8))) {
+      socket.setTcpNoDelay(true);
+      out.println("create calendar --name " + calendar + " --timezone America/New_York");
+      out.println("use calendar --name " + calendar);
+      for (int i = 0; i < requests; i++) {
+        LocalDateTime start = FIRST_EVENT.plusHours(2L * i);
+        long before = System.nanoTime();
+        out.println("create event \"Load " + i + "\" from " + start + " to "
+                + start.plusHours(1));
+        out.println("show status on " + start.plusMinutes(30));
+        String line;
+        while ((line = in.readLine()) != null && !line.startsWith("Status is")) {
+          if (line.startsWith("Error")) {
+            errors.incrementAndGet();
+          }
+        }
+        nanos[i] = System.nanoTime() - before;
+      }
+      out.println("exit");
+    }
+    return nanos;
+  }
+}
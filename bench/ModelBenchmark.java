@@ -0,0 +1,331 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import model.application.CalendarManager;
+import model.application.ICalendarManager;
+import model.calendar.IBetterCalendar;
+import model.event.CalendarEvent;
+import model.event.EventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+
+/**
+ * A stand-alone benchmark of every public {@code ICalendar} and {@code ICalendarManager}
+ * operation, and of building an {@code EventSeries}, on calendars of several sizes. Each size is
+ * tried with two mixes of events: "single", where nine in ten occurrences are single events, and
+ * "series", where nine in ten belong to a series. For each operation it prints the throughput, the
+ * median and 99th percentile latency, the bytes allocated per operation, and the garbage
+ * collections while it was measured. Run it with the sizes (in occurrences) and mixes to try, for
+ * example {@code java -Xmx4g ModelBenchmark 1000 1000000 series}; with no arguments every size
+ * from a thousand to a million is tried with both mixes.
+ */
+public class ModelBenchmark {
+  private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+  private static final List<String> MIXES = List.of("single", "series");
+  private static final long WARMUP_NANOS = 500_000_000L;
+  private static final long MEASURED_NANOS = 1_000_000_000L;
+  private static final int MAX_SAMPLES = 1 << 20;
+  // Inputs are made before measuring, so making them is not counted, and reused in turn
+  private static final int INPUTS = 4096;
+  private static final LocalDateTime FIRST_EVENT = LocalDateTime.of(2000, 1, 3, 9, 0);
+  private static final String ZONE = "America/New_York";
+  private static final DayOfWeek[] DAYS = {DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY};
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private static long results;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the calendar sizes, in occurrences, and the mixes to measure.
+   */
+  public static void main(String[] args) {
+    int[] sizes = Arrays.stream(args).filter(arg -> !MIXES.contains(arg))
+            .mapToInt(Integer::parseInt).toArray();
+    List<String> mixes = Arrays.stream(args).filter(MIXES::contains).toList();
+
+    System.out.println("size\tmix\toperation\tops/s\tmedian (us)\tp99 (us)\tB/op\tGCs\tGC (ms)");
+    for (int size : sizes.length == 0 ? DEFAULT_SIZES : sizes) {
+      for (String mix : mixes.isEmpty() ? MIXES : mixes) {
+        new ModelBenchmark(size, mix).run();
+      }
+    }
+  }
+
+  /**
+   * One of the operations measured.
+   */
+  private interface Operation {
+    // The invocation number picks which of the prepared inputs to use
+    Object run(int invocation);
+  }
+
+  private final int size;
+  private final String mix;
+  private final ICalendarManager manager;
+  private final IBetterCalendar calendar;
+  // Hours from the first event to the last one
+  private long span;
+  private final List<ISingleEvent> singles = new ArrayList<>();
+  private final List<ISingleEvent> seriesEvents = new ArrayList<>();
+  private final List<ISingleEvent> seriesStarts = new ArrayList<>();
+  private final LocalDateTime[] times = new LocalDateTime[INPUTS];
+  private final ISingleEvent[] newEvents = new ISingleEvent[INPUTS];
+  private final IRecurringEventSeries[] newSeries = new IRecurringEventSeries[INPUTS];
+
+  private ModelBenchmark(int size, String mix) {
+    this.size = size;
+    this.mix = mix;
+    this.manager = new CalendarManager();
+    manager.createCalendar("Bench", ZONE);
+    manager.createCalendar("Target", ZONE);
+    manager.setCalendarInUse("Bench");
+    this.calendar = manager.getCurrentCalendar();
+    fill();
+
+    Random random = new Random(size);
+    for (int i = 0; i < INPUTS; i++) {
+      times[i] = FIRST_EVENT.plusHours(random.nextInt((int) span))
+              .plusMinutes(random.nextInt(60));
+      // Series need events that end on the day they start
+      LocalDateTime start = times[i].withHour(Math.min(times[i].getHour(), 22));
+      newEvents[i] = new SingleEvent.Builder("New " + i, start, start.plusMinutes(20)).build();
+      newSeries[i] = new RecurringEventSeries(newEvents[i], DAYS);
+    }
+  }
+
+  // Changes grow the calendar, so they are measured a set number of times, after the queries
+  private void run() {
+    int changes = Math.max(100, Math.min(2000, size / 100));
+    measure("query", i -> calendar.query(times[i], times[i].plusWeeks(1)), 0);
+    measure("queryIterator", i -> drain(calendar.queryIterator(times[i],
+            times[i].plusWeeks(1))), 0);
+    measure("queryIterator after", i -> {
+      ISingleEvent single = singles.get(i % singles.size());
+      return drain(calendar.queryIterator(single.getStartDateTime(),
+              single.getStartDateTime().plusWeeks(1), single));
+    }, 0);
+    measure("queryNext", i -> calendar.queryNext(times[i], 10), 0);
+    measure("eventIterator", i -> drain(calendar.eventIterator(times[i],
+            times[i].plusWeeks(1))), 0);
+    measure("getSingleEventWithStartAndEndDate", i -> {
+      ISingleEvent single = singles.get(i % singles.size());
+      return calendar.getSingleEventWithStartAndEndDate(single.getSubject(),
+              single.getStartDateTime(), single.getEndDateTime());
+    }, 0);
+    measure("getSingleEventsWithStartDate", i -> {
+      ISingleEvent single = seriesEvents.get(i % seriesEvents.size());
+      return calendar.getSingleEventsWithStartDate(single.getSubject(),
+              single.getStartDateTime());
+    }, 0);
+    measure("isInSeries", i -> calendar.isInSeries(seriesEvents.get(i % seriesEvents.size())),
+            0);
+    measure("containsTime", i -> calendar.containsTime(times[i]), 0);
+    measure("canAddSingleEvent", i -> calendar.canAddSingleEvent(newEvents[i]), 0);
+    measure("canAddRecurringSeries", i -> calendar.canAddRecurringSeries(newSeries[i]), 0);
+    measure("new EventSeries", i -> new EventSeries(newEvents[i], 10, DAYS), 0);
+    measure("new RecurringEventSeries", i -> new RecurringEventSeries(newEvents[i], 10, DAYS),
+            0);
+
+    // Added events go after every other event, one hour apart, so they never conflict
+    LocalDateTime free = FIRST_EVENT.plusHours(span).plusYears(1);
+    int[] added = {0};
+    measure("addEvent", i -> {
+      LocalDateTime start = free.plusHours(added[0]++);
+      calendar.addEvent(new SingleEvent.Builder("Added", start, start.plusMinutes(30)).build());
+      return null;
+    }, changes);
+    measure("addEvents (10)", i -> {
+      List<CalendarEvent> batch = new ArrayList<>(10);
+      for (int j = 0; j < 10; j++) {
+        LocalDateTime start = free.plusHours(added[0]++);
+        batch.add(new SingleEvent.Builder("Added", start, start.plusMinutes(30)).build());
+      }
+      calendar.addEvents(batch);
+      return null;
+    }, changes);
+    measure("editEvent", i -> {
+      ISingleEvent single = singles.get(i % singles.size());
+      calendar.editEvent("description", single.getSubject(), single.getStartDateTime(),
+              single.getEndDateTime(), i % 2 == 0 ? "Edited" : "Room");
+      return null;
+    }, 0);
+    measure("editEvents", i -> {
+      ISingleEvent first = seriesStarts.get(i % seriesStarts.size());
+      calendar.editEvents("description", first.getSubject(), first.getStartDateTime(),
+              "series", i % 2 == 0 ? "Edited" : "Room");
+      return null;
+    }, 0);
+
+    measure("getCurrentCalendar", i -> manager.getCurrentCalendar(), 0);
+    measure("getCurrentCalendarName", i -> manager.getCurrentCalendarName(), 0);
+    measure("setCalendarInUse", i -> {
+      manager.setCalendarInUse(i % 2 == 0 ? "Target" : "Bench");
+      return null;
+    }, 0);
+    manager.setCalendarInUse("Bench");
+    String[] names = {"Bench", "Renamed"};
+    int[] renames = {0};
+    measure("editCalendarName", i -> {
+      manager.editCalendarName(names[renames[0] % 2], names[++renames[0] % 2]);
+      return null;
+    }, 0);
+    String[] zones = {"America/Chicago", ZONE};
+    measure("editCalendarTimeZone", i -> {
+      manager.editCalendarTimeZone(names[renames[0] % 2], zones[i % 2]);
+      return null;
+    }, 0);
+    manager.editCalendarTimeZone(names[renames[0] % 2], ZONE);
+    int[] created = {0};
+    measure("createCalendar", i -> {
+      manager.createCalendar("Created " + created[0]++, ZONE);
+      return null;
+    }, changes);
+    // Copies go far past the copied events, a fortnight apart, so they never conflict either
+    LocalDateTime copies = free.plusYears(10);
+    int[] copied = {0};
+    measure("copyEvent", i -> {
+      ISingleEvent single = singles.get(i % singles.size());
+      manager.copyEvent(single.getSubject(), single.getStartDateTime(), "Target",
+              copies.plusHours(copied[0]++));
+      return null;
+    }, changes);
+    LocalDate weeks = copies.plusYears(10).toLocalDate();
+    measure("copyEvents (week)", i -> {
+      manager.copyEvents(times[i], times[i].plusWeeks(1), "Target",
+              weeks.plusWeeks(2L * copied[0]++));
+      return null;
+    }, changes);
+  }
+
+  // Times the operation, first unmeasured to let the JIT compile it, for a set time or, when
+  // limit is above zero, a set number of invocations each
+  private void measure(String name, Operation operation, int limit) {
+    int invocation = 0;
+    long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+    for (int i = 0; limit > 0 ? i < limit : System.nanoTime() < warmupEnd; i++) {
+      consume(operation.run(invocation++ % INPUTS));
+    }
+
+    long[] nanos = new long[limit > 0 ? limit : MAX_SAMPLES];
+    long gcs = gcCount();
+    long gcMillis = gcMillis();
+    long allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    long start = System.nanoTime();
+    long end = start + MEASURED_NANOS;
+    int count = 0;
+    long now = start;
+    while (count < nanos.length && (limit > 0 || now < end)) {
+      Object result = operation.run(invocation++ % INPUTS);
+      long after = System.nanoTime();
+      nanos[count++] = after - now;
+      now = after;
+      consume(result);
+    }
+    allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocated;
+    gcs = gcCount() - gcs;
+    gcMillis = gcMillis() - gcMillis;
+
+    Arrays.sort(nanos, 0, count);
+    System.out.printf("%d\t%s\t%s\t%.0f\t%.2f\t%.2f\t%d\t%d\t%d%n", size, mix, name,
+            count / ((now - start) / 1e9), nanos[count / 2] / 1000.0,
+            nanos[count * 99 / 100] / 1000.0, allocated / count, gcs, gcMillis);
+  }
+
+  // Results are kept track of, so the JIT cannot skip the work that made them
+  private static void consume(Object result) {
+    if (result != null) {
+      results++;
+    }
+  }
+
+  private static int drain(Iterator<?> iterator) {
+    int count = 0;
+    while (iterator.hasNext()) {
+      iterator.next();
+      count++;
+    }
+    return count;
+  }
+
+  private static long gcCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, collector.getCollectionCount());
+    }
+    return count;
+  }
+
+  private static long gcMillis() {
+    long millis = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      millis += Math.max(0, collector.getCollectionTime());
+    }
+    return millis;
+  }
+
+  // In the "single" mix each hour has a half hour event, and every hundredth hour also starts a
+  // weekly series of ten a half hour later. In the "series" mix each hour of a week starts a
+  // series of ten, with a half hour event after it, and the next week starts after ten weeks.
+  // Half the series are stored as lists and half as recurrence rules.
+  private void fill() {
+    List<CalendarEvent> batch = new ArrayList<>();
+    int stride = Math.max(1, size / INPUTS);
+    int seriesStride = Math.max(1, size / (mix.equals("single") ? 110 : 11) / INPUTS);
+    int seriesCount = 0;
+    int occurrences = 0;
+    for (int i = 0; occurrences < size; i++) {
+      LocalDateTime slot;
+      LocalDateTime seriesStart = null;
+      if (mix.equals("single")) {
+        slot = FIRST_EVENT.plusHours(i);
+        if (i % 100 == 0 && size - occurrences >= 11) {
+          seriesStart = slot.plusMinutes(30);
+        }
+      } else {
+        seriesStart = FIRST_EVENT.plusWeeks(10L * (i / 168)).plusHours(i % 168);
+        slot = seriesStart.plusMinutes(30);
+      }
+      span = Duration.between(FIRST_EVENT, slot).toHours() + 1;
+
+      ISingleEvent single = new SingleEvent.Builder("Meeting " + i % 50, slot,
+              slot.plusMinutes(30)).description("Room " + i % 20).build();
+      batch.add(single);
+      occurrences++;
+      if (i % stride == 0) {
+        singles.add(single);
+      }
+      if (seriesStart != null) {
+        ISingleEvent template = new SingleEvent.Builder("Weekly " + i, seriesStart,
+                seriesStart.plusMinutes(15)).build();
+        CalendarEvent series = i % 2 == 0
+                ? new EventSeries(template, 10, seriesStart.getDayOfWeek())
+                : new RecurringEventSeries(template, 10, seriesStart.getDayOfWeek());
+        batch.add(series);
+        occurrences += 10;
+        if (seriesCount++ % seriesStride == 0) {
+          seriesStarts.add(template);
+          seriesEvents.add(series.getEventsInRange(seriesStart.plusWeeks(i % 10),
+                  seriesStart.plusWeeks(i % 10).plusMinutes(15)).get(0));
+        }
+      }
+      if (batch.size() >= 10_000) {
+        calendar.addEvents(batch);
+        batch.clear();
+      }
+    }
+    calendar.addEvents(batch);
+  }
+}
@@ -1,13 +1,24 @@
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
+import controller.CommandServer;
 import controller.GuiController;
+import controller.HttpCalendarServer;
 import controller.IController;
 import controller.CommandLineController;
 import model.application.CalendarManager;
+import model.application.DurableCalendarManager;
+import model.application.ICalendarManager;
+import view.BufferedCommandLineView;
 import view.GUIView;
 import view.CommandLineView;
+import view.IView;
 
 /**
  * Our main class for running the calendar program.
@@ -32,12 +43,93 @@ public class CalendarProgram {
           throws FileNotFoundException {
     if (args.length == 0) {
       return new GuiController(new CalendarManager(), new GUIView("Calendar Application"));
+    } else if (args.length >= 2 && args[0].equals("--mode")
+            && args[1].equalsIgnoreCase("server")) {
+      return new CommandServer(getPortFromArgs(args), new CalendarManager(true));
+    } else if (args.length >= 2 && args[0].equals("--mode")
+            && args[1].equalsIgnoreCase("http")) {
+      return new HttpCalendarServer(getPortFromArgs(args), new CalendarManager(true));
     } else {
-      return new CommandLineController(getReaderFromArgs(args), new CalendarManager(),
-              new CommandLineView(System.out));
+      return new CommandLineController(getReaderFromArgs(args), getManagerFromArgs(args),
+              getViewFromArgs(args));
     }
   }
 
+  private static ICalendarManager getManagerFromArgs(String[] args)
+          throws IllegalArgumentException {
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--snapshot")) {
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Expected snapshot file after '--snapshot'");
+        }
+        if (Arrays.asList(args).contains("--log")) {
+          throw new IllegalArgumentException("Use either '--log' or '--snapshot', not both");
+        }
+        return getSnapshotManager(Paths.get(args[i + 1]));
+      }
+      if (args[i].equals("--log")) {
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Expected log file after '--log'");
+        }
+        DurableCalendarManager manager = new DurableCalendarManager(new CalendarManager(),
+                Paths.get(args[i + 1]), getDurabilityFromArgs(args));
+        Runtime.getRuntime().addShutdownHook(new Thread(manager::close));
+        return manager;
+      }
+    }
+    return new CalendarManager();
+  }
+
+  // Loads the calendars from the snapshot if there is one, and saves them back to it on exit
+  private static ICalendarManager getSnapshotManager(Path file) throws IllegalArgumentException {
+    CalendarManager manager;
+    try {
+      manager = Files.exists(file) ? CalendarManager.readSnapshot(file, false)
+              : new CalendarManager();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read snapshot file " + file);
+    }
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        manager.writeSnapshot(file);
+      } catch (IOException e) {
+        System.out.println("Error: Could not write snapshot file " + file);
+      }
+    }));
+    return manager;
+  }
+
+  private static DurableCalendarManager.Durability getDurabilityFromArgs(String[] args)
+          throws IllegalArgumentException {
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--durability")) {
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Expected argument after '--durability'");
+        } else if (args[i + 1].equalsIgnoreCase("periodic")) {
+          return DurableCalendarManager.Durability.PERIODIC;
+        } else if (!args[i + 1].equalsIgnoreCase("sync")) {
+          throw new IllegalArgumentException(args[i + 1] + " is not a valid durability");
+        }
+      }
+    }
+    return DurableCalendarManager.Durability.SYNC;
+  }
+
+  private static IView getViewFromArgs(String[] args) throws IllegalArgumentException {
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--output")) {
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Expected argument after '--output'");
+        } else if (args[i + 1].equalsIgnoreCase("buffered")) {
+          return new BufferedCommandLineView(System.out);
+        } else if (!args[i + 1].equalsIgnoreCase("plain")) {
+          throw new IllegalArgumentException(args[i + 1] + " is not a valid output");
+        }
+      }
+    }
+    return new CommandLineView(System.out);
+  }
+
   private static Readable getReaderFromArgs(String[] args)
           throws IllegalArgumentException, FileNotFoundException {
     for (int i = 0; i < args.length; i++) {
@@ -61,4 +153,19 @@ public class CalendarProgram {
     }
     return null;
   }
+
+  private static int getPortFromArgs(String[] args) throws IllegalArgumentException {
+    if (args.length < 4 || !args[2].equals("--port")) {
+      throw new IllegalArgumentException("Expected '--port' and a port number for this mode.");
+    }
+    try {
+      int port = Integer.parseInt(args[3]);
+      if (port < 0 || port > 65535) {
+        throw new NumberFormatException();
+      }
+      return port;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(args[3] + " is not a valid port");
+    }
+  }
 }
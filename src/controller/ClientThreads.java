@@ -0,0 +1,37 @@
+package controller;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Makes the executors that the servers use to handle their clients. A server handles each client
+ * on its own thread, which mostly waits on the network, so the threads should be as cheap as the
+ * running Java version allows.
+ */
+final class ClientThreads {
+  // A platform thread that mostly waits on a socket needs very little stack
+  private static final long STACK_SIZE = 256 * 1024;
+
+  private ClientThreads() {
+  }
+
+  /**
+   * Gets an executor that runs each task on a virtual thread if the running Java version has
+   * them, or else on a daemon platform thread with a small stack.
+   *
+   * @param name the name to give platform threads.
+   * @return the executor.
+   */
+  static ExecutorService newExecutor(String name) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+              .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(null, task, name, STACK_SIZE);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+}
@@ -1,13 +1,15 @@
 package controller;
 
 import java.util.NoSuchElementException;
-import java.util.Scanner;
 
+import controller.commands.CommandTokens;
 import controller.commands.CopyEventCommandParser;
 import controller.commands.CreateCalendarCommandParser;
 import controller.commands.CreateEventCommandParser;
 import controller.commands.EditCalendarCommandParser;
 import controller.commands.EditEventCommandParser;
+import controller.commands.ExportCalendarCommandParser;
+import controller.commands.ImportCalendarCommandParser;
 import controller.commands.QueryCommandParser;
 import controller.commands.ICommandParser;
 import controller.commands.UseCommandParser;
@@ -37,39 +39,42 @@ public class CommandLineController implements IController {
 
   @Override
   public void run() {
-    Scanner input = new Scanner(in);
+    LineReader input = new LineReader(in);
     boolean quit = false;
 
     while (!quit) {
-      String firstWord = "";
-
-      try {
-        firstWord = input.next();
-      } catch (NoSuchElementException e) {
+      if (!input.readLine()) {
         view.writeMessage("Missing 'exit' command.");
         quit = true;
-      }
-      
-      if (firstWord.equals("exit")) {
-        quit = true;
-      } else if (!quit) {
-        String nextLn = input.nextLine();
-        try {
-          processCommand(firstWord, manager, view, new Scanner(nextLn));
-        } catch (IllegalArgumentException e) {
-          String errorMsg = String.format("Error in '%s%s': %s", firstWord, nextLn, e.getMessage());
-          view.writeMessage(errorMsg);
-        } catch (NullPointerException e) {
-          String errorMsg = String.format("Error in '%s%s': Could not find calendar to use!",
-                  firstWord, nextLn);
-          view.writeMessage(errorMsg);
+      } else {
+        CommandTokens command = new CommandTokens(input.chars(), input.lineStart(),
+                input.lineEnd());
+        if (!command.hasNext()) {
+          continue; // skip blank lines
+        }
+
+        String firstWord = command.next();
+        if (firstWord.equals("exit")) {
+          quit = true;
+        } else {
+          try {
+            processCommand(firstWord, manager, view, command);
+          } catch (IllegalArgumentException e) {
+            String errorMsg = String.format("Error in '%s': %s", command, e.getMessage());
+            view.writeMessage(errorMsg);
+          } catch (NullPointerException e) {
+            String errorMsg = String.format("Error in '%s': Could not find calendar to use!",
+                    command);
+            view.writeMessage(errorMsg);
+          }
         }
       }
     }
+    view.flush();
   }
 
   private void processCommand(String next, ICalendarManager manager, IView view,
-                              Scanner command) {
+                              CommandTokens command) {
     try {
       ICommandParser commandParser;
       switch (next) {
@@ -105,6 +110,14 @@ public class CommandLineController implements IController {
         case "copy":
           commandParser = new CopyEventCommandParser(manager, view, command);
           break;
+        case "import":
+          commandParser = new ImportCalendarCommandParser(manager.getCurrentCalendar(), view,
+                  command);
+          break;
+        case "export":
+          commandParser = new ExportCalendarCommandParser(manager.getCurrentCalendar(), view,
+                  command);
+          break;
         default:
           throw new IllegalArgumentException("Invalid input syntax, cannot parse first keyword!");
       }
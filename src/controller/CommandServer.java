@@ -0,0 +1,120 @@
+package controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import model.application.CalendarManager;
+import view.CommandLineView;
+
+/**
+ * A controller that serves the text command language to many clients at once over TCP. Each
+ * connection on the local machine gets its own {@code CommandLineController} and its own session
+ * on one shared {@code CalendarManager}, so clients see each other's calendars but each picks
+ * its own calendar to use. A connection ends when its client sends {@code exit} or hangs up, or
+ * after an error line when a command fails in a way the controller cannot report.
+ */
+public class CommandServer implements IController, Closeable {
+  // Room for thousands of clients that all connect at the same moment
+  private static final int CONNECTION_BACKLOG = 4096;
+  // How long to wait, in milliseconds, before accepting again after a connection could not be
+  private static final long ACCEPT_RETRY_DELAY = 100;
+
+  private final ServerSocket serverSocket;
+  private final CalendarManager manager;
+  private final ExecutorService connections;
+
+  /**
+   * Constructs a {@code CommandServer} that listens on the given port of the local machine.
+   *
+   * @param port    the port to listen on, or 0 to pick any free port.
+   * @param manager the manager whose calendars every client shares.
+   * @throws IllegalArgumentException if the server cannot listen on the port.
+   */
+  public CommandServer(int port, CalendarManager manager) {
+    try {
+      this.serverSocket = new ServerSocket(port, CONNECTION_BACKLOG,
+              InetAddress.getLoopbackAddress());
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Could not listen on port " + port + ".");
+    }
+    this.manager = manager;
+    this.connections = ClientThreads.newExecutor("calendar-client");
+  }
+
+  /**
+   * Gets the port this server is listening on.
+   *
+   * @return the port.
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Accepts connections until the server is closed or the thread is interrupted, serving each one
+   * on its own thread.
+   */
+  @Override
+  public void run() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        connections.execute(() -> serve(socket));
+      } catch (IOException e) {
+        // Closing the server while waiting ends the loop. Any other failure, such as running out
+        // of file handles, may last a while, so wait a moment instead of trying again at once
+        if (!serverSocket.isClosed()) {
+          try {
+            Thread.sleep(ACCEPT_RETRY_DELAY);
+          } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops accepting connections and waits briefly for the open ones to finish.
+   */
+  @Override
+  public void close() {
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      // Nothing more can be done with a socket that fails to close
+    }
+    connections.shutdown();
+    try {
+      connections.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket) {
+      // Replies are single short lines, so send each one at once instead of batching them up
+      socket.setTcpNoDelay(true);
+      PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+      try {
+        new CommandLineController(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.UTF_8), manager.openSession(), new CommandLineView(out)).run();
+      } catch (RuntimeException e) {
+        // The controller could not go on, so tell the client why before hanging up on it
+        out.println("Error: " + e + ". Closing the connection.");
+      }
+    } catch (IOException e) {
+      // The client hung up, and its connection is already closed
+    }
+  }
+}
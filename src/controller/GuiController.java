@@ -2,7 +2,6 @@ package controller;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.LinkedList;
 import java.util.List;
@@ -21,6 +20,7 @@ import view.IGUIView;
 public class GuiController implements IController, Features {
   private static final int MAX_CALENDAR_NAME_SIZE = 15;
   private static final int MAX_SUBJECT_TEXT_LENGTH = 35;
+  private static final int MAX_EVENTS_SHOWN = 10;
 
   private final ICalendarManager manager;
   private final IGUIView view;
@@ -67,12 +67,8 @@ public class GuiController implements IController, Features {
         }
         manager.getCurrentCalendar().addEvent(addedEvent);
 
-        // Get all the events in our calendar from the start date sorted by start time
-        List<ISingleEvent> events = manager.getCurrentCalendar()
-                .query(currentViewDate.atStartOfDay(), LocalDateTime.MAX);
-
-        // Display the next events starting from the current event
-        view.showEvents(findEventsToDisplay(events));
+        // Display the next events starting from the current view date
+        view.showEvents(findEventsToDisplay(currentViewDate));
       } catch (IllegalArgumentException e) {
         view.writeError(e.getMessage());
       }
@@ -82,12 +78,8 @@ public class GuiController implements IController, Features {
   @Override
   public void showEventsFrom(LocalDate start) {
     if (start != null) {
-      // Get all the events in total starting from *start*
-      List<ISingleEvent> events = manager.getCurrentCalendar().query(LocalDateTime.of(start,
-              LocalTime.of(0, 0, 0)), LocalDateTime.MAX);
-
       currentViewDate = start;
-      view.showEvents(new LinkedList<>(events));
+      view.showEvents(findEventsToDisplay(start));
     }
   }
 
@@ -128,9 +120,7 @@ public class GuiController implements IController, Features {
         view.writeMessage("Event updated successfully!");
 
         // Refresh the display
-        List<ReadOnlyCalendarEvent> newEvents = new LinkedList<>(manager.getCurrentCalendar()
-                .query(currentViewDate.atStartOfDay(), LocalDateTime.MAX));
-        view.showEvents(newEvents);
+        view.showEvents(findEventsToDisplay(currentViewDate));
       } catch (IllegalArgumentException e) {
         view.writeError(e.getMessage());
       }
@@ -149,33 +139,14 @@ public class GuiController implements IController, Features {
     }
   }
 
-  private List<ReadOnlyCalendarEvent> findEventsToDisplay(List<ISingleEvent> allEvents) {
-    List<ReadOnlyCalendarEvent> viewedEvents = new LinkedList<>();
-
-    int counter = 0;
-    for (ISingleEvent event : allEvents) {
-      // Add the event to the view as long as there's less than 10
-      if (eventIsOnOrAfterDate(event, currentViewDate) && counter < 10) {
-        viewedEvents.add(event);
-        counter++;
-      }
-
-      // Exit the loop if we've found 10 events
-      if (counter == 10) {
-        break;
-      }
-    }
-
-    return viewedEvents;
+  // Gets only the first few events starting on or after the date, since that's all the view shows
+  private List<ReadOnlyCalendarEvent> findEventsToDisplay(LocalDate date) {
+    return new LinkedList<>(manager.getCurrentCalendar().queryNext(date.atStartOfDay(),
+            MAX_EVENTS_SHOWN));
   }
 
   private void showErrorAndGoToLastCalendar(String errorMsg) {
     view.writeError(errorMsg);
     view.goToPreviousCalendar();
   }
-
-  private boolean eventIsOnOrAfterDate(ISingleEvent event, LocalDate date) {
-    LocalDate eventDate = LocalDate.from(event.getStartDateTime());
-    return eventDate.equals(date) || eventDate.isAfter(date);
-  }
 }
@@ -0,0 +1,384 @@
+package controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import controller.commands.AbstractCommandParser;
+import controller.commands.DateTimeParser;
+import model.application.CalendarManager;
+import model.calendar.IBetterCalendar;
+import model.event.CalendarEvent;
+import model.event.ISingleEvent;
+import model.event.Location;
+import model.event.ReadOnlyCalendarEvent;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+import model.event.Status;
+
+/**
+ * A controller that lets other programs on the same machine use the calendars over HTTP, with
+ * JSON requests and replies. Every request names the calendar it works on, so unlike the text
+ * commands there is no calendar in use. Date/times are written as {@code YYYY-MM-DDThh:mm} and
+ * dates as {@code YYYY-MM-DD}, both in the time zone of the calendar they belong to.
+ *
+ * <p>The requests are:
+ * <ul>
+ *   <li>{@code POST /calendars} with {@code name} and {@code timezone} creates a calendar.</li>
+ *   <li>{@code POST /calendars/<name>} with {@code property} ({@code name} or {@code timezone})
+ *   and {@code value} edits a calendar.</li>
+ *   <li>{@code POST /calendars/<name>/events} with {@code subject}, then either {@code start} and
+ *   {@code end} or an all-day {@code date}, creates an event. It may also have
+ *   {@code description}, {@code location} and {@code status}. With {@code repeats} (weekdays as
+ *   in the text commands) it creates a series instead, which stops after {@code times} events,
+ *   after the date {@code until}, or never.</li>
+ *   <li>{@code POST /calendars/<name>/events/edit} with {@code scope} ({@code event},
+ *   {@code events} or {@code series}), {@code property}, {@code subject}, {@code start},
+ *   {@code value}, and {@code end} for a single event, edits events.</li>
+ *   <li>{@code POST /calendars/<name>/copy} with {@code target} and either {@code subject},
+ *   {@code start} and a date/time {@code at}, or the dates {@code from}, {@code to} and
+ *   {@code at}, copies events to another calendar.</li>
+ *   <li>{@code GET /calendars/<name>/events?from=..&to=..} lists the events in a range as a
+ *   JSON array, sent while the calendar is still being read so large ranges start arriving
+ *   at once.</li>
+ *   <li>{@code GET /calendars/<name>/status?at=..} tells whether the calendar is busy.</li>
+ * </ul>
+ * A request that succeeds without anything to return gets {@code {}}. A request the calendar
+ * rejects gets status 400 and {@code {"error": <message>}}, and one that fails for any other
+ * reason gets status 500 and the same kind of reply.
+ */
+public class HttpCalendarServer implements IController, Closeable {
+  private static final String NO_SUCH_REQUEST = "{\"error\":\"No such request.\"}";
+
+  private final HttpServer server;
+  private final CalendarManager manager;
+  private final ExecutorService clients;
+  private final CountDownLatch closed;
+
+  /**
+   * Constructs an {@code HttpCalendarServer} that listens on the given port of the local machine.
+   *
+   * @param port    the port to listen on, or 0 to pick any free port.
+   * @param manager the manager whose calendars to serve.
+   * @throws IllegalArgumentException if the server cannot listen on the port.
+   */
+  public HttpCalendarServer(int port, CalendarManager manager) {
+    try {
+      this.server = HttpServer.create(
+              new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Could not listen on port " + port + ".");
+    }
+    this.manager = manager;
+    this.clients = ClientThreads.newExecutor("calendar-http");
+    this.closed = new CountDownLatch(1);
+    server.setExecutor(clients);
+    server.createContext("/calendars", this::handle);
+  }
+
+  /**
+   * Gets the port this server is listening on.
+   *
+   * @return the port.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Serves requests until the server is closed.
+   */
+  @Override
+  public void run() {
+    server.start();
+    try {
+      closed.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stops serving requests.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    clients.shutdown();
+    closed.countDown();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      // The path looks like /calendars[/<name>[/<action>[/edit]]]
+      String[] path = exchange.getRequestURI().getPath().split("/");
+      String method = exchange.getRequestMethod();
+      try {
+        if (path.length < 2 || !path[1].equals("calendars")) {
+          send(exchange, 404, NO_SUCH_REQUEST);
+        } else if (path.length == 2 && method.equals("POST")) {
+          createCalendar(readBody(exchange));
+          sendEmpty(exchange);
+        } else if (path.length == 3 && method.equals("POST")) {
+          editCalendar(path[2], readBody(exchange));
+          sendEmpty(exchange);
+        } else if (path.length == 4 && path[3].equals("events") && method.equals("GET")) {
+          sendEvents(exchange, getCalendar(path[2]), readQuery(exchange));
+        } else if (path.length == 4 && path[3].equals("events") && method.equals("POST")) {
+          getCalendar(path[2]).addEvent(newEvent(readBody(exchange)));
+          sendEmpty(exchange);
+        } else if (path.length == 5 && path[3].equals("events") && path[4].equals("edit")
+                && method.equals("POST")) {
+          editEvents(getCalendar(path[2]), readBody(exchange));
+          sendEmpty(exchange);
+        } else if (path.length == 4 && path[3].equals("copy") && method.equals("POST")) {
+          copyEvents(path[2], readBody(exchange));
+          sendEmpty(exchange);
+        } else if (path.length == 4 && path[3].equals("status") && method.equals("GET")) {
+          boolean busy = getCalendar(path[2])
+                  .containsTime(parseDateTime(required(readQuery(exchange), "at")));
+          send(exchange, 200, "{\"busy\":" + busy + "}");
+        } else {
+          send(exchange, 404, NO_SUCH_REQUEST);
+        }
+      } catch (IllegalArgumentException e) {
+        sendError(exchange, 400, e.getMessage());
+      } catch (RuntimeException e) {
+        // Anything else is a fault of the server, but the client still gets a reply
+        sendError(exchange, 500, "Could not handle the request: " + e);
+      }
+    }
+  }
+
+  private void createCalendar(Map<String, String> body) {
+    manager.createCalendar(required(body, "name"), required(body, "timezone"));
+  }
+
+  private void editCalendar(String calendarName, Map<String, String> body) {
+    getCalendar(calendarName);
+    String value = required(body, "value");
+    switch (required(body, "property")) {
+      case "name":
+        manager.editCalendarName(calendarName, value);
+        break;
+      case "timezone":
+        manager.editCalendarTimeZone(calendarName, value);
+        break;
+      default:
+        throw new IllegalArgumentException("A calendar's property must be name or timezone.");
+    }
+  }
+
+  private CalendarEvent newEvent(Map<String, String> body) {
+    String subject = required(body, "subject");
+    SingleEvent.Builder builder;
+    if (body.containsKey("date")) {
+      builder = new SingleEvent.Builder(subject, parseDate(body.get("date")));
+    } else {
+      builder = new SingleEvent.Builder(subject, parseDateTime(required(body, "start")),
+              parseDateTime(required(body, "end")));
+    }
+    if (body.containsKey("description")) {
+      builder.description(body.get("description"));
+    }
+    if (body.containsKey("location")) {
+      Location location = Location.getLocation(body.get("location"));
+      if (location == null) {
+        throw new IllegalArgumentException(body.get("location") + " is not a valid location.");
+      }
+      builder.location(location);
+    }
+    if (body.containsKey("status")) {
+      Status status = Status.getStatus(body.get("status"));
+      if (status == null) {
+        throw new IllegalArgumentException(body.get("status") + " is not a valid status.");
+      }
+      builder.status(status);
+    }
+    ISingleEvent event = builder.build();
+
+    if (!body.containsKey("repeats")) {
+      return event;
+    }
+    DayOfWeek[] days = AbstractCommandParser.parseDaysOfWeek(body.get("repeats"));
+    if (body.containsKey("times")) {
+      return new RecurringEventSeries(event, parseInt(body.get("times")), days);
+    } else if (body.containsKey("until")) {
+      return new RecurringEventSeries(event, parseDate(body.get("until")), days);
+    }
+    return new RecurringEventSeries(event, days);
+  }
+
+  private void editEvents(IBetterCalendar calendar, Map<String, String> body) {
+    String scope = required(body, "scope");
+    String property = required(body, "property");
+    String subject = required(body, "subject");
+    LocalDateTime start = parseDateTime(required(body, "start"));
+    String value = required(body, "value");
+    if (property.equals("start") || property.equals("end")) {
+      parseDateTime(value);
+    }
+    switch (scope) {
+      case "event":
+        calendar.editEvent(property, subject, start, parseDateTime(required(body, "end")), value);
+        break;
+      case "events":
+      case "series":
+        calendar.editEvents(property, subject, start, scope, value);
+        break;
+      default:
+        throw new IllegalArgumentException("The scope must be event, events or series.");
+    }
+  }
+
+  private void copyEvents(String calendarName, Map<String, String> body) {
+    getCalendar(calendarName);
+    String target = required(body, "target");
+    if (body.containsKey("subject")) {
+      manager.copyEvent(calendarName, body.get("subject"), parseDateTime(required(body, "start")),
+              target, parseDateTime(required(body, "at")));
+    } else {
+      manager.copyEvents(calendarName,
+              LocalDateTime.of(parseDate(required(body, "from")), LocalTime.MIN),
+              LocalDateTime.of(parseDate(required(body, "to")), LocalTime.of(23, 59, 59)),
+              target, parseDate(required(body, "at")));
+    }
+  }
+
+  // Writes each event as soon as the calendar finds it, so the reply never sits in memory whole
+  private void sendEvents(HttpExchange exchange, IBetterCalendar calendar,
+                          Map<String, String> query) throws IOException {
+    Iterator<ISingleEvent> events = calendar.queryIterator(parseDateTime(required(query, "from")),
+            parseDateTime(required(query, "to")));
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, 0);
+    Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(),
+            StandardCharsets.UTF_8));
+    out.write('[');
+    for (boolean first = true; events.hasNext(); first = false) {
+      if (!first) {
+        out.write(',');
+      }
+      writeEvent(out, events.next());
+    }
+    out.write(']');
+    out.flush();
+  }
+
+  private static void writeEvent(Writer out, ReadOnlyCalendarEvent event) throws IOException {
+    out.write("{\"subject\":");
+    out.write(Json.quote(event.getSubject()));
+    out.write(",\"start\":");
+    out.write(Json.quote(event.getStartDateTime().toString()));
+    out.write(",\"end\":");
+    out.write(Json.quote(event.getEndDateTime().toString()));
+    out.write(",\"description\":");
+    out.write(Json.quote(event.getDescription()));
+    out.write(",\"location\":");
+    out.write(Json.quote(event.getLocation() == null ? null : event.getLocation().toString()));
+    out.write(",\"status\":");
+    out.write(Json.quote(event.getStatus() == null ? null : event.getStatus().toString()));
+    out.write('}');
+  }
+
+  private IBetterCalendar getCalendar(String calendarName) {
+    IBetterCalendar calendar = manager.getCalendar(calendarName);
+    if (calendar == null) {
+      throw new IllegalArgumentException("There is no calendar named " + calendarName + ".");
+    }
+    return calendar;
+  }
+
+  private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+    return Json.parseObject(new String(exchange.getRequestBody().readAllBytes(),
+            StandardCharsets.UTF_8));
+  }
+
+  private static Map<String, String> readQuery(HttpExchange exchange) {
+    Map<String, String> query = new HashMap<>();
+    String rawQuery = exchange.getRequestURI().getRawQuery();
+    if (rawQuery != null) {
+      for (String pair : rawQuery.split("&")) {
+        int equals = pair.indexOf('=');
+        if (equals > 0) {
+          query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                  URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+      }
+    }
+    return query;
+  }
+
+  private static String required(Map<String, String> values, String key) {
+    String value = values.get(key);
+    if (value == null) {
+      throw new IllegalArgumentException("Missing \"" + key + "\".");
+    }
+    return value;
+  }
+
+  private static LocalDateTime parseDateTime(String value) {
+    try {
+      return DateTimeParser.parseDateTime(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException(value + " is not a valid date/time.");
+    }
+  }
+
+  private static LocalDate parseDate(String value) {
+    try {
+      return DateTimeParser.parseDate(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException(value + " is not a valid date.");
+    }
+  }
+
+  private static int parseInt(String value) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(value + " is not a valid whole number.");
+    }
+  }
+
+  // Once a reply has started, its status can no longer change, so the reply is just cut short
+  private static void sendError(HttpExchange exchange, int status, String message)
+          throws IOException {
+    if (exchange.getResponseCode() == -1) {
+      send(exchange, status, "{\"error\":" + Json.quote(message) + "}");
+    }
+  }
+
+  private static void sendEmpty(HttpExchange exchange) throws IOException {
+    send(exchange, 200, "{}");
+  }
+
+  private static void send(HttpExchange exchange, int status, String json) throws IOException {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
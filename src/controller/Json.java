@@ -0,0 +1,183 @@
+package controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the small pieces of JSON that the HTTP server needs. Requests are flat JSON
+ * objects whose values are strings, numbers, booleans or null, so that is all this reads.
+ */
+final class Json {
+  private Json() {
+  }
+
+  /**
+   * Reads a flat JSON object into a map from each key to its value as text. Numbers and booleans
+   * are kept as they are written, and keys whose value is null are left out.
+   *
+   * @param text the JSON text.
+   * @return the keys and values of the object.
+   * @throws IllegalArgumentException if the text is not a flat JSON object.
+   */
+  static Map<String, String> parseObject(String text) {
+    Reader reader = new Reader(text);
+    Map<String, String> object = new HashMap<>();
+    reader.expect('{');
+    if (!reader.skipIf('}')) {
+      do {
+        String key = reader.readString();
+        reader.expect(':');
+        String value = reader.readValue();
+        if (value != null) {
+          object.put(key, value);
+        }
+      } while (reader.skipIf(','));
+      reader.expect('}');
+    }
+    if (reader.hasMore()) {
+      throw new IllegalArgumentException("Unexpected text after the JSON object.");
+    }
+    return object;
+  }
+
+  /**
+   * Writes {@code value} as a JSON string, or as {@code null} if it is null.
+   *
+   * @param value the string to write.
+   * @return the JSON text.
+   */
+  static String quote(String value) {
+    if (value == null) {
+      return "null";
+    }
+    StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          json.append("\\\"");
+          break;
+        case '\\':
+          json.append("\\\\");
+          break;
+        case '\n':
+          json.append("\\n");
+          break;
+        case '\r':
+          json.append("\\r");
+          break;
+        case '\t':
+          json.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+      }
+    }
+    return json.append('"').toString();
+  }
+
+  /**
+   * Walks through JSON text one character at a time, skipping whitespace between tokens.
+   */
+  private static final class Reader {
+    private final String text;
+    private int position;
+
+    private Reader(String text) {
+      this.text = text;
+    }
+
+    private boolean hasMore() {
+      skipWhitespace();
+      return position < text.length();
+    }
+
+    private boolean skipIf(char c) {
+      if (hasMore() && text.charAt(position) == c) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(char c) {
+      if (!skipIf(c)) {
+        throw new IllegalArgumentException("Expected '" + c + "' in JSON at " + position + ".");
+      }
+    }
+
+    // Returns null for a JSON null, and any other value as its text
+    private String readValue() {
+      if (!hasMore()) {
+        throw new IllegalArgumentException("Expected a value at the end of the JSON.");
+      } else if (text.charAt(position) == '"') {
+        return readString();
+      }
+      int start = position;
+      while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+        position++;
+      }
+      String literal = text.substring(start, position);
+      if (literal.equals("null")) {
+        return null;
+      } else if (literal.equals("true") || literal.equals("false")
+              || literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+        return literal;
+      }
+      throw new IllegalArgumentException("Expected a string, number, boolean or null in JSON at "
+              + start + ".");
+    }
+
+    private String readString() {
+      expect('"');
+      StringBuilder value = new StringBuilder();
+      while (position < text.length()) {
+        char c = text.charAt(position++);
+        if (c == '"') {
+          return value.toString();
+        } else if (c != '\\') {
+          value.append(c);
+        } else if (position < text.length()) {
+          char escaped = text.charAt(position++);
+          switch (escaped) {
+            case 'n':
+              value.append('\n');
+              break;
+            case 'r':
+              value.append('\r');
+              break;
+            case 't':
+              value.append('\t');
+              break;
+            case 'b':
+              value.append('\b');
+              break;
+            case 'f':
+              value.append('\f');
+              break;
+            case 'u':
+              if (position + 4 > text.length()) {
+                throw new IllegalArgumentException("Unfinished escape in JSON string.");
+              }
+              value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+              position += 4;
+              break;
+            default:
+              value.append(escaped);
+          }
+        }
+      }
+      throw new IllegalArgumentException("Unfinished string in JSON.");
+    }
+
+    private void skipWhitespace() {
+      while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+        position++;
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads text one line at a time into a single reusable character array, so that reading a line
+ * copies its characters once and creates no objects. Each line is only valid until the next one
+ * is read.
+ */
+final class LineReader {
+  private static final int INITIAL_CAPACITY = 8192;
+
+  private final Readable in;
+  private char[] buffer;
+  private int position; // the start of the characters not yet returned
+  private int limit; // the end of the characters read so far
+  private boolean endOfInput;
+  private int lineStart;
+  private int lineEnd;
+
+  /**
+   * Constructs a {@code LineReader} that reads from the given input.
+   *
+   * @param in the input to read.
+   */
+  LineReader(Readable in) {
+    this.in = in;
+    this.buffer = new char[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Reads the next line, without its line terminator.
+   *
+   * @return {@code true} if a line was read, {@code false} if the input has ended.
+   */
+  boolean readLine() {
+    int searchFrom = position;
+    while (true) {
+      for (int i = searchFrom; i < limit; i++) {
+        if (buffer[i] == '\n') {
+          setLine(i);
+          position = i + 1;
+          return true;
+        }
+      }
+      if (endOfInput) {
+        if (position == limit) {
+          return false;
+        }
+        setLine(limit);
+        position = limit;
+        return true;
+      }
+      searchFrom = limit - position;
+      fill();
+      searchFrom += position;
+    }
+  }
+
+  /**
+   * Gets the characters of the last line read. The line is between {@link #lineStart()} and
+   * {@link #lineEnd()}.
+   *
+   * @return the characters.
+   */
+  char[] chars() {
+    return buffer;
+  }
+
+  /**
+   * Gets the index of the first character of the last line read.
+   *
+   * @return the index.
+   */
+  int lineStart() {
+    return lineStart;
+  }
+
+  /**
+   * Gets the index just past the last character of the last line read.
+   *
+   * @return the index.
+   */
+  int lineEnd() {
+    return lineEnd;
+  }
+
+  private void setLine(int terminator) {
+    lineStart = position;
+    lineEnd = terminator > position && buffer[terminator - 1] == '\r'
+            ? terminator - 1 : terminator;
+  }
+
+  // Moves the unread characters to the front, growing the buffer if they fill it, then reads more
+  private void fill() {
+    int unread = limit - position;
+    if (unread == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    } else {
+      System.arraycopy(buffer, position, buffer, 0, unread);
+    }
+    position = 0;
+    limit = unread;
+    try {
+      int read = in.read(CharBuffer.wrap(buffer, limit, buffer.length - limit));
+      if (read < 0) {
+        endOfInput = true;
+      } else {
+        limit += read;
+      }
+    } catch (IOException e) {
+      endOfInput = true; // like a Scanner, input that cannot be read counts as ended
+    }
+  }
+}
@@ -5,11 +5,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.InputMismatchException;
 import java.util.List;
-import java.util.Scanner;
 import java.util.Set;
 
 import view.IView;
@@ -19,9 +17,9 @@ import view.IView;
  */
 public abstract class AbstractCommandParser implements ICommandParser {
   protected final IView view;
-  protected final Scanner command;
+  protected final CommandTokens command;
 
-  protected AbstractCommandParser(IView view, Scanner command) {
+  protected AbstractCommandParser(IView view, CommandTokens command) {
     this.view = view;
     this.command = command;
   }
@@ -36,14 +34,24 @@ public abstract class AbstractCommandParser implements ICommandParser {
    * @throws IllegalArgumentException If the syntax entered is invalid.
    */
   protected DayOfWeek[] nextDaysOfWeek() throws IllegalArgumentException {
-    String nextCommand = command.next();
-    if (!nextCommand.matches("[MTWRFSU]+")) {
+    return parseDaysOfWeek(command.next());
+  }
+
+  /**
+   * Parses days of week written as in the commands, such as "MFU" for Monday, Friday, and Sunday.
+   *
+   * @param text the days of week, with at least one day.
+   * @return The array of {@code DayOfWeek}, in weekday order.
+   * @throws IllegalArgumentException If the text is not a valid set of days of week.
+   */
+  public static DayOfWeek[] parseDaysOfWeek(String text) throws IllegalArgumentException {
+    if (text.isEmpty()) {
       throw new IllegalArgumentException("Invalid input syntax, cannot parse days of week!");
     }
 
-    Set<DayOfWeek> days = new HashSet<>();
-    for (char dayOfWeek : nextCommand.toCharArray()) {
-      switch (dayOfWeek) {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    for (int i = 0; i < text.length(); i++) {
+      switch (text.charAt(i)) {
         case 'M':
           days.add(DayOfWeek.MONDAY);
           break;
@@ -65,13 +73,11 @@ public abstract class AbstractCommandParser implements ICommandParser {
         case 'U':
           days.add(DayOfWeek.SUNDAY);
           break;
-        default: // shouldn't ever get here
-          break;
+        default:
+          throw new IllegalArgumentException("Invalid input syntax, cannot parse days of week!");
       }
     }
-    DayOfWeek[] daysArray = days.toArray(new DayOfWeek[0]);
-    Arrays.sort(daysArray);
-    return daysArray;
+    return days.toArray(new DayOfWeek[0]); // an EnumSet is already in weekday order
   }
 
   /**
@@ -83,9 +89,8 @@ public abstract class AbstractCommandParser implements ICommandParser {
   protected int nextOccurrences() throws IllegalArgumentException {
     try {
       int occurrences = command.nextInt();
-      String nextWord = command.next();
 
-      if (!nextWord.equals("times")) { // nextWord should be "times"
+      if (!command.nextIs("times")) { // the next word should be "times"
         throw new IllegalArgumentException("Invalid input syntax, missing \"times\" keyword!");
       } else if (command.hasNext()) { // command word list should be empty now
         throw new IllegalArgumentException("Invalid input syntax, command should be empty"
@@ -105,18 +110,7 @@ public abstract class AbstractCommandParser implements ICommandParser {
    * @return the parsed word, without the double quotes.
    */
   protected String nextMultipleWords() {
-    StringBuilder words = new StringBuilder(command.next());
-    if (words.charAt(0) == '"') { // this means the subject has multiple words
-      while (command.hasNext() && words.charAt(words.length() - 1) != '"') {
-        words.append(" ").append(command.next()); // add the next word as well
-      }
-    }
-    // Remove the double quotes
-    if (words.indexOf("\"") == -1) { // quotes does not exist so it is a single word
-      return words.toString();
-    } else { // quotes DO exist so it is multiple words so we delete the quotes
-      return words.deleteCharAt(0).deleteCharAt(words.length() - 1).toString();
-    }
+    return command.next(); // the tokens already join quoted words and drop their quotes
   }
 
   /**
@@ -127,7 +121,7 @@ public abstract class AbstractCommandParser implements ICommandParser {
    * @throws IllegalArgumentException if the next keyword is not {@code expected}.
    */
   protected void nextIsExactly(String expected) throws IllegalArgumentException {
-    if (!command.next().equals(expected)) {
+    if (!command.nextIs(expected)) {
       throw new IllegalArgumentException("Invalid input syntax, missing \""
               + expected + "\" keyword!");
     }
@@ -159,7 +153,7 @@ public abstract class AbstractCommandParser implements ICommandParser {
    */
   protected LocalDate nextDate() throws IllegalArgumentException {
     try {
-      return LocalDate.parse(command.next());
+      return command.nextDate();
     } catch (DateTimeParseException e) {
       throw new IllegalArgumentException("Invalid input syntax, cannot parse date!");
     }
@@ -173,7 +167,7 @@ public abstract class AbstractCommandParser implements ICommandParser {
    */
   protected LocalDateTime nextDateTime() throws IllegalArgumentException {
     try {
-      return LocalDateTime.parse(command.next());
+      return command.nextDateTime();
     } catch (DateTimeParseException e) {
       throw new IllegalArgumentException("Invalid input syntax, cannot parse date/time!");
     }
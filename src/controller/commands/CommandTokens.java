@@ -0,0 +1,189 @@
+package controller.commands;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * The words of one command, read from left to right. Words are separated by whitespace, and a
+ * word that starts with a double quote runs to the next double quote, so {@code "Team meeting"}
+ * is one word, {@code Team meeting}, without its quotes. The command is split up as it is read,
+ * straight from its characters, and a word only becomes a {@code String} when it is asked for.
+ */
+public final class CommandTokens {
+  private final char[] chars;
+  private final int start;
+  private final int end;
+  private int position;
+  private int wordStart;
+  private int wordEnd;
+  private boolean quoted;
+
+  /**
+   * Constructs a {@code CommandTokens} over the given command.
+   *
+   * @param command the command to read.
+   */
+  public CommandTokens(String command) {
+    this(command.toCharArray(), 0, command.length());
+  }
+
+  /**
+   * Constructs a {@code CommandTokens} over a command stored in part of a character array. The
+   * array must not change while the command is being read.
+   *
+   * @param chars the characters holding the command.
+   * @param start the index of the first character of the command.
+   * @param end   the index just past the last character of the command.
+   */
+  public CommandTokens(char[] chars, int start, int end) {
+    this.chars = chars;
+    this.start = start;
+    this.end = end;
+    this.position = start;
+  }
+
+  /**
+   * Checks whether there is another word in the command.
+   *
+   * @return {@code true} if there is another word, {@code false} otherwise.
+   */
+  public boolean hasNext() {
+    skipWhitespace();
+    return position < end;
+  }
+
+  /**
+   * Reads the next word.
+   *
+   * @return the next word, without any quotes around it.
+   * @throws NoSuchElementException if there are no more words.
+   * @throws IllegalArgumentException if the word starts with a quote that is never closed.
+   */
+  public String next() {
+    readWord();
+    return new String(chars, wordStart, wordEnd - wordStart);
+  }
+
+  /**
+   * Reads the next word and checks whether it is exactly {@code expected}. The word is read
+   * either way.
+   *
+   * @param expected the expected word.
+   * @return {@code true} if the next word is {@code expected}, {@code false} otherwise.
+   * @throws NoSuchElementException if there are no more words.
+   */
+  public boolean nextIs(String expected) {
+    readWord();
+    if (wordEnd - wordStart != expected.length()) {
+      return false;
+    }
+    for (int i = wordStart; i < wordEnd; i++) {
+      if (chars[i] != expected.charAt(i - wordStart)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the next word as a whole number. If the word is not a whole number, it is not read.
+   *
+   * @return the number.
+   * @throws NoSuchElementException if there are no more words.
+   * @throws InputMismatchException if the next word is not a whole number.
+   */
+  public int nextInt() {
+    int before = position;
+    readWord();
+    int i = wordStart;
+    boolean negative = chars[i] == '-';
+    if (negative || chars[i] == '+') {
+      i++;
+    }
+    long value = 0;
+    // Eleven digits are enough to go past any int without overflowing a long
+    boolean valid = !quoted && i < wordEnd && wordEnd - i <= 11;
+    for (; valid && i < wordEnd; i++) {
+      valid = chars[i] >= '0' && chars[i] <= '9';
+      value = value * 10 + (chars[i] - '0');
+    }
+    value = negative ? -value : value;
+    if (!valid || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      position = before;
+      throw new InputMismatchException();
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads the next word as a date, in {@code YYYY-MM-DD} format.
+   *
+   * @return the date.
+   * @throws NoSuchElementException if there are no more words.
+   * @throws DateTimeParseException if the next word is not a valid date.
+   */
+  public LocalDate nextDate() {
+    readWord();
+    return DateTimeParser.parseDate(chars, wordStart, wordEnd);
+  }
+
+  /**
+   * Reads the next word as a date/time, in {@code YYYY-MM-DDThh:mm} format.
+   *
+   * @return the date/time.
+   * @throws NoSuchElementException if there are no more words.
+   * @throws DateTimeParseException if the next word is not a valid date/time.
+   */
+  public LocalDateTime nextDateTime() {
+    readWord();
+    return DateTimeParser.parseDateTime(chars, wordStart, wordEnd);
+  }
+
+  /**
+   * Gets the whole command as it was written, from its first word to its end.
+   *
+   * @return the command.
+   */
+  @Override
+  public String toString() {
+    int first = start;
+    while (first < end && Character.isWhitespace(chars[first])) {
+      first++;
+    }
+    return new String(chars, first, end - first);
+  }
+
+  // Moves past the next word, and sets wordStart and wordEnd around its text without quotes
+  private void readWord() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    quoted = chars[position] == '"';
+    if (!quoted) {
+      wordStart = position;
+      while (position < end && !Character.isWhitespace(chars[position])) {
+        position++;
+      }
+      wordEnd = position;
+      return;
+    }
+    for (int i = position + 1; i < end; i++) {
+      if (chars[i] == '"') {
+        wordStart = position + 1;
+        wordEnd = i;
+        position = i + 1;
+        return;
+      }
+    }
+    throw new IllegalArgumentException("Invalid input syntax, missing closing quote!");
+  }
+
+  private void skipWhitespace() {
+    while (position < end && Character.isWhitespace(chars[position])) {
+      position++;
+    }
+  }
+}
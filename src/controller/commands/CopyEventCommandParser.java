@@ -3,7 +3,6 @@ package controller.commands;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Scanner;
 
 import model.application.ICalendarManager;
 import view.IView;
@@ -21,7 +20,7 @@ public class CopyEventCommandParser extends AbstractCommandParser {
    * @param view the view to use.
    * @param command the command for the controller to parse.
    */
-  public CopyEventCommandParser(ICalendarManager application, IView view, Scanner command) {
+  public CopyEventCommandParser(ICalendarManager application, IView view, CommandTokens command) {
     super(view, command);
     this.application = application;
   }
@@ -1,6 +1,5 @@
 package controller.commands;
 
-import java.util.Scanner;
 
 import model.application.ICalendarManager;
 import view.IView;
@@ -18,7 +17,8 @@ public class CreateCalendarCommandParser extends AbstractCommandParser {
    * @param view the view to use.
    * @param command the command for the controller to parse.
    */
-  public CreateCalendarCommandParser(ICalendarManager application, IView view, Scanner command) {
+  public CreateCalendarCommandParser(ICalendarManager application, IView view,
+                                     CommandTokens command) {
     super(view, command);
     this.application = application;
   }
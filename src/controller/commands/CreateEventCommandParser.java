@@ -3,10 +3,9 @@ package controller.commands;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Scanner;
 
 import model.event.CalendarEvent;
-import model.event.EventSeries;
+import model.event.RecurringEventSeries;
 import model.calendar.ICalendar;
 import model.event.SingleEvent;
 import view.IView;
@@ -25,7 +24,8 @@ public class CreateEventCommandParser extends AbstractCommandParser {
    * @param view the view to use.
    * @param command the command for the controller to parse.
    */
-  public CreateEventCommandParser(ICalendar calendar, IView view, Scanner command, String next) {
+  public CreateEventCommandParser(ICalendar calendar, IView view,
+                                  CommandTokens command, String next) {
     super(view, command);
     this.calendar = calendar;
     nextWord = next;
@@ -70,21 +70,27 @@ public class CreateEventCommandParser extends AbstractCommandParser {
     nextIsExactly("repeats"); // next word MUST be "repeats"
     DayOfWeek[] daysOfWeek = nextDaysOfWeek();
 
-    // parse the third word in our command words: "for" or "until"
+    // parse the third word in our command words: "for", "until" or "forever"
     CalendarEvent newEvent;
     switch (command.next()) {
       case "for":
-        newEvent = new EventSeries(
+        newEvent = new RecurringEventSeries(
                 new SingleEvent.Builder(subject, getAllDayEventStartingDateTime(date),
                         getAllDayEventEndingDateTime(date)).build(), nextOccurrences(), daysOfWeek);
         calendar.addEvent(newEvent);
         break;
       case "until":
-        newEvent = new EventSeries(
+        newEvent = new RecurringEventSeries(
                 new SingleEvent.Builder(subject, getAllDayEventStartingDateTime(date),
                         getAllDayEventEndingDateTime(date)).build(), nextDate(), daysOfWeek);
         calendar.addEvent(newEvent);
         break;
+      case "forever":
+        newEvent = new RecurringEventSeries(
+                new SingleEvent.Builder(subject, getAllDayEventStartingDateTime(date),
+                        getAllDayEventEndingDateTime(date)).build(), daysOfWeek);
+        calendar.addEvent(newEvent);
+        break;
       default:
         throw new IllegalArgumentException("Invalid input syntax, cannot parse next keyword!");
     }
@@ -115,21 +121,26 @@ public class CreateEventCommandParser extends AbstractCommandParser {
     nextIsExactly("repeats"); // next word MUST be "repeats"
     DayOfWeek[] daysOfWeek = nextDaysOfWeek();
 
-    // parse the third word in our command words: "for" or "until"
+    // parse the third word in our command words: "for", "until" or "forever"
     CalendarEvent newEvent;
     switch (command.next()) {
       case "for":
-        newEvent = new EventSeries(
+        newEvent = new RecurringEventSeries(
                 new SingleEvent.Builder(subject, startDateTime, endDateTime).build(),
                 nextOccurrences(), daysOfWeek);
         calendar.addEvent(newEvent);
         break;
       case "until":
-        newEvent = new EventSeries(
+        newEvent = new RecurringEventSeries(
                 new SingleEvent.Builder(subject, startDateTime, endDateTime).build(),
                 nextDate(), daysOfWeek);
         calendar.addEvent(newEvent);
         break;
+      case "forever":
+        newEvent = new RecurringEventSeries(
+                new SingleEvent.Builder(subject, startDateTime, endDateTime).build(), daysOfWeek);
+        calendar.addEvent(newEvent);
+        break;
       default:
         throw new IllegalArgumentException("Invalid input syntax, cannot parse next keyword!");
     }
@@ -0,0 +1,163 @@
+package controller.commands;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses dates written as {@code YYYY-MM-DD} and date/times written as {@code YYYY-MM-DDThh:mm},
+ * the layouts used by every command. Those layouts are read digit by digit straight from the
+ * characters, without a {@code DateTimeFormatter}. Scripts use the same dates over and over, so
+ * the most recent results are kept in a small cache and handed back instead of being made again.
+ * Anything else that {@code LocalDate.parse} or {@code LocalDateTime.parse} accepts, such as a
+ * date/time with seconds, is passed on to them.
+ */
+public final class DateTimeParser {
+  // Each cache is a fixed-size table where a new value simply replaces whatever shared its slot
+  private static final int CACHE_BITS = 12;
+  private static final DateEntry[] DATES = new DateEntry[1 << CACHE_BITS];
+  private static final DateTimeEntry[] DATE_TIMES = new DateTimeEntry[1 << CACHE_BITS];
+
+  private DateTimeParser() {
+  }
+
+  /**
+   * Parses a date.
+   *
+   * @param text the date, in {@code YYYY-MM-DD} format.
+   * @return the date.
+   * @throws DateTimeParseException if the text is not a valid date.
+   */
+  public static LocalDate parseDate(String text) {
+    return parseDate(text.toCharArray(), 0, text.length());
+  }
+
+  /**
+   * Parses a date stored in part of a character array.
+   *
+   * @param chars the characters holding the date.
+   * @param start the index of the first character of the date.
+   * @param end   the index just past the last character of the date.
+   * @return the date.
+   * @throws DateTimeParseException if the text is not a valid date.
+   */
+  public static LocalDate parseDate(char[] chars, int start, int end) {
+    if (!isDate(chars, start, end)) {
+      return LocalDate.parse(new String(chars, start, end - start));
+    }
+    int key = digits(chars, start, 4) * 10000 + digits(chars, start + 5, 2) * 100
+            + digits(chars, start + 8, 2);
+    int slot = slot(key);
+    DateEntry entry = DATES[slot];
+    if (entry == null || entry.key != key) {
+      try {
+        entry = new DateEntry(key, LocalDate.of(key / 10000, key / 100 % 100, key % 100));
+      } catch (DateTimeException e) {
+        throw new DateTimeParseException(e.getMessage(), new String(chars, start, end - start),
+                0, e);
+      }
+      DATES[slot] = entry;
+    }
+    return entry.value;
+  }
+
+  /**
+   * Parses a date/time.
+   *
+   * @param text the date/time, in {@code YYYY-MM-DDThh:mm} format.
+   * @return the date/time.
+   * @throws DateTimeParseException if the text is not a valid date/time.
+   */
+  public static LocalDateTime parseDateTime(String text) {
+    return parseDateTime(text.toCharArray(), 0, text.length());
+  }
+
+  /**
+   * Parses a date/time stored in part of a character array.
+   *
+   * @param chars the characters holding the date/time.
+   * @param start the index of the first character of the date/time.
+   * @param end   the index just past the last character of the date/time.
+   * @return the date/time.
+   * @throws DateTimeParseException if the text is not a valid date/time.
+   */
+  public static LocalDateTime parseDateTime(char[] chars, int start, int end) {
+    if (end - start != 16 || !isDate(chars, start, start + 10) || chars[start + 10] != 'T'
+            || chars[start + 13] != ':' || !isDigits(chars, start + 11, 2)
+            || !isDigits(chars, start + 14, 2)) {
+      return LocalDateTime.parse(new String(chars, start, end - start));
+    }
+    long key = (digits(chars, start, 4) * 10000L + digits(chars, start + 5, 2) * 100
+            + digits(chars, start + 8, 2)) * 10000L + digits(chars, start + 11, 2) * 100
+            + digits(chars, start + 14, 2);
+    int slot = slot(Long.hashCode(key));
+    DateTimeEntry entry = DATE_TIMES[slot];
+    if (entry == null || entry.key != key) {
+      try {
+        entry = new DateTimeEntry(key, LocalDateTime.of((int) (key / 100000000),
+                (int) (key / 1000000 % 100), (int) (key / 10000 % 100), (int) (key / 100 % 100),
+                (int) (key % 100)));
+      } catch (DateTimeException e) {
+        throw new DateTimeParseException(e.getMessage(), new String(chars, start, end - start),
+                0, e);
+      }
+      DATE_TIMES[slot] = entry;
+    }
+    return entry.value;
+  }
+
+  private static boolean isDate(char[] chars, int start, int end) {
+    return end - start == 10 && chars[start + 4] == '-' && chars[start + 7] == '-'
+            && isDigits(chars, start, 4) && isDigits(chars, start + 5, 2)
+            && isDigits(chars, start + 8, 2);
+  }
+
+  private static boolean isDigits(char[] chars, int start, int count) {
+    for (int i = start; i < start + count; i++) {
+      if (chars[i] < '0' || chars[i] > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int digits(char[] chars, int start, int count) {
+    int value = 0;
+    for (int i = start; i < start + count; i++) {
+      value = value * 10 + (chars[i] - '0');
+    }
+    return value;
+  }
+
+  private static int slot(int hash) {
+    return (hash * 0x9E3779B9) >>> (32 - CACHE_BITS);
+  }
+
+  /**
+   * A cached date and the digits it was parsed from. Its fields are final, so a thread that
+   * finds it in the cache always sees it whole.
+   */
+  private static final class DateEntry {
+    private final int key;
+    private final LocalDate value;
+
+    private DateEntry(int key, LocalDate value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  /**
+   * A cached date/time and the digits it was parsed from.
+   */
+  private static final class DateTimeEntry {
+    private final long key;
+    private final LocalDateTime value;
+
+    private DateTimeEntry(long key, LocalDateTime value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package controller.commands;
 
 import java.util.List;
-import java.util.Scanner;
 
 import model.application.ICalendarManager;
 import view.IView;
@@ -19,7 +18,8 @@ public class EditCalendarCommandParser extends AbstractCommandParser {
    * @param view the view to use.
    * @param command the command for the controller to parse.
    */
-  public EditCalendarCommandParser(ICalendarManager application, IView view, Scanner command) {
+  public EditCalendarCommandParser(ICalendarManager application, IView view,
+                                   CommandTokens command) {
     super(view, command);
     this.application = application;
   }
@@ -3,7 +3,6 @@ package controller.commands;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Scanner;
 
 import model.calendar.ICalendar;
 import view.IView;
@@ -22,7 +21,8 @@ public class EditEventCommandParser extends AbstractCommandParser {
    * @param view the view to use.
    * @param command the command for the controller to parse.
    */
-  public EditEventCommandParser(ICalendar calendar, IView view, Scanner command, String next) {
+  public EditEventCommandParser(ICalendar calendar, IView view,
+                                CommandTokens command, String next) {
     super(view, command);
     this.calendar = calendar;
     nextWord = next;
@@ -0,0 +1,103 @@
+package controller.commands;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+import model.calendar.IBetterCalendar;
+import model.event.CalendarEvent;
+import model.event.CsvWriter;
+import model.event.IEventWriter;
+import model.event.IcsWriter;
+import view.IView;
+
+/**
+ * Class that parses the "export cal" command, which writes the events of the calendar in use to
+ * an iCalendar (.ics) or CSV file, optionally only those in a date/time range.
+ */
+public class ExportCalendarCommandParser extends AbstractCommandParser {
+  private final IBetterCalendar calendar;
+
+  /**
+   * Creates the {@code ExportCalendarCommandParser} object.
+   *
+   * @param calendar the calendar to use.
+   * @param view the view to use.
+   * @param command the command for the controller to parse.
+   */
+  public ExportCalendarCommandParser(IBetterCalendar calendar, IView view,
+                                     CommandTokens command) {
+    super(view, command);
+    this.calendar = calendar;
+  }
+
+  @Override
+  public void parse() {
+    nextIsOneOf(List.of("cal", "calendar"));
+    nextIsExactly("--file");
+    String fileName = nextMultipleWords();
+    Path file;
+    try {
+      file = Paths.get(fileName).toAbsolutePath();
+    } catch (InvalidPathException e) {
+      throw new IllegalArgumentException("Invalid file name " + fileName);
+    }
+
+    String format = fileName.toLowerCase().endsWith(".csv") ? "csv" : "ics";
+    LocalDateTime start = LocalDateTime.MIN;
+    LocalDateTime end = LocalDateTime.MAX;
+    while (command.hasNext()) {
+      String option = nextIsOneOf(List.of("--format", "--from", "--to"));
+      if (option.equals("--format")) {
+        format = nextIsOneOf(List.of("ics", "csv"));
+      } else if (option.equals("--from")) {
+        start = nextDateTime();
+      } else {
+        end = nextDateTime();
+      }
+    }
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End date cannot be before the starting date.");
+    }
+
+    // The file is only replaced once every event has been written to the one beside it
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    int exported = 0;
+    try {
+      try (Writer out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8);
+           IEventWriter writer = format.equals("csv") ? new CsvWriter(out)
+                   : new IcsWriter(out, calendar.getZoneId())) {
+        Iterator<CalendarEvent> events = calendar.eventIterator(start, end);
+        while (events.hasNext()) {
+          writer.write(events.next(), start, end);
+          exported++;
+        }
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      deleteQuietly(temporary);
+      throw new IllegalArgumentException("Could not write file " + fileName);
+    } catch (IllegalArgumentException e) {
+      deleteQuietly(temporary);
+      throw e;
+    }
+    view.writeMessage("Exported " + exported + " events to " + fileName + ".");
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      // the export already failed, which is what the user needs to hear about
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package controller.commands;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import model.calendar.IBetterCalendar;
+import model.event.CalendarEvent;
+import model.event.IcsReader;
+import view.IView;
+
+/**
+ * Class that parses the "import calendar" command, which adds every event in an iCalendar (.ics)
+ * file to the calendar in use.
+ */
+public class ImportCalendarCommandParser extends AbstractCommandParser {
+  // Events are read and added this many at a time, so a large file never has to fit in memory
+  private static final int BATCH_SIZE = 1000;
+
+  private final IBetterCalendar calendar;
+
+  /**
+   * Creates the {@code ImportCalendarCommandParser} object.
+   *
+   * @param calendar the calendar to use.
+   * @param view the view to use.
+   * @param command the command for the controller to parse.
+   */
+  public ImportCalendarCommandParser(IBetterCalendar calendar, IView view,
+                                     CommandTokens command) {
+    super(view, command);
+    this.calendar = calendar;
+  }
+
+  @Override
+  public void parse() {
+    nextIsExactly("calendar");
+    nextIsExactly("--file");
+    String fileName = nextMultipleWords();
+    Path file;
+    try {
+      file = Paths.get(fileName);
+    } catch (InvalidPathException e) {
+      throw new IllegalArgumentException("Invalid file name " + fileName);
+    }
+
+    int imported = 0;
+    try (IcsReader reader = new IcsReader(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+            calendar.getZoneId())) {
+      try {
+        List<CalendarEvent> batch;
+        while (!(batch = reader.readEvents(BATCH_SIZE)).isEmpty()) {
+          calendar.addEvents(batch);
+          imported += batch.size();
+        }
+      } catch (IllegalArgumentException e) {
+        // Earlier batches stay added, so say how far the import got
+        throw new IllegalArgumentException("Imported " + imported + " events, then stopped: "
+                + e.getMessage());
+      }
+      String message = "Imported " + imported + " events from " + fileName + ".";
+      if (reader.getSkipped() > 0) {
+        message += " Skipped " + reader.getSkipped() + " changes to single occurrences.";
+      }
+      view.writeMessage(message);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read file " + fileName);
+    }
+  }
+}
@@ -2,12 +2,10 @@ package controller.commands;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Scanner;
+import java.util.Iterator;
 
 import model.calendar.ICalendar;
-import model.event.ReadOnlyCalendarEvent;
+import model.event.ISingleEvent;
 import view.IView;
 
 /**
@@ -29,7 +27,7 @@ public class QueryCommandParser extends AbstractCommandParser {
    * @param firstCommand the first command for the query (either {@code print} or {@code show}).
    */
   public QueryCommandParser(ICalendar calendar, String calendarName, IView view,
-                            Scanner command, String firstCommand) {
+                            CommandTokens command, String firstCommand) {
     super(view, command);
     this.calendar = calendar;
     this.calendarName = calendarName;
@@ -74,8 +72,8 @@ public class QueryCommandParser extends AbstractCommandParser {
 
   private void parsePrintEventsOnCommand() {
     LocalDate date = nextDate();
-    List<ReadOnlyCalendarEvent> events = new LinkedList<>(calendar.query(
-            getDayStartingDateTime(date), getDayEndingDateTime(date)));
+    Iterator<ISingleEvent> events = calendar.queryIterator(getDayStartingDateTime(date),
+            getDayEndingDateTime(date));
 
     view.writeMessage(String.format("All events in %s on %s:", calendarName, date.toString()));
     view.showEvents(events);
@@ -85,8 +83,7 @@ public class QueryCommandParser extends AbstractCommandParser {
     LocalDateTime startDateTime = nextDateTime();
     nextIsExactly("to");
     LocalDateTime endDateTime = nextDateTime();
-    List<ReadOnlyCalendarEvent> events = new LinkedList<>(calendar.query(
-            startDateTime, endDateTime));
+    Iterator<ISingleEvent> events = calendar.queryIterator(startDateTime, endDateTime);
 
     view.writeMessage(String.format("All events in %s from %s to %s:", calendarName,
             startDateTime.toString(), endDateTime.toString()));
@@ -1,5 +1,7 @@
 package model.application;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -9,12 +11,14 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import model.calendar.BetterCalendar;
+import model.calendar.ConcurrentCalendar;
 import model.calendar.IBetterCalendar;
-import model.calendar.ICalendar;
 import model.event.CalendarEvent;
 import model.event.IEventSeries;
 import model.event.EventSeries;
@@ -29,21 +33,101 @@ import model.event.comparators.StartDateTimeComparator;
  */
 public class CalendarManager implements ICalendarManager {
   private final Map<String, IBetterCalendar> calendars;
-  private String currentCalendarName;
+  private final boolean concurrent;
+  private volatile String currentCalendarName;
 
   /**
    * Constructs an {@code Application} object.
    */
   public CalendarManager() {
-    this.calendars = new HashMap<>();
+    this(false);
+  }
+
+  /**
+   * Constructs an {@code Application} object that may be shared by several threads if
+   * {@code concurrent} is set. Each calendar then guards itself with its own lock, so queries on
+   * a calendar run in parallel while changes to it are made one at a time.
+   *
+   * @param concurrent whether several threads will use the manager and its calendars at once.
+   */
+  public CalendarManager(boolean concurrent) {
+    this.calendars = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    this.concurrent = concurrent;
   }
 
   @Override
-  public void createCalendar(String calendarName, String timeZone) {
+  public synchronized void createCalendar(String calendarName, String timeZone) {
     if (this.calendars.containsKey(calendarName)) {
       throw new IllegalArgumentException("Calendar with this name already exists.");
     }
-    calendars.put(calendarName, new BetterCalendar(timeZone));
+    IBetterCalendar calendar = new BetterCalendar(timeZone);
+    calendars.put(calendarName, concurrent ? new ConcurrentCalendar(calendar) : calendar);
+  }
+
+  /**
+   * Saves every calendar of this manager, and which one is in use, to a binary snapshot file.
+   * Calendars may keep being changed while they are saved; each one is saved as it was at a
+   * single moment.
+   *
+   * @param file the file to save to, which is replaced if it exists.
+   * @throws IOException if the file cannot be written.
+   */
+  public void writeSnapshot(Path file) throws IOException {
+    Map<String, IBetterCalendar> current;
+    String calendarInUse;
+    synchronized (this) {
+      current = new LinkedHashMap<>(calendars);
+      calendarInUse = currentCalendarName;
+    }
+    CalendarSnapshot.write(file, current, calendarInUse);
+  }
+
+  /**
+   * Loads a manager from a snapshot file written by {@link #writeSnapshot(Path)}. Calendars
+   * are loaded in parallel.
+   *
+   * @param file       the file to load from.
+   * @param concurrent whether several threads will use the manager and its calendars at once.
+   * @return the new manager, with the same calendars and calendar in use as when it was saved.
+   * @throws IOException              if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not a snapshot, or is damaged.
+   */
+  public static CalendarManager readSnapshot(Path file, boolean concurrent) throws IOException {
+    CalendarManager manager = new CalendarManager(concurrent);
+    String calendarInUse = CalendarSnapshot.read(file, manager);
+    if (calendarInUse != null) {
+      manager.setCalendarInUse(calendarInUse);
+    }
+    return manager;
+  }
+
+  /**
+   * Opens a new session on this manager. A session shares every calendar with the manager and
+   * with every other session, but remembers its own current calendar, so several clients can
+   * each use a different calendar at the same time. The manager itself acts as one more session.
+   *
+   * @return the new session, which starts with no calendar in use.
+   */
+  public ICalendarManager openSession() {
+    return new CalendarSession(this);
+  }
+
+  /**
+   * Gets a calendar by its name.
+   *
+   * @param calendarName the name of the calendar.
+   * @return the calendar, or null if there is no calendar with that name.
+   */
+  public IBetterCalendar getCalendar(String calendarName) {
+    return calendarName == null ? null : calendars.get(calendarName);
+  }
+
+  // Adds calendars read from a snapshot, replacing any calendars with the same names
+  synchronized void addCalendars(Map<String, IBetterCalendar> newCalendars) {
+    for (Map.Entry<String, IBetterCalendar> entry : newCalendars.entrySet()) {
+      calendars.put(entry.getKey(), concurrent ? new ConcurrentCalendar(entry.getValue())
+              : entry.getValue());
+    }
   }
 
   @Override
@@ -53,11 +137,11 @@ public class CalendarManager implements ICalendarManager {
 
   @Override
   public IBetterCalendar getCurrentCalendar() {
-    return calendars.get(currentCalendarName);
+    return getCalendar(currentCalendarName);
   }
 
   @Override
-  public void editCalendarTimeZone(String calendarName, String timeZone) {
+  public synchronized void editCalendarTimeZone(String calendarName, String timeZone) {
     if (!calendars.containsKey(calendarName)) {
       throw new IllegalArgumentException("The calendar to be edited does not exist.");
     }
@@ -68,7 +152,7 @@ public class CalendarManager implements ICalendarManager {
   }
 
   @Override
-  public void editCalendarName(String oldName, String newName) {
+  public synchronized void editCalendarName(String oldName, String newName) {
     if (!calendars.containsKey(oldName)) {
       throw new IllegalArgumentException("Could not find calendar to rename!");
     } else if (calendars.containsKey(newName)) {
@@ -83,7 +167,7 @@ public class CalendarManager implements ICalendarManager {
   }
 
   @Override
-  public void setCalendarInUse(String calendarName) {
+  public synchronized void setCalendarInUse(String calendarName) {
     if (!calendars.containsKey(calendarName)) {
       throw new IllegalArgumentException("The calendar to be set in use does not exist.");
     }
@@ -93,26 +177,60 @@ public class CalendarManager implements ICalendarManager {
   @Override
   public void copyEvent(String eventName, LocalDateTime eventStartDateTime,
                         String targetCalendarName, LocalDateTime newStartDateTime) {
-    ISingleEvent event = calendars.get(currentCalendarName).getSingleEventsWithStartDate(eventName,
-            eventStartDateTime).get(0);
-    CalendarEvent eventToCopy = event.createNewEventWithNewStartDateAndEndDate(
-            newStartDateTime, newStartDateTime.plus(Duration.between(event.getStartDateTime(),
-                    event.getEndDateTime())));
-    if (calendars.containsKey(targetCalendarName)) {
-      calendars.get(targetCalendarName).addEvent(eventToCopy);
-    } else {
-      throw new IllegalArgumentException("Could not find target calendar to copy event to!");
+    copyEvent(currentCalendarName, eventName, eventStartDateTime, targetCalendarName,
+            newStartDateTime);
+  }
+
+  /**
+   * Copies an event from a given calendar to a target calendar at a specified start time.
+   *
+   * @param sourceCalendarName  the name of the calendar to copy the event from.
+   * @param eventName           the name of the event to copy.
+   * @param eventStartDateTime  the start date/time for the event to copy.
+   * @param targetCalendarName  the name of the calendar to copy the event to.
+   * @param newStartDateTime    the new start date/time for the copied event.
+   * @throws IllegalArgumentException if either calendar does not exist, or no event matches.
+   */
+  public void copyEvent(String sourceCalendarName, String eventName,
+                        LocalDateTime eventStartDateTime, String targetCalendarName,
+                        LocalDateTime newStartDateTime) {
+    IBetterCalendar source = getSourceCalendar(sourceCalendarName);
+    IBetterCalendar target = getTargetCalendar(targetCalendarName);
+    List<ISingleEvent> matchedEvents = source.getSingleEventsWithStartDate(eventName,
+            eventStartDateTime);
+    if (matchedEvents.isEmpty()) {
+      throw new IllegalArgumentException("Could not find event to copy!");
     }
+    ISingleEvent event = matchedEvents.get(0);
+    target.addEvent(event.createNewEventWithNewStartDateAndEndDate(newStartDateTime,
+            newStartDateTime.plus(Duration.between(event.getStartDateTime(),
+                    event.getEndDateTime()))));
   }
 
   @Override
   public void copyEvents(LocalDateTime start, LocalDateTime end, String targetCalendarName,
                          LocalDate newStartDate) {
-    if (!calendars.containsKey(targetCalendarName)) {
-      throw new IllegalArgumentException("Could not find target calendar to copy event to!");
-    }
+    copyEvents(currentCalendarName, start, end, targetCalendarName, newStartDate);
+  }
 
-    List<ISingleEvent> events = calendars.get(currentCalendarName).query(start, end);
+  /**
+   * Copies a list of events from a given calendar to a target calendar starting from a specified
+   * date. The copies are added to the target all at once, so nobody sees only some of them.
+   *
+   * @param sourceCalendarName  the name of the calendar to copy the events from.
+   * @param start               the start of the interval for the list of events to copy.
+   * @param end                 the end of the interval for the list of events to copy.
+   * @param targetCalendarName  the name of the calendar to copy the events to.
+   * @param newStartDate        the date at which the copied events will start from.
+   * @throws IllegalArgumentException if either calendar does not exist.
+   */
+  public void copyEvents(String sourceCalendarName, LocalDateTime start, LocalDateTime end,
+                         String targetCalendarName, LocalDate newStartDate) {
+    // Calendars may be renamed meanwhile, so each one is looked up only once
+    IBetterCalendar target = getTargetCalendar(targetCalendarName);
+    IBetterCalendar source = getSourceCalendar(sourceCalendarName);
+
+    List<ISingleEvent> events = source.query(start, end);
 
     if (events == null || events.isEmpty()) {
       return;
@@ -128,23 +246,40 @@ public class CalendarManager implements ICalendarManager {
     LocalDate originalFirstDate = sortedEvents.get(0).getStartDateTime().toLocalDate();
     Period dateOffset = Period.between(originalFirstDate, newStartDate);
 
-    ZoneId originalSource = calendars.get(currentCalendarName).getZoneId();
-    ZoneId targetZone = calendars.get(targetCalendarName).getZoneId();
+    ZoneId originalSource = source.getZoneId();
+    ZoneId targetZone = target.getZoneId();
 
     Map<IEventSeries, Boolean> seriesValidity = new HashMap<>();
     Map<IEventSeries, List<ISingleEvent>> newValidSeriesEvents = new HashMap<>();
+    List<CalendarEvent> copies = new ArrayList<>();
 
     for (ISingleEvent originalEvent : sortedEvents) {
-      processEvent(originalEvent, dateOffset, calendars.get(targetCalendarName), seriesValidity,
-              newValidSeriesEvents, calendars.get(currentCalendarName), originalSource, targetZone,
-              queryOffset);
+      processEvent(originalEvent, dateOffset, copies, seriesValidity, newValidSeriesEvents,
+              source, originalSource, targetZone, queryOffset);
     }
 
-    createSeries(calendars.get(targetCalendarName), newValidSeriesEvents);
+    createSeries(copies, newValidSeriesEvents);
+    target.addEvents(copies);
+  }
+
+  private IBetterCalendar getSourceCalendar(String calendarName) {
+    IBetterCalendar calendar = getCalendar(calendarName);
+    if (calendar == null) {
+      throw new IllegalArgumentException("Could not find calendar to copy event from!");
+    }
+    return calendar;
+  }
+
+  private IBetterCalendar getTargetCalendar(String calendarName) {
+    IBetterCalendar calendar = getCalendar(calendarName);
+    if (calendar == null) {
+      throw new IllegalArgumentException("Could not find target calendar to copy event to!");
+    }
+    return calendar;
   }
 
   private void processEvent(ISingleEvent originalEvent, Period dateOffset,
-                            ICalendar targetCalendarName,
+                            List<CalendarEvent> copies,
                             Map<IEventSeries, Boolean> seriesValidity,
                             Map<IEventSeries, List<ISingleEvent>> newValidSeriesEvents,
                             IBetterCalendar calendar, ZoneId originalSource, ZoneId targetZone,
@@ -166,20 +301,17 @@ public class CalendarManager implements ICalendarManager {
     IEventSeries originalSeries = calendar.isInSeries(originalEvent);
 
     if (originalSeries == null) {
-      targetCalendarName.addEvent(newEvent);
+      copies.add(newEvent);
     } else {
-      handleSeriesEvent(newEvent, originalEvent, targetCalendarName, seriesValidity,
-              newValidSeriesEvents, calendar);
+      handleSeriesEvent(newEvent, originalEvent, originalSeries, copies,
+              seriesValidity, newValidSeriesEvents);
     }
   }
 
   private void handleSeriesEvent(ISingleEvent newEvent, ISingleEvent originalEvent,
-                                 ICalendar targetCalendar,
+                                 IEventSeries originalSeries, List<CalendarEvent> copies,
                                  Map<IEventSeries, Boolean> seriesValidity,
-                                 Map<IEventSeries, List<ISingleEvent>> newValidSeriesEvents,
-                                 IBetterCalendar calendar) {
-
-    IEventSeries originalSeries = calendar.isInSeries(originalEvent);
+                                 Map<IEventSeries, List<ISingleEvent>> newValidSeriesEvents) {
 
     if (!seriesValidity.containsKey(originalSeries)) {
       DayOfWeek originalDay = originalEvent.getStartDateTime().getDayOfWeek();
@@ -194,11 +326,11 @@ public class CalendarManager implements ICalendarManager {
       }
       newValidSeriesEvents.get(originalSeries).add(newEvent);
     } else {
-      targetCalendar.addEvent(newEvent);
+      copies.add(newEvent);
     }
   }
 
-  private void createSeries(IBetterCalendar targetCalendar, Map<IEventSeries,
+  private void createSeries(List<CalendarEvent> copies, Map<IEventSeries,
           List<ISingleEvent>> newValidSeriesEvents) {
     for (Map.Entry<IEventSeries, List<ISingleEvent>> entry : newValidSeriesEvents.entrySet()) {
       IEventSeries originalSeries = entry.getKey();
@@ -207,7 +339,7 @@ public class CalendarManager implements ICalendarManager {
         IEventSeries newSeries = new EventSeries(newEventsForSeries,
                 originalSeries.getEndDateTime().toLocalDate(),
                 originalSeries.getOccurringDays());
-        targetCalendar.addEvent(newSeries);
+        copies.add(newSeries);
       }
     }
   }
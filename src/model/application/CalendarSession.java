@@ -0,0 +1,82 @@
+package model.application;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import model.calendar.IBetterCalendar;
+
+/**
+ * One client's view of a shared {@code CalendarManager}. Every calendar belongs to the manager and
+ * is shared with all other sessions, but each session has its own current calendar, so clients
+ * that switch calendars do not affect each other. The current calendar is kept by name and looked
+ * up in the manager each time it is used, so a session always sees the latest version of it.
+ */
+final class CalendarSession implements ICalendarManager {
+  private final CalendarManager manager;
+  private volatile String currentCalendarName;
+
+  /**
+   * Constructs a {@code CalendarSession} on the given manager, with no calendar in use.
+   *
+   * @param manager the manager that holds the calendars.
+   */
+  CalendarSession(CalendarManager manager) {
+    this.manager = manager;
+  }
+
+  @Override
+  public void createCalendar(String calendarName, String timeZone) {
+    manager.createCalendar(calendarName, timeZone);
+  }
+
+  @Override
+  public String getCurrentCalendarName() {
+    return currentCalendarName;
+  }
+
+  @Override
+  public IBetterCalendar getCurrentCalendar() {
+    return manager.getCalendar(currentCalendarName);
+  }
+
+  @Override
+  public void editCalendarTimeZone(String calendarName, String timeZone) {
+    manager.editCalendarTimeZone(calendarName, timeZone);
+  }
+
+  /**
+   * Renames a calendar for every session. Only this session follows the calendar to its new
+   * name; any other session using it has to select it again.
+   *
+   * @param oldName the old name of the calendar.
+   * @param newName the new name of the calendar.
+   */
+  @Override
+  public void editCalendarName(String oldName, String newName) {
+    manager.editCalendarName(oldName, newName);
+    if (oldName.equals(currentCalendarName)) {
+      currentCalendarName = newName;
+    }
+  }
+
+  @Override
+  public void setCalendarInUse(String calendarName) {
+    if (manager.getCalendar(calendarName) == null) {
+      throw new IllegalArgumentException("The calendar to be set in use does not exist.");
+    }
+    currentCalendarName = calendarName;
+  }
+
+  @Override
+  public void copyEvent(String eventName, LocalDateTime eventStartDateTime,
+                        String targetCalendarName, LocalDateTime newStartDateTime) {
+    manager.copyEvent(currentCalendarName, eventName, eventStartDateTime, targetCalendarName,
+            newStartDateTime);
+  }
+
+  @Override
+  public void copyEvents(LocalDateTime start, LocalDateTime end, String targetCalendarName,
+                         LocalDate newStartDate) {
+    manager.copyEvents(currentCalendarName, start, end, targetCalendarName, newStartDate);
+  }
+}
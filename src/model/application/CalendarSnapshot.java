@@ -0,0 +1,295 @@
+package model.application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import model.calendar.CalendarCodec;
+import model.calendar.IBetterCalendar;
+import model.event.EventCodec;
+
+/**
+ * Saves every calendar of a manager to one binary file, and loads them back.
+ *
+ * <p>The file starts with a header naming each calendar and giving the length and checksum of
+ * its section, followed by one section per calendar. Each section is written with
+ * {@link CalendarCodec}: numbers are stored in as few bytes as they need, and each distinct
+ * string, such as a subject, is stored once and referred to by its number after that. Sections
+ * do not depend on each other, so they are built and loaded in parallel, one per calendar.
+ */
+final class CalendarSnapshot {
+  private static final byte[] MAGIC = "CALSNAP\n".getBytes(StandardCharsets.US_ASCII);
+  private static final int VERSION = 1;
+
+  private CalendarSnapshot() {
+  }
+
+  /**
+   * Writes calendars to a snapshot file. The file is replaced in one step once it is fully
+   * written, so a crash part way through leaves any earlier snapshot as it was.
+   *
+   * @param file          the snapshot file.
+   * @param calendars     the calendars to write, by name.
+   * @param calendarInUse the name of the calendar in use, or null if there is none.
+   * @throws IOException if the file cannot be written.
+   */
+  static void write(Path file, Map<String, IBetterCalendar> calendars, String calendarInUse)
+          throws IOException {
+    List<String> names = new ArrayList<>(calendars.keySet());
+    byte[][] sections = new byte[names.size()][];
+    IntStream.range(0, sections.length).parallel().forEach(i -> {
+      ByteOutput section = new ByteOutput(true);
+      CalendarCodec.write(calendars.get(names.get(i)), section);
+      sections[i] = section.toByteArray();
+    });
+
+    ByteOutput header = new ByteOutput(false);
+    header.writeInt(names.size());
+    header.writeString(calendarInUse);
+    for (int i = 0; i < sections.length; i++) {
+      header.writeString(names.get(i));
+      header.writeInt(sections[i].length);
+      header.writeLong(checksum(sections[i]));
+    }
+    byte[] headerBytes = header.toByteArray();
+
+    ByteBuffer[] buffers = new ByteBuffer[sections.length + 1];
+    buffers[0] = ByteBuffer.allocate(MAGIC.length + 8 + headerBytes.length).put(MAGIC)
+            .putInt(VERSION).putInt(headerBytes.length).put(headerBytes).flip();
+    for (int i = 0; i < sections.length; i++) {
+      buffers[i + 1] = ByteBuffer.wrap(sections[i]);
+    }
+
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffers[buffers.length - 1].hasRemaining()) {
+        channel.write(buffers);
+      }
+      channel.force(true);
+    }
+    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads every calendar from a snapshot file into a manager.
+   *
+   * @param file    the snapshot file.
+   * @param manager the manager to add the calendars to.
+   * @return the name of the calendar that was in use, or null if there was none.
+   * @throws IOException              if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not a snapshot, or is damaged.
+   */
+  static String read(Path file, CalendarManager manager) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer start = readFully(channel, 0, MAGIC.length + 8);
+      byte[] magic = new byte[MAGIC.length];
+      start.get(magic);
+      if (!Arrays.equals(magic, MAGIC)) {
+        throw new IllegalArgumentException(file + " is not a calendar snapshot.");
+      }
+      int version = start.getInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported calendar snapshot version " + version
+                + ".");
+      }
+      int headerLength = start.getInt();
+      long position = MAGIC.length + 8;
+      ByteInput header = new ByteInput(readFully(channel, position, headerLength).array(),
+              false);
+      position += headerLength;
+
+      int count = header.readInt();
+      String calendarInUse = header.readString();
+      String[] names = new String[count];
+      long[] positions = new long[count];
+      int[] lengths = new int[count];
+      long[] checksums = new long[count];
+      for (int i = 0; i < count; i++) {
+        names[i] = header.readString();
+        lengths[i] = header.readInt();
+        checksums[i] = header.readLong();
+        positions[i] = position;
+        position += lengths[i];
+      }
+
+      IBetterCalendar[] calendars = new IBetterCalendar[count];
+      IntStream.range(0, count).parallel().forEach(i -> {
+        byte[] section;
+        try {
+          section = readFully(channel, positions[i], lengths[i]).array();
+        } catch (IOException e) {
+          throw new IllegalArgumentException("Could not read calendar " + names[i] + ".");
+        }
+        if (checksum(section) != checksums[i]) {
+          throw new IllegalArgumentException("Calendar " + names[i] + " is damaged.");
+        }
+        calendars[i] = CalendarCodec.read(new ByteInput(section, true));
+      });
+
+      Map<String, IBetterCalendar> byName = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        byName.put(names[i], calendars[i]);
+      }
+      manager.addCalendars(byName);
+      return calendarInUse;
+    } catch (RuntimeException e) {
+      if (e instanceof IllegalArgumentException) {
+        throw e;
+      }
+      throw new IllegalArgumentException(file + " is damaged.");
+    }
+  }
+
+  // Positional reads do not move the channel, so several threads can read it at once
+  private static ByteBuffer readFully(FileChannel channel, long position, int length)
+          throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IllegalArgumentException("Calendar snapshot ends too early.");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  private static long checksum(byte[] bytes) {
+    CRC32 checksum = new CRC32();
+    checksum.update(bytes);
+    return checksum.getValue();
+  }
+
+  /**
+   * Packs numbers and strings into a growing array of bytes. Numbers are written seven bits to
+   * a byte, with negative numbers folded onto positive ones first.
+   */
+  private static final class ByteOutput implements EventCodec.Output {
+    private final Map<String, Integer> strings;
+    private byte[] bytes;
+    private int length;
+
+    private ByteOutput(boolean shareStrings) {
+      this.strings = shareStrings ? new HashMap<>() : null;
+      this.bytes = new byte[1 << 12];
+    }
+
+    @Override
+    public void writeInt(int value) {
+      writeUnsigned(value & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void writeLong(long value) {
+      writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    // 0 is null, 1 is a new string that follows, and anything higher is a string seen before
+    @Override
+    public void writeString(String value) {
+      if (value == null) {
+        writeUnsigned(0);
+        return;
+      }
+      if (strings != null) {
+        Integer known = strings.putIfAbsent(value, strings.size());
+        if (known != null) {
+          writeUnsigned(known + 2L);
+          return;
+        }
+      }
+      byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+      writeUnsigned(1);
+      writeUnsigned(utf8.length);
+      ensureRoom(utf8.length);
+      System.arraycopy(utf8, 0, bytes, length, utf8.length);
+      length += utf8.length;
+    }
+
+    private void writeUnsigned(long value) {
+      ensureRoom(10);
+      while ((value & ~0x7FL) != 0) {
+        bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      bytes[length++] = (byte) value;
+    }
+
+    private void ensureRoom(int extra) {
+      if (length + extra > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+      }
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(bytes, length);
+    }
+  }
+
+  /**
+   * Reads numbers and strings packed by a {@code ByteOutput}.
+   */
+  private static final class ByteInput implements EventCodec.Input {
+    private final byte[] bytes;
+    private final List<String> strings;
+    private int position;
+
+    private ByteInput(byte[] bytes, boolean shareStrings) {
+      this.bytes = bytes;
+      this.strings = shareStrings ? new ArrayList<>() : null;
+    }
+
+    @Override
+    public int readInt() {
+      return (int) readUnsigned();
+    }
+
+    @Override
+    public long readLong() {
+      long value = readUnsigned();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public String readString() {
+      long code = readUnsigned();
+      if (code == 0) {
+        return null;
+      } else if (code > 1) {
+        return strings.get((int) (code - 2));
+      }
+      int utf8Length = readInt();
+      String value = new String(bytes, position, utf8Length, StandardCharsets.UTF_8);
+      position += utf8Length;
+      if (strings != null) {
+        strings.add(value);
+      }
+      return value;
+    }
+
+    private long readUnsigned() {
+      long value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte next = bytes[position++];
+        value |= (long) (next & 0x7F) << shift;
+        if (next >= 0) {
+          return value;
+        }
+      }
+    }
+  }
+}
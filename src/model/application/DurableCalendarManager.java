@@ -0,0 +1,488 @@
+package model.application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import model.calendar.IBetterCalendar;
+import model.event.CalendarEvent;
+import model.event.EventSeries;
+import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+import model.event.Location;
+import model.event.ReadOnlyCalendarEvent;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+import model.event.Status;
+
+/**
+ * A calendar manager that keeps every change made to another manager in a log file, so that the
+ * calendars survive the program stopping. When it is made, every change in the log is made again
+ * on the wrapped manager, which brings it back to the state it was in when the log was last
+ * written; after that, each change is written to the log once it has been made.
+ *
+ * <p>Changes made through the calendar returned by {@link #getCurrentCalendar()} are logged too.
+ * Every change is either made whole or not at all, so only changes that succeed are logged, and
+ * making them again must succeed too. A change in the log that fails means the log does not
+ * match the calendars any more, so it stops the manager from being made rather than being
+ * skipped.
+ */
+public class DurableCalendarManager implements ICalendarManager, Closeable {
+  private static final long PERIODIC_SYNC_INTERVAL = 100;
+  private static final String DAY_LETTERS = "MTWRFSU";
+
+  private final ICalendarManager manager;
+  private final Durability durability;
+  private final WriteAheadLog log;
+
+  /**
+   * How sure a change is to be on disk by the time the call that made it returns.
+   */
+  public enum Durability {
+    /**
+     * Every change is on disk before its call returns. Changes made by several threads at once
+     * share each write to the disk.
+     */
+    SYNC,
+    /**
+     * Changes are written to disk in the background a few times a second, so a crash may lose
+     * the last moment of changes, but making a change never waits for the disk.
+     */
+    PERIODIC
+  }
+
+  /**
+   * Constructs a {@code DurableCalendarManager} object, making every change in the log file on
+   * the given manager first.
+   *
+   * @param manager    the manager to keep the calendars in, which should have no calendars yet.
+   * @param logFile    the log file, which is created if it does not exist.
+   * @param durability how sure each change is to be on disk when its call returns.
+   * @throws IllegalArgumentException if the log file cannot be read or written, or a change in it
+   *                                  cannot be made again.
+   */
+  public DurableCalendarManager(ICalendarManager manager, Path logFile, Durability durability)
+          throws IllegalArgumentException {
+    this.manager = manager;
+    this.durability = durability;
+    try {
+      WriteAheadLog.replay(logFile, this::replay);
+      this.log = new WriteAheadLog(logFile,
+              durability == Durability.PERIODIC ? PERIODIC_SYNC_INTERVAL : 0);
+    } catch (IOException | UncheckedIOException e) {
+      throw new IllegalArgumentException("Could not open log file " + logFile + ".");
+    }
+  }
+
+  @Override
+  public void createCalendar(String calendarName, String timeZone) {
+    long record;
+    synchronized (this) {
+      manager.createCalendar(calendarName, timeZone);
+      record = log.add("create", calendarName, timeZone);
+    }
+    sync(record);
+  }
+
+  @Override
+  public String getCurrentCalendarName() {
+    return manager.getCurrentCalendarName();
+  }
+
+  @Override
+  public IBetterCalendar getCurrentCalendar() {
+    synchronized (this) {
+      IBetterCalendar calendar = manager.getCurrentCalendar();
+      return calendar == null ? null
+              : new LoggedCalendar(manager.getCurrentCalendarName(), calendar);
+    }
+  }
+
+  @Override
+  public void editCalendarTimeZone(String calendarName, String timeZone) {
+    long record;
+    synchronized (this) {
+      manager.editCalendarTimeZone(calendarName, timeZone);
+      record = log.add("timezone", calendarName, timeZone);
+    }
+    sync(record);
+  }
+
+  @Override
+  public void editCalendarName(String oldName, String newName) {
+    long record;
+    synchronized (this) {
+      manager.editCalendarName(oldName, newName);
+      record = log.add("rename", oldName, newName);
+    }
+    sync(record);
+  }
+
+  @Override
+  public void setCalendarInUse(String calendarName) {
+    long record;
+    synchronized (this) {
+      manager.setCalendarInUse(calendarName);
+      record = log.add("use", calendarName);
+    }
+    sync(record);
+  }
+
+  @Override
+  public void copyEvent(String eventName, LocalDateTime eventStartDateTime,
+                        String targetCalendarName, LocalDateTime newStartDateTime) {
+    long record;
+    synchronized (this) {
+      String sourceCalendarName = manager.getCurrentCalendarName();
+      manager.copyEvent(eventName, eventStartDateTime, targetCalendarName, newStartDateTime);
+      record = log.add("copy", sourceCalendarName, eventName, toText(eventStartDateTime),
+              targetCalendarName, toText(newStartDateTime));
+    }
+    sync(record);
+  }
+
+  @Override
+  public void copyEvents(LocalDateTime start, LocalDateTime end, String targetCalendarName,
+                         LocalDate newStartDate) {
+    long record;
+    synchronized (this) {
+      String sourceCalendarName = manager.getCurrentCalendarName();
+      manager.copyEvents(start, end, targetCalendarName, newStartDate);
+      record = log.add("copyall", sourceCalendarName, toText(start), toText(end),
+              targetCalendarName, toText(newStartDate));
+    }
+    sync(record);
+  }
+
+  /**
+   * Writes every logged change to disk, then closes the log. Changes made after this fail.
+   */
+  @Override
+  public void close() {
+    log.close();
+  }
+
+  // The change is already made by now, so the error says it was kept though it was not saved
+  private void sync(long record) {
+    if (durability == Durability.SYNC) {
+      try {
+        log.sync(record);
+      } catch (UncheckedIOException e) {
+        throw new IllegalArgumentException("The change was kept in memory but could not be "
+                + "saved to the log: " + e.getMessage());
+      }
+    }
+  }
+
+  private void replay(String[] fields) {
+    try {
+      switch (fields[0]) {
+        case "create":
+          manager.createCalendar(fields[1], fields[2]);
+          break;
+        case "timezone":
+          manager.editCalendarTimeZone(fields[1], fields[2]);
+          break;
+        case "rename":
+          manager.editCalendarName(fields[1], fields[2]);
+          break;
+        case "use":
+          manager.setCalendarInUse(fields[1]);
+          break;
+        case "copy":
+          replayOn(fields[1], () -> manager.copyEvent(fields[2], toDateTime(fields[3]),
+                  fields[4], toDateTime(fields[5])));
+          break;
+        case "copyall":
+          replayOn(fields[1], () -> manager.copyEvents(toDateTime(fields[2]),
+                  toDateTime(fields[3]), fields[4], LocalDate.parse(fields[5])));
+          break;
+        case "add":
+          replayOn(fields[1], () -> manager.getCurrentCalendar().addEvent(toEvent(fields, 2)));
+          break;
+        case "adds":
+          replayOn(fields[1], () -> manager.getCurrentCalendar().addEvents(toEvents(fields, 2)));
+          break;
+        case "edit":
+          replayOn(fields[1], () -> manager.getCurrentCalendar().editEvent(fields[2], fields[3],
+                  toDateTime(fields[4]), toDateTime(fields[5]), fields[6]));
+          break;
+        case "edits":
+          replayOn(fields[1], () -> manager.getCurrentCalendar().editEvents(fields[2], fields[3],
+                  toDateTime(fields[4]), fields[5], fields[6]));
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown change in log: " + fields[0]);
+      }
+    } catch (RuntimeException e) {
+      // Every logged change succeeded when it was made, so the log and calendars have diverged
+      throw new IllegalArgumentException("Could not make the logged change " + fields[0]
+              + " again: " + e.getMessage(), e);
+    }
+  }
+
+  // Makes a change with the given calendar in use, then puts back the calendar that was in use
+  private void replayOn(String calendarName, Runnable change) {
+    String current = manager.getCurrentCalendarName();
+    if (calendarName == null || calendarName.equals(current)) {
+      change.run();
+      return;
+    }
+    manager.setCalendarInUse(calendarName);
+    try {
+      change.run();
+    } finally {
+      if (current != null) {
+        manager.setCalendarInUse(current);
+      }
+    }
+  }
+
+  // An event is written as a kind, then the fields needed to build it again
+  private static List<String> toFields(CalendarEvent event) {
+    List<String> fields = new ArrayList<>();
+    if (event instanceof IRecurringEventSeries) {
+      IRecurringEventSeries series = (IRecurringEventSeries) event;
+      fields.add("R");
+      addEventFields(fields, series.iterator().next());
+      fields.add(toText(series.getOccurringDays()));
+      fields.add(series.isUnbounded() ? null : toText(series.getEndDateTime().toLocalDate()));
+    } else if (event instanceof IEventSeries) {
+      IEventSeries series = (IEventSeries) event;
+      fields.add("S");
+      fields.add(toText(series.getEndDateTime().toLocalDate()));
+      fields.add(toText(series.getOccurringDays()));
+      for (ISingleEvent single : series.getEvents()) {
+        addEventFields(fields, single);
+      }
+    } else {
+      fields.add("E");
+      addEventFields(fields, (ISingleEvent) event);
+    }
+    return fields;
+  }
+
+  private static CalendarEvent toEvent(String[] fields, int start) {
+    switch (fields[start]) {
+      case "R":
+        ISingleEvent template = toSingleEvent(fields, start + 1);
+        DayOfWeek[] days = toDays(fields[start + 7]);
+        String until = fields[start + 8];
+        return until == null ? new RecurringEventSeries(template, days)
+                : new RecurringEventSeries(template, LocalDate.parse(until), days);
+      case "S":
+        List<ISingleEvent> events = new ArrayList<>();
+        for (int i = start + 3; i < fields.length; i += 6) {
+          events.add(toSingleEvent(fields, i));
+        }
+        return new EventSeries(events, LocalDate.parse(fields[start + 1]),
+                toDays(fields[start + 2]));
+      default:
+        return toSingleEvent(fields, start + 1);
+    }
+  }
+
+  // A batch of events is written as the number of fields of each event, then those fields
+  private static List<String> toFields(List<CalendarEvent> events) {
+    List<String> fields = new ArrayList<>();
+    for (CalendarEvent event : events) {
+      List<String> eventFields = toFields(event);
+      fields.add(Integer.toString(eventFields.size()));
+      fields.addAll(eventFields);
+    }
+    return fields;
+  }
+
+  private static List<CalendarEvent> toEvents(String[] fields, int start) {
+    List<CalendarEvent> events = new ArrayList<>();
+    for (int i = start; i < fields.length; i += Integer.parseInt(fields[i]) + 1) {
+      events.add(toEvent(Arrays.copyOfRange(fields, i + 1, i + 1 + Integer.parseInt(fields[i])),
+              0));
+    }
+    return events;
+  }
+
+  private static void addEventFields(List<String> fields, ReadOnlyCalendarEvent event) {
+    fields.add(event.getSubject());
+    fields.add(toText(event.getStartDateTime()));
+    fields.add(toText(event.getEndDateTime()));
+    fields.add(event.getDescription());
+    fields.add(event.getLocation() == null ? null : event.getLocation().toString());
+    fields.add(event.getStatus() == null ? null : event.getStatus().toString());
+  }
+
+  private static ISingleEvent toSingleEvent(String[] fields, int start) {
+    return new SingleEvent.Builder(fields[start], toDateTime(fields[start + 1]),
+            toDateTime(fields[start + 2]))
+            .description(fields[start + 3])
+            .location(fields[start + 4] == null ? null : Location.getLocation(fields[start + 4]))
+            .status(fields[start + 5] == null ? null : Status.getStatus(fields[start + 5]))
+            .build();
+  }
+
+  private static String toText(Object value) {
+    return value == null ? null : value.toString();
+  }
+
+  private static LocalDateTime toDateTime(String text) {
+    return text == null ? null : LocalDateTime.parse(text);
+  }
+
+  private static String toText(DayOfWeek[] days) {
+    StringBuilder letters = new StringBuilder();
+    for (DayOfWeek day : days) {
+      letters.append(DAY_LETTERS.charAt(day.ordinal()));
+    }
+    return letters.toString();
+  }
+
+  private static DayOfWeek[] toDays(String letters) {
+    DayOfWeek[] days = new DayOfWeek[letters.length()];
+    for (int i = 0; i < days.length; i++) {
+      days[i] = DayOfWeek.of(DAY_LETTERS.indexOf(letters.charAt(i)) + 1);
+    }
+    return days;
+  }
+
+  /**
+   * A calendar that logs each change made through it before passing it on to the real calendar.
+   */
+  private final class LoggedCalendar implements IBetterCalendar {
+    private final String name;
+    private final IBetterCalendar calendar;
+
+    private LoggedCalendar(String name, IBetterCalendar calendar) {
+      this.name = name;
+      this.calendar = calendar;
+    }
+
+    @Override
+    public void addEvent(CalendarEvent event) {
+      List<String> fields = toFields(event);
+      fields.add(0, "add");
+      fields.add(1, name);
+      long record;
+      synchronized (DurableCalendarManager.this) {
+        calendar.addEvent(event);
+        record = log.add(fields.toArray(new String[0]));
+      }
+      sync(record);
+    }
+
+    @Override
+    public void addEvents(List<CalendarEvent> events) {
+      List<String> fields = toFields(events);
+      fields.add(0, "adds");
+      fields.add(1, name);
+      long record;
+      synchronized (DurableCalendarManager.this) {
+        calendar.addEvents(events);
+        record = log.add(fields.toArray(new String[0]));
+      }
+      sync(record);
+    }
+
+    @Override
+    public void editEvent(String property, String subject, LocalDateTime startDateTime,
+                          LocalDateTime endDateTime, String newValue) {
+      long record;
+      synchronized (DurableCalendarManager.this) {
+        calendar.editEvent(property, subject, startDateTime, endDateTime, newValue);
+        record = log.add("edit", name, property, subject, toText(startDateTime),
+                toText(endDateTime), newValue);
+      }
+      sync(record);
+    }
+
+    @Override
+    public void editEvents(String property, String subject, LocalDateTime startDateTime,
+                           String commandType, String newValue) {
+      long record;
+      synchronized (DurableCalendarManager.this) {
+        calendar.editEvents(property, subject, startDateTime, commandType, newValue);
+        record = log.add("edits", name, property, subject, toText(startDateTime), commandType,
+                newValue);
+      }
+      sync(record);
+    }
+
+    @Override
+    public List<ISingleEvent> query(LocalDateTime start, LocalDateTime end) {
+      return calendar.query(start, end);
+    }
+
+    @Override
+    public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end) {
+      return calendar.queryIterator(start, end);
+    }
+
+    @Override
+    public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                                ReadOnlyCalendarEvent after) {
+      return calendar.queryIterator(start, end, after);
+    }
+
+    @Override
+    public Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end) {
+      return calendar.eventIterator(start, end);
+    }
+
+    @Override
+    public List<ISingleEvent> queryNext(LocalDateTime start, int count) {
+      return calendar.queryNext(start, count);
+    }
+
+    @Override
+    public ISingleEvent getSingleEventWithStartAndEndDate(String subject,
+                                                         LocalDateTime startDateTime,
+                                                         LocalDateTime endDateTime) {
+      return calendar.getSingleEventWithStartAndEndDate(subject, startDateTime, endDateTime);
+    }
+
+    @Override
+    public IEventSeries isInSeries(ISingleEvent original) {
+      return calendar.isInSeries(original);
+    }
+
+    @Override
+    public boolean containsTime(LocalDateTime dateTime) {
+      return calendar.containsTime(dateTime);
+    }
+
+    @Override
+    public boolean canAddSingleEvent(ISingleEvent newEvent) {
+      return calendar.canAddSingleEvent(newEvent);
+    }
+
+    @Override
+    public boolean canAddRecurringSeries(IRecurringEventSeries newSeries) {
+      return calendar.canAddRecurringSeries(newSeries);
+    }
+
+    @Override
+    public List<ISingleEvent> getSingleEventsWithStartDate(String subject,
+                                                           LocalDateTime startDateTime) {
+      return calendar.getSingleEventsWithStartDate(subject, startDateTime);
+    }
+
+    @Override
+    public ZoneId getZoneId() {
+      return calendar.getZoneId();
+    }
+
+    @Override
+    public IBetterCalendar makeCalWithNewTimeZone(String newTimeZoneString) {
+      return calendar.makeCalWithNewTimeZone(newTimeZoneString);
+    }
+  }
+}
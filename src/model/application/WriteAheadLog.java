@@ -0,0 +1,317 @@
+package model.application;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * A file that records are only ever added to, one per line. Each record is a list of text fields,
+ * written with a checksum so that a record cut off or damaged by a crash can be told apart from a
+ * whole one.
+ *
+ * <p>Records are added to memory first and reach the disk when the log is synced. Syncs are
+ * grouped: while one thread writes and forces everything added so far, other threads that want
+ * their records on disk wait for it and then sync everything added in the meantime together, so
+ * many changes share each expensive force to the disk. A sync that fails cuts off whatever part
+ * of its records reached the file, so the next sync can write them again whole; if the file cannot
+ * be cut back, every later sync fails rather than write after a damaged record.
+ */
+final class WriteAheadLog implements Closeable {
+  private static final char NULL_FIELD = '0';
+
+  private final FileChannel channel;
+  private final Object lock;
+  private final ScheduledExecutorService syncer;
+  private ByteArrayOutputStream pending;
+  private long added; // the number of the last record added
+  private long synced; // the number of the last record known to be on disk
+  private boolean syncing;
+  private IOException failure; // why the log can no longer be written, if it cannot
+
+  /**
+   * Opens the log at {@code file} to add records to it, creating it if needed.
+   *
+   * @param file         the log file.
+   * @param syncInterval how often, in milliseconds, to sync the log in the background, or 0 to
+   *                     only sync when asked to.
+   * @throws IOException if the file cannot be opened.
+   */
+  WriteAheadLog(Path file, long syncInterval) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+    this.lock = new Object();
+    this.pending = new ByteArrayOutputStream();
+    if (syncInterval > 0) {
+      this.syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "calendar-log-sync");
+        thread.setDaemon(true);
+        return thread;
+      });
+      syncer.scheduleWithFixedDelay(() -> {
+        try {
+          syncAll();
+        } catch (UncheckedIOException e) {
+          // The records stay in memory, and the next run tries them again
+        }
+      }, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+    } else {
+      this.syncer = null;
+    }
+  }
+
+  /**
+   * Reads every whole record in the log at {@code file}, in the order they were added. Anything
+   * after the last whole record, such as a record cut off by a crash, is removed from the file so
+   * new records follow straight on from the whole ones.
+   *
+   * @param file   the log file, which need not exist.
+   * @param record the action to call with the fields of each record.
+   * @throws IOException if the file cannot be read.
+   */
+  static void replay(Path file, Consumer<String[]> record) throws IOException {
+    if (!Files.exists(file)) {
+      return;
+    }
+    long wholeLength = 0;
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+      ByteArrayOutputStream line = new ByteArrayOutputStream();
+      for (int b = in.read(); b >= 0; b = in.read()) {
+        if (b != '\n') {
+          line.write(b);
+          continue;
+        }
+        String[] fields = decode(line.toByteArray());
+        if (fields == null) {
+          break;
+        }
+        wholeLength += line.size() + 1;
+        line.reset();
+        record.accept(fields);
+      }
+    }
+    if (wholeLength < Files.size(file)) {
+      try (FileChannel truncated = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        truncated.truncate(wholeLength);
+      }
+    }
+  }
+
+  /**
+   * Adds a record to the log. It is not on disk until the log is synced.
+   *
+   * @param fields the fields of the record, any of which may be null.
+   * @return the number of the record, to pass to {@link #sync(long)}.
+   */
+  long add(String... fields) {
+    byte[] record = encode(fields);
+    synchronized (lock) {
+      pending.write(record, 0, record.length);
+      return ++added;
+    }
+  }
+
+  /**
+   * Waits until the given record and every record before it are on disk.
+   *
+   * @param record the number of the record.
+   * @throws UncheckedIOException if the log cannot be written, or was damaged by an earlier sync.
+   */
+  void sync(long record) {
+    byte[] batch;
+    long batchEnd;
+    synchronized (lock) {
+      while (synced < record && syncing) {
+        try {
+          lock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while waiting for the log.");
+        }
+      }
+      if (synced >= record) {
+        return; // another thread's sync already covered this record
+      }
+      if (failure != null) {
+        throw new UncheckedIOException("The log was damaged and can no longer be written.",
+                failure);
+      }
+      // This thread syncs everything added so far, including records of threads waiting on it
+      syncing = true;
+      batch = pending.toByteArray();
+      batchEnd = added;
+      pending = new ByteArrayOutputStream(Math.max(32, batch.length));
+    }
+
+    boolean written = false;
+    IOException damaged = null;
+    long length = -1;
+    try {
+      length = channel.size();
+      ByteBuffer buffer = ByteBuffer.wrap(batch);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+      written = true;
+    } catch (IOException e) {
+      // Part of the batch may have been written, so cut it off before the batch is tried again
+      if (length >= 0) {
+        try {
+          channel.truncate(length);
+        } catch (IOException truncateFailure) {
+          e.addSuppressed(truncateFailure);
+          damaged = e;
+        }
+      }
+      throw new UncheckedIOException(e);
+    } finally {
+      synchronized (lock) {
+        syncing = false;
+        if (damaged != null) {
+          failure = damaged;
+        }
+        if (written) {
+          synced = batchEnd;
+        } else {
+          // Put the batch back in front of newer records so the next sync tries it again
+          ByteArrayOutputStream retry = new ByteArrayOutputStream(batch.length + pending.size());
+          retry.write(batch, 0, batch.length);
+          retry.write(pending.toByteArray(), 0, pending.size());
+          pending = retry;
+        }
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Syncs every record added so far, then closes the log.
+   */
+  @Override
+  public void close() {
+    if (syncer != null) {
+      syncer.shutdown();
+    }
+    syncAll();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void syncAll() {
+    long last;
+    synchronized (lock) {
+      last = added;
+    }
+    sync(last);
+  }
+
+  // A record is its checksum, a tab, then its fields separated by tabs, ending in a new line
+  private static byte[] encode(String[] fields) {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        body.append('\t');
+      }
+      escape(body, fields[i]);
+    }
+    byte[] bodyBytes = body.toString().getBytes(StandardCharsets.UTF_8);
+    CRC32 checksum = new CRC32();
+    checksum.update(bodyBytes);
+    byte[] prefix = String.format("%08x\t", checksum.getValue())
+            .getBytes(StandardCharsets.US_ASCII);
+
+    byte[] record = new byte[prefix.length + bodyBytes.length + 1];
+    System.arraycopy(prefix, 0, record, 0, prefix.length);
+    System.arraycopy(bodyBytes, 0, record, prefix.length, bodyBytes.length);
+    record[record.length - 1] = '\n';
+    return record;
+  }
+
+  // Returns null if the line is not a whole, undamaged record
+  private static String[] decode(byte[] line) {
+    if (line.length < 9 || line[8] != '\t') {
+      return null;
+    }
+    CRC32 checksum = new CRC32();
+    checksum.update(line, 9, line.length - 9);
+    long expected;
+    try {
+      expected = Long.parseLong(new String(line, 0, 8, StandardCharsets.US_ASCII), 16);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    if (checksum.getValue() != expected) {
+      return null;
+    }
+
+    String body = new String(line, 9, line.length - 9, StandardCharsets.UTF_8);
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean isNull = false;
+    for (int i = 0; i < body.length(); i++) {
+      char c = body.charAt(i);
+      if (c == '\t') {
+        fields.add(isNull ? null : field.toString());
+        field.setLength(0);
+        isNull = false;
+      } else if (c != '\\' || i + 1 == body.length()) {
+        field.append(c);
+      } else {
+        char escaped = body.charAt(++i);
+        if (escaped == NULL_FIELD) {
+          isNull = true;
+        } else {
+          field.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r'
+                  : escaped);
+        }
+      }
+    }
+    fields.add(isNull ? null : field.toString());
+    return fields.toArray(new String[0]);
+  }
+
+  private static void escape(StringBuilder out, String field) {
+    if (field == null) {
+      out.append('\\').append(NULL_FIELD);
+      return;
+    }
+    for (int i = 0; i < field.length(); i++) {
+      char c = field.charAt(i);
+      switch (c) {
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        default:
+          out.append(c);
+      }
+    }
+  }
+}
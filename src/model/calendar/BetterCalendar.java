@@ -1,19 +1,41 @@
 package model.calendar;
 
 import java.time.DateTimeException;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
 
 import model.event.CalendarEvent;
+import model.event.EventCodec;
+import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+import model.event.ReadOnlyCalendarEvent;
 
 /**
  * A concrete implementation of {@code IBetterCalendar}, now with the ability to represent
  * different timezones.
+ *
+ * <p>Events are stored with the local date/times of the time zone the calendar was created in,
+ * which together pin down an exact instant for each of them. When the calendar is moved to
+ * another time zone only that new time zone is recorded: events are converted into it as they
+ * are read, and date/times given to the calendar are converted back before they are looked up,
+ * so changing the time zone never has to rewrite the events themselves.
  */
-public class BetterCalendar extends Calendar implements IBetterCalendar {
+public class BetterCalendar implements IBetterCalendar {
+  private final Calendar events;
+  private final TimeZone storedTimeZone;
   private final TimeZone timeZone;
+  private final boolean isStoredTimeZone;
+  // Series converted to this time zone, kept so the same series is always given back for them
+  private final Map<IEventSeries, IEventSeries> convertedSeries;
 
   /**
    * Constructs a {@code BetterCalendar} with the specified name and timezone.
@@ -22,19 +44,19 @@ public class BetterCalendar extends Calendar implements IBetterCalendar {
    * @throws IllegalArgumentException if the timezone is invalid.
    */
   public BetterCalendar(String timezone) {
-    super();
-
-    try {
-      ZoneId zoneId = ZoneId.of(timezone);
-      this.timeZone = TimeZone.getTimeZone(zoneId);
-    } catch (DateTimeException e) {
-      throw new IllegalArgumentException("Invalid timezone specified!");
-    }
+    this.events = new Calendar();
+    this.timeZone = toTimeZone(timezone);
+    this.storedTimeZone = timeZone;
+    this.isStoredTimeZone = true;
+    this.convertedSeries = Collections.synchronizedMap(new WeakHashMap<>());
   }
 
-  private BetterCalendar(TimeZone timeZone, Set<CalendarEvent> events) {
-    super(events);
+  private BetterCalendar(Calendar events, TimeZone storedTimeZone, TimeZone timeZone) {
+    this.events = events;
+    this.storedTimeZone = storedTimeZone;
     this.timeZone = timeZone;
+    this.isStoredTimeZone = timeZone.hasSameRules(storedTimeZone);
+    this.convertedSeries = Collections.synchronizedMap(new WeakHashMap<>());
   }
 
   @Override
@@ -42,23 +64,267 @@ public class BetterCalendar extends Calendar implements IBetterCalendar {
     return timeZone.toZoneId();
   }
 
+  /**
+   * Creates a new calendar with the same events as this one, but shown in a new time zone. The
+   * events are not copied: the new calendar shares them with this one and converts them as they
+   * are read, so this takes the same time however many events there are. Changes made through
+   * the new calendar are seen by this one too.
+   *
+   * @param newTimeZoneString the new time zone for the calendar.
+   * @return a new BetterCalendar with the specified time zone and the same events.
+   * @throws IllegalArgumentException if the timezone is invalid.
+   */
   @Override
   public IBetterCalendar makeCalWithNewTimeZone(String newTimeZoneString) {
-    ZoneId zoneId;
-    try {
-      zoneId = ZoneId.of(newTimeZoneString);
-    } catch (DateTimeException e) {
-      throw new IllegalArgumentException("Invalid timezone specified!");
+    return new BetterCalendar(events, storedTimeZone, toTimeZone(newTimeZoneString));
+  }
+
+  @Override
+  public void addEvent(CalendarEvent event) {
+    events.addEvent(isStoredTimeZone ? event : event.setTimeZone(timeZone, storedTimeZone));
+  }
+
+  @Override
+  public void addEvents(List<CalendarEvent> newEvents) {
+    if (isStoredTimeZone) {
+      events.addEvents(newEvents);
+      return;
+    }
+    List<CalendarEvent> storedEvents = new ArrayList<>(newEvents.size());
+    for (CalendarEvent event : newEvents) {
+      storedEvents.add(event.setTimeZone(timeZone, storedTimeZone));
+    }
+    events.addEvents(storedEvents);
+  }
+
+  @Override
+  public void editEvent(String property, String subject, LocalDateTime startDateTime,
+                        LocalDateTime endDateTime, String newValue) {
+    if (isStoredTimeZone) {
+      events.editEvent(property, subject, startDateTime, endDateTime, newValue);
+      return;
+    }
+    ISingleEvent event = events.getSingleEventWithStartAndEndDate(subject,
+            toStored(startDateTime), toStored(endDateTime));
+    if (event == null) {
+      throw new IllegalArgumentException("Event not found");
+    }
+    editInTimeZone(event, calendar -> calendar.editEvent(property, subject, startDateTime,
+            endDateTime, newValue));
+  }
+
+  @Override
+  public void editEvents(String property, String subject, LocalDateTime startDateTime,
+                         String commandType, String newValue) {
+    if (isStoredTimeZone) {
+      events.editEvents(property, subject, startDateTime, commandType, newValue);
+      return;
+    }
+    List<ISingleEvent> matchedEvents = events.getSingleEventsWithStartDate(subject,
+            toStored(startDateTime));
+    if (matchedEvents.isEmpty()) {
+      throw new IllegalArgumentException("No matching events found!");
+    } else if (matchedEvents.size() > 1) {
+      throw new IllegalArgumentException("Multiple matching events found, cannot edit event");
+    }
+    editInTimeZone(matchedEvents.get(0), calendar -> calendar.editEvents(property, subject,
+            startDateTime, commandType, newValue));
+  }
+
+  /**
+   * Edits the event or series that {@code storedEvent} belongs to as it is in this calendar's
+   * time zone, so that checks such as an event staying on one day are made on the days the user
+   * sees, and then stores what the edit made in place of it.
+   */
+  private void editInTimeZone(ISingleEvent storedEvent, Consumer<ICalendar> edit) {
+    IEventSeries series = events.isInSeries(storedEvent);
+    CalendarEvent stored = series == null ? storedEvent : series;
+    Calendar converted = new Calendar();
+    converted.addEvent(stored.setTimeZone(storedTimeZone, timeZone));
+    edit.accept(converted);
+
+    List<CalendarEvent> editedEvents = converted.getAllEvents();
+    List<CalendarEvent> storedEdits = new ArrayList<>(editedEvents.size());
+    for (CalendarEvent event : editedEvents) {
+      storedEdits.add(event.setTimeZone(timeZone, storedTimeZone));
+    }
+    events.replace(stored, storedEdits);
+  }
+
+  @Override
+  public List<ISingleEvent> query(LocalDateTime start, LocalDateTime end) {
+    return toCurrent(events.query(toStored(start), toStored(end)));
+  }
+
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end) {
+    return queryIterator(start, end, null);
+  }
+
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                              ReadOnlyCalendarEvent after) {
+    ReadOnlyCalendarEvent storedAfter = after instanceof ISingleEvent
+            ? toStored((ISingleEvent) after) : after;
+    Iterator<ISingleEvent> iterator = events.queryIterator(toStored(start), toStored(end),
+            storedAfter);
+    if (isStoredTimeZone) {
+      return iterator;
+    }
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public ISingleEvent next() {
+        return toCurrent(iterator.next());
+      }
+    };
+  }
+
+  @Override
+  public Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end) {
+    Iterator<CalendarEvent> iterator = events.eventIterator(toStored(start), toStored(end));
+    if (isStoredTimeZone) {
+      return iterator;
+    }
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public CalendarEvent next() {
+        return iterator.next().setTimeZone(storedTimeZone, timeZone);
+      }
+    };
+  }
+
+  @Override
+  public List<ISingleEvent> queryNext(LocalDateTime start, int count) {
+    return toCurrent(events.queryNext(toStored(start), count));
+  }
+
+  @Override
+  public ISingleEvent getSingleEventWithStartAndEndDate(String subject,
+                                                       LocalDateTime startDateTime,
+                                                       LocalDateTime endDateTime) {
+    ISingleEvent event = events.getSingleEventWithStartAndEndDate(subject,
+            toStored(startDateTime), toStored(endDateTime));
+    return event == null ? null : toCurrent(event);
+  }
+
+  @Override
+  public IEventSeries isInSeries(ISingleEvent original) {
+    IEventSeries series = events.isInSeries(original == null ? null : toStored(original));
+    if (series == null || isStoredTimeZone) {
+      return series;
     }
-    TimeZone newTimeZone = TimeZone.getTimeZone(zoneId);
+    return convertedSeries.computeIfAbsent(series,
+            stored -> (IEventSeries) stored.setTimeZone(storedTimeZone, timeZone));
+  }
+
+  @Override
+  public boolean containsTime(LocalDateTime dateTime) {
+    return events.containsTime(toStored(dateTime));
+  }
+
+  @Override
+  public boolean canAddSingleEvent(ISingleEvent newEvent) {
+    return events.canAddSingleEvent(toStored(newEvent));
+  }
 
-    Set<CalendarEvent> events = new HashSet<>();
-    for (CalendarEvent event : this.getEvents()) {
-      CalendarEvent newEvent = event.setTimeZone(timeZone, newTimeZone);
-      events.add(newEvent);
+  @Override
+  public boolean canAddRecurringSeries(IRecurringEventSeries newSeries) {
+    if (isStoredTimeZone) {
+      return events.canAddRecurringSeries(newSeries);
     }
+    // A series may stop repeating cleanly once converted, so check it the same way it is added
+    CalendarEvent storedSeries = newSeries.setTimeZone(timeZone, storedTimeZone);
+    return storedSeries.canAddToCalendar(events);
+  }
 
-    return new BetterCalendar(newTimeZone, events);
+  @Override
+  public List<ISingleEvent> getSingleEventsWithStartDate(String subject,
+                                                        LocalDateTime startDateTime) {
+    return toCurrent(events.getSingleEventsWithStartDate(subject, toStored(startDateTime)));
+  }
+
+  /**
+   * Writes this calendar's time zones and every one of its events, for {@link CalendarCodec}.
+   * Events are written as they are stored, so they are never converted.
+   *
+   * @param out where to write it.
+   */
+  void writeTo(EventCodec.Output out) {
+    out.writeString(storedTimeZone.getID());
+    out.writeString(timeZone.getID());
+    List<CalendarEvent> storedEvents = events.getAllEvents();
+    out.writeInt(storedEvents.size());
+    for (CalendarEvent event : storedEvents) {
+      EventCodec.write(event, out);
+    }
   }
 
+  /**
+   * Reads a calendar written by {@link #writeTo(EventCodec.Output)}.
+   *
+   * @param in where to read it from.
+   * @return the calendar.
+   * @throws IllegalArgumentException if what is read is not a valid calendar.
+   */
+  static BetterCalendar readFrom(EventCodec.Input in) throws IllegalArgumentException {
+    TimeZone storedTimeZone = toTimeZone(in.readString());
+    TimeZone timeZone = toTimeZone(in.readString());
+    int count = in.readInt();
+    List<CalendarEvent> storedEvents = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      storedEvents.add(EventCodec.read(in));
+    }
+    return new BetterCalendar(new Calendar(storedEvents), storedTimeZone, timeZone);
+  }
+
+  private ISingleEvent toStored(ISingleEvent event) {
+    return isStoredTimeZone ? event : event.setTimeZone(timeZone, storedTimeZone);
+  }
+
+  private ISingleEvent toCurrent(ISingleEvent event) {
+    return isStoredTimeZone ? event : event.setTimeZone(storedTimeZone, timeZone);
+  }
+
+  private List<ISingleEvent> toCurrent(List<ISingleEvent> storedEvents) {
+    if (isStoredTimeZone) {
+      return storedEvents;
+    }
+    List<ISingleEvent> result = new ArrayList<>(storedEvents.size());
+    for (ISingleEvent event : storedEvents) {
+      result.add(toCurrent(event));
+    }
+    return result;
+  }
+
+  private LocalDateTime toStored(LocalDateTime dateTime) {
+    // The ends of time have no instant, so they stay the ends of time in every time zone
+    if (dateTime == null || isStoredTimeZone || dateTime.equals(LocalDateTime.MIN)
+            || dateTime.equals(LocalDateTime.MAX)) {
+      return dateTime;
+    }
+    try {
+      return dateTime.atZone(timeZone.toZoneId())
+              .withZoneSameInstant(storedTimeZone.toZoneId()).toLocalDateTime();
+    } catch (DateTimeException e) {
+      return dateTime.getYear() < 0 ? LocalDateTime.MIN : LocalDateTime.MAX;
+    }
+  }
+
+  private static TimeZone toTimeZone(String timezone) {
+    try {
+      return TimeZone.getTimeZone(ZoneId.of(timezone));
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid timezone specified!");
+    }
+  }
 }
@@ -2,17 +2,27 @@ package model.calendar;
 
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import model.event.EventSeries;
 import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.RecurringEventSeries;
 import model.event.ISingleEvent;
 import model.event.Location;
+import model.event.ReadOnlyCalendarEvent;
 import model.event.CalendarEvent;
 import model.event.Status;
 import model.event.comparators.LexicographicalComparator;
@@ -23,32 +33,83 @@ import model.event.comparators.StartDateTimeComparator;
  * the ability to edit and print its events.
  */
 public class Calendar implements ICalendar {
-  private final Set<CalendarEvent> events;
+  // Every index of the calendar as it is right now. A change builds a new snapshot that shares
+  // everything it did not touch with this one and then publishes it in a single write, so readers
+  // see either all of a change or none of it without taking any lock.
+  private volatile Snapshot snapshot;
 
   /**
    * Constructs a {@code Calendar} object with an empty set of events.
    */
   public Calendar() {
-    this.events = new HashSet<>();
+    this.snapshot = Snapshot.EMPTY;
   }
 
-  protected Calendar(Set<CalendarEvent> events) {
-    this.events = events;
+  /**
+   * Constructs a {@code Calendar} object holding the given events, which are trusted to fit
+   * together and are not checked. Every index is built in one pass over all of the events, which
+   * is much faster than adding them one at a time.
+   *
+   * @param events the events of the calendar.
+   */
+  protected Calendar(Collection<? extends CalendarEvent> events) {
+    this.snapshot = Snapshot.of(events);
   }
 
-  protected Set<CalendarEvent> getEvents() {
-    return events;
+  // A calendar over a snapshot that is not published, used to check events before adding them
+  private Calendar(Snapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Gets every event in this calendar as it is right now, with each series as one event.
+   *
+   * @return the events, in the order their first occurrences start, which is the order the
+   *         calendar indexes them in, so a calendar made from them is quicker to build.
+   */
+  List<CalendarEvent> getAllEvents() {
+    Snapshot current = snapshot;
+    // Owners are looked up in the snapshot, so the same series is always the same object here
+    Set<CalendarEvent> events = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<CalendarEvent> ordered = new ArrayList<>(current.events.size());
+    Iterator<ISingleEvent> occurrences = current.occurrences.iterator(LocalDateTime.MIN, null);
+    while (occurrences.hasNext()) {
+      CalendarEvent owner = current.owners.get(occurrences.next());
+      if (events.add(owner)) {
+        ordered.add(owner);
+      }
+    }
+    // Recurring series keep their occurrences out of the tree
+    current.events.forEach((event, same) -> {
+      if (events.add(event)) {
+        ordered.add(event);
+      }
+    });
+    return ordered;
   }
 
   @Override
   public void addEvent(CalendarEvent event) {
     if (event.canAddToCalendar(this)) {
-      events.add(event);
+      snapshot = snapshot.with(event);
     } else {
       throw new IllegalArgumentException("Event cannot be added to the calendar.");
     }
   }
 
+  @Override
+  public void addEvents(List<CalendarEvent> events) {
+    // Each event is checked against the ones before it, but nothing is published until all fit
+    Calendar pending = new Calendar(snapshot);
+    for (CalendarEvent event : events) {
+      if (!event.canAddToCalendar(pending)) {
+        throw new IllegalArgumentException("Event cannot be added to the calendar: " + event);
+      }
+      pending.snapshot = pending.snapshot.with(event);
+    }
+    snapshot = pending.snapshot;
+  }
+
   @Override
   public void editEvent(String property, String subject, LocalDateTime startDateTime,
                         LocalDateTime endDateTime, String newValue) {
@@ -184,21 +245,94 @@ public class Calendar implements ICalendar {
       throw new IllegalArgumentException("End date cannot be before the starting date.");
     }
 
-    List<ISingleEvent> queriedEvents = new LinkedList<>();
-    for (CalendarEvent event : events) {
-      List<ISingleEvent> singleEvents = event.getEventsInRange(start, end);
-      queriedEvents.addAll(singleEvents);
-    }
+    Snapshot current = snapshot;
+    // Anything that fits in the range has to start in it too, and the tree is already sorted
+    List<ISingleEvent> queriedEvents = current.occurrences.startingBetween(start, end);
+    queriedEvents.removeIf(event -> event.getEndDateTime().isAfter(end));
 
-    queriedEvents.sort(new StartDateTimeComparator(new LexicographicalComparator()));
+    List<IRecurringEventSeries> overlappingSeries =
+            current.recurringSeries.overlapping(start, end);
+    if (!overlappingSeries.isEmpty()) {
+      for (IRecurringEventSeries series : overlappingSeries) {
+        queriedEvents.addAll(series.getEventsInRange(start, end));
+      }
+      queriedEvents.sort(new StartDateTimeComparator(new LexicographicalComparator()));
+    }
     return queriedEvents;
   }
 
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end) {
+    return queryIterator(start, end, null);
+  }
+
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                              ReadOnlyCalendarEvent after) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Start and end dates cannot be null.");
+    } else if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End date cannot be before the starting date.");
+    }
+    // The snapshot is immutable, so the iterator keeps walking it as it is right now
+    Snapshot current = snapshot;
+    return new EventQueryIterator(current.occurrences,
+            current.recurringSeries.overlapping(start, end), start, end, after);
+  }
+
+  @Override
+  public Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Start and end dates cannot be null.");
+    } else if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End date cannot be before the starting date.");
+    }
+    Snapshot current = snapshot;
+    return new CalendarEventIterator(current.occurrences, current.owners,
+            current.recurringSeries.overlapping(start, end), start, end);
+  }
+
+  @Override
+  public List<ISingleEvent> queryNext(LocalDateTime start, int count) {
+    if (start == null) {
+      throw new IllegalArgumentException("Start date cannot be null.");
+    } else if (count < 0) {
+      throw new IllegalArgumentException("Number of events cannot be negative.");
+    }
+
+    Snapshot current = snapshot;
+    List<ISingleEvent> nextEvents = current.occurrences.firstStartingFrom(start, count);
+
+    // Each series can add at most count events, so merging them and cutting back stays small
+    List<IRecurringEventSeries> laterSeries = current.recurringSeries.overlapping(start,
+            LocalDateTime.MAX);
+    if (!laterSeries.isEmpty()) {
+      for (IRecurringEventSeries series : laterSeries) {
+        nextEvents.addAll(series.getEventsStartingFrom(start, count));
+      }
+      nextEvents.sort(new StartDateTimeComparator(new LexicographicalComparator()));
+      if (nextEvents.size() > count) {
+        nextEvents = new ArrayList<>(nextEvents.subList(0, count));
+      }
+    }
+    return nextEvents;
+  }
+
   @Override
   public ISingleEvent getSingleEventWithStartAndEndDate(String subject, LocalDateTime startDateTime,
                                                        LocalDateTime endDateTime) {
-    for (CalendarEvent event : events) {
-      ISingleEvent result = event.getCorrespondingEvent(subject, startDateTime, endDateTime);
+    Snapshot current = snapshot;
+    List<ISingleEvent> matches =
+            current.bySubjectAndStart.get(new SubjectAndStart(subject, startDateTime));
+    if (matches != null) {
+      for (ISingleEvent event : matches) {
+        if (event.getEndDateTime().equals(endDateTime)) {
+          return event;
+        }
+      }
+    }
+    for (IRecurringEventSeries series : current.recurringWithSubject(subject)) {
+      ISingleEvent result = series.getCorrespondingEvent(subject, startDateTime, endDateTime);
       if (result != null) {
         return result;
       }
@@ -208,11 +342,40 @@ public class Calendar implements ICalendar {
 
   @Override
   public boolean canAddSingleEvent(ISingleEvent newEvent) {
-    if (newEvent == null) {
+    Snapshot current = snapshot;
+    if (newEvent == null || current.owners.containsKey(newEvent)) {
       return false;
-    } else {
-      for (CalendarEvent event : events) { // This checks all event series in our calendar
-        if (event.matchesWith(newEvent)) {
+    }
+    for (IRecurringEventSeries series : current.recurringWithSubject(newEvent.getSubject())) {
+      if (series.matchesWith(newEvent)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean canAddRecurringSeries(IRecurringEventSeries newSeries) {
+    if (!newSeries.isUnbounded()) {
+      for (ISingleEvent event : newSeries) {
+        if (!canAddSingleEvent(event)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // A series that never ends cannot be walked, so check it against everything else instead
+    Snapshot current = snapshot;
+    for (ISingleEvent event : current.occurrences.overlapping(newSeries.getStartDateTime(),
+            LocalDateTime.MAX)) {
+      if (newSeries.matchesWith(event)) {
+        return false;
+      }
+    }
+    for (String subject : newSeries.getSubjects()) {
+      for (IRecurringEventSeries series : current.recurringWithSubject(subject)) {
+        if (newSeries.sharesEventWith(series)) {
           return false;
         }
       }
@@ -222,9 +385,17 @@ public class Calendar implements ICalendar {
 
   @Override
   public IEventSeries isInSeries(ISingleEvent original) {
-    for (CalendarEvent event : events) {
-      if (event.getSeriesIfFound(original) != null) {
-        return event.getSeriesIfFound(original);
+    if (original == null) {
+      return null;
+    }
+    Snapshot current = snapshot;
+    CalendarEvent owner = current.owners.get(original);
+    if (owner != null) {
+      return owner instanceof IEventSeries ? (IEventSeries) owner : null;
+    }
+    for (IRecurringEventSeries series : current.recurringWithSubject(original.getSubject())) {
+      if (series.matchesWith(original)) {
+        return series;
       }
     }
     return null;
@@ -232,8 +403,12 @@ public class Calendar implements ICalendar {
 
   @Override
   public boolean containsTime(LocalDateTime dateTime) {
-    for (CalendarEvent event : events) {
-      if (event.containsTime(dateTime)) {
+    Snapshot current = snapshot;
+    if (current.occurrences.anyContains(dateTime)) {
+      return true;
+    }
+    for (IRecurringEventSeries series : current.recurringSeries.overlapping(dateTime, dateTime)) {
+      if (series.containsTime(dateTime)) {
         return true;
       }
     }
@@ -243,10 +418,15 @@ public class Calendar implements ICalendar {
   @Override
   public List<ISingleEvent> getSingleEventsWithStartDate(String subject,
                                                         LocalDateTime startDateTime) {
-    List<ISingleEvent> listOfEvents = new ArrayList<>();
-    for (CalendarEvent event : events) {
-      if (event.getCorrespondingEventFromStartDate(subject, startDateTime) != null) {
-        listOfEvents.add(event.getCorrespondingEventFromStartDate(subject, startDateTime));
+    Snapshot current = snapshot;
+    List<ISingleEvent> matches =
+            current.bySubjectAndStart.get(new SubjectAndStart(subject, startDateTime));
+    List<ISingleEvent> listOfEvents =
+            matches == null ? new ArrayList<>() : new ArrayList<>(matches);
+    for (IRecurringEventSeries series : current.recurringWithSubject(subject)) {
+      ISingleEvent event = series.getCorrespondingEventFromStartDate(subject, startDateTime);
+      if (event != null) {
+        listOfEvents.add(event);
       }
     }
     return listOfEvents;
@@ -260,38 +440,50 @@ public class Calendar implements ICalendar {
    * @param newEvents    the new event(s) to be used in place of the current event(s).
    */
   private void edit(CalendarEvent currentEvent, List<CalendarEvent> newEvents) {
-    if (events.contains(currentEvent)) {
+    Snapshot current = snapshot;
+    if (current.events.containsKey(currentEvent)) {
       Set<CalendarEvent> uniqueEvents = new HashSet<>(newEvents);
       if (uniqueEvents.size() != newEvents.size()) {
         throw new IllegalArgumentException("Duplicate events found in the new events list.");
       }
-      events.remove(currentEvent);
+      // Nothing is published until every new event is known to fit
+      Snapshot next = current.without(currentEvent);
+      Calendar remaining = new Calendar(next);
       for (CalendarEvent event : newEvents) {
-        if (!event.canAddToCalendar(this)) {
-          events.add(currentEvent);
+        if (!event.canAddToCalendar(remaining)) {
           throw new IllegalArgumentException("New event cannot be added to the calendar,"
                   + " due to a time or name conflict.");
         }
       }
-      events.addAll(newEvents);
+      for (CalendarEvent event : newEvents) {
+        next = next.with(event);
+      }
+      snapshot = next;
     } else {
       throw new IllegalArgumentException("Event does not exist in the calendar.");
     }
   }
 
+  /**
+   * Replaces an event of this calendar with the given events, all at once, the way an edit
+   * does. Nothing changes unless every new event fits once the old one is gone.
+   *
+   * @param currentEvent the event to replace, which may be a series.
+   * @param newEvents    the events to put in its place.
+   * @throws IllegalArgumentException if the event is not in this calendar, or the new events
+   *                                  cannot be added.
+   */
+  void replace(CalendarEvent currentEvent, List<CalendarEvent> newEvents) {
+    edit(currentEvent, newEvents);
+  }
+
   private CalendarEvent updateEventSubject(ISingleEvent original, IEventSeries series,
                                            String subject) {
     if (series == null) {
       return original.createNewEventWithSubject(subject);
     }
-    List<ISingleEvent> newEvents = new ArrayList<>(series.getEvents());
-    int index = newEvents.indexOf(original);
-    newEvents.remove(index);
-    newEvents.add(index, original.createNewEventWithSubject(subject));
-
-    return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-            series.getOccurringDays());
-
+    return series.createNewSeriesWithReplacedEvent(original,
+            original.createNewEventWithSubject(subject));
   }
 
   private List<CalendarEvent> updateEventStartDate(ISingleEvent original, IEventSeries series,
@@ -304,11 +496,11 @@ public class Calendar implements ICalendar {
         updatedEvents.add(series);
         return updatedEvents;
       }
-      List<ISingleEvent> newEvents = new ArrayList<>(series.getEvents());
-      newEvents.remove(original);
       updatedEvents.add(original.createNewEventWithNewStartDate(startDate));
-      updatedEvents.add(new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays()));
+      IEventSeries remainingSeries = series.createNewSeriesWithoutEvent(original);
+      if (remainingSeries != null) {
+        updatedEvents.add(remainingSeries);
+      }
       return updatedEvents;
     }
   }
@@ -319,22 +511,15 @@ public class Calendar implements ICalendar {
     List<CalendarEvent> result = new ArrayList<>();
     if (series == null) {
       result.add(original.createNewEventWithNewEndDate(endDate));
+    } else if (endDate.toLocalDate().equals(original.getEndDateTime().toLocalDate())) {
+      result.add(series.createNewSeriesWithReplacedEvent(original,
+              original.createNewEventWithNewEndDate(endDate)));
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>(series.getEvents());
-      if (endDate.toLocalDate().equals(original.getEndDateTime().toLocalDate())) {
-        int index = newEvents.indexOf(original);
-        newEvents.remove(index);
-        newEvents.add(index, original.createNewEventWithNewEndDate(endDate));
-        result.add(new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-                series.getOccurringDays()));
-      } else {
-        newEvents.remove(original);
-        if (!newEvents.isEmpty()) {
-          result.add(new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-                  series.getOccurringDays()));
-        }
-        result.add(original.createNewEventWithNewEndDate(endDate));
+      IEventSeries remainingSeries = series.createNewSeriesWithoutEvent(original);
+      if (remainingSeries != null) {
+        result.add(remainingSeries);
       }
+      result.add(original.createNewEventWithNewEndDate(endDate));
     }
     return result;
   }
@@ -345,13 +530,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewDescription(description);
     }
-    List<ISingleEvent> newEvents = new ArrayList<>(series.getEvents());
-    int index = newEvents.indexOf(original);
-    newEvents.remove(index);
-    newEvents.add(index, original.createNewEventWithNewDescription(description));
-
-    return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-            series.getOccurringDays());
+    return series.createNewSeriesWithReplacedEvent(original,
+            original.createNewEventWithNewDescription(description));
   }
 
   private CalendarEvent updateEventLocation(ISingleEvent original, IEventSeries series,
@@ -359,13 +539,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewLocation(location);
     }
-    List<ISingleEvent> newEvents = new ArrayList<>(series.getEvents());
-    int index = newEvents.indexOf(original);
-    newEvents.remove(index);
-    newEvents.add(index, original.createNewEventWithNewLocation(location));
-
-    return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-            series.getOccurringDays());
+    return series.createNewSeriesWithReplacedEvent(original,
+            original.createNewEventWithNewLocation(location));
   }
 
   private CalendarEvent updateEventStatus(ISingleEvent original, IEventSeries series,
@@ -373,13 +548,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewStatus(status);
     }
-    List<ISingleEvent> newEvents = new ArrayList<>(series.getEvents());
-    int index = newEvents.indexOf(original);
-    newEvents.remove(index);
-    newEvents.add(index, original.createNewEventWithNewStatus(status));
-
-    return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-            series.getOccurringDays());
+    return series.createNewSeriesWithReplacedEvent(original,
+            original.createNewEventWithNewStatus(status));
   }
 
   private CalendarEvent updateEventsSubject(ISingleEvent original,
@@ -387,20 +557,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithSubject(subject);
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>(series.getEvents());
-      int index = newEvents.indexOf(original);
-      newEvents.remove(index);
-      newEvents.add(index, original.createNewEventWithSubject(subject));
-      LocalDateTime afterDateTime = original.getStartDateTime();
-      for (int i = newEvents.size() - 1; i >= 0; i--) {
-        ISingleEvent event = newEvents.get(i);
-        if (event.getStartDateTime().isAfter(afterDateTime)) {
-          newEvents.remove(event);
-          newEvents.add(event.createNewEventWithSubject(subject));
-        }
-      }
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(original.getStartDateTime(),
+              event -> event.createNewEventWithSubject(subject));
     }
   }
 
@@ -410,6 +568,12 @@ public class Calendar implements ICalendar {
       return List.of(original.createNewEventWithNewStartDate(newStartDateTime));
     }
 
+    if (series instanceof IRecurringEventSeries
+            && ((IRecurringEventSeries) series).isUnbounded()) {
+      return updateUnboundedSeriesStartDate(original, (IRecurringEventSeries) series,
+              newStartDateTime);
+    }
+
     if (newStartDateTime.toLocalDate().equals(original.getStartDateTime().toLocalDate())) {
       return updateTimeOnSameDay(original, series, newStartDateTime);
     }
@@ -426,21 +590,9 @@ public class Calendar implements ICalendar {
         throw new IllegalArgumentException("End date must be on the same day as the event's"
                 + "start date!");
       }
-      List<ISingleEvent> newEvents = new ArrayList<>();
-
-      for (ISingleEvent event : series.getEvents()) {
-        if (event.getStartDateTime().isBefore(original.getStartDateTime())) {
-          newEvents.add(event);
-        } else {
-          LocalDateTime newEndTime = LocalDateTime.of(
-                  event.getEndDateTime().toLocalDate(),
-                  endDate.toLocalTime());
-          newEvents.add(event.createNewEventWithNewEndDate(newEndTime));
-        }
-      }
-
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(original.getStartDateTime(),
+              event -> event.createNewEventWithNewEndDate(LocalDateTime.of(
+                      event.getEndDateTime().toLocalDate(), endDate.toLocalTime())));
     }
   }
 
@@ -449,19 +601,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewDescription(description);
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      LocalDateTime afterDateTime = original.getStartDateTime();
-
-      for (ISingleEvent event : series.getEvents()) {
-        if (event.getStartDateTime().isBefore(afterDateTime)) {
-          newEvents.add(event);
-        } else {
-          newEvents.add(event.createNewEventWithNewDescription(description));
-        }
-      }
-
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(original.getStartDateTime(),
+              event -> event.createNewEventWithNewDescription(description));
     }
   }
 
@@ -470,19 +611,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewLocation(location);
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      LocalDateTime afterDateTime = original.getStartDateTime();
-
-      for (ISingleEvent event : series.getEvents()) {
-        if (event.getStartDateTime().isBefore(afterDateTime)) {
-          newEvents.add(event);
-        } else {
-          newEvents.add(event.createNewEventWithNewLocation(location));
-        }
-      }
-
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(original.getStartDateTime(),
+              event -> event.createNewEventWithNewLocation(location));
     }
   }
 
@@ -491,23 +621,49 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewStatus(status);
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      LocalDateTime afterDateTime = original.getStartDateTime();
+      return series.createNewSeriesWithEventsEditedFrom(original.getStartDateTime(),
+              event -> event.createNewEventWithNewStatus(status));
+    }
+  }
 
-      for (ISingleEvent event : series.getEvents()) {
-        if (event.getStartDateTime().isBefore(afterDateTime)) {
-          newEvents.add(event);
-        } else {
-          newEvents.add(event.createNewEventWithNewStatus(status));
-        }
+
+  // A series that never ends cannot be split into lists of events, so split its rule instead
+  private List<CalendarEvent> updateUnboundedSeriesStartDate(ISingleEvent original,
+                                                             IRecurringEventSeries series,
+                                                             LocalDateTime newStartDateTime) {
+    LocalDate originalDate = original.getStartDateTime().toLocalDate();
+    List<CalendarEvent> updatedEvents = new ArrayList<>();
+
+    if (newStartDateTime.toLocalDate().equals(originalDate)) {
+      IRecurringEventSeries before = series.createNewSeriesBefore(originalDate);
+      if (before != null) {
+        updatedEvents.add(before);
       }
+      Duration durationDiff = Duration.between(original.getStartDateTime(), newStartDateTime);
+      IRecurringEventSeries after = series.createNewSeriesFrom(originalDate);
+      updatedEvents.add(after.createNewSeriesWithEventsEditedFrom(original.getStartDateTime(),
+              event -> event.createNewEventWithNewStartDateAndEndDate(
+                      event.getStartDateTime().plus(durationDiff),
+                      event.getEndDateTime().plus(durationDiff))));
+      return updatedEvents;
+    }
 
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+    LocalDateTime adjustedStartDateTime = adjustToOccurringDay(newStartDateTime,
+            series.getOccurringDays());
+    LocalDate adjustedDate = adjustedStartDateTime.toLocalDate();
+    IRecurringEventSeries before = series.createNewSeriesBefore(
+            adjustedDate.isBefore(originalDate) ? adjustedDate : originalDate);
+    if (before != null) {
+      updatedEvents.add(before);
     }
+    Duration eventDuration = Duration.between(original.getStartDateTime(),
+            original.getEndDateTime());
+    updatedEvents.add(new RecurringEventSeries(original.createNewEventWithNewStartDateAndEndDate(
+            adjustedStartDateTime, adjustedStartDateTime.plus(eventDuration)),
+            series.getOccurringDays()));
+    return updatedEvents;
   }
 
-
   private List<CalendarEvent> updateTimeOnSameDay(ISingleEvent original, IEventSeries series,
                                                   LocalDateTime newStartDateTime) {
     Duration durationDiff = Duration.between(original.getStartDateTime(), newStartDateTime);
@@ -643,13 +799,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithSubject(subject);
     }
-    List<ISingleEvent> newEvents = new ArrayList<>();
-    for (ISingleEvent event : series.getEvents()) {
-      newEvents.add(event.createNewEventWithSubject(subject));
-    }
-
-    return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-            series.getOccurringDays());
+    return series.createNewSeriesWithEventsEditedFrom(series.getStartDateTime(),
+            event -> event.createNewEventWithSubject(subject));
   }
 
   private CalendarEvent updateSeriesStartDate(ISingleEvent original, IEventSeries series,
@@ -661,13 +812,9 @@ public class Calendar implements ICalendar {
         throw new IllegalArgumentException("Cannot change startDate to a different day, "
                 + "use the 'edit events' command instead!");
       }
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      for (ISingleEvent event : series.getEvents()) {
-        newEvents.add(event.createNewEventWithNewStartDate(LocalDateTime.of(
-                event.getStartDateTime().toLocalDate(), startDate.toLocalTime())));
-      }
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(series.getStartDateTime(),
+              event -> event.createNewEventWithNewStartDate(LocalDateTime.of(
+                      event.getStartDateTime().toLocalDate(), startDate.toLocalTime())));
     }
   }
 
@@ -680,13 +827,9 @@ public class Calendar implements ICalendar {
         throw new IllegalArgumentException("Cannot change end date to a different day in an"
                 + " event series");
       }
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      for (ISingleEvent e : series.getEvents()) {
-        newEvents.add(e.createNewEventWithNewEndDate(LocalDateTime.of(
-                e.getEndDateTime().toLocalDate(), newEndDateTime.toLocalTime())));
-      }
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(series.getStartDateTime(),
+              e -> e.createNewEventWithNewEndDate(LocalDateTime.of(
+                      e.getEndDateTime().toLocalDate(), newEndDateTime.toLocalTime())));
     }
   }
 
@@ -695,12 +838,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewDescription(description);
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      for (ISingleEvent event : series.getEvents()) {
-        newEvents.add(event.createNewEventWithNewDescription(description));
-      }
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(series.getStartDateTime(),
+              event -> event.createNewEventWithNewDescription(description));
     }
   }
 
@@ -709,12 +848,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewLocation(location);
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      for (ISingleEvent event : series.getEvents()) {
-        newEvents.add(event.createNewEventWithNewLocation(location));
-      }
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(series.getStartDateTime(),
+              event -> event.createNewEventWithNewLocation(location));
     }
   }
 
@@ -723,12 +858,8 @@ public class Calendar implements ICalendar {
     if (series == null) {
       return original.createNewEventWithNewStatus(status);
     } else {
-      List<ISingleEvent> newEvents = new ArrayList<>();
-      for (ISingleEvent event : series.getEvents()) {
-        newEvents.add(event.createNewEventWithNewStatus(status));
-      }
-      return new EventSeries(newEvents, series.getEndDateTime().toLocalDate(),
-              series.getOccurringDays());
+      return series.createNewSeriesWithEventsEditedFrom(series.getStartDateTime(),
+              event -> event.createNewEventWithNewStatus(status));
     }
   }
 
@@ -742,5 +873,222 @@ public class Calendar implements ICalendar {
     return location.equals("online") || location.equals("physical");
   }
 
-}
+  /**
+   * An immutable version of every index of the calendar. Adding or removing an event returns a
+   * new snapshot that shares all of the unchanged structure with this one.
+   */
+  private static final class Snapshot {
+    private static final Snapshot EMPTY = new Snapshot(PersistentHashMap.empty(),
+            EventIntervalTree.empty(), PersistentHashMap.empty(), PersistentHashMap.empty(),
+            EventIntervalTree.empty(), PersistentHashMap.empty());
+
+    // Every event in the calendar, mapped to itself
+    private final PersistentHashMap<CalendarEvent, CalendarEvent> events;
+    // Every single occurrence in the calendar, so queries don't have to walk each event series
+    private final EventIntervalTree<ISingleEvent> occurrences;
+    // The same occurrences hashed by subject, start and end, mapped to the event that owns them:
+    // either the occurrence itself or the series it belongs to
+    private final PersistentHashMap<ISingleEvent, CalendarEvent> owners;
+    // The same occurrences grouped by subject and start date/time, for the edit and copy commands
+    private final PersistentHashMap<SubjectAndStart, List<ISingleEvent>> bySubjectAndStart;
+    // Series stored as recurrence rules aren't expanded into the indexes above. Instead they are
+    // kept by the time span they cover, and by every subject their events can have.
+    private final EventIntervalTree<IRecurringEventSeries> recurringSeries;
+    private final PersistentHashMap<String, List<IRecurringEventSeries>> recurringBySubject;
+
+    private Snapshot(PersistentHashMap<CalendarEvent, CalendarEvent> events,
+                     EventIntervalTree<ISingleEvent> occurrences,
+                     PersistentHashMap<ISingleEvent, CalendarEvent> owners,
+                     PersistentHashMap<SubjectAndStart, List<ISingleEvent>> bySubjectAndStart,
+                     EventIntervalTree<IRecurringEventSeries> recurringSeries,
+                     PersistentHashMap<String, List<IRecurringEventSeries>> recurringBySubject) {
+      this.events = events;
+      this.occurrences = occurrences;
+      this.owners = owners;
+      this.bySubjectAndStart = bySubjectAndStart;
+      this.recurringSeries = recurringSeries;
+      this.recurringBySubject = recurringBySubject;
+    }
+
+    /**
+     * Builds a snapshot holding many events at once, the same as adding each of them in turn to
+     * an empty snapshot.
+     *
+     * @param allEvents the events to add.
+     * @return the new snapshot.
+     */
+    private static Snapshot of(Collection<? extends CalendarEvent> allEvents) {
+      List<CalendarEvent> events = new ArrayList<>(allEvents);
+      List<ISingleEvent> occurrences = new ArrayList<>(events.size());
+      List<CalendarEvent> owners = new ArrayList<>(events.size());
+      List<IRecurringEventSeries> recurringSeries = new ArrayList<>();
+      Map<String, List<IRecurringEventSeries>> recurringBySubject = new LinkedHashMap<>();
+      for (CalendarEvent event : events) {
+        if (event instanceof IRecurringEventSeries) {
+          IRecurringEventSeries series = (IRecurringEventSeries) event;
+          recurringSeries.add(series);
+          for (String subject : series.getSubjects()) {
+            recurringBySubject.computeIfAbsent(subject, key -> new ArrayList<>()).add(series);
+          }
+        } else if (event instanceof ISingleEvent) {
+          occurrences.add((ISingleEvent) event);
+          owners.add(event);
+        } else {
+          for (ISingleEvent occurrence : occurrencesOf(event)) {
+            occurrences.add(occurrence);
+            owners.add(event);
+          }
+        }
+      }
+      PersistentHashMap<ISingleEvent, CalendarEvent> ownerMap =
+              PersistentHashMap.of(occurrences, owners);
+
+      // Occurrences with the same subject and start date/time are next to each other once they
+      // are sorted by start date/time, then subject, so each group is one run of them
+      occurrences.sort(EventIntervalTree::compare);
+      List<SubjectAndStart> keys = new ArrayList<>(occurrences.size());
+      List<List<ISingleEvent>> groups = new ArrayList<>(occurrences.size());
+      for (int from = 0; from < occurrences.size(); ) {
+        ISingleEvent first = occurrences.get(from);
+        int to = from + 1;
+        while (to < occurrences.size() && occurrences.get(to).getStartDateTime()
+                .equals(first.getStartDateTime()) && occurrences.get(to).getSubject()
+                .equals(first.getSubject())) {
+          to++;
+        }
+        keys.add(new SubjectAndStart(first));
+        groups.add(to == from + 1 ? List.of(first) : List.copyOf(occurrences.subList(from, to)));
+        from = to;
+      }
+
+      return new Snapshot(PersistentHashMap.of(events, events), EventIntervalTree.of(occurrences),
+              ownerMap, PersistentHashMap.of(keys, groups), EventIntervalTree.of(recurringSeries),
+              PersistentHashMap.of(new ArrayList<>(recurringBySubject.keySet()),
+                      new ArrayList<>(recurringBySubject.values())));
+    }
+
+    /**
+     * Returns a new snapshot with an event and every one of its occurrences added to it.
+     *
+     * @param event the event to add.
+     * @return the new snapshot.
+     */
+    private Snapshot with(CalendarEvent event) {
+      PersistentHashMap<CalendarEvent, CalendarEvent> newEvents = events.plus(event, event);
+      if (event instanceof IRecurringEventSeries) {
+        IRecurringEventSeries series = (IRecurringEventSeries) event;
+        PersistentHashMap<String, List<IRecurringEventSeries>> newBySubject = recurringBySubject;
+        for (String subject : series.getSubjects()) {
+          newBySubject = newBySubject.plus(subject,
+                  plus(newBySubject.getOrDefault(subject, List.of()), series));
+        }
+        return new Snapshot(newEvents, occurrences, owners, bySubjectAndStart,
+                recurringSeries.insert(series), newBySubject);
+      }
+
+      EventIntervalTree<ISingleEvent> newOccurrences = occurrences;
+      PersistentHashMap<ISingleEvent, CalendarEvent> newOwners = owners;
+      PersistentHashMap<SubjectAndStart, List<ISingleEvent>> newByStart = bySubjectAndStart;
+      for (ISingleEvent occurrence : occurrencesOf(event)) {
+        newOccurrences = newOccurrences.insert(occurrence);
+        newOwners = newOwners.plus(occurrence, event);
+        SubjectAndStart key = new SubjectAndStart(occurrence);
+        newByStart = newByStart.plus(key, plus(newByStart.getOrDefault(key, List.of()),
+                occurrence));
+      }
+      return new Snapshot(newEvents, newOccurrences, newOwners, newByStart, recurringSeries,
+              recurringBySubject);
+    }
+
+    /**
+     * Returns a new snapshot with an event and every one of its occurrences taken out of it.
+     *
+     * @param event the event to remove.
+     * @return the new snapshot.
+     */
+    private Snapshot without(CalendarEvent event) {
+      PersistentHashMap<CalendarEvent, CalendarEvent> newEvents = events.minus(event);
+      if (event instanceof IRecurringEventSeries) {
+        IRecurringEventSeries series = (IRecurringEventSeries) event;
+        PersistentHashMap<String, List<IRecurringEventSeries>> newBySubject = recurringBySubject;
+        for (String subject : series.getSubjects()) {
+          newBySubject = minus(newBySubject, subject, series);
+        }
+        return new Snapshot(newEvents, occurrences, owners, bySubjectAndStart,
+                recurringSeries.remove(series), newBySubject);
+      }
+
+      EventIntervalTree<ISingleEvent> newOccurrences = occurrences;
+      PersistentHashMap<ISingleEvent, CalendarEvent> newOwners = owners;
+      PersistentHashMap<SubjectAndStart, List<ISingleEvent>> newByStart = bySubjectAndStart;
+      for (ISingleEvent occurrence : occurrencesOf(event)) {
+        newOccurrences = newOccurrences.remove(occurrence);
+        newOwners = newOwners.minus(occurrence);
+        newByStart = minus(newByStart, new SubjectAndStart(occurrence), occurrence);
+      }
+      return new Snapshot(newEvents, newOccurrences, newOwners, newByStart, recurringSeries,
+              recurringBySubject);
+    }
 
+    private List<IRecurringEventSeries> recurringWithSubject(String subject) {
+      return recurringBySubject.getOrDefault(subject, List.of());
+    }
+
+    private static List<ISingleEvent> occurrencesOf(CalendarEvent event) {
+      return event.getEventsInRange(LocalDateTime.MIN, LocalDateTime.MAX);
+    }
+
+    // The lists in a snapshot are never changed, so adding or removing copies them
+    private static <T> List<T> plus(List<T> list, T element) {
+      List<T> result = new ArrayList<>(list.size() + 1);
+      result.addAll(list);
+      result.add(element);
+      return result;
+    }
+
+    private static <K, T> PersistentHashMap<K, List<T>> minus(PersistentHashMap<K, List<T>> map,
+                                                            K key, T element) {
+      List<T> list = map.get(key);
+      if (list == null || !list.contains(element)) {
+        return map;
+      }
+      List<T> result = new ArrayList<>(list);
+      result.remove(element);
+      return result.isEmpty() ? map.minus(key) : map.plus(key, result);
+    }
+  }
+
+  /**
+   * The subject and start date/time of an occurrence, used as a hash key.
+   */
+  private static final class SubjectAndStart {
+    private final String subject;
+    private final LocalDateTime startDateTime;
+
+    private SubjectAndStart(String subject, LocalDateTime startDateTime) {
+      this.subject = subject;
+      this.startDateTime = startDateTime;
+    }
+
+    private SubjectAndStart(ISingleEvent event) {
+      this(event.getSubject(), event.getStartDateTime());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      } else if (!(other instanceof SubjectAndStart)) {
+        return false;
+      }
+      SubjectAndStart otherKey = (SubjectAndStart) other;
+      return Objects.equals(subject, otherKey.subject)
+              && Objects.equals(startDateTime, otherKey.startDateTime);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(subject, startDateTime);
+    }
+  }
+}
@@ -0,0 +1,463 @@
+package model.calendar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import model.event.CalendarEvent;
+import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+import model.event.Location;
+import model.event.ReadOnlyCalendarEvent;
+import model.event.SingleEvent;
+import model.event.Status;
+
+/**
+ * A calendar that cannot be changed, read straight from an archive file. Archives suit old events
+ * that are looked at but never edited again.
+ *
+ * <p>An archive holds every event as a record of the same size, sorted by start date/time, then
+ * subject, then end date/time, followed by one table of every distinct subject and description.
+ * Each record also holds the latest end of it and every record before it, so finding whether
+ * something contains a time is one binary search as well. The file is mapped into memory, and an
+ * event is only made from its record when it is returned, so the memory a query takes depends on
+ * what it returns and not on how large the archive is.
+ */
+public final class CalendarArchive implements ICalendar {
+  private static final byte[] MAGIC = "CALARCH\n".getBytes(StandardCharsets.US_ASCII);
+  private static final int VERSION = 1;
+  private static final int HEADER = 32;
+  private static final long SECONDS_PER_DAY = 86400;
+
+  // The fields of a record, by where they start in it
+  private static final int START = 0;
+  private static final int END = 8;
+  private static final int MAX_END = 16;
+  private static final int START_NANO = 24;
+  private static final int END_NANO = 28;
+  private static final int MAX_END_NANO = 32;
+  private static final int SUBJECT = 36;
+  private static final int DESCRIPTION = 40;
+  private static final int DETAILS = 44;
+  private static final int RECORD = 48;
+
+  private final ByteBuffer records;
+  private final ByteBuffer strings;
+  private final int size;
+  private final int stringCount;
+
+  private CalendarArchive(ByteBuffer records, ByteBuffer strings, int size, int stringCount) {
+    this.records = records;
+    this.strings = strings;
+    this.size = size;
+    this.stringCount = stringCount;
+  }
+
+  /**
+   * Writes the events of a calendar that fit in a date/time range to an archive file. The events
+   * are read one at a time, so the calendar can be of any size. The file is replaced in one step
+   * once it is fully written.
+   *
+   * @param calendar the calendar to archive.
+   * @param start    the start of the range of events to archive.
+   * @param end      the end of the range of events to archive.
+   * @param file     the archive file.
+   * @throws IOException              if the file cannot be written.
+   * @throws IllegalArgumentException if the range is not valid.
+   */
+  public static void write(ICalendar calendar, LocalDateTime start, LocalDateTime end, Path file)
+          throws IOException {
+    Iterator<ISingleEvent> events = calendar.queryIterator(start, end);
+    Map<String, Integer> stringIndexes = new HashMap<>();
+    List<byte[]> stringBytes = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.allocate(RECORD * 1024);
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.position(HEADER);
+      int count = 0;
+      long maxEnd = Long.MIN_VALUE;
+      int maxEndNano = 0;
+      ISingleEvent previous = null;
+      while (events.hasNext()) {
+        ISingleEvent event = events.next();
+        if (previous != null && EventIntervalTree.compare(previous, event) > 0) {
+          throw new IllegalArgumentException("Calendar events are not in order.");
+        }
+        previous = event;
+        if (count == (Integer.MAX_VALUE - HEADER) / RECORD) {
+          throw new IllegalArgumentException("Too many events to archive in one file.");
+        }
+        long eventEnd = seconds(event.getEndDateTime());
+        int eventEndNano = event.getEndDateTime().getNano();
+        if (eventEnd > maxEnd || (eventEnd == maxEnd && eventEndNano > maxEndNano)) {
+          maxEnd = eventEnd;
+          maxEndNano = eventEndNano;
+        }
+        if (!buffer.hasRemaining()) {
+          writeFully(channel, buffer.flip());
+          buffer.clear();
+        }
+        buffer.putLong(seconds(event.getStartDateTime()))
+                .putLong(eventEnd)
+                .putLong(maxEnd)
+                .putInt(event.getStartDateTime().getNano())
+                .putInt(eventEndNano)
+                .putInt(maxEndNano)
+                .putInt(indexOf(event.getSubject(), stringIndexes, stringBytes))
+                .putInt(indexOf(event.getDescription(), stringIndexes, stringBytes))
+                .putInt((event.getLocation() == null ? 0 : event.getLocation().ordinal() + 1) * 3
+                        + (event.getStatus() == null ? 0 : event.getStatus().ordinal() + 1));
+        count++;
+      }
+      writeFully(channel, buffer.flip());
+
+      // The table is the offset of each string, then one past the last, then all their bytes
+      ByteBuffer offsets = ByteBuffer.allocate(4 * (stringBytes.size() + 1));
+      int offset = 0;
+      for (byte[] bytes : stringBytes) {
+        offsets.putInt(offset);
+        offset += bytes.length;
+      }
+      writeFully(channel, offsets.putInt(offset).flip());
+      for (byte[] bytes : stringBytes) {
+        writeFully(channel, ByteBuffer.wrap(bytes));
+      }
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER).put(MAGIC).putInt(VERSION).putInt(count)
+              .putInt(stringBytes.size()).putInt(offsets.capacity() + offset);
+      channel.position(0);
+      writeFully(channel, header.flip());
+      channel.force(true);
+    }
+    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Opens an archive file written by
+   * {@link #write(ICalendar, LocalDateTime, LocalDateTime, Path)}.
+   *
+   * @param file the archive file.
+   * @return the calendar of the events in the archive.
+   * @throws IOException              if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not an archive, or is damaged.
+   */
+  public static CalendarArchive open(Path file) throws IOException {
+    // The mapping stays valid once the channel is closed
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER) {
+        throw new IllegalArgumentException(file + " is not a calendar archive.");
+      }
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+      byte[] magic = new byte[MAGIC.length];
+      header.get(magic);
+      if (!Arrays.equals(magic, MAGIC)) {
+        throw new IllegalArgumentException(file + " is not a calendar archive.");
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported calendar archive version " + version
+                + ".");
+      }
+      int size = header.getInt();
+      int stringCount = header.getInt();
+      int stringsLength = header.getInt();
+      long recordsLength = (long) size * RECORD;
+      if (size < 0 || stringCount < 0 || stringsLength < 4L * (stringCount + 1)
+              || channel.size() != HEADER + recordsLength + stringsLength) {
+        throw new IllegalArgumentException(file + " is damaged.");
+      }
+      return new CalendarArchive(
+              channel.map(FileChannel.MapMode.READ_ONLY, HEADER, recordsLength),
+              channel.map(FileChannel.MapMode.READ_ONLY, HEADER + recordsLength, stringsLength),
+              size, stringCount);
+    }
+  }
+
+  /**
+   * Gets the number of events in this archive.
+   *
+   * @return the number of events.
+   */
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void addEvent(CalendarEvent event) {
+    throw new IllegalArgumentException("Archived calendars cannot be changed.");
+  }
+
+  @Override
+  public void addEvents(List<CalendarEvent> events) {
+    throw new IllegalArgumentException("Archived calendars cannot be changed.");
+  }
+
+  @Override
+  public void editEvent(String property, String subject, LocalDateTime startDateTime,
+                        LocalDateTime endDateTime, String newValue) {
+    throw new IllegalArgumentException("Archived calendars cannot be changed.");
+  }
+
+  @Override
+  public void editEvents(String property, String subject, LocalDateTime startDateTime,
+                         String commandType, String newValue) {
+    throw new IllegalArgumentException("Archived calendars cannot be changed.");
+  }
+
+  @Override
+  public List<ISingleEvent> query(LocalDateTime start, LocalDateTime end) {
+    List<ISingleEvent> queriedEvents = new ArrayList<>();
+    queryIterator(start, end).forEachRemaining(queriedEvents::add);
+    return queriedEvents;
+  }
+
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end) {
+    return queryIterator(start, end, null);
+  }
+
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                              ReadOnlyCalendarEvent after) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("Start and end dates cannot be null.");
+    } else if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End date cannot be before the starting date.");
+    }
+    // Nothing before the event to resume after can be returned, so skip straight to it
+    LocalDateTime from = after != null && after.getStartDateTime().isAfter(start)
+            ? after.getStartDateTime() : start;
+    long endSeconds = seconds(end);
+    int endNano = end.getNano();
+
+    return new Iterator<>() {
+      private int index = firstStartingFrom(from);
+      private ISingleEvent next = advance();
+
+      // Anything that fits in the range has to start in it too, and the records are sorted
+      private ISingleEvent advance() {
+        for (; index < size; index++) {
+          if (compare(index, START, START_NANO, endSeconds, endNano) > 0) {
+            return null;
+          }
+          if (compare(index, END, END_NANO, endSeconds, endNano) <= 0) {
+            ISingleEvent event = eventAt(index);
+            if (after == null || EventIntervalTree.compare(event, after) > 0) {
+              index++;
+              return event;
+            }
+          }
+        }
+        return null;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public ISingleEvent next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        ISingleEvent event = next;
+        next = advance();
+        return event;
+      }
+    };
+  }
+
+  @Override
+  public Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end) {
+    // Archives keep each occurrence on its own, so the events are the occurrences
+    Iterator<ISingleEvent> iterator = queryIterator(start, end);
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public CalendarEvent next() {
+        return iterator.next();
+      }
+    };
+  }
+
+  @Override
+  public List<ISingleEvent> queryNext(LocalDateTime start, int count) {
+    if (start == null) {
+      throw new IllegalArgumentException("Start date cannot be null.");
+    } else if (count < 0) {
+      throw new IllegalArgumentException("Number of events cannot be negative.");
+    }
+    List<ISingleEvent> nextEvents = new ArrayList<>();
+    for (int i = firstStartingFrom(start); i < size && nextEvents.size() < count; i++) {
+      nextEvents.add(eventAt(i));
+    }
+    return nextEvents;
+  }
+
+  @Override
+  public ISingleEvent getSingleEventWithStartAndEndDate(String subject,
+                                                       LocalDateTime startDateTime,
+                                                       LocalDateTime endDateTime) {
+    for (ISingleEvent event : getSingleEventsWithStartDate(subject, startDateTime)) {
+      if (event.getEndDateTime().equals(endDateTime)) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public IEventSeries isInSeries(ISingleEvent original) {
+    // Archives keep each occurrence on its own, so nothing is part of a series any more
+    return null;
+  }
+
+  @Override
+  public boolean containsTime(LocalDateTime dateTime) {
+    // The latest end among the events starting before the time decides whether any contains it
+    int last = firstStartingFrom(dateTime) - 1;
+    return last >= 0
+            && compare(last, MAX_END, MAX_END_NANO, seconds(dateTime), dateTime.getNano()) > 0;
+  }
+
+  @Override
+  public boolean canAddSingleEvent(ISingleEvent newEvent) {
+    return newEvent != null && getSingleEventWithStartAndEndDate(newEvent.getSubject(),
+            newEvent.getStartDateTime(), newEvent.getEndDateTime()) == null;
+  }
+
+  @Override
+  public boolean canAddRecurringSeries(IRecurringEventSeries newSeries) {
+    if (!newSeries.isUnbounded()) {
+      for (ISingleEvent event : newSeries) {
+        if (!canAddSingleEvent(event)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // A series that never ends cannot be walked, so check it against everything else instead
+    for (int i = firstStartingFrom(newSeries.getStartDateTime()); i < size; i++) {
+      if (newSeries.matchesWith(eventAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public List<ISingleEvent> getSingleEventsWithStartDate(String subject,
+                                                        LocalDateTime startDateTime) {
+    List<ISingleEvent> listOfEvents = new ArrayList<>();
+    long startSeconds = seconds(startDateTime);
+    int startNano = startDateTime.getNano();
+    for (int i = firstStartingFrom(startDateTime);
+         i < size && compare(i, START, START_NANO, startSeconds, startNano) == 0; i++) {
+      if (stringAt(records.getInt(i * RECORD + SUBJECT)).equals(subject)) {
+        listOfEvents.add(eventAt(i));
+      }
+    }
+    return listOfEvents;
+  }
+
+  // The index of the first record starting at or after the date/time, or size if there is none
+  private int firstStartingFrom(LocalDateTime dateTime) {
+    long dateTimeSeconds = seconds(dateTime);
+    int dateTimeNano = dateTime.getNano();
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(middle, START, START_NANO, dateTimeSeconds, dateTimeNano) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  // Compares the date/time in the given fields of a record to another date/time
+  private int compare(int index, int secondsField, int nanoField, long seconds, int nano) {
+    int result = Long.compare(records.getLong(index * RECORD + secondsField), seconds);
+    return result != 0 ? result : Integer.compare(records.getInt(index * RECORD + nanoField),
+            nano);
+  }
+
+  private ISingleEvent eventAt(int index) {
+    int record = index * RECORD;
+    int details = records.getInt(record + DETAILS);
+    return new SingleEvent.Builder(stringAt(records.getInt(record + SUBJECT)),
+            toDateTime(records.getLong(record + START), records.getInt(record + START_NANO)),
+            toDateTime(records.getLong(record + END), records.getInt(record + END_NANO)))
+            .description(stringAt(records.getInt(record + DESCRIPTION)))
+            .location(details / 3 == 0 ? null : Location.values()[details / 3 - 1])
+            .status(details % 3 == 0 ? null : Status.values()[details % 3 - 1])
+            .build();
+  }
+
+  private String stringAt(int index) {
+    if (index < 0) {
+      return null;
+    }
+    int from = strings.getInt(4 * index);
+    byte[] bytes = new byte[strings.getInt(4 * (index + 1)) - from];
+    // A duplicate has its own position, so reading does not disturb other threads
+    strings.duplicate().position(4 * (stringCount + 1) + from).get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int indexOf(String value, Map<String, Integer> indexes, List<byte[]> bytes) {
+    if (value == null) {
+      return -1;
+    }
+    Integer index = indexes.get(value);
+    if (index == null) {
+      index = bytes.size();
+      indexes.put(value, index);
+      bytes.add(value.getBytes(StandardCharsets.UTF_8));
+    }
+    return index;
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static long seconds(LocalDateTime dateTime) {
+    return dateTime.toLocalDate().toEpochDay() * SECONDS_PER_DAY
+            + dateTime.toLocalTime().toSecondOfDay();
+  }
+
+  private static LocalDateTime toDateTime(long seconds, int nano) {
+    return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(seconds, SECONDS_PER_DAY)),
+            LocalTime.ofSecondOfDay(Math.floorMod(seconds, SECONDS_PER_DAY)).withNano(nano));
+  }
+}
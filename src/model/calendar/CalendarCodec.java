@@ -0,0 +1,44 @@
+package model.calendar;
+
+import model.event.EventCodec;
+
+/**
+ * Writes whole calendars with {@link EventCodec}, and reads them back. A calendar is written
+ * with both the time zone its events are stored in and the time zone it is shown in, so a
+ * calendar read back is exactly the one written, and none of its events have to be converted.
+ */
+public final class CalendarCodec {
+  private CalendarCodec() {
+  }
+
+  /**
+   * Writes a calendar. Each calendar publishes its events as one immutable snapshot, so this
+   * writes the calendar as it was at one moment even while other threads change it.
+   *
+   * @param calendar the calendar to write.
+   * @param out      where to write it.
+   * @throws IllegalArgumentException if the calendar was not made by this program.
+   */
+  public static void write(IBetterCalendar calendar, EventCodec.Output out)
+          throws IllegalArgumentException {
+    if (calendar instanceof ConcurrentCalendar) {
+      write(((ConcurrentCalendar) calendar).getCalendar(), out);
+    } else if (calendar instanceof BetterCalendar) {
+      ((BetterCalendar) calendar).writeTo(out);
+    } else {
+      throw new IllegalArgumentException("Cannot write this kind of calendar: "
+              + calendar.getClass());
+    }
+  }
+
+  /**
+   * Reads a calendar written by {@link #write(IBetterCalendar, EventCodec.Output)}.
+   *
+   * @param in where to read it from.
+   * @return the calendar.
+   * @throws IllegalArgumentException if what is read is not a valid calendar.
+   */
+  public static IBetterCalendar read(EventCodec.Input in) throws IllegalArgumentException {
+    return BetterCalendar.readFrom(in);
+  }
+}
@@ -0,0 +1,127 @@
+package model.calendar;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import model.event.CalendarEvent;
+import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+
+/**
+ * An iterator over the events of a calendar that have an occurrence fitting in a date/time
+ * range, with each series returned once, as a whole, at the first of its occurrences that fits.
+ * Events come in the order those occurrences start, and series that repeat forever come at their
+ * own start. Only the series that have been returned and may still have occurrences ahead are
+ * remembered, so the iterator takes the same memory however many events the calendar holds.
+ */
+final class CalendarEventIterator implements Iterator<CalendarEvent> {
+  private final Iterator<ISingleEvent> occurrences;
+  private final PersistentHashMap<ISingleEvent, CalendarEvent> owners;
+  private final Iterator<IRecurringEventSeries> recurringSeries;
+  private final LocalDateTime start;
+  private final LocalDateTime end;
+  // Series returned already, and the same series by when they end, to forget them once past
+  private final Set<CalendarEvent> returned;
+  private final PriorityQueue<IEventSeries> returnedByEnd;
+  private ISingleEvent nextOccurrence;
+  private CalendarEvent nextOwner;
+  private IRecurringEventSeries nextSeries;
+
+  /**
+   * Constructs a {@code CalendarEventIterator} over the given occurrences and recurring series.
+   *
+   * @param occurrences the single occurrences of the calendar.
+   * @param owners      the event each occurrence belongs to.
+   * @param series      the recurring series that overlap the range, sorted by start.
+   * @param start       the start date/time of the range.
+   * @param end         the end date/time of the range.
+   */
+  CalendarEventIterator(EventIntervalTree<ISingleEvent> occurrences,
+                        PersistentHashMap<ISingleEvent, CalendarEvent> owners,
+                        List<IRecurringEventSeries> series, LocalDateTime start,
+                        LocalDateTime end) {
+    this.occurrences = occurrences.iterator(start, null);
+    this.owners = owners;
+    this.recurringSeries = series.iterator();
+    this.start = start;
+    this.end = end;
+    this.returned = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.returnedByEnd = new PriorityQueue<>((s1, s2) -> s1.getEndDateTime().compareTo(
+            s2.getEndDateTime()));
+    advanceOccurrence();
+    advanceSeries();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextOwner != null || nextSeries != null;
+  }
+
+  @Override
+  public CalendarEvent next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (nextOwner == null || (nextSeries != null
+            && nextSeries.getStartDateTime().isBefore(nextOccurrence.getStartDateTime()))) {
+      CalendarEvent series = nextSeries;
+      advanceSeries();
+      return series;
+    }
+    CalendarEvent owner = nextOwner;
+    if (owner instanceof IEventSeries) {
+      returned.add(owner);
+      returnedByEnd.add((IEventSeries) owner);
+    }
+    advanceOccurrence();
+    return owner;
+  }
+
+  // Finds the next occurrence that fits whose event has not been returned yet
+  private void advanceOccurrence() {
+    nextOccurrence = null;
+    nextOwner = null;
+    while (occurrences.hasNext()) {
+      ISingleEvent occurrence = occurrences.next();
+      // Everything left starts at or after this occurrence, so none of it can fit in the range
+      if (occurrence.getStartDateTime().isAfter(end)) {
+        return;
+      }
+      while (!returnedByEnd.isEmpty() && returnedByEnd.peek().getEndDateTime()
+              .isBefore(occurrence.getStartDateTime())) {
+        returned.remove(returnedByEnd.poll());
+      }
+      CalendarEvent owner = owners.get(occurrence);
+      if (!occurrence.getEndDateTime().isAfter(end) && !returned.contains(owner)) {
+        nextOccurrence = occurrence;
+        nextOwner = owner;
+        return;
+      }
+    }
+  }
+
+  // Finds the next recurring series with an occurrence that fits in the range
+  private void advanceSeries() {
+    nextSeries = null;
+    while (recurringSeries.hasNext()) {
+      IRecurringEventSeries series = recurringSeries.next();
+      Iterator<ISingleEvent> events = series.iteratorFrom(start);
+      while (events.hasNext()) {
+        ISingleEvent event = events.next();
+        if (event.getStartDateTime().isAfter(end)) {
+          break;
+        } else if (!event.getEndDateTime().isAfter(end)) {
+          nextSeries = series;
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package model.calendar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+import model.event.CalendarEvent;
+import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+import model.event.ReadOnlyCalendarEvent;
+
+/**
+ * A calendar that can be shared by several threads. Every change to the wrapped calendar is made
+ * while holding a lock, so changes are applied one at a time. Reads take no lock at all: a
+ * calendar publishes each change as a new immutable snapshot, so a read always sees the calendar
+ * either before or after a change, never half-way through one.
+ */
+public class ConcurrentCalendar implements IBetterCalendar {
+  private final IBetterCalendar calendar;
+  private final StampedLock lock;
+
+  /**
+   * Constructs a {@code ConcurrentCalendar} that guards the given calendar. The calendar must not
+   * be used directly once it has been wrapped.
+   *
+   * @param calendar the calendar to guard.
+   */
+  public ConcurrentCalendar(IBetterCalendar calendar) {
+    this(calendar, new StampedLock());
+  }
+
+  private ConcurrentCalendar(IBetterCalendar calendar, StampedLock lock) {
+    this.calendar = calendar;
+    this.lock = lock;
+  }
+
+  /**
+   * Gets the calendar this one guards, for reading its events without taking the lock.
+   *
+   * @return the guarded calendar.
+   */
+  IBetterCalendar getCalendar() {
+    return calendar;
+  }
+
+  @Override
+  public ZoneId getZoneId() {
+    return calendar.getZoneId();
+  }
+
+  @Override
+  public IBetterCalendar makeCalWithNewTimeZone(String newTimeZoneString) {
+    // The new calendar may share its events with this one, so it has to share the lock too
+    return new ConcurrentCalendar(calendar.makeCalWithNewTimeZone(newTimeZoneString), lock);
+  }
+
+  @Override
+  public void addEvent(CalendarEvent event) {
+    long stamp = lock.writeLock();
+    try {
+      calendar.addEvent(event);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public void addEvents(List<CalendarEvent> events) {
+    long stamp = lock.writeLock();
+    try {
+      calendar.addEvents(events);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public void editEvent(String property, String subject, LocalDateTime startDateTime,
+                        LocalDateTime endDateTime, String newValue) {
+    long stamp = lock.writeLock();
+    try {
+      calendar.editEvent(property, subject, startDateTime, endDateTime, newValue);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public void editEvents(String property, String subject, LocalDateTime startDateTime,
+                         String commandType, String newValue) {
+    long stamp = lock.writeLock();
+    try {
+      calendar.editEvents(property, subject, startDateTime, commandType, newValue);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public List<ISingleEvent> query(LocalDateTime start, LocalDateTime end) {
+    return calendar.query(start, end);
+  }
+
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end) {
+    return calendar.queryIterator(start, end);
+  }
+
+  @Override
+  public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                              ReadOnlyCalendarEvent after) {
+    return calendar.queryIterator(start, end, after);
+  }
+
+  @Override
+  public Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end) {
+    return calendar.eventIterator(start, end);
+  }
+
+  @Override
+  public List<ISingleEvent> queryNext(LocalDateTime start, int count) {
+    return calendar.queryNext(start, count);
+  }
+
+  @Override
+  public boolean containsTime(LocalDateTime dateTime) {
+    return calendar.containsTime(dateTime);
+  }
+
+  @Override
+  public ISingleEvent getSingleEventWithStartAndEndDate(String subject,
+                                                       LocalDateTime startDateTime,
+                                                       LocalDateTime endDateTime) {
+    return calendar.getSingleEventWithStartAndEndDate(subject, startDateTime, endDateTime);
+  }
+
+  @Override
+  public IEventSeries isInSeries(ISingleEvent original) {
+    return calendar.isInSeries(original);
+  }
+
+  @Override
+  public boolean canAddSingleEvent(ISingleEvent newEvent) {
+    return calendar.canAddSingleEvent(newEvent);
+  }
+
+  @Override
+  public boolean canAddRecurringSeries(IRecurringEventSeries newSeries) {
+    return calendar.canAddRecurringSeries(newSeries);
+  }
+
+  @Override
+  public List<ISingleEvent> getSingleEventsWithStartDate(String subject,
+                                                        LocalDateTime startDateTime) {
+    return calendar.getSingleEventsWithStartDate(subject, startDateTime);
+  }
+}
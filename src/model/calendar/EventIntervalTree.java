@@ -0,0 +1,377 @@
+package model.calendar;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import model.event.ReadOnlyCalendarEvent;
+
+/**
+ * An immutable, height-balanced interval tree of events. Events are ordered by their start
+ * date/time, then their subject, then their end date/time, and every node also remembers the
+ * latest end date/time found in its subtree. Inserting or removing an event returns a new tree
+ * that shares every untouched node with the old one, so both stay valid.
+ *
+ * @param <E> the type of event stored in the tree.
+ */
+final class EventIntervalTree<E extends ReadOnlyCalendarEvent> {
+  private static final EventIntervalTree<?> EMPTY = new EventIntervalTree<>(null);
+
+  private final Node<E> root;
+
+  private EventIntervalTree(Node<E> root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns a tree with no events in it.
+   *
+   * @param <E> the type of event stored in the tree.
+   * @return the empty tree.
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends ReadOnlyCalendarEvent> EventIntervalTree<E> empty() {
+    return (EventIntervalTree<E>) EMPTY;
+  }
+
+  /**
+   * Builds a tree from many events at once. The events are sorted once and the tree is built
+   * straight from the sorted order, already balanced, instead of being rebalanced after each
+   * event.
+   *
+   * @param events the events, in any order.
+   * @param <E>    the type of event stored in the tree.
+   * @return the new tree.
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends ReadOnlyCalendarEvent> EventIntervalTree<E> of(List<? extends E> events) {
+    ReadOnlyCalendarEvent[] sorted = events.toArray(new ReadOnlyCalendarEvent[0]);
+    Arrays.sort(sorted, EventIntervalTree::compare);
+    return new EventIntervalTree<>(build((E[]) sorted, 0, sorted.length));
+  }
+
+  /**
+   * Gets the number of events in this tree.
+   *
+   * @return the number of events.
+   */
+  int size() {
+    return size(root);
+  }
+
+  /**
+   * Returns a new tree with {@code event} added to it.
+   *
+   * @param event the event to add.
+   * @return the new tree.
+   */
+  EventIntervalTree<E> insert(E event) {
+    return new EventIntervalTree<>(insert(root, event));
+  }
+
+  /**
+   * Returns a new tree without {@code event}, or this tree if the event is not in it.
+   *
+   * @param event the event to remove.
+   * @return the new tree.
+   */
+  EventIntervalTree<E> remove(E event) {
+    Node<E> newRoot = remove(root, event);
+    return newRoot == root ? this : new EventIntervalTree<>(newRoot);
+  }
+
+  /**
+   * Gets every event that starts no earlier than {@code from} and no later than {@code to},
+   * in tree order.
+   *
+   * @param from the earliest start date/time to include.
+   * @param to   the latest start date/time to include.
+   * @return the matching events, sorted by start date/time, subject, then end date/time.
+   */
+  List<E> startingBetween(LocalDateTime from, LocalDateTime to) {
+    List<E> result = new ArrayList<>();
+    collectStartingBetween(root, from, to, result);
+    return result;
+  }
+
+  /**
+   * Gets the first {@code count} events in tree order that start no earlier than {@code from}.
+   * Only the nodes on the way to the first such event and the events returned are visited.
+   *
+   * @param from  the earliest start date/time to include.
+   * @param count the most events to return.
+   * @return the matching events, sorted by start date/time, subject, then end date/time.
+   */
+  List<E> firstStartingFrom(LocalDateTime from, int count) {
+    List<E> result = new ArrayList<>(Math.min(count, size()));
+    collectFirstStartingFrom(root, from, count, result);
+    return result;
+  }
+
+  /**
+   * Gets an iterator over the events in tree order that start no earlier than {@code from} and
+   * come strictly after {@code after}, if it is given. The iterator walks this tree lazily, and
+   * keeps walking the same tree even if events are later inserted or removed.
+   *
+   * @param from  the earliest start date/time to include.
+   * @param after the event to resume after, or null to start from {@code from}.
+   * @return the iterator.
+   */
+  Iterator<E> iterator(LocalDateTime from, ReadOnlyCalendarEvent after) {
+    // The nodes whose value and right subtree are still to be visited, nearest on top
+    Deque<Node<E>> pending = new ArrayDeque<>();
+    Node<E> node = root;
+    while (node != null) {
+      if (node.value.getStartDateTime().isBefore(from)
+              || (after != null && compare(node.value, after) <= 0)) {
+        node = node.right;
+      } else {
+        pending.push(node);
+        node = node.left;
+      }
+    }
+
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return !pending.isEmpty();
+      }
+
+      @Override
+      public E next() {
+        if (pending.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        Node<E> node = pending.pop();
+        for (Node<E> next = node.right; next != null; next = next.left) {
+          pending.push(next);
+        }
+        return node.value;
+      }
+    };
+  }
+
+  /**
+   * Gets every event that starts no later than {@code to} and ends no earlier than {@code from},
+   * in tree order.
+   *
+   * @param from the start of the range.
+   * @param to   the end of the range.
+   * @return the overlapping events, sorted by start date/time, subject, then end date/time.
+   */
+  List<E> overlapping(LocalDateTime from, LocalDateTime to) {
+    List<E> result = new ArrayList<>();
+    collectOverlapping(root, from, to, result);
+    return result;
+  }
+
+  /**
+   * Checks whether any event in this tree strictly contains {@code dateTime}, meaning it starts
+   * before and ends after the date/time.
+   *
+   * @param dateTime the date/time to check.
+   * @return {@code true} if some event contains the date/time, {@code false} otherwise.
+   */
+  boolean anyContains(LocalDateTime dateTime) {
+    Node<E> node = root;
+    while (node != null) {
+      if (node.value.getStartDateTime().isBefore(dateTime)
+              && node.value.getEndDateTime().isAfter(dateTime)) {
+        return true;
+      }
+      // If the left subtree holds something ending after the time but none of it contains the
+      // time, then those events start too late, and so does everything to the right.
+      if (node.left != null && node.left.maxEnd.isAfter(dateTime)) {
+        node = node.left;
+      } else if (node.value.getStartDateTime().isBefore(dateTime)) {
+        node = node.right;
+      } else {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> void collectStartingBetween(
+          Node<E> node, LocalDateTime from, LocalDateTime to, List<E> result) {
+    if (node == null) {
+      return;
+    }
+    LocalDateTime start = node.value.getStartDateTime();
+    if (!start.isBefore(from)) {
+      collectStartingBetween(node.left, from, to, result);
+    }
+    if (!start.isBefore(from) && !start.isAfter(to)) {
+      result.add(node.value);
+    }
+    if (!start.isAfter(to)) {
+      collectStartingBetween(node.right, from, to, result);
+    }
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> void collectFirstStartingFrom(
+          Node<E> node, LocalDateTime from, int count, List<E> result) {
+    if (node == null || result.size() == count) {
+      return;
+    }
+    if (!node.value.getStartDateTime().isBefore(from)) {
+      collectFirstStartingFrom(node.left, from, count, result);
+      if (result.size() == count) {
+        return;
+      }
+      result.add(node.value);
+    }
+    collectFirstStartingFrom(node.right, from, count, result);
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> void collectOverlapping(
+          Node<E> node, LocalDateTime from, LocalDateTime to, List<E> result) {
+    if (node == null || node.maxEnd.isBefore(from)) {
+      return;
+    }
+    collectOverlapping(node.left, from, to, result);
+    if (!node.value.getStartDateTime().isAfter(to)) {
+      if (!node.value.getEndDateTime().isBefore(from)) {
+        result.add(node.value);
+      }
+      collectOverlapping(node.right, from, to, result);
+    }
+  }
+
+  /**
+   * Compares two events in tree order: by start date/time, then subject, then end date/time.
+   *
+   * @param e1 the first event.
+   * @param e2 the second event.
+   * @return a negative number, zero, or a positive number as the first event comes before, at
+   *         the same place as, or after the second.
+   */
+  static int compare(ReadOnlyCalendarEvent e1, ReadOnlyCalendarEvent e2) {
+    int result = e1.getStartDateTime().compareTo(e2.getStartDateTime());
+    if (result == 0) {
+      result = e1.getSubject().compareTo(e2.getSubject());
+    }
+    if (result == 0) {
+      result = e1.getEndDateTime().compareTo(e2.getEndDateTime());
+    }
+    return result;
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> Node<E> build(E[] sorted, int from, int to) {
+    if (from == to) {
+      return null;
+    }
+    int middle = (from + to) >>> 1;
+    return new Node<>(sorted[middle], build(sorted, from, middle), build(sorted, middle + 1, to));
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> Node<E> insert(Node<E> node, E event) {
+    if (node == null) {
+      return new Node<>(event, null, null);
+    } else if (compare(event, node.value) < 0) {
+      return balance(node.value, insert(node.left, event), node.right);
+    } else {
+      return balance(node.value, node.left, insert(node.right, event));
+    }
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> Node<E> remove(Node<E> node, E event) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = compare(event, node.value);
+    if (comparison == 0 && node.value.equals(event)) {
+      if (node.left == null) {
+        return node.right;
+      } else if (node.right == null) {
+        return node.left;
+      }
+      Node<E> successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      return balance(successor.value, node.left, removeFirst(node.right));
+    } else if (comparison < 0) {
+      Node<E> left = remove(node.left, event);
+      return left == node.left ? node : balance(node.value, left, node.right);
+    } else {
+      // Equal keys are always inserted to the right, but balancing may rotate them left
+      Node<E> right = remove(node.right, event);
+      if (right != node.right) {
+        return balance(node.value, node.left, right);
+      } else if (comparison == 0) {
+        Node<E> left = remove(node.left, event);
+        return left == node.left ? node : balance(node.value, left, node.right);
+      }
+      return node;
+    }
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> Node<E> removeFirst(Node<E> node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    return balance(node.value, removeFirst(node.left), node.right);
+  }
+
+  private static <E extends ReadOnlyCalendarEvent> Node<E> balance(E value, Node<E> left,
+                                                                  Node<E> right) {
+    int difference = height(left) - height(right);
+    if (difference > 1) {
+      if (height(left.left) >= height(left.right)) {
+        return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+      }
+      return new Node<>(left.right.value, new Node<>(left.value, left.left, left.right.left),
+              new Node<>(value, left.right.right, right));
+    } else if (difference < -1) {
+      if (height(right.right) >= height(right.left)) {
+        return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+      }
+      return new Node<>(right.left.value, new Node<>(value, left, right.left.left),
+              new Node<>(right.value, right.left.right, right.right));
+    }
+    return new Node<>(value, left, right);
+  }
+
+  private static int height(Node<?> node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static int size(Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * A single immutable node of the tree.
+   */
+  private static final class Node<E extends ReadOnlyCalendarEvent> {
+    private final E value;
+    private final Node<E> left;
+    private final Node<E> right;
+    private final int height;
+    private final int size;
+    private final LocalDateTime maxEnd;
+
+    private Node(E value, Node<E> left, Node<E> right) {
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.height = Math.max(height(left), height(right)) + 1;
+      this.size = size(left) + size(right) + 1;
+
+      LocalDateTime latest = value.getEndDateTime();
+      if (left != null && left.maxEnd.isAfter(latest)) {
+        latest = left.maxEnd;
+      }
+      if (right != null && right.maxEnd.isAfter(latest)) {
+        latest = right.maxEnd;
+      }
+      this.maxEnd = latest;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package model.calendar;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+import model.event.ReadOnlyCalendarEvent;
+
+/**
+ * An iterator over the events of a calendar that fit in a date/time range, in the same order as
+ * {@code Calendar.query}. The single events and every overlapping recurring series are each
+ * walked lazily and merged as they go, so only one pending event per source is held at a time,
+ * however many events the range contains.
+ */
+final class EventQueryIterator implements Iterator<ISingleEvent> {
+  private final LocalDateTime end;
+  private final ReadOnlyCalendarEvent after;
+  private final PriorityQueue<Source> sources;
+  private ISingleEvent next;
+
+  /**
+   * Constructs an {@code EventQueryIterator} over the given occurrences and recurring series.
+   *
+   * @param occurrences the single occurrences of the calendar.
+   * @param series      the recurring series that overlap the range.
+   * @param start       the start date/time of the range.
+   * @param end         the end date/time of the range.
+   * @param after       the event to resume after, or null to start from the start of the range.
+   */
+  EventQueryIterator(EventIntervalTree<ISingleEvent> occurrences,
+                     List<IRecurringEventSeries> series, LocalDateTime start,
+                     LocalDateTime end, ReadOnlyCalendarEvent after) {
+    this.end = end;
+    this.after = after;
+    this.sources = new PriorityQueue<>(series.size() + 1,
+            (s1, s2) -> EventIntervalTree.compare(s1.head, s2.head));
+
+    // Nothing before the event to resume after can be returned, so skip straight to it
+    LocalDateTime from = after != null && after.getStartDateTime().isAfter(start)
+            ? after.getStartDateTime() : start;
+    addSource(new Source(occurrences.iterator(from, after)));
+    for (IRecurringEventSeries recurring : series) {
+      addSource(new Source(recurring.iteratorFrom(from)));
+    }
+    this.next = advance();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  @Override
+  public ISingleEvent next() {
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    ISingleEvent result = next;
+    next = advance();
+    return result;
+  }
+
+  private ISingleEvent advance() {
+    while (!sources.isEmpty()) {
+      Source source = sources.poll();
+      ISingleEvent event = source.head;
+      // Everything left starts at or after this event, so none of it can fit in the range
+      if (event.getStartDateTime().isAfter(end)) {
+        sources.clear();
+        return null;
+      }
+      if (source.advance()) {
+        sources.add(source);
+      }
+      if (!event.getEndDateTime().isAfter(end)
+              && (after == null || EventIntervalTree.compare(event, after) > 0)) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  private void addSource(Source source) {
+    if (source.advance()) {
+      sources.add(source);
+    }
+  }
+
+  /**
+   * One sorted stream of events, along with the next event it has to offer.
+   */
+  private static final class Source {
+    private final Iterator<? extends ISingleEvent> events;
+    private ISingleEvent head;
+
+    private Source(Iterator<? extends ISingleEvent> events) {
+      this.events = events;
+    }
+
+    private boolean advance() {
+      head = events.hasNext() ? events.next() : null;
+      return head != null;
+    }
+  }
+}
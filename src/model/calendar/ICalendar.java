@@ -1,11 +1,14 @@
 package model.calendar;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
 import model.event.ISingleEvent;
 import model.event.CalendarEvent;
+import model.event.ReadOnlyCalendarEvent;
 
 /**
  * An interface representing a calendar system.
@@ -20,6 +23,16 @@ public interface ICalendar {
    */
   void addEvent(CalendarEvent event);
 
+  /**
+   * Adds several events to the calendar at once, such as a batch read from a file. Either every
+   * event is added or, if any of them has the same subject and start and end date/time as an
+   * existing event or another event in the batch, none are.
+   *
+   * @param events the events to be added.
+   * @throws IllegalArgumentException if any of the events cannot be added.
+   */
+  void addEvents(List<CalendarEvent> events);
+
   /**
    * Edits an existing event's property with {@code newValue}.
    *
@@ -57,6 +70,60 @@ public interface ICalendar {
    */
   List<ISingleEvent> query(LocalDateTime start, LocalDateTime end);
 
+  /**
+   * Provides the same events as {@link #query(LocalDateTime, LocalDateTime)}, in the same order,
+   * but one at a time as they are found instead of all at once. The iterator reads the calendar
+   * as it was when the iterator was created, even if the calendar changes afterwards.
+   *
+   * @param start the start date and time of the range.
+   * @param end the end date of the time of the range.
+   * @return an iterator over the events that fall within the specified date range.
+   * @throws IllegalArgumentException if the start or end is null, or the end is before the start.
+   */
+  Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Provides the events of {@link #queryIterator(LocalDateTime, LocalDateTime)} that come after
+   * {@code after}, so that a long result can be read a page at a time by passing in the last
+   * event of the previous page.
+   *
+   * @param start the start date and time of the range.
+   * @param end the end date of the time of the range.
+   * @param after the last event already seen, or null to start from the beginning.
+   * @return an iterator over the remaining events that fall within the specified date range.
+   * @throws IllegalArgumentException if the start or end is null, or the end is before the start.
+   */
+  Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                       ReadOnlyCalendarEvent after);
+
+  /**
+   * Provides the first {@code count} events in the calendar that start at or after the given
+   * date/time, sorted from the earliest start date to the latest. Only those events are looked
+   * at, so this is much cheaper than querying everything after the date/time and keeping the
+   * first few.
+   *
+   * @param start the earliest start date/time to include.
+   * @param count the most events to return.
+   * @return a list of at most {@code count} events.
+   * @throws IllegalArgumentException if the start is null or the count is negative.
+   */
+  List<ISingleEvent> queryNext(LocalDateTime start, int count);
+
+  /**
+   * Provides the events of the calendar that have an occurrence in the given date/time range,
+   * with each series as one event instead of as its occurrences, so a calendar can be exported
+   * without repeating every occurrence of every series. Like
+   * {@link #queryIterator(LocalDateTime, LocalDateTime)}, events are found one at a time, and
+   * the calendar is read as it was when the iterator was created.
+   *
+   * @param start the start date and time of the range.
+   * @param end the end date of the time of the range.
+   * @return an iterator over the events with an occurrence in the range, with each series
+   *         returned once.
+   * @throws IllegalArgumentException if the start or end is null, or the end is before the start.
+   */
+  Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end);
+
   /**
    * Gets an event by its subject and start and end date/time.
    *
@@ -94,6 +161,15 @@ public interface ICalendar {
    */
   boolean canAddSingleEvent(ISingleEvent newEvent);
 
+  /**
+   * Checks if an event series stored as a recurrence rule can be added to the calendar, meaning
+   * none of its events are already in the calendar. This works even if the series never ends.
+   *
+   * @param newSeries the event series to check.
+   * @return true if the series can be added, false otherwise.
+   */
+  boolean canAddRecurringSeries(IRecurringEventSeries newSeries);
+
   /**
    * Gets a list of single events that match the given subject and start date/time.
    *
@@ -0,0 +1,433 @@
+package model.calendar;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map, stored as a trie that branches on five bits of each key's hash at a
+ * time. Adding or removing a key returns a new map that copies only the few nodes on the way to
+ * that key and shares every other node with the old map, so both stay valid. Keys may be null,
+ * but values cannot.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+final class PersistentHashMap<K, V> {
+  private static final int BITS = 5;
+  private static final PersistentHashMap<?, ?> EMPTY =
+          new PersistentHashMap<>(Branch.EMPTY, 0);
+
+  private final Branch root;
+  private final int size;
+
+  private PersistentHashMap(Branch root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Returns a map with no keys in it.
+   *
+   * @param <K> the type of the keys.
+   * @param <V> the type of the values.
+   * @return the empty map.
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> PersistentHashMap<K, V> empty() {
+    return (PersistentHashMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Builds a map from many keys at once. This gives the same map as adding each key in turn with
+   * {@link #plus(Object, Object)}, so a later value for a key replaces an earlier one, but it
+   * makes each node of the trie only once instead of copying the path to every key.
+   *
+   * @param keys   the keys.
+   * @param values the value of each key, at the same index, none of which may be null.
+   * @param <K>    the type of the keys.
+   * @param <V>    the type of the values.
+   * @return the new map.
+   */
+  static <K, V> PersistentHashMap<K, V> of(List<? extends K> keys, List<? extends V> values) {
+    if (keys.isEmpty()) {
+      return empty();
+    }
+    // Sort the keys into the order the trie visits them, keeping keys with the same place in the
+    // order they were given, so each node can then be built from one run of the sorted keys
+    int[] hashes = new int[keys.size()];
+    long[] order = new long[keys.size()];
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = Objects.hashCode(keys.get(i));
+      order[i] = (trieOrder(hashes[i]) << 31) | i;
+    }
+    Arrays.sort(order);
+    Builder builder = new Builder(keys, values, hashes, order);
+    Branch root = builder.branch(0, order.length, 0);
+    return new PersistentHashMap<>(root, builder.size);
+  }
+
+  /**
+   * Gets the number of keys in this map.
+   *
+   * @return the number of keys.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Gets the value of {@code key}.
+   *
+   * @param key the key to look up.
+   * @return the value, or null if the key is not in this map.
+   */
+  @SuppressWarnings("unchecked")
+  V get(Object key) {
+    int hash = Objects.hashCode(key);
+    Object node = root;
+    for (int shift = 0; node instanceof Branch; shift += BITS) {
+      Branch branch = (Branch) node;
+      int bit = bit(hash, shift);
+      if ((branch.bitmap & bit) == 0) {
+        return null;
+      }
+      node = branch.children[branch.index(bit)];
+    }
+
+    if (node instanceof Entry) {
+      Entry entry = (Entry) node;
+      return entry.hash == hash && Objects.equals(entry.key, key) ? (V) entry.value : null;
+    }
+    for (Entry entry : ((Collision) node).entries) {
+      if (Objects.equals(entry.key, key)) {
+        return (V) entry.value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the value of {@code key}, or {@code defaultValue} if the key is not in this map.
+   *
+   * @param key          the key to look up.
+   * @param defaultValue the value to return if the key is missing.
+   * @return the value.
+   */
+  V getOrDefault(Object key, V defaultValue) {
+    V value = get(key);
+    return value == null ? defaultValue : value;
+  }
+
+  /**
+   * Checks whether {@code key} is in this map.
+   *
+   * @param key the key to look for.
+   * @return {@code true} if the key is in this map, {@code false} otherwise.
+   */
+  boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Returns a new map where {@code key} has the value {@code value}.
+   *
+   * @param key   the key to set.
+   * @param value the new value, which cannot be null.
+   * @return the new map, or this map if the key already had that exact value.
+   */
+  PersistentHashMap<K, V> plus(K key, V value) {
+    Entry entry = new Entry(key, value);
+    Object newRoot = put(root, 0, entry);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentHashMap<>((Branch) newRoot, containsKey(key) ? size : size + 1);
+  }
+
+  /**
+   * Returns a new map without {@code key}.
+   *
+   * @param key the key to remove.
+   * @return the new map, or this map if the key is not in it.
+   */
+  PersistentHashMap<K, V> minus(Object key) {
+    Object newRoot = remove(root, 0, Objects.hashCode(key), key);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentHashMap<>(newRoot == null ? Branch.EMPTY : (Branch) newRoot, size - 1);
+  }
+
+  /**
+   * Calls {@code action} with every key and value in this map, in no particular order.
+   *
+   * @param action the action to call.
+   */
+  void forEach(BiConsumer<? super K, ? super V> action) {
+    forEach(root, action);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> void forEach(Object node, BiConsumer<? super K, ? super V> action) {
+    if (node instanceof Branch) {
+      for (Object child : ((Branch) node).children) {
+        forEach(child, action);
+      }
+    } else if (node instanceof Entry) {
+      Entry entry = (Entry) node;
+      action.accept((K) entry.key, (V) entry.value);
+    } else {
+      for (Entry entry : ((Collision) node).entries) {
+        action.accept((K) entry.key, (V) entry.value);
+      }
+    }
+  }
+
+  // The hash with its five-bit digits in reverse order, so that sorting by it sorts by the first
+  // digit, then the second, and so on
+  private static long trieOrder(int hash) {
+    long order = 0;
+    for (int shift = 0; shift < 32; shift += BITS) {
+      int width = Math.min(BITS, 32 - shift);
+      order = (order << width) | ((hash >>> shift) & ((1 << width) - 1));
+    }
+    return order;
+  }
+
+  private static Object put(Object node, int shift, Entry entry) {
+    if (node instanceof Branch) {
+      Branch branch = (Branch) node;
+      int bit = bit(entry.hash, shift);
+      int index = branch.index(bit);
+      if ((branch.bitmap & bit) == 0) {
+        return branch.with(bit, index, entry);
+      }
+      Object child = branch.children[index];
+      Object newChild = put(child, shift + BITS, entry);
+      return newChild == child ? branch : branch.replacing(index, newChild);
+    }
+
+    int hash = hashOf(node);
+    if (hash != entry.hash) {
+      // Two different hashes always split apart by the time all of their bits are used up
+      Branch branch = Branch.EMPTY.with(bit(hash, shift), 0, node);
+      return put(branch, shift, entry);
+    } else if (node instanceof Entry) {
+      Entry existing = (Entry) node;
+      if (!Objects.equals(existing.key, entry.key)) {
+        return new Collision(new Entry[] {existing, entry});
+      }
+      return existing.value == entry.value ? existing : entry;
+    }
+
+    Entry[] entries = ((Collision) node).entries;
+    for (int i = 0; i < entries.length; i++) {
+      if (Objects.equals(entries[i].key, entry.key)) {
+        if (entries[i].value == entry.value) {
+          return node;
+        }
+        Entry[] newEntries = entries.clone();
+        newEntries[i] = entry;
+        return new Collision(newEntries);
+      }
+    }
+    Entry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+    newEntries[entries.length] = entry;
+    return new Collision(newEntries);
+  }
+
+  // Returns the node unchanged if the key is missing, or null if nothing is left of it
+  private static Object remove(Object node, int shift, int hash, Object key) {
+    if (node instanceof Branch) {
+      Branch branch = (Branch) node;
+      int bit = bit(hash, shift);
+      if ((branch.bitmap & bit) == 0) {
+        return branch;
+      }
+      int index = branch.index(bit);
+      Object child = branch.children[index];
+      Object newChild = remove(child, shift + BITS, hash, key);
+      if (newChild == child) {
+        return branch;
+      } else if (newChild != null) {
+        return branch.replacing(index, newChild);
+      }
+      return branch.children.length == 1 ? null : branch.without(bit, index);
+    } else if (node instanceof Entry) {
+      Entry entry = (Entry) node;
+      return entry.hash == hash && Objects.equals(entry.key, key) ? null : node;
+    }
+
+    Entry[] entries = ((Collision) node).entries;
+    if (entries[0].hash != hash) {
+      return node;
+    }
+    for (int i = 0; i < entries.length; i++) {
+      if (Objects.equals(entries[i].key, key)) {
+        if (entries.length == 2) {
+          return entries[1 - i];
+        }
+        Entry[] newEntries = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, newEntries, 0, i);
+        System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+        return new Collision(newEntries);
+      }
+    }
+    return node;
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & 31);
+  }
+
+  private static int hashOf(Object node) {
+    return node instanceof Entry ? ((Entry) node).hash : ((Collision) node).entries[0].hash;
+  }
+
+  /**
+   * A node with up to 32 children, one for each value of the next five bits of the hash. Only
+   * the children that exist are stored, in the order of the bits set in the bitmap.
+   */
+  private static final class Branch {
+    private static final Branch EMPTY = new Branch(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] children;
+
+    private Branch(int bitmap, Object[] children) {
+      this.bitmap = bitmap;
+      this.children = children;
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private Branch with(int bit, int index, Object child) {
+      Object[] newChildren = new Object[children.length + 1];
+      System.arraycopy(children, 0, newChildren, 0, index);
+      newChildren[index] = child;
+      System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+      return new Branch(bitmap | bit, newChildren);
+    }
+
+    private Branch replacing(int index, Object child) {
+      Object[] newChildren = children.clone();
+      newChildren[index] = child;
+      return new Branch(bitmap, newChildren);
+    }
+
+    private Branch without(int bit, int index) {
+      Object[] newChildren = new Object[children.length - 1];
+      System.arraycopy(children, 0, newChildren, 0, index);
+      System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+      return new Branch(bitmap & ~bit, newChildren);
+    }
+  }
+
+  /**
+   * Builds the nodes of a new trie from keys already sorted into trie order.
+   */
+  private static final class Builder {
+    private final List<?> keys;
+    private final List<?> values;
+    private final int[] hashes;
+    private final long[] order;
+    private int size;
+
+    private Builder(List<?> keys, List<?> values, int[] hashes, long[] order) {
+      this.keys = keys;
+      this.values = values;
+      this.hashes = hashes;
+      this.order = order;
+    }
+
+    // The hash at a position, in trie order, which is all the building needs to compare
+    private long trieHash(int position) {
+      return order[position] >>> 31;
+    }
+
+    private int index(int position) {
+      return (int) (order[position] & Integer.MAX_VALUE);
+    }
+
+    // The same as bit(hash, shift), read from the sorted order instead of the hash
+    private int bitAt(int position, int shift) {
+      int width = Math.min(BITS, 32 - shift);
+      return 1 << ((trieHash(position) >>> (32 - shift - width)) & ((1 << width) - 1));
+    }
+
+    // Builds the branch for the keys at [from, to), which all share the hash bits below shift
+    private Branch branch(int from, int to, int shift) {
+      int bitmap = 0;
+      for (int i = from; i < to; i++) {
+        bitmap |= bitAt(i, shift);
+      }
+      Object[] children = new Object[Integer.bitCount(bitmap)];
+      int start = from;
+      for (int child = 0; child < children.length; child++) {
+        int digit = bitAt(start, shift);
+        int end = start + 1;
+        while (end < to && bitAt(end, shift) == digit) {
+          end++;
+        }
+        children[child] = child(start, end, shift + BITS);
+        start = end;
+      }
+      return new Branch(bitmap, children);
+    }
+
+    private Object child(int from, int to, int shift) {
+      if (trieHash(to - 1) != trieHash(from)) {
+        return branch(from, to, shift); // sorted, so the first and last differ if any do
+      }
+
+      // Keep only the last value of each key, in the order the keys first appear
+      Entry[] distinct = new Entry[to - from];
+      int count = 0;
+      for (int i = from; i < to; i++) {
+        Object key = keys.get(index(i));
+        int existing = 0;
+        while (existing < count && !Objects.equals(distinct[existing].key, key)) {
+          existing++;
+        }
+        distinct[existing] = new Entry(key, values.get(index(i)), hashes[index(i)]);
+        count = Math.max(count, existing + 1);
+      }
+      size += count;
+      return count == 1 ? distinct[0] : new Collision(Arrays.copyOf(distinct, count));
+    }
+  }
+
+  /**
+   * A single key and its value.
+   */
+  private static final class Entry {
+    private final Object key;
+    private final Object value;
+    private final int hash;
+
+    private Entry(Object key, Object value) {
+      this(key, value, Objects.hashCode(key));
+    }
+
+    private Entry(Object key, Object value, int hash) {
+      this.key = key;
+      this.value = value;
+      this.hash = hash;
+    }
+  }
+
+  /**
+   * The entries of several different keys that have exactly the same hash.
+   */
+  private static final class Collision {
+    private final Entry[] entries;
+
+    private Collision(Entry[] entries) {
+      this.entries = entries;
+    }
+  }
+}
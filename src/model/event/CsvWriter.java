@@ -0,0 +1,80 @@
+package model.event;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Writes events to a CSV file in the format Google Calendar imports, with one row per
+ * occurrence, one event at a time. CSV has no way to say that an event repeats, so every
+ * occurrence of a series in the range gets its own row, and a series that repeats forever can only
+ * be written up to the end of a range.
+ */
+public final class CsvWriter implements IEventWriter {
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("MM/dd/yyyy",
+          Locale.US);
+  private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("h:mm a",
+          Locale.US);
+
+  private final Writer out;
+
+  /**
+   * Constructs a {@code CsvWriter} that writes to the given text, starting with the header row.
+   *
+   * @param out where to write the file.
+   * @throws IOException if the header cannot be written.
+   */
+  public CsvWriter(Writer out) throws IOException {
+    this.out = out;
+    out.write("Subject,Start Date,Start Time,End Date,End Time,All Day Event,Description,"
+            + "Location,Private\r\n");
+  }
+
+  @Override
+  public void write(CalendarEvent event, LocalDateTime start, LocalDateTime end)
+          throws IOException {
+    if (event instanceof IRecurringEventSeries && ((IRecurringEventSeries) event).isUnbounded()
+            && end.equals(LocalDateTime.MAX)) {
+      throw new IllegalArgumentException("The series " + event.getSubject() + " repeats "
+              + "forever, so an end date is needed to export it as CSV.");
+    }
+    for (Iterator<ISingleEvent> events = new OccurrenceIterator(event, start, end);
+         events.hasNext(); ) {
+      ISingleEvent occurrence = events.next();
+      out.write(quote(occurrence.getSubject()));
+      out.write(',');
+      out.write(DATE.format(occurrence.getStartDateTime()));
+      out.write(',');
+      out.write(TIME.format(occurrence.getStartDateTime()));
+      out.write(',');
+      out.write(DATE.format(occurrence.getEndDateTime()));
+      out.write(',');
+      out.write(TIME.format(occurrence.getEndDateTime()));
+      out.write(",False,");
+      out.write(occurrence.getDescription() == null ? ""
+              : quote(occurrence.getDescription()));
+      out.write(',');
+      out.write(occurrence.getLocation() == null ? "" : occurrence.getLocation().toString());
+      out.write(occurrence.getStatus() == Status.PRIVATE ? ",True\r\n" : ",False\r\n");
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  // Fields with a comma, quote or line break are quoted, with quotes inside them doubled
+  private static String quote(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+      }
+    }
+    return value;
+  }
+}
@@ -0,0 +1,250 @@
+package model.event;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes events as a compact series of numbers and strings, and reads them back. A series is
+ * written once, as the rule or list of events it is made of, rather than as each of its events
+ * in full. Where the numbers and strings are stored is up to the {@link Output} and
+ * {@link Input} given, so they may, for example, be packed into bytes and share one table of
+ * strings.
+ */
+public final class EventCodec {
+  private static final int SINGLE_EVENT = 0;
+  private static final int EVENT_SERIES = 1;
+  private static final int RECURRING_SERIES = 2;
+  private static final long SECONDS_PER_DAY = 86400;
+
+  private EventCodec() {
+  }
+
+  /**
+   * Where an event is written to.
+   */
+  public interface Output {
+    /**
+     * Writes a number that is never negative.
+     *
+     * @param value the number.
+     */
+    void writeInt(int value);
+
+    /**
+     * Writes a number that may be negative.
+     *
+     * @param value the number.
+     */
+    void writeLong(long value);
+
+    /**
+     * Writes a string.
+     *
+     * @param value the string, which may be null.
+     */
+    void writeString(String value);
+  }
+
+  /**
+   * Where an event is read from, in the same order it was written.
+   */
+  public interface Input {
+    /**
+     * Reads a number written by {@link Output#writeInt(int)}.
+     *
+     * @return the number.
+     */
+    int readInt();
+
+    /**
+     * Reads a number written by {@link Output#writeLong(long)}.
+     *
+     * @return the number.
+     */
+    long readLong();
+
+    /**
+     * Reads a string written by {@link Output#writeString(String)}.
+     *
+     * @return the string, which may be null.
+     */
+    String readString();
+  }
+
+  /**
+   * Writes an event, which may be a single event or a series.
+   *
+   * @param event the event to write.
+   * @param out   where to write it.
+   * @throws IllegalArgumentException if the event is not one of the kinds of event this program
+   *                                  makes.
+   */
+  public static void write(CalendarEvent event, Output out) throws IllegalArgumentException {
+    if (event instanceof RecurringEventSeries) {
+      out.writeInt(RECURRING_SERIES);
+      ((RecurringEventSeries) event).writeTo(out);
+    } else if (event instanceof EventSeries) {
+      out.writeInt(EVENT_SERIES);
+      writeEventSeries((EventSeries) event, out);
+    } else if (event instanceof ISingleEvent) {
+      out.writeInt(SINGLE_EVENT);
+      writeSingleEvent((ISingleEvent) event, out);
+    } else {
+      throw new IllegalArgumentException("Cannot write this kind of event: " + event.getClass());
+    }
+  }
+
+  /**
+   * Reads an event written by {@link #write(CalendarEvent, Output)}.
+   *
+   * @param in where to read it from.
+   * @return the event.
+   * @throws IllegalArgumentException if what is read is not an event.
+   */
+  public static CalendarEvent read(Input in) throws IllegalArgumentException {
+    int kind = in.readInt();
+    switch (kind) {
+      case SINGLE_EVENT:
+        return readSingleEvent(in);
+      case EVENT_SERIES:
+        return readEventSeries(in);
+      case RECURRING_SERIES:
+        return RecurringEventSeries.readFrom(in);
+      default:
+        throw new IllegalArgumentException("Unknown kind of event: " + kind);
+    }
+  }
+
+  // The events are written in order, each one only as its start and end if the rest of it is the
+  // same as the event before
+  private static void writeEventSeries(EventSeries series, Output out) {
+    writeDate(series.getEndDateTime().toLocalDate(), out);
+    writeDays(series.getOccurringDays(), out);
+    List<ISingleEvent> events = series.getEvents();
+    out.writeInt(events.size());
+    ISingleEvent previous = null;
+    for (ISingleEvent event : events) {
+      if (previous != null && sameDetails(previous, event)) {
+        out.writeInt(1);
+        out.writeLong(seconds(event.getStartDateTime()) - seconds(previous.getStartDateTime()));
+        writeTimes(event, out);
+      } else {
+        out.writeInt(0);
+        writeSingleEvent(event, out);
+      }
+      previous = event;
+    }
+  }
+
+  private static EventSeries readEventSeries(Input in) {
+    LocalDate endDate = readDate(in);
+    DayOfWeek[] days = readDays(in);
+    int count = in.readInt();
+    List<ISingleEvent> events = new ArrayList<>(count);
+    ISingleEvent previous = null;
+    for (int i = 0; i < count; i++) {
+      if (in.readInt() == 1 && previous != null) {
+        long start = seconds(previous.getStartDateTime()) + in.readLong();
+        events.add(readTimes(previous.getSubject(), start, in)
+                .description(previous.getDescription())
+                .location(previous.getLocation())
+                .status(previous.getStatus())
+                .build());
+      } else {
+        events.add(readSingleEvent(in));
+      }
+      previous = events.get(events.size() - 1);
+    }
+    return new EventSeries(events, endDate, days);
+  }
+
+  static void writeSingleEvent(ISingleEvent event, Output out) {
+    out.writeString(event.getSubject());
+    out.writeLong(seconds(event.getStartDateTime()));
+    writeTimes(event, out);
+    out.writeString(event.getDescription());
+    out.writeInt((event.getLocation() == null ? 0 : event.getLocation().ordinal() + 1) * 3
+            + (event.getStatus() == null ? 0 : event.getStatus().ordinal() + 1));
+  }
+
+  static ISingleEvent readSingleEvent(Input in) {
+    String subject = in.readString();
+    SingleEvent.Builder builder = readTimes(subject, in.readLong(), in);
+    builder.description(in.readString());
+    int details = in.readInt();
+    return builder
+            .location(details / 3 == 0 ? null : Location.values()[details / 3 - 1])
+            .status(details % 3 == 0 ? null : Status.values()[details % 3 - 1])
+            .build();
+  }
+
+  // Date/times are whole seconds nearly always, so the parts of a second follow only if needed
+  private static void writeTimes(ISingleEvent event, Output out) {
+    LocalDateTime start = event.getStartDateTime();
+    LocalDateTime end = event.getEndDateTime();
+    boolean wholeSeconds = start.getNano() == 0 && end.getNano() == 0;
+    out.writeLong((seconds(end) - seconds(start)) * 2 + (wholeSeconds ? 0 : 1));
+    if (!wholeSeconds) {
+      out.writeInt(start.getNano());
+      out.writeInt(end.getNano());
+    }
+  }
+
+  private static SingleEvent.Builder readTimes(String subject, long startSeconds, Input in) {
+    long length = in.readLong();
+    long endSeconds = startSeconds + Math.floorDiv(length, 2);
+    int startNano = 0;
+    int endNano = 0;
+    if (Math.floorMod(length, 2) == 1) {
+      startNano = in.readInt();
+      endNano = in.readInt();
+    }
+    return new SingleEvent.Builder(subject, toDateTime(startSeconds, startNano),
+            toDateTime(endSeconds, endNano));
+  }
+
+  static void writeDate(LocalDate date, Output out) {
+    out.writeLong(date.toEpochDay());
+  }
+
+  static LocalDate readDate(Input in) {
+    return LocalDate.ofEpochDay(in.readLong());
+  }
+
+  static void writeDays(DayOfWeek[] days, Output out) {
+    out.writeInt(days.length);
+    for (DayOfWeek day : days) {
+      out.writeInt(day.getValue());
+    }
+  }
+
+  static DayOfWeek[] readDays(Input in) {
+    DayOfWeek[] days = new DayOfWeek[in.readInt()];
+    for (int i = 0; i < days.length; i++) {
+      days[i] = DayOfWeek.of(in.readInt());
+    }
+    return days;
+  }
+
+  private static boolean sameDetails(ISingleEvent e1, ISingleEvent e2) {
+    return e1.getSubject().equals(e2.getSubject())
+            && Objects.equals(e1.getDescription(), e2.getDescription())
+            && e1.getLocation() == e2.getLocation() && e1.getStatus() == e2.getStatus();
+  }
+
+  private static long seconds(LocalDateTime dateTime) {
+    return dateTime.toLocalDate().toEpochDay() * SECONDS_PER_DAY
+            + dateTime.toLocalTime().toSecondOfDay();
+  }
+
+  private static LocalDateTime toDateTime(long seconds, int nano) {
+    return LocalDateTime.of(LocalDate.ofEpochDay(Math.floorDiv(seconds, SECONDS_PER_DAY)),
+            LocalTime.ofSecondOfDay(Math.floorMod(seconds, SECONDS_PER_DAY))
+                    .withNano(nano));
+  }
+}
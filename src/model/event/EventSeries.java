@@ -3,19 +3,26 @@ package model.event;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.function.UnaryOperator;
 
 import model.calendar.ICalendar;
 
 /**
- * Represents a series of events in a calendar system.
+ * Represents a series of events in a calendar system. Its events are kept sorted by their start
+ * date/time, so they can be found with a binary search.
  */
 public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
   private final List<ISingleEvent> events;
+  // The latest end date/time of the events up to and including each index
+  private final LocalDateTime[] latestEnds;
   private final LocalDateTime startDateTime;
   private final LocalDateTime endDateTime;
   private final DayOfWeek[] occurringDays;
@@ -30,7 +37,8 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
    * @param occurrences the number of times this event occurs.
    * @param days        the days of the week this event occurs on.
    * @throws IllegalArgumentException if the event's start and end date are not on the same day,
-   *                                  or if the number of occurrences is below 1.
+   *                                  if the number of occurrences is below 1, or if no days of the
+   *                                  week are given.
    */
   public EventSeries(ISingleEvent event, int occurrences,
                      DayOfWeek... days) throws IllegalArgumentException {
@@ -41,31 +49,12 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
       throw new IllegalArgumentException("Number of occurrences must be at least 1.");
     }
 
-    this.events = new ArrayList<>();
     this.occurringDays = days;
-
-    // Get our current starting date/time and ending date/time from our SingleEvent
-    LocalDateTime currentStartingDateTime = event.getStartDateTime();
-    LocalDateTime currentEndingDateTime = event.getEndDateTime();
-    LocalDateTime tempEndDateTime = null;
-    int occurrencesUsed = 0;
-
-    while (occurrencesUsed < occurrences) {
-      if (isDateOnCorrectDaysOfWeek(currentStartingDateTime)) {
-        addEventToList(event, currentStartingDateTime, currentEndingDateTime);
-        occurrencesUsed++;
-      }
-
-      if (occurrencesUsed == occurrences) {
-        tempEndDateTime = currentEndingDateTime;
-      }
-
-      currentStartingDateTime = currentStartingDateTime.plusDays(1);
-      currentEndingDateTime = currentEndingDateTime.plusDays(1);
-    }
-
+    this.events = generateEvents(event, new WeeklyRecurrence(
+            event.getStartDateTime().toLocalDate(), days, occurrences));
+    this.latestEnds = latestEndsOf(events);
     this.startDateTime = events.get(0).getStartDateTime();
-    this.endDateTime = tempEndDateTime;
+    this.endDateTime = events.get(events.size() - 1).getEndDateTime();
   }
 
   /**
@@ -78,7 +67,8 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
    * @param endDate the number of times this event occurs.
    * @param days    the days of the week this event occurs on.
    * @throws IllegalArgumentException if the event's start and end date are not on the same day,
-   *                                  or if the number of occurrences is below 1.
+   *                                  if the series ends before the event does, or if no days of
+   *                                  the week are given.
    */
   public EventSeries(ISingleEvent event, LocalDate endDate,
                      DayOfWeek... days) throws IllegalArgumentException {
@@ -89,31 +79,17 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
       throw new IllegalArgumentException("Event series cannot end before the current event ends.");
     }
 
-    this.events = new ArrayList<>();
     this.endDateTime = LocalDateTime.of(endDate, event.getEndDateTime().toLocalTime());
     this.occurringDays = days;
-
-    // Get our current starting date/time and ending date/time from our SingleEvent
-    LocalDateTime currentStartingDateTime = event.getStartDateTime();
-    LocalDateTime currentEndingDateTime = event.getEndDateTime();
-
-    // While our current starting/ending date/time is before the true endDate, add the events
-    // that are on the days of the week we listed to our list of events
-    while (currentEndingDateTime.isBefore(endDateTime)
-            || currentEndingDateTime.equals(endDateTime)) {
-      if (isDateOnCorrectDaysOfWeek(currentStartingDateTime)) {
-        addEventToList(event, currentStartingDateTime, currentEndingDateTime);
-      }
-      currentStartingDateTime = currentStartingDateTime.plusDays(1);
-      currentEndingDateTime = currentEndingDateTime.plusDays(1);
-    }
-
+    this.events = generateEvents(event, WeeklyRecurrence.until(
+            event.getStartDateTime().toLocalDate(), endDate, days));
+    this.latestEnds = latestEndsOf(events);
     this.startDateTime = events.get(0).getStartDateTime();
   }
 
   /**
    * Constructs an {@code EventSeries} object with a list of events, the end date,
-   * and the days of the week.
+   * and the days of the week. The events do not have to be in order.
    *
    * @param events     the list of events in this series.
    * @param endDate    the end date of the series.
@@ -121,9 +97,12 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
    */
   public EventSeries(List<ISingleEvent> events, LocalDate endDate, DayOfWeek[] daysOfWeek) {
     this.events = new ArrayList<>(events);
-    this.endDateTime = LocalDateTime.of(endDate, events.get(0).getEndDateTime().toLocalTime());
+    this.events.sort(Comparator.comparing(ISingleEvent::getStartDateTime));
+    this.latestEnds = latestEndsOf(this.events);
+    this.endDateTime = LocalDateTime.of(endDate,
+            this.events.get(0).getEndDateTime().toLocalTime());
     this.occurringDays = daysOfWeek.clone();
-    this.startDateTime = events.get(0).getStartDateTime();
+    this.startDateTime = this.events.get(0).getStartDateTime();
   }
 
   @Override
@@ -158,11 +137,17 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
 
   @Override
   public List<ISingleEvent> getEventsInRange(LocalDateTime start, LocalDateTime end) {
-    List<ISingleEvent> queriedEvents = new ArrayList<>();
-    for (ISingleEvent event : this.events) {
-      queriedEvents.addAll(event.getEventsInRange(start, end));
+    List<ISingleEvent> startingInRange = Collections.unmodifiableList(
+            events.subList(firstStartingFrom(start), firstStartingAfter(end)));
+    for (ISingleEvent event : startingInRange) {
+      if (event.getEndDateTime().isAfter(end)) {
+        // Rare, since it only happens when an event ends after the range that it starts in
+        List<ISingleEvent> queriedEvents = new ArrayList<>(startingInRange);
+        queriedEvents.removeIf(e -> e.getEndDateTime().isAfter(end));
+        return queriedEvents;
+      }
     }
-    return queriedEvents;
+    return startingInRange;
   }
 
   @Override
@@ -177,15 +162,19 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
 
   @Override
   public boolean matchesWith(ISingleEvent newEvent) {
-    return events.contains(newEvent);
+    return indexOf(newEvent) != -1;
   }
 
   @Override
   public boolean containsTime(LocalDateTime dateTime) {
-    for (ISingleEvent event : events) {
-      if (event.containsTime(dateTime)) {
+    // Only events starting before the time can contain it, and once nothing up to an index ends
+    // after the time, nothing before that index can contain it either
+    int index = firstStartingFrom(dateTime) - 1;
+    while (index >= 0 && latestEnds[index].isAfter(dateTime)) {
+      if (events.get(index).containsTime(dateTime)) {
         return true;
       }
+      index--;
     }
     return false;
   }
@@ -193,10 +182,10 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
   @Override
   public ISingleEvent getCorrespondingEvent(String subject, LocalDateTime startDateTime,
                                            LocalDateTime endDateTime) {
-    for (ISingleEvent event : this.events) {
-      if (event.getSubject().equals(subject)
-              && event.getStartDateTime().equals(startDateTime)
-              && event.getEndDateTime().equals(endDateTime)) {
+    int last = firstStartingAfter(startDateTime);
+    for (int i = firstStartingFrom(startDateTime); i < last; i++) {
+      ISingleEvent event = events.get(i);
+      if (event.getSubject().equals(subject) && event.getEndDateTime().equals(endDateTime)) {
         return event;
       }
     }
@@ -205,20 +194,16 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
 
   @Override
   public IEventSeries getSeriesIfFound(ISingleEvent original) {
-    for (ISingleEvent event : this.events) {
-      if (event.equals(original)) {
-        return this;
-      }
-    }
-    return null;
+    return matchesWith(original) ? this : null;
   }
 
   @Override
   public ISingleEvent getCorrespondingEventFromStartDate(String subject,
                                                         LocalDateTime startDateTime) {
-    for (ISingleEvent event : this.events) {
-      if (event.getCorrespondingEventFromStartDate(subject, startDateTime) != null) {
-        return event.getCorrespondingEventFromStartDate(subject, startDateTime);
+    int last = firstStartingAfter(startDateTime);
+    for (int i = firstStartingFrom(startDateTime); i < last; i++) {
+      if (events.get(i).getSubject().equals(subject)) {
+        return events.get(i);
       }
     }
     return null;
@@ -234,6 +219,43 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
     return new EventSeries(newEvents, this.endDateTime.toLocalDate(), this.occurringDays);
   }
 
+  @Override
+  public IEventSeries createNewSeriesWithReplacedEvent(ISingleEvent original,
+                                                      ISingleEvent replacement) {
+    int index = indexOf(original);
+    if (index == -1) {
+      throw new IllegalArgumentException("Event is not in this series.");
+    }
+    List<ISingleEvent> newEvents = new ArrayList<>(events);
+    newEvents.set(index, replacement);
+    return new EventSeries(newEvents, getEndDateTime().toLocalDate(), occurringDays);
+  }
+
+  @Override
+  public IEventSeries createNewSeriesWithoutEvent(ISingleEvent original) {
+    int index = indexOf(original);
+    if (index == -1) {
+      throw new IllegalArgumentException("Event is not in this series.");
+    } else if (events.size() == 1) {
+      return null;
+    }
+    List<ISingleEvent> newEvents = new ArrayList<>(events);
+    newEvents.remove(index);
+    return new EventSeries(newEvents, getEndDateTime().toLocalDate(), occurringDays);
+  }
+
+  @Override
+  public IEventSeries createNewSeriesWithEventsEditedFrom(LocalDateTime startDateTime,
+                                                         UnaryOperator<ISingleEvent> edit) {
+    int firstEdited = firstStartingFrom(startDateTime);
+    List<ISingleEvent> newEvents = new ArrayList<>(events.size());
+    newEvents.addAll(events.subList(0, firstEdited));
+    for (ISingleEvent event : events.subList(firstEdited, events.size())) {
+      newEvents.add(edit.apply(event));
+    }
+    return new EventSeries(newEvents, getEndDateTime().toLocalDate(), occurringDays);
+  }
+
   @Override
   public List<ISingleEvent> getEvents() {
     return new ArrayList<>(events);
@@ -259,23 +281,78 @@ public class EventSeries implements IEventSeries, Iterable<ISingleEvent> {
     return events.iterator();
   }
 
-  private boolean isDateOnCorrectDaysOfWeek(LocalDateTime dateTime) {
-    for (DayOfWeek day : occurringDays) {
-      if (dateTime.getDayOfWeek() == day) {
-        return true;
+  // Finds the index of an event equal to the given one, or -1 if there is none
+  private int indexOf(ISingleEvent event) {
+    if (event == null) {
+      return -1;
+    }
+    LocalDateTime start = event.getStartDateTime();
+    int last = firstStartingAfter(start);
+    for (int i = firstStartingFrom(start); i < last; i++) {
+      if (events.get(i).equals(event)) {
+        return i;
       }
     }
-    return false;
+    return -1;
   }
 
-  private void addEventToList(ISingleEvent event, LocalDateTime startingDateTime,
-                              LocalDateTime endingDateTime) {
-    this.events.add(new SingleEvent.Builder(
-            event.getSubject(), startingDateTime, endingDateTime)
-            .description(event.getDescription())
-            .location(event.getLocation())
-            .status(event.getStatus())
-            .build());
+  // Finds the index of the first event starting at or after the given date/time
+  private int firstStartingFrom(LocalDateTime dateTime) {
+    int low = 0;
+    int high = events.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (events.get(middle).getStartDateTime().isBefore(dateTime)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  // Finds the index of the first event starting strictly after the given date/time
+  private int firstStartingAfter(LocalDateTime dateTime) {
+    int low = 0;
+    int high = events.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (events.get(middle).getStartDateTime().isAfter(dateTime)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  private static LocalDateTime[] latestEndsOf(List<ISingleEvent> events) {
+    LocalDateTime[] latestEnds = new LocalDateTime[events.size()];
+    LocalDateTime latest = LocalDateTime.MIN;
+    for (int i = 0; i < latestEnds.length; i++) {
+      if (events.get(i).getEndDateTime().isAfter(latest)) {
+        latest = events.get(i).getEndDateTime();
+      }
+      latestEnds[i] = latest;
+    }
+    return latestEnds;
+  }
+
+  // Jumps straight from one occurring day to the next, so days without an event cost nothing
+  private static List<ISingleEvent> generateEvents(ISingleEvent event, WeeklyRecurrence rule) {
+    List<ISingleEvent> events = new ArrayList<>((int) rule.size());
+    LocalDate startDate = event.getStartDateTime().toLocalDate();
+    for (long index = 0; index < rule.size(); index++) {
+      long daysAfterStart = ChronoUnit.DAYS.between(startDate, rule.get(index));
+      events.add(new SingleEvent.Builder(event.getSubject(),
+              event.getStartDateTime().plusDays(daysAfterStart),
+              event.getEndDateTime().plusDays(daysAfterStart))
+              .description(event.getDescription())
+              .location(event.getLocation())
+              .status(event.getStatus())
+              .build());
+    }
+    return events;
   }
 }
 
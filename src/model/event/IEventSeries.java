@@ -1,7 +1,9 @@
 package model.event;
 
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * An interface representing an event series in the calendar.
@@ -20,4 +22,40 @@ public interface IEventSeries extends CalendarEvent {
    * @return the array of the days of week.
    */
   DayOfWeek[] getOccurringDays();
-}
\ No newline at end of file
+
+  /**
+   * Creates a new series from {@code this} with one of its events replaced. The replacement must
+   * start and end on the same day that the original event starts on.
+   *
+   * @param original    the event in this series to replace.
+   * @param replacement the event to put in its place.
+   * @return a new series with the original values but the replaced event.
+   * @throws IllegalArgumentException if the original event is not in this series, or the
+   *                                  replacement is not on the same day.
+   */
+  IEventSeries createNewSeriesWithReplacedEvent(ISingleEvent original, ISingleEvent replacement)
+          throws IllegalArgumentException;
+
+  /**
+   * Creates a new series from {@code this} without one of its events.
+   *
+   * @param original the event in this series to leave out.
+   * @return a new series with the original values but without the event, or null if the event
+   *         was the only one in this series.
+   * @throws IllegalArgumentException if the original event is not in this series.
+   */
+  IEventSeries createNewSeriesWithoutEvent(ISingleEvent original) throws IllegalArgumentException;
+
+  /**
+   * Creates a new series from {@code this} with {@code edit} applied to every event that starts
+   * at or after {@code startDateTime}. The edit must keep each event on the day it started on.
+   *
+   * @param startDateTime the start date/time of the first event to edit.
+   * @param edit          the change to make to each of those events.
+   * @return a new series with the original values but the edited events.
+   * @throws IllegalArgumentException if the edit moves an event to a different day.
+   */
+  IEventSeries createNewSeriesWithEventsEditedFrom(LocalDateTime startDateTime,
+                                                   UnaryOperator<ISingleEvent> edit)
+          throws IllegalArgumentException;
+}
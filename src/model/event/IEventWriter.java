@@ -0,0 +1,22 @@
+package model.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * An interface for writing the events of a calendar to a file, one event at a time, so a calendar
+ * of any size can be written without holding the whole file in memory.
+ */
+public interface IEventWriter extends Closeable {
+  /**
+   * Writes the occurrences of an event that fit in the given date/time range.
+   *
+   * @param event the event to write, which may be a series.
+   * @param start the start date/time of the range.
+   * @param end   the end date/time of the range.
+   * @throws IOException              if the event cannot be written.
+   * @throws IllegalArgumentException if the event cannot be written in this format.
+   */
+  void write(CalendarEvent event, LocalDateTime start, LocalDateTime end) throws IOException;
+}
@@ -0,0 +1,92 @@
+package model.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An interface representing an event series that is stored as a recurrence rule rather than as a
+ * list of events. Its events are generated on demand, so the memory it takes up does not grow
+ * with the number of times it occurs, and it may even never end. Iterating over a series that
+ * never ends never finishes on its own, so callers must stop at the end of their date range.
+ */
+public interface IRecurringEventSeries extends IEventSeries, Iterable<ISingleEvent> {
+  /**
+   * Gets the event of this series that occurs on the given date.
+   *
+   * @param date the date of the event.
+   * @return the event on that date, or null if the series does not occur on that date.
+   */
+  ISingleEvent getEventOn(LocalDate date);
+
+  /**
+   * Gets an iterator over the events of this series that start at or after
+   * {@code startDateTime}, in chronological order. Events are generated as the iterator reaches
+   * them.
+   *
+   * @param startDateTime the earliest start date/time to include.
+   * @return the iterator.
+   */
+  Iterator<ISingleEvent> iteratorFrom(LocalDateTime startDateTime);
+
+  /**
+   * Gets the first {@code count} events of this series that start at or after
+   * {@code startDateTime}, in chronological order.
+   *
+   * @param startDateTime the earliest start date/time to include.
+   * @param count         the most events to return.
+   * @return the events, which may be fewer than {@code count} if the series ends first.
+   */
+  List<ISingleEvent> getEventsStartingFrom(LocalDateTime startDateTime, int count);
+
+  /**
+   * Gets every subject that an event in this series may have.
+   *
+   * @return the set of subjects.
+   */
+  Set<String> getSubjects();
+
+  /**
+   * Checks whether this series never ends.
+   *
+   * @return {@code true} if the series never ends, {@code false} otherwise.
+   */
+  boolean isUnbounded();
+
+  /**
+   * Gets the last date on which this series does not simply follow its weekly pattern, which is
+   * the latest of its first date, the last date its events were edited from, and the last date
+   * one of its events was changed or removed on its own.
+   *
+   * @return the last changed date.
+   */
+  LocalDate getLastChangedDate();
+
+  /**
+   * Checks whether this series and {@code other} have any event in common.
+   *
+   * @param other the other series.
+   * @return {@code true} if some event is in both series, {@code false} otherwise.
+   */
+  boolean sharesEventWith(IRecurringEventSeries other);
+
+  /**
+   * Creates a new series made of only the events of this series that occur before
+   * {@code date}.
+   *
+   * @param date the date the new series ends before.
+   * @return the new series, or null if no events of this series occur before the date.
+   */
+  IRecurringEventSeries createNewSeriesBefore(LocalDate date);
+
+  /**
+   * Creates a new series made of only the events of this series that occur on or after
+   * {@code date}.
+   *
+   * @param date the date the new series starts from.
+   * @return the new series, or null if no events of this series occur on or after the date.
+   */
+  IRecurringEventSeries createNewSeriesFrom(LocalDate date);
+}
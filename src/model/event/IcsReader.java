@@ -0,0 +1,410 @@
+package model.event;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Reads events from an iCalendar (.ics) file, as described by RFC 5545, a batch at a time. Only
+ * the lines of the event being read are held in memory, so files of any size can be read.
+ *
+ * <p>Each VEVENT becomes a {@link SingleEvent}. A VEVENT that repeats weekly or daily, for a
+ * number of times or until a date, becomes an {@link EventSeries}, and one that repeats forever
+ * becomes a {@link RecurringEventSeries}; dates left out with EXDATE are removed from the
+ * series. Times with a time zone or in UTC are converted to the time zone given, and times
+ * without one are read as they are. A VEVENT with a RECURRENCE-ID changes one occurrence of
+ * another event, which this program cannot express once that event has been added, so it is
+ * skipped and counted in {@link #getSkipped()}.
+ */
+public final class IcsReader implements Closeable {
+  private static final List<String> DAY_CODES = List.of("MO", "TU", "WE", "TH", "FR", "SA",
+          "SU");
+
+  private final BufferedReader in;
+  private final ZoneId zone;
+  private String nextLine;
+  private int lineNumber;
+  private int skipped;
+
+  /**
+   * Constructs an {@code IcsReader} that reads from the given text.
+   *
+   * @param in   the text of the iCalendar file.
+   * @param zone the time zone to convert times to, which is usually the calendar's.
+   */
+  public IcsReader(Reader in, ZoneId zone) {
+    this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+    this.zone = zone;
+  }
+
+  /**
+   * Reads the next events in the file.
+   *
+   * @param max the most events to read.
+   * @return the events read, in the order they are in the file, or an empty list if there are
+   *         no events left.
+   * @throws IOException              if the file cannot be read.
+   * @throws IllegalArgumentException if an event cannot be understood.
+   */
+  public List<CalendarEvent> readEvents(int max) throws IOException {
+    List<CalendarEvent> events = new ArrayList<>();
+    String line;
+    while (events.size() < max && (line = readLine()) != null) {
+      if (line.equalsIgnoreCase("BEGIN:VEVENT")) {
+        int firstLine = lineNumber;
+        try {
+          CalendarEvent event = readEvent();
+          if (event != null) {
+            events.add(event);
+          }
+        } catch (IllegalArgumentException | DateTimeException e) {
+          throw new IllegalArgumentException("Event on line " + firstLine + ": "
+                  + e.getMessage());
+        }
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Gets how many events have been skipped so far because they change one occurrence of another
+   * event.
+   *
+   * @return the number of events skipped.
+   */
+  public int getSkipped() {
+    return skipped;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  // Reads the properties of an event up to its END line, leaving out any alarms inside it
+  private CalendarEvent readEvent() throws IOException {
+    Map<String, Property> properties = new HashMap<>();
+    List<Property> excluded = new ArrayList<>();
+    int nested = 0;
+    String line;
+    while ((line = readLine()) != null) {
+      if (line.isEmpty()) {
+        continue;
+      }
+      Property property = Property.parse(line);
+      if (property.name.equals("BEGIN")) {
+        nested++;
+      } else if (property.name.equals("END") && nested > 0) {
+        nested--;
+      } else if (property.name.equals("END")) {
+        return toEvent(properties, excluded);
+      } else if (nested == 0 && property.name.equals("EXDATE")) {
+        excluded.add(property);
+      } else if (nested == 0) {
+        properties.putIfAbsent(property.name, property);
+      }
+    }
+    throw new IllegalArgumentException("Event has no END:VEVENT line.");
+  }
+
+  private CalendarEvent toEvent(Map<String, Property> properties, List<Property> excluded) {
+    if (properties.containsKey("RECURRENCE-ID")) {
+      skipped++;
+      return null;
+    }
+    Property summary = properties.get("SUMMARY");
+    Property start = properties.get("DTSTART");
+    if (summary == null || start == null) {
+      throw new IllegalArgumentException("Event needs both a SUMMARY and a DTSTART.");
+    }
+
+    // Events are read in the time zone they were written in, so that the days a rule repeats on
+    // are the ones it meant, and then converted like the rest of the calendar
+    ZoneId from = isDate(start) ? null : zoneOf(start.value, start);
+    ZoneId readZone = from == null ? zone : from;
+    SingleEvent.Builder builder = times(unescape(summary.value), start, properties.get("DTEND"),
+            properties.get("DURATION"), readZone);
+    if (properties.containsKey("DESCRIPTION")) {
+      builder.description(unescape(properties.get("DESCRIPTION").value));
+    }
+    if (properties.containsKey("LOCATION")) {
+      builder.location(toLocation(unescape(properties.get("LOCATION").value)));
+    }
+    if (properties.containsKey("CLASS")) {
+      builder.status(properties.get("CLASS").value.equalsIgnoreCase("PUBLIC") ? Status.PUBLIC
+              : Status.PRIVATE);
+    }
+    ISingleEvent event = builder.build();
+
+    Property rule = properties.get("RRULE");
+    if (rule == null) {
+      return from == null ? event : event.setTimeZone(TimeZone.getTimeZone(from),
+              TimeZone.getTimeZone(zone));
+    }
+    IEventSeries series = toSeries(event, rule.value, readZone);
+    for (Property exclusion : excluded) {
+      for (String value : exclusion.value.split(",")) {
+        // A date on its own leaves out whichever occurrence starts on that day
+        LocalDateTime excludedStart = isDate(exclusion) || value.length() == 8
+                ? toDate(value).atTime(event.getStartDateTime().toLocalTime())
+                : toDateTime(value, exclusion, readZone);
+        ISingleEvent occurrence = series.getCorrespondingEventFromStartDate(event.getSubject(),
+                excludedStart);
+        if (occurrence != null) {
+          series = series.createNewSeriesWithoutEvent(occurrence);
+          if (series == null) {
+            throw new IllegalArgumentException("Every occurrence of the event is excluded.");
+          }
+        }
+      }
+    }
+    return from == null ? series : convert(series, from);
+  }
+
+  // Converting a series keeps its days of the week, so they are moved along with its first event
+  private IEventSeries convert(IEventSeries series, ZoneId from) {
+    IEventSeries converted = (IEventSeries) series.setTimeZone(TimeZone.getTimeZone(from),
+            TimeZone.getTimeZone(zone));
+    long shift = ChronoUnit.DAYS.between(series.getStartDateTime().toLocalDate(),
+            converted.getStartDateTime().toLocalDate());
+    // A series that never ends moves its own days when it is converted
+    if (shift == 0 || converted instanceof IRecurringEventSeries) {
+      return converted;
+    }
+    DayOfWeek[] days = series.getOccurringDays().clone();
+    for (int i = 0; i < days.length; i++) {
+      days[i] = days[i].plus(shift);
+    }
+    return new EventSeries(converted.getEvents(), converted.getEndDateTime().toLocalDate(), days);
+  }
+
+  // An event is all day when it starts on a date rather than a date/time
+  private SingleEvent.Builder times(String subject, Property start, Property end,
+                                    Property duration, ZoneId readZone) {
+    if (isDate(start)) {
+      LocalDate startDate = toDate(start.value);
+      // The end of an all day event is the day after its last day
+      LocalDate lastDate = end == null ? startDate : toDate(end.value).minusDays(1);
+      if (!lastDate.isAfter(startDate)) {
+        return new SingleEvent.Builder(subject, startDate);
+      }
+      return new SingleEvent.Builder(subject, startDate.atTime(8, 0), lastDate.atTime(17, 0));
+    }
+
+    LocalDateTime startDateTime = toDateTime(start.value, start, readZone);
+    LocalDateTime endDateTime = startDateTime;
+    if (end != null) {
+      endDateTime = toDateTime(end.value, end, readZone);
+    } else if (duration != null) {
+      endDateTime = startDateTime.plus(toDuration(duration.value));
+    }
+    return new SingleEvent.Builder(subject, startDateTime, endDateTime);
+  }
+
+  private IEventSeries toSeries(ISingleEvent event, String ruleText, ZoneId readZone) {
+    Map<String, String> rule = new HashMap<>();
+    for (String part : ruleText.split(";")) {
+      int equals = part.indexOf('=');
+      if (equals < 0) {
+        throw new IllegalArgumentException("Cannot read repeat rule " + ruleText);
+      }
+      rule.put(part.substring(0, equals).toUpperCase(), part.substring(equals + 1));
+    }
+    String frequency = rule.remove("FREQ");
+    String interval = rule.remove("INTERVAL");
+    String byDay = rule.remove("BYDAY");
+    String count = rule.remove("COUNT");
+    String until = rule.remove("UNTIL");
+    rule.remove("WKST");
+    if (!rule.isEmpty() || (interval != null && !interval.equals("1"))
+            || !("WEEKLY".equalsIgnoreCase(frequency) || "DAILY".equalsIgnoreCase(frequency))) {
+      throw new IllegalArgumentException("Only events that repeat every day or every week on "
+              + "certain days can be read, not " + ruleText);
+    }
+
+    DayOfWeek[] days;
+    if (byDay != null) {
+      String[] codes = byDay.split(",");
+      days = new DayOfWeek[codes.length];
+      for (int i = 0; i < codes.length; i++) {
+        int day = DAY_CODES.indexOf(codes[i].toUpperCase());
+        if (day < 0) {
+          throw new IllegalArgumentException("Unknown day " + codes[i]);
+        }
+        days[i] = DayOfWeek.of(day + 1);
+      }
+    } else if (frequency.equalsIgnoreCase("DAILY")) {
+      days = DayOfWeek.values();
+    } else {
+      days = new DayOfWeek[] {event.getStartDateTime().getDayOfWeek()};
+    }
+
+    if (count != null) {
+      return new EventSeries(event, Integer.parseInt(count), days);
+    } else if (until != null) {
+      // A date/time in UTC may fall on another day once converted
+      LocalDate lastDate = until.length() == 8 ? toDate(until)
+              : toDateTime(until, new Property("UNTIL", Map.of(), until), readZone)
+              .toLocalDate();
+      return new EventSeries(event, lastDate, days);
+    }
+    return new RecurringEventSeries(event, days);
+  }
+
+  private static boolean isDate(Property property) {
+    return "DATE".equalsIgnoreCase(property.parameters.get("VALUE"))
+            || property.value.length() == 8;
+  }
+
+  private static LocalDate toDate(String value) {
+    if (value.length() < 8) {
+      throw new IllegalArgumentException("Cannot read date " + value);
+    }
+    return LocalDate.of(Integer.parseInt(value.substring(0, 4)),
+            Integer.parseInt(value.substring(4, 6)), Integer.parseInt(value.substring(6, 8)));
+  }
+
+  // A date/time ending in Z is in UTC, one with a TZID is in that time zone, and any other is
+  // already in local time
+  private static LocalDateTime toDateTime(String value, Property property, ZoneId target) {
+    if (value.length() == 8) {
+      return toDate(value).atStartOfDay();
+    } else if (value.length() < 15 || value.charAt(8) != 'T') {
+      throw new IllegalArgumentException("Cannot read date/time " + value);
+    }
+    LocalDateTime dateTime = toDate(value).atTime(Integer.parseInt(value.substring(9, 11)),
+            Integer.parseInt(value.substring(11, 13)), Integer.parseInt(value.substring(13, 15)));
+    ZoneId from = zoneOf(value, property);
+    return from == null ? dateTime
+            : dateTime.atZone(from).withZoneSameInstant(target).toLocalDateTime();
+  }
+
+  private static ZoneId zoneOf(String value, Property property) {
+    if (value.endsWith("Z")) {
+      return ZoneOffset.UTC;
+    } else if (property.parameters.containsKey("TZID")) {
+      return ZoneId.of(property.parameters.get("TZID"));
+    }
+    return null;
+  }
+
+  // Durations may be given in weeks, which java.time does not read
+  private static Duration toDuration(String value) {
+    if (value.toUpperCase().endsWith("W")) {
+      int sign = value.startsWith("-") ? -1 : 1;
+      String weeks = value.substring(value.indexOf('P') + 1, value.length() - 1);
+      return Duration.ofDays(7L * sign * Integer.parseInt(weeks));
+    }
+    return Duration.parse(value);
+  }
+
+  // Events held online usually give a link instead of a place
+  private static Location toLocation(String value) {
+    Location location = Location.getLocation(value);
+    if (location != null || value.isEmpty()) {
+      return location;
+    }
+    String lowercase = value.toLowerCase();
+    return lowercase.startsWith("http://") || lowercase.startsWith("https://")
+            ? Location.ONLINE : Location.PHYSICAL;
+  }
+
+  private static String unescape(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder text = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        c = value.charAt(++i);
+        text.append(c == 'n' || c == 'N' ? '\n' : c);
+      } else {
+        text.append(c);
+      }
+    }
+    return text.toString();
+  }
+
+  // Long lines are folded onto following lines that start with a space or tab
+  private String readLine() throws IOException {
+    String line = nextLine != null ? nextLine : in.readLine();
+    nextLine = null;
+    if (line == null) {
+      return null;
+    }
+    lineNumber++;
+    StringBuilder unfolded = null;
+    String next;
+    while ((next = in.readLine()) != null
+            && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+      if (unfolded == null) {
+        unfolded = new StringBuilder(line);
+      }
+      unfolded.append(next, 1, next.length());
+      lineNumber++;
+    }
+    nextLine = next;
+    return unfolded == null ? line : unfolded.toString();
+  }
+
+  /**
+   * One line of an iCalendar file, such as {@code DTSTART;TZID=Europe/Paris:20250602T090000}.
+   */
+  private static final class Property {
+    private final String name;
+    private final Map<String, String> parameters;
+    private final String value;
+
+    private Property(String name, Map<String, String> parameters, String value) {
+      this.name = name;
+      this.parameters = parameters;
+      this.value = value;
+    }
+
+    // The value starts at the first colon that is not inside a quoted parameter
+    private static Property parse(String line) {
+      int position = 0;
+      while (position < line.length() && line.charAt(position) != ';'
+              && line.charAt(position) != ':') {
+        position++;
+      }
+      String name = line.substring(0, position).toUpperCase();
+      Map<String, String> parameters = new HashMap<>();
+      while (position < line.length() && line.charAt(position) == ';') {
+        int equals = line.indexOf('=', position);
+        if (equals < 0) {
+          throw new IllegalArgumentException("Cannot read line " + line);
+        }
+        int end = equals + 1;
+        boolean quoted = false;
+        while (end < line.length() && (quoted
+                || (line.charAt(end) != ';' && line.charAt(end) != ':'))) {
+          quoted ^= line.charAt(end) == '"';
+          end++;
+        }
+        parameters.put(line.substring(position + 1, equals).toUpperCase(),
+                line.substring(equals + 1, end).replace("\"", ""));
+        position = end;
+      }
+      if (position >= line.length()) {
+        throw new IllegalArgumentException("Cannot read line " + line);
+      }
+      return new Property(name, parameters, line.substring(position + 1));
+    }
+  }
+}
@@ -0,0 +1,355 @@
+package model.event;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes events to an iCalendar (.ics) file, as described by RFC 5545, one event at a time.
+ *
+ * <p>A single event becomes a VEVENT. A series becomes one VEVENT with a weekly RRULE, rather
+ * than one VEVENT per occurrence, so that other calendar programs see it as a series: days of the
+ * rule without an occurrence are left out with EXDATE, and occurrences that were edited on their
+ * own follow as VEVENTs with a RECURRENCE-ID. A series that repeats forever is written with a
+ * rule that never ends when the range has no end. Times are written in the time zone given, by
+ * its name, and the file describes that time zone in a VTIMEZONE, with every change of offset the
+ * time zone has had and yearly rules for the changes it still makes.
+ */
+public final class IcsWriter implements IEventWriter {
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern(
+          "yyyyMMdd'T'HHmmss");
+  private static final List<String> DAY_CODES = List.of("MO", "TU", "WE", "TH", "FR", "SA",
+          "SU");
+  // Longer lines are folded onto lines that start with a space
+  private static final int LINE_OCTETS = 75;
+
+  private final Writer out;
+  private final String zoneParameter;
+  private final String stamp;
+
+  /**
+   * Constructs an {@code IcsWriter} that writes to the given text, starting with the header of
+   * the file.
+   *
+   * @param out  where to write the file.
+   * @param zone the time zone of the events, which is usually the calendar's.
+   * @throws IOException if the header cannot be written.
+   */
+  public IcsWriter(Writer out, ZoneId zone) throws IOException {
+    this.out = out;
+    this.zoneParameter = ";TZID=" + zone.getId() + ":";
+    this.stamp = DATE_TIME.format(LocalDateTime.now(ZoneOffset.UTC)) + "Z";
+    writeLine("BEGIN:VCALENDAR");
+    writeLine("VERSION:2.0");
+    writeLine("PRODID:-//Calendar//Calendar Export//EN");
+    writeLine("CALSCALE:GREGORIAN");
+    writeTimeZone(zone);
+  }
+
+  @Override
+  public void write(CalendarEvent event, LocalDateTime start, LocalDateTime end)
+          throws IOException {
+    if (!(event instanceof IEventSeries)) {
+      for (ISingleEvent single : event.getEventsInRange(start, end)) {
+        beginEvent(single, uid(single));
+        writeLine("END:VEVENT");
+      }
+      return;
+    }
+
+    IEventSeries series = (IEventSeries) event;
+    if (!(series instanceof IRecurringEventSeries)
+            || !((IRecurringEventSeries) series).isUnbounded()
+            || !end.equals(LocalDateTime.MAX)) {
+      writeSeries(series, start, end);
+      return;
+    }
+    // From its last changed date the series follows its pattern forever, so it ends with a rule
+    // that never ends, unless the occurrence on that date was changed on its own
+    IRecurringEventSeries recurring = (IRecurringEventSeries) series;
+    LocalDateTime patternStart = recurring.getLastChangedDate().atStartOfDay();
+    Iterator<ISingleEvent> pattern = recurring.iteratorFrom(start.isAfter(patternStart) ? start
+            : patternStart);
+    ISingleEvent template = pattern.next();
+    ISingleEvent following = pattern.next();
+    if (!followsTemplate(template, following)) {
+      template = following;
+    }
+    LocalDate templateDate = template.getStartDateTime().toLocalDate();
+    if (start.isBefore(templateDate.atStartOfDay())) {
+      writeSeries(series, start, templateDate.minusDays(1).atTime(LocalTime.MAX));
+    }
+    beginEvent(template, uid(template));
+    writeLine("RRULE:FREQ=WEEKLY;BYDAY=" + dayCodes(series.getOccurringDays()));
+    writeLine("END:VEVENT");
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      writeLine("END:VCALENDAR");
+    } finally {
+      out.close();
+    }
+  }
+
+  // The rule starts at the first occurrence on one of the series' days and ends at the last one
+  private void writeSeries(IEventSeries series, LocalDateTime start, LocalDateTime end)
+          throws IOException {
+    Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+    days.addAll(List.of(series.getOccurringDays()));
+    ISingleEvent template = null;
+    for (Iterator<ISingleEvent> events = new OccurrenceIterator(series, start, end);
+         events.hasNext(); ) {
+      ISingleEvent event = events.next();
+      if (days.contains(event.getStartDateTime().getDayOfWeek())) {
+        template = event;
+        break;
+      }
+    }
+
+    String uid = template == null ? null : uid(template);
+    LocalTime time = template == null ? null : template.getStartDateTime().toLocalTime();
+    if (template != null) {
+      beginEvent(template, uid);
+      // Days of the rule with no occurrence had theirs removed, so they are left out
+      int count = 0;
+      LocalDate ruleDate = template.getStartDateTime().toLocalDate();
+      LocalDate previous = null;
+      for (Iterator<ISingleEvent> events = new OccurrenceIterator(series, start, end);
+           events.hasNext(); ) {
+        ISingleEvent event = events.next();
+        if (isRuleOccurrence(event, template, days, previous)) {
+          previous = event.getStartDateTime().toLocalDate();
+          for (; ruleDate.isBefore(previous); ruleDate = ruleDate.plusDays(1)) {
+            if (days.contains(ruleDate.getDayOfWeek())) {
+              writeLine("EXDATE" + zoneParameter + DATE_TIME.format(ruleDate.atTime(time)));
+              count++;
+            }
+          }
+          ruleDate = ruleDate.plusDays(1);
+          count++;
+        }
+      }
+      writeLine("RRULE:FREQ=WEEKLY;BYDAY=" + dayCodes(series.getOccurringDays()) + ";COUNT="
+              + count);
+      writeLine("END:VEVENT");
+    }
+
+    // Edited occurrences change the rule's occurrence on their day, and the rest stand alone
+    LocalDate previous = null;
+    for (Iterator<ISingleEvent> events = new OccurrenceIterator(series, start, end);
+         events.hasNext(); ) {
+      ISingleEvent event = events.next();
+      if (!isRuleOccurrence(event, template, days, previous)) {
+        beginEvent(event, uid(event));
+        writeLine("END:VEVENT");
+        continue;
+      }
+      previous = event.getStartDateTime().toLocalDate();
+      if (!followsTemplate(event, template)) {
+        beginEvent(event, uid);
+        writeLine("RECURRENCE-ID" + zoneParameter + DATE_TIME.format(previous.atTime(time)));
+        writeLine("END:VEVENT");
+      }
+    }
+  }
+
+  // An occurrence stands for the rule on its day unless another one already has
+  private static boolean isRuleOccurrence(ISingleEvent event, ISingleEvent template,
+                                          Set<DayOfWeek> days, LocalDate previous) {
+    LocalDate date = event.getStartDateTime().toLocalDate();
+    return template != null && days.contains(date.getDayOfWeek())
+            && !date.isBefore(template.getStartDateTime().toLocalDate())
+            && !date.equals(previous);
+  }
+
+  private static boolean followsTemplate(ISingleEvent event, ISingleEvent template) {
+    return event.getStartDateTime().toLocalTime().equals(
+            template.getStartDateTime().toLocalTime())
+            && Duration.between(event.getStartDateTime(), event.getEndDateTime()).equals(
+            Duration.between(template.getStartDateTime(), template.getEndDateTime()))
+            && event.getSubject().equals(template.getSubject())
+            && Objects.equals(event.getDescription(), template.getDescription())
+            && event.getLocation() == template.getLocation()
+            && event.getStatus() == template.getStatus();
+  }
+
+  // Past changes of offset of the same kind share a component, one RDATE per change after the first
+  private void writeTimeZone(ZoneId zone) throws IOException {
+    ZoneRules rules = zone.getRules();
+    writeLine("BEGIN:VTIMEZONE");
+    writeLine("TZID:" + zone.getId());
+    List<ZoneOffsetTransition> transitions = rules.getTransitions();
+    List<ZoneOffsetTransitionRule> transitionRules = rules.getTransitionRules();
+    if (transitions.isEmpty() && transitionRules.isEmpty()) {
+      ZoneOffset offset = rules.getOffset(Instant.EPOCH);
+      writeTimeZoneComponent("STANDARD", LocalDateTime.of(1970, 1, 1, 0, 0), offset, offset,
+              List.of());
+    }
+
+    Map<String, List<ZoneOffsetTransition>> kinds = new LinkedHashMap<>();
+    for (ZoneOffsetTransition transition : transitions) {
+      kinds.computeIfAbsent(componentName(rules, transition) + transition.getOffsetBefore()
+              + transition.getOffsetAfter(), kind -> new ArrayList<>()).add(transition);
+    }
+    for (List<ZoneOffsetTransition> kind : kinds.values()) {
+      List<String> dates = new ArrayList<>();
+      for (ZoneOffsetTransition transition : kind.subList(1, kind.size())) {
+        dates.add("RDATE:" + DATE_TIME.format(transition.getDateTimeBefore()));
+      }
+      ZoneOffsetTransition first = kind.get(0);
+      writeTimeZoneComponent(componentName(rules, first), first.getDateTimeBefore(),
+              first.getOffsetBefore(), first.getOffsetAfter(), dates);
+    }
+
+    // The rules take over in the year after the last change listed on its own
+    int year = transitions.isEmpty() ? 1970
+            : transitions.get(transitions.size() - 1).getDateTimeAfter().getYear() + 1;
+    for (ZoneOffsetTransitionRule rule : transitionRules) {
+      ZoneOffsetTransition transition = rule.createTransition(year);
+      writeTimeZoneComponent(componentName(rules, transition), transition.getDateTimeBefore(),
+              transition.getOffsetBefore(), transition.getOffsetAfter(),
+              List.of("RRULE:" + yearlyRule(rule, transition.getDateTimeBefore().toLocalDate())));
+    }
+    writeLine("END:VTIMEZONE");
+  }
+
+  private void writeTimeZoneComponent(String name, LocalDateTime start, ZoneOffset from,
+                                      ZoneOffset to, List<String> recurrences)
+          throws IOException {
+    writeLine("BEGIN:" + name);
+    writeLine("DTSTART:" + DATE_TIME.format(start));
+    writeLine("TZOFFSETFROM:" + offsetText(from));
+    writeLine("TZOFFSETTO:" + offsetText(to));
+    for (String recurrence : recurrences) {
+      writeLine(recurrence);
+    }
+    writeLine("END:" + name);
+  }
+
+  private static String componentName(ZoneRules rules, ZoneOffsetTransition transition) {
+    return rules.isDaylightSavings(transition.getInstant()) ? "DAYLIGHT" : "STANDARD";
+  }
+
+  // A rule for a weekday on or after (or before) a day of the month becomes that weekday on one of
+  // the seven days of the month it can fall on, moved by as many days as its time moves the date
+  private static String yearlyRule(ZoneOffsetTransitionRule rule, LocalDate date) {
+    String byMonth = "FREQ=YEARLY;BYMONTH=" + date.getMonthValue();
+    if (rule.getDayOfWeek() == null) {
+      return byMonth + ";BYMONTHDAY=" + date.getDayOfMonth();
+    }
+    int indicator = rule.getDayOfMonthIndicator();
+    LocalDate ruleDate = indicator < 0
+            ? date.withMonth(rule.getMonth().getValue()).with(TemporalAdjusters.lastDayOfMonth())
+            .plusDays(indicator + 1).with(TemporalAdjusters.previousOrSame(rule.getDayOfWeek()))
+            : date.withMonth(rule.getMonth().getValue()).withDayOfMonth(indicator)
+            .with(TemporalAdjusters.nextOrSame(rule.getDayOfWeek()));
+    int shift = (int) ChronoUnit.DAYS.between(ruleDate, date);
+    int firstDay = (indicator < 0 ? indicator - 6 : indicator) + shift;
+    StringBuilder days = new StringBuilder();
+    for (int day = firstDay; day < firstDay + 7; day++) {
+      days.append(days.length() == 0 ? "" : ",").append(day);
+    }
+    return byMonth + ";BYDAY=" + DAY_CODES.get(date.getDayOfWeek().getValue() - 1)
+            + ";BYMONTHDAY=" + days;
+  }
+
+  private static String offsetText(ZoneOffset offset) {
+    int seconds = Math.abs(offset.getTotalSeconds());
+    String text = String.format("%s%02d%02d", offset.getTotalSeconds() < 0 ? "-" : "+",
+            seconds / 3600, seconds / 60 % 60);
+    return seconds % 60 == 0 ? text : text + String.format("%02d", seconds % 60);
+  }
+
+  private void beginEvent(ISingleEvent event, String uid) throws IOException {
+    writeLine("BEGIN:VEVENT");
+    writeLine("UID:" + uid);
+    writeLine("DTSTAMP:" + stamp);
+    writeLine("DTSTART" + zoneParameter + DATE_TIME.format(event.getStartDateTime()));
+    writeLine("DTEND" + zoneParameter + DATE_TIME.format(event.getEndDateTime()));
+    writeLine("SUMMARY:" + escape(event.getSubject()));
+    if (event.getDescription() != null) {
+      writeLine("DESCRIPTION:" + escape(event.getDescription()));
+    }
+    if (event.getLocation() != null) {
+      writeLine("LOCATION:" + event.getLocation());
+    }
+    if (event.getStatus() != null) {
+      writeLine("CLASS:" + event.getStatus().name());
+    }
+  }
+
+  // The same event gets the same UID every time it is exported, so importing it again updates it
+  private static String uid(ISingleEvent event) {
+    return UUID.nameUUIDFromBytes((event.getSubject() + "\n" + event.getStartDateTime())
+            .getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  private static String dayCodes(DayOfWeek[] days) {
+    StringBuilder codes = new StringBuilder();
+    for (DayOfWeek day : days) {
+      if (codes.length() > 0) {
+        codes.append(',');
+      }
+      codes.append(DAY_CODES.get(day.getValue() - 1));
+    }
+    return codes.toString();
+  }
+
+  private static String escape(String value) {
+    StringBuilder text = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' || c == ';' || c == ',') {
+        text.append('\\').append(c);
+      } else if (c == '\n') {
+        text.append("\\n");
+      } else if (c != '\r') {
+        text.append(c);
+      }
+    }
+    return text.toString();
+  }
+
+  // Lines are folded by their length in UTF-8, without splitting a character
+  private void writeLine(String line) throws IOException {
+    int octets = 0;
+    for (int i = 0; i < line.length(); ) {
+      int codePoint = line.codePointAt(i);
+      int chars = Character.charCount(codePoint);
+      int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+      if (octets + size > LINE_OCTETS) {
+        out.write("\r\n ");
+        octets = 1;
+      }
+      out.write(line, i, chars);
+      octets += size;
+      i += chars;
+    }
+    out.write("\r\n");
+  }
+}
@@ -0,0 +1,59 @@
+package model.event;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the occurrences of an event that fit in a date/time range, in chronological
+ * order. The occurrences of a series stored as a recurrence rule are generated as they are
+ * reached, so a range that covers many of them takes no more memory than one that covers few.
+ */
+final class OccurrenceIterator implements Iterator<ISingleEvent> {
+  private final Iterator<ISingleEvent> occurrences;
+  private final LocalDateTime end;
+  private ISingleEvent next;
+
+  /**
+   * Constructs an {@code OccurrenceIterator} over the occurrences of the given event.
+   *
+   * @param event the event, which may be a series.
+   * @param start the start date/time of the range.
+   * @param end   the end date/time of the range.
+   */
+  OccurrenceIterator(CalendarEvent event, LocalDateTime start, LocalDateTime end) {
+    this.occurrences = event instanceof IRecurringEventSeries
+            ? ((IRecurringEventSeries) event).iteratorFrom(start)
+            : event.getEventsInRange(start, end).iterator();
+    this.end = end;
+    advance();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  @Override
+  public ISingleEvent next() {
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    ISingleEvent event = next;
+    advance();
+    return event;
+  }
+
+  private void advance() {
+    next = null;
+    while (occurrences.hasNext()) {
+      ISingleEvent event = occurrences.next();
+      if (event.getStartDateTime().isAfter(end)) {
+        return;
+      } else if (!event.getEndDateTime().isAfter(end)) {
+        next = event;
+        return;
+      }
+    }
+  }
+}
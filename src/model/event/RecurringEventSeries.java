@@ -0,0 +1,657 @@
+package model.event;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+import model.calendar.ICalendar;
+
+/**
+ * Represents a series of events in a calendar system that is stored as a recurrence rule: the
+ * days of the week it occurs on, when it starts, and how many times it occurs, which may be
+ * forever. Its events are generated from template events whenever they are needed. Events that
+ * were edited individually are kept as overrides, and events that were taken out of the series
+ * are kept as exclusions.
+ */
+public class RecurringEventSeries implements IRecurringEventSeries {
+  private final WeeklyRecurrence rule;
+  private final DayOfWeek[] occurringDays;
+  // The template used for every date from its key onward, until the next key
+  private final NavigableMap<LocalDate, ISingleEvent> templates;
+  private final NavigableMap<LocalDate, ISingleEvent> overrides;
+  private final NavigableSet<LocalDate> exclusions;
+  private final ISingleEvent firstEvent;
+  // Null if the series never ends
+  private final ISingleEvent lastEvent;
+
+  /**
+   * Constructs a {@code RecurringEventSeries} object with a given event, the number of
+   * occurrences, and the days of the week on which the events occur. The event's starting
+   * date/time and ending date/time must be on the same day. If the event's starting date is not in
+   * the provided days of the week, then it gets automatically moved to the first valid day of the
+   * week.
+   *
+   * @param event       the event to be repeated.
+   * @param occurrences the number of times this event occurs.
+   * @param days        the days of the week this event occurs on.
+   * @throws IllegalArgumentException if the event's start and end date are not on the same day,
+   *                                  if the number of occurrences is below 1, or if no days of the
+   *                                  week are given.
+   */
+  public RecurringEventSeries(ISingleEvent event, int occurrences,
+                              DayOfWeek... days) throws IllegalArgumentException {
+    this(checkTemplate(event), new WeeklyRecurrence(event.getStartDateTime().toLocalDate(), days,
+            checkOccurrences(occurrences)), days);
+  }
+
+  /**
+   * Constructs a {@code RecurringEventSeries} object with a given event, the ending date of the
+   * series, and the days of the week on which the events occur. The event's starting date/time and
+   * ending date/time must be on the same day. If the event's starting date is not in the provided
+   * days of the week, then it gets automatically moved to the first valid day of the week.
+   *
+   * @param event   the event to be repeated.
+   * @param endDate the last date an event in this series can occur on.
+   * @param days    the days of the week this event occurs on.
+   * @throws IllegalArgumentException if the event's start and end date are not on the same day,
+   *                                  if the series ends before the event does, or if the series
+   *                                  would have no events.
+   */
+  public RecurringEventSeries(ISingleEvent event, LocalDate endDate,
+                              DayOfWeek... days) throws IllegalArgumentException {
+    this(checkEndDate(checkTemplate(event), endDate),
+            WeeklyRecurrence.until(event.getStartDateTime().toLocalDate(), endDate, days), days);
+  }
+
+  /**
+   * Constructs a {@code RecurringEventSeries} object that never ends, with a given event and the
+   * days of the week on which the events occur. The event's starting date/time and ending
+   * date/time must be on the same day. If the event's starting date is not in the provided days
+   * of the week, then it gets automatically moved to the first valid day of the week.
+   *
+   * @param event the event to be repeated.
+   * @param days  the days of the week this event occurs on.
+   * @throws IllegalArgumentException if the event's start and end date are not on the same day,
+   *                                  or if no days of the week are given.
+   */
+  public RecurringEventSeries(ISingleEvent event, DayOfWeek... days)
+          throws IllegalArgumentException {
+    this(checkTemplate(event),
+            WeeklyRecurrence.forever(event.getStartDateTime().toLocalDate(), days), days);
+  }
+
+  private RecurringEventSeries(ISingleEvent event, WeeklyRecurrence rule, DayOfWeek[] days) {
+    this(rule, days, firstTemplate(event, rule), new TreeMap<>(), new TreeSet<>());
+  }
+
+  private RecurringEventSeries(WeeklyRecurrence rule, DayOfWeek[] days,
+                               NavigableMap<LocalDate, ISingleEvent> templates,
+                               NavigableMap<LocalDate, ISingleEvent> overrides,
+                               NavigableSet<LocalDate> exclusions) {
+    this.rule = rule;
+    this.occurringDays = days.clone();
+    Arrays.sort(this.occurringDays);
+    this.templates = templates;
+    this.overrides = overrides;
+    this.exclusions = exclusions;
+
+    Iterator<ISingleEvent> events = iterator();
+    if (!events.hasNext()) {
+      throw new IllegalArgumentException("Event series must have at least one event.");
+    }
+    this.firstEvent = events.next();
+    this.lastEvent = findLastEvent();
+  }
+
+  @Override
+  public String getSubject() {
+    return firstEvent.getSubject();
+  }
+
+  @Override
+  public LocalDateTime getStartDateTime() {
+    return firstEvent.getStartDateTime();
+  }
+
+  @Override
+  public LocalDateTime getEndDateTime() {
+    return lastEvent == null ? LocalDateTime.MAX : lastEvent.getEndDateTime();
+  }
+
+  @Override
+  public String getDescription() {
+    return firstEvent.getDescription();
+  }
+
+  @Override
+  public Location getLocation() {
+    return firstEvent.getLocation();
+  }
+
+  @Override
+  public Status getStatus() {
+    return firstEvent.getStatus();
+  }
+
+  @Override
+  public ISingleEvent getEventOn(LocalDate date) {
+    if (!rule.occursOn(date) || exclusions.contains(date)) {
+      return null;
+    }
+    ISingleEvent override = overrides.get(date);
+    return override != null ? override : generateEvent(date);
+  }
+
+  @Override
+  public Iterator<ISingleEvent> iteratorFrom(LocalDateTime startDateTime) {
+    Iterator<ISingleEvent> events = iteratorFrom(startDateTime.toLocalDate());
+    // At most one event per day, so only the first one can start too early
+    ISingleEvent first = events.hasNext() ? events.next() : null;
+    if (first == null || !first.getStartDateTime().isBefore(startDateTime)) {
+      return new Iterator<>() {
+        private ISingleEvent pending = first;
+
+        @Override
+        public boolean hasNext() {
+          return pending != null || events.hasNext();
+        }
+
+        @Override
+        public ISingleEvent next() {
+          if (pending == null) {
+            return events.next();
+          }
+          ISingleEvent result = pending;
+          pending = null;
+          return result;
+        }
+      };
+    }
+    return events;
+  }
+
+  @Override
+  public List<ISingleEvent> getEventsStartingFrom(LocalDateTime startDateTime, int count) {
+    List<ISingleEvent> nextEvents = new ArrayList<>();
+    Iterator<ISingleEvent> events = iteratorFrom(startDateTime);
+    while (nextEvents.size() < count && events.hasNext()) {
+      nextEvents.add(events.next());
+    }
+    return nextEvents;
+  }
+
+  @Override
+  public Set<String> getSubjects() {
+    Set<String> subjects = new HashSet<>();
+    for (ISingleEvent template : templates.values()) {
+      subjects.add(template.getSubject());
+    }
+    for (ISingleEvent override : overrides.values()) {
+      subjects.add(override.getSubject());
+    }
+    return subjects;
+  }
+
+  @Override
+  public boolean isUnbounded() {
+    return rule.isUnbounded();
+  }
+
+  @Override
+  public LocalDate getLastChangedDate() {
+    LocalDate lastChanged = templates.lastKey();
+    if (!overrides.isEmpty() && overrides.lastKey().isAfter(lastChanged)) {
+      lastChanged = overrides.lastKey();
+    }
+    if (!exclusions.isEmpty() && exclusions.last().isAfter(lastChanged)) {
+      lastChanged = exclusions.last();
+    }
+    return lastChanged;
+  }
+
+  @Override
+  public boolean sharesEventWith(IRecurringEventSeries other) {
+    if (!isUnbounded()) {
+      for (ISingleEvent event : this) {
+        if (other.matchesWith(event)) {
+          return true;
+        }
+      }
+      return false;
+    } else if (!other.isUnbounded()) {
+      return other.sharesEventWith(this);
+    }
+
+    // Once neither series changes anymore, both repeat the same week forever, so one week past
+    // that point is as far as we ever need to look
+    LocalDate from = max(getStartDateTime().toLocalDate(),
+            other.getStartDateTime().toLocalDate());
+    LocalDate until = max(from, max(getLastChangedDate(), other.getLastChangedDate()))
+            .plusWeeks(1);
+    Iterator<ISingleEvent> events = iteratorFrom(from);
+    while (events.hasNext()) {
+      ISingleEvent event = events.next();
+      if (event.getStartDateTime().toLocalDate().isAfter(until)) {
+        break;
+      } else if (other.matchesWith(event)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public IRecurringEventSeries createNewSeriesBefore(LocalDate date) {
+    WeeklyRecurrence newRule = rule.endingBefore(date);
+    NavigableSet<LocalDate> newExclusions = new TreeSet<>(exclusions.headSet(date, false));
+    if (newRule.size() <= newExclusions.size()) {
+      return null;
+    }
+    return new RecurringEventSeries(newRule, occurringDays,
+            new TreeMap<>(templates.headMap(date, false)),
+            new TreeMap<>(overrides.headMap(date, false)), newExclusions);
+  }
+
+  @Override
+  public IRecurringEventSeries createNewSeriesFrom(LocalDate date) {
+    WeeklyRecurrence newRule = rule.startingFrom(date);
+    NavigableSet<LocalDate> newExclusions = new TreeSet<>(exclusions.tailSet(date, true));
+    if (!newRule.isUnbounded() && newRule.size() <= newExclusions.size()) {
+      return null;
+    }
+
+    LocalDate firstDate = newRule.getFirstDate();
+    NavigableMap<LocalDate, ISingleEvent> newTemplates =
+            new TreeMap<>(templates.tailMap(firstDate, true));
+    newTemplates.put(firstDate, generateEvent(firstDate));
+    return new RecurringEventSeries(newRule, occurringDays, newTemplates,
+            new TreeMap<>(overrides.tailMap(firstDate, true)), newExclusions);
+  }
+
+  @Override
+  public List<ISingleEvent> getEventsInRange(LocalDateTime start, LocalDateTime end) {
+    List<ISingleEvent> queriedEvents = new ArrayList<>();
+    Iterator<ISingleEvent> events = iteratorFrom(start.toLocalDate());
+    while (events.hasNext()) {
+      ISingleEvent event = events.next();
+      if (event.getStartDateTime().isAfter(end)) {
+        break;
+      } else if (!event.getStartDateTime().isBefore(start)
+              && !event.getEndDateTime().isAfter(end)) {
+        queriedEvents.add(event);
+      }
+    }
+    return queriedEvents;
+  }
+
+  @Override
+  public boolean canAddToCalendar(ICalendar calendar) {
+    return calendar.canAddRecurringSeries(this);
+  }
+
+  @Override
+  public boolean matchesWith(ISingleEvent newEvent) {
+    ISingleEvent event = getEventOn(newEvent.getStartDateTime().toLocalDate());
+    return event != null && event.equals(newEvent);
+  }
+
+  @Override
+  public boolean containsTime(LocalDateTime dateTime) {
+    // Every event in the series starts and ends on the same day
+    ISingleEvent event = getEventOn(dateTime.toLocalDate());
+    return event != null && event.containsTime(dateTime);
+  }
+
+  @Override
+  public ISingleEvent getCorrespondingEvent(String subject, LocalDateTime startDateTime,
+                                           LocalDateTime endDateTime) {
+    ISingleEvent event = getEventOn(startDateTime.toLocalDate());
+    return event == null ? null : event.getCorrespondingEvent(subject, startDateTime, endDateTime);
+  }
+
+  @Override
+  public IEventSeries getSeriesIfFound(ISingleEvent original) {
+    return matchesWith(original) ? this : null;
+  }
+
+  @Override
+  public ISingleEvent getCorrespondingEventFromStartDate(String subject,
+                                                        LocalDateTime startDateTime) {
+    ISingleEvent event = getEventOn(startDateTime.toLocalDate());
+    return event == null ? null : event.getCorrespondingEventFromStartDate(subject, startDateTime);
+  }
+
+  @Override
+  public IEventSeries setTimeZone(TimeZone currentTimeZone, TimeZone timeZone) {
+    if (isUnbounded()) {
+      return setTimeZoneOfRule(currentTimeZone, timeZone);
+    }
+
+    // Daylight saving time can move some events and not others, so convert each one
+    List<ISingleEvent> newEvents = new ArrayList<>();
+    for (ISingleEvent event : this) {
+      newEvents.add(event.setTimeZone(currentTimeZone, timeZone));
+    }
+    return new EventSeries(newEvents, newEvents.get(newEvents.size() - 1).getEndDateTime()
+            .toLocalDate(), occurringDays);
+  }
+
+  /**
+   * Converts a series that never ends to another time zone. Its events cannot be converted one
+   * by one, so the templates and overrides are converted instead, and the whole rule is moved by
+   * as many days as they were. Generated events keep the local time of their template, even if
+   * the offset between the two time zones changes later in the year.
+   */
+  private IEventSeries setTimeZoneOfRule(TimeZone currentTimeZone, TimeZone timeZone) {
+    LocalDate firstDate = rule.getFirstDate();
+    long shift = ChronoUnit.DAYS.between(firstDate, templates.firstEntry().getValue()
+            .setTimeZone(currentTimeZone, timeZone).getStartDateTime().toLocalDate());
+
+    NavigableMap<LocalDate, ISingleEvent> newTemplates = new TreeMap<>();
+    for (Map.Entry<LocalDate, ISingleEvent> entry : templates.entrySet()) {
+      LocalDate date = entry.getKey().plusDays(shift);
+      newTemplates.put(date, checkOnDate(entry.getValue().setTimeZone(currentTimeZone, timeZone),
+              date));
+    }
+    NavigableMap<LocalDate, ISingleEvent> newOverrides = new TreeMap<>();
+    for (Map.Entry<LocalDate, ISingleEvent> entry : overrides.entrySet()) {
+      LocalDate date = entry.getKey().plusDays(shift);
+      newOverrides.put(date, checkOnDate(entry.getValue().setTimeZone(currentTimeZone, timeZone),
+              date));
+    }
+    NavigableSet<LocalDate> newExclusions = new TreeSet<>();
+    for (LocalDate date : exclusions) {
+      newExclusions.add(date.plusDays(shift));
+    }
+    DayOfWeek[] newDays = new DayOfWeek[occurringDays.length];
+    for (int i = 0; i < occurringDays.length; i++) {
+      newDays[i] = occurringDays[i].plus(shift);
+    }
+    return new RecurringEventSeries(rule.shiftedBy(shift), newDays, newTemplates, newOverrides,
+            newExclusions);
+  }
+
+  @Override
+  public IEventSeries createNewSeriesWithReplacedEvent(ISingleEvent original,
+                                                      ISingleEvent replacement) {
+    LocalDate date = original.getStartDateTime().toLocalDate();
+    if (!matchesWith(original)) {
+      throw new IllegalArgumentException("Event is not in this series.");
+    }
+    checkOnDate(replacement, date);
+
+    NavigableMap<LocalDate, ISingleEvent> newOverrides = new TreeMap<>(overrides);
+    newOverrides.put(date, replacement);
+    return new RecurringEventSeries(rule, occurringDays, templates, newOverrides, exclusions);
+  }
+
+  @Override
+  public IEventSeries createNewSeriesWithoutEvent(ISingleEvent original) {
+    LocalDate date = original.getStartDateTime().toLocalDate();
+    if (!matchesWith(original)) {
+      throw new IllegalArgumentException("Event is not in this series.");
+    } else if (firstEvent.equals(lastEvent)) {
+      return null;
+    }
+
+    NavigableMap<LocalDate, ISingleEvent> newOverrides = new TreeMap<>(overrides);
+    newOverrides.remove(date);
+    NavigableSet<LocalDate> newExclusions = new TreeSet<>(exclusions);
+    newExclusions.add(date);
+    return new RecurringEventSeries(rule, occurringDays, templates, newOverrides, newExclusions);
+  }
+
+  @Override
+  public IEventSeries createNewSeriesWithEventsEditedFrom(LocalDateTime startDateTime,
+                                                         UnaryOperator<ISingleEvent> edit) {
+    // There is at most one event per day, so editing from a start date/time is the same as
+    // editing from the first event on or after that day
+    LocalDate fromDate = startDateTime.toLocalDate();
+    if (getEventOn(fromDate) != null && getEventOn(fromDate).getStartDateTime()
+            .isBefore(startDateTime)) {
+      fromDate = fromDate.plusDays(1);
+    }
+
+    NavigableMap<LocalDate, ISingleEvent> newTemplates = new TreeMap<>(templates);
+    if (fromDate.isAfter(rule.getFirstDate())) {
+      newTemplates.put(fromDate, generateEvent(fromDate));
+    }
+    for (Map.Entry<LocalDate, ISingleEvent> entry : newTemplates.tailMap(fromDate, true)
+            .entrySet()) {
+      entry.setValue(checkOnDate(edit.apply(entry.getValue()), entry.getKey()));
+    }
+
+    NavigableMap<LocalDate, ISingleEvent> newOverrides = new TreeMap<>(overrides);
+    for (Map.Entry<LocalDate, ISingleEvent> entry : newOverrides.tailMap(fromDate, true)
+            .entrySet()) {
+      entry.setValue(checkOnDate(edit.apply(entry.getValue()), entry.getKey()));
+    }
+    return new RecurringEventSeries(rule, occurringDays, newTemplates, newOverrides, exclusions);
+  }
+
+  /**
+   * Gets every event in this series.
+   *
+   * @return the list of events.
+   * @throws IllegalStateException if this series never ends.
+   */
+  @Override
+  public List<ISingleEvent> getEvents() throws IllegalStateException {
+    if (isUnbounded()) {
+      throw new IllegalStateException("An event series that never ends has too many events"
+              + " to list.");
+    }
+    List<ISingleEvent> events = new ArrayList<>();
+    for (ISingleEvent event : this) {
+      events.add(event);
+    }
+    return events;
+  }
+
+  @Override
+  public DayOfWeek[] getOccurringDays() {
+    return Arrays.copyOf(this.occurringDays, this.occurringDays.length);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+
+    if (isUnbounded()) {
+      return result.append(firstEvent.toString()).append("\n")
+              .append("...repeats forever on ").append(Arrays.toString(occurringDays))
+              .append("\n").toString();
+    }
+    for (ISingleEvent event : this) {
+      result.append(event.toString()).append("\n");
+    }
+    return result.toString();
+  }
+
+  @Override
+  public Iterator<ISingleEvent> iterator() {
+    return iteratorFrom(rule.getFirstDate());
+  }
+
+  /**
+   * Writes this series as its rule, templates, overrides and exclusions, for
+   * {@link EventCodec}.
+   *
+   * @param out where to write it.
+   */
+  void writeTo(EventCodec.Output out) {
+    EventCodec.writeDays(occurringDays, out);
+    EventCodec.writeDate(rule.getFirstDate(), out);
+    out.writeLong(rule.isUnbounded() ? -1 : rule.size());
+    writeEvents(templates, out);
+    writeEvents(overrides, out);
+    out.writeInt(exclusions.size());
+    for (LocalDate date : exclusions) {
+      EventCodec.writeDate(date, out);
+    }
+  }
+
+  /**
+   * Reads a series written by {@link #writeTo(EventCodec.Output)}.
+   *
+   * @param in where to read it from.
+   * @return the series.
+   * @throws IllegalArgumentException if what is read is not a valid series.
+   */
+  static RecurringEventSeries readFrom(EventCodec.Input in) throws IllegalArgumentException {
+    DayOfWeek[] days = EventCodec.readDays(in);
+    LocalDate firstDate = EventCodec.readDate(in);
+    long count = in.readLong();
+    WeeklyRecurrence rule = count < 0 ? WeeklyRecurrence.forever(firstDate, days)
+            : new WeeklyRecurrence(firstDate, days, count);
+    NavigableMap<LocalDate, ISingleEvent> templates = readEvents(in);
+    NavigableMap<LocalDate, ISingleEvent> overrides = readEvents(in);
+    NavigableSet<LocalDate> exclusions = new TreeSet<>();
+    for (int i = in.readInt(); i > 0; i--) {
+      exclusions.add(EventCodec.readDate(in));
+    }
+    if (templates.isEmpty()) {
+      throw new IllegalArgumentException("Event series must have a template event.");
+    }
+    return new RecurringEventSeries(rule, days, templates, overrides, exclusions);
+  }
+
+  private static void writeEvents(NavigableMap<LocalDate, ISingleEvent> events,
+                                  EventCodec.Output out) {
+    out.writeInt(events.size());
+    for (Map.Entry<LocalDate, ISingleEvent> entry : events.entrySet()) {
+      EventCodec.writeDate(entry.getKey(), out);
+      EventCodec.writeSingleEvent(entry.getValue(), out);
+    }
+  }
+
+  private static NavigableMap<LocalDate, ISingleEvent> readEvents(EventCodec.Input in) {
+    NavigableMap<LocalDate, ISingleEvent> events = new TreeMap<>();
+    for (int i = in.readInt(); i > 0; i--) {
+      LocalDate date = EventCodec.readDate(in);
+      events.put(date, EventCodec.readSingleEvent(in));
+    }
+    return events;
+  }
+
+  /**
+   * Gets an iterator over the events of this series that occur on or after {@code date}, in
+   * chronological order.
+   *
+   * @param date the earliest date to include.
+   * @return the iterator.
+   */
+  private Iterator<ISingleEvent> iteratorFrom(LocalDate date) {
+    return new Iterator<>() {
+      private long index = rule.countBefore(date);
+      private ISingleEvent next = advance();
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public ISingleEvent next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        ISingleEvent result = next;
+        next = advance();
+        return result;
+      }
+
+      private ISingleEvent advance() {
+        while (index < rule.size()) {
+          LocalDate eventDate = rule.get(index++);
+          if (!exclusions.contains(eventDate)) {
+            ISingleEvent override = overrides.get(eventDate);
+            return override != null ? override : generateEvent(eventDate);
+          }
+        }
+        return null;
+      }
+    };
+  }
+
+  private ISingleEvent findLastEvent() {
+    if (rule.isUnbounded()) {
+      return null;
+    }
+    for (long index = rule.size() - 1; index >= 0; index--) {
+      ISingleEvent event = getEventOn(rule.get(index));
+      if (event != null) {
+        return event;
+      }
+    }
+    throw new IllegalArgumentException("Event series must have at least one event.");
+  }
+
+  private ISingleEvent generateEvent(LocalDate date) {
+    return moveToDate(templates.floorEntry(date).getValue(), date);
+  }
+
+  private static LocalDate max(LocalDate date1, LocalDate date2) {
+    return date1.isAfter(date2) ? date1 : date2;
+  }
+
+  private static ISingleEvent moveToDate(ISingleEvent template, LocalDate date) {
+    if (template.getStartDateTime().toLocalDate().equals(date)) {
+      return template;
+    }
+    return template.createNewEventWithNewStartDateAndEndDate(
+            LocalDateTime.of(date, template.getStartDateTime().toLocalTime()),
+            LocalDateTime.of(date, template.getEndDateTime().toLocalTime()));
+  }
+
+  private static NavigableMap<LocalDate, ISingleEvent> firstTemplate(ISingleEvent event,
+                                                                    WeeklyRecurrence rule) {
+    NavigableMap<LocalDate, ISingleEvent> templates = new TreeMap<>();
+    templates.put(rule.getFirstDate(), moveToDate(event, rule.getFirstDate()));
+    return templates;
+  }
+
+  private static ISingleEvent checkOnDate(ISingleEvent event, LocalDate date) {
+    if (!event.getStartDateTime().toLocalDate().equals(date)
+            || !event.getEndDateTime().toLocalDate().equals(date)) {
+      throw new IllegalArgumentException("Events in a series must start and end on the same day.");
+    }
+    return event;
+  }
+
+  private static ISingleEvent checkTemplate(ISingleEvent event) {
+    if (!event.getStartDateTime().toLocalDate().equals(event.getEndDateTime().toLocalDate())) {
+      throw new IllegalArgumentException("Event must start and end on the same day.");
+    }
+    return event;
+  }
+
+  private static int checkOccurrences(int occurrences) {
+    if (occurrences < 1) {
+      throw new IllegalArgumentException("Number of occurrences must be at least 1.");
+    }
+    return occurrences;
+  }
+
+  private static ISingleEvent checkEndDate(ISingleEvent event, LocalDate endDate) {
+    if (endDate.isBefore(event.getEndDateTime().toLocalDate())) {
+      throw new IllegalArgumentException("Event series cannot end before the current event ends.");
+    }
+    return event;
+  }
+}
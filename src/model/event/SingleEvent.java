@@ -238,25 +238,53 @@ public class SingleEvent implements ISingleEvent {
 
   @Override
   public String toString() {
-    String description = this.description == null ? "N/A" : this.description;
+    StringBuilder text = new StringBuilder();
+    appendTo(text);
+    return text.toString();
+  }
 
-    String locationString;
-    if (this.location == null) {
-      locationString = "N/A";
-    } else {
-      locationString = this.location.toString();
-    }
+  /**
+   * Appends the text of {@link #toString()} to the given text, without making a string for it
+   * first, for printing many events quickly.
+   *
+   * @param text the text to append to.
+   */
+  public void appendTo(StringBuilder text) {
+    text.append("• [Subject: ").append(subject).append(", Start: ");
+    appendDateTime(text, startDateTime);
+    text.append(", End: ");
+    appendDateTime(text, endDateTime);
+    text.append(", Description: ").append(description == null ? "N/A" : description)
+            .append(", Location: ").append(location == null ? "N/A" : location.toString())
+            .append(", Status: ").append(status == null ? "N/A" : status.toString())
+            .append(']');
+  }
 
-    String statusString;
-    if (this.status == null) {
-      statusString = "N/A";
-    } else {
-      statusString = this.status.toString();
+  // Appends the same text as LocalDateTime.toString, without making a string for it
+  private static void appendDateTime(StringBuilder text, LocalDateTime dateTime) {
+    if (dateTime.getYear() < 0 || dateTime.getYear() > 9999 || dateTime.getNano() != 0) {
+      text.append(dateTime); // rare enough to leave to LocalDateTime itself
+      return;
+    }
+    appendDigits(text, dateTime.getYear(), 4);
+    text.append('-');
+    appendDigits(text, dateTime.getMonthValue(), 2);
+    text.append('-');
+    appendDigits(text, dateTime.getDayOfMonth(), 2);
+    text.append('T');
+    appendDigits(text, dateTime.getHour(), 2);
+    text.append(':');
+    appendDigits(text, dateTime.getMinute(), 2);
+    if (dateTime.getSecond() != 0) {
+      text.append(':');
+      appendDigits(text, dateTime.getSecond(), 2);
     }
+  }
 
-    return String.format("• [Subject: %s, Start: %s, End: %s, Description: %s, Location: %s,"
-            + " Status: %s]", subject, startDateTime.toString(), endDateTime.toString(),
-            description, locationString, statusString);
+  private static void appendDigits(StringBuilder text, int value, int count) {
+    for (int divisor = count == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+      text.append((char) ('0' + value / divisor % 10));
+    }
   }
 
   /**
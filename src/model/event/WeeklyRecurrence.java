@@ -0,0 +1,219 @@
+package model.event;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A recurrence rule that repeats on a fixed set of days of the week, starting from a first date
+ * and either ending after a number of occurrences or never ending. Occurrence dates are computed
+ * in closed form from a weekday bitmask and the day offsets of one week of occurrences, so no
+ * date ever has to be visited one day at a time.
+ */
+final class WeeklyRecurrence {
+  // The number of occurrences of a rule that never ends
+  private static final long FOREVER = Long.MAX_VALUE;
+
+  private final LocalDate firstDate;
+  private final int dayMask;
+  // Days from the first date to each occurrence in the first week, in order
+  private final int[] offsets;
+  private final long count;
+
+  /**
+   * Constructs a {@code WeeklyRecurrence} that starts on the first of the given days of the week
+   * on or after {@code startDate}, and has {@code count} occurrences.
+   *
+   * @param startDate the earliest date the rule may start on.
+   * @param days      the days of the week the rule occurs on.
+   * @param count     the number of occurrences.
+   * @throws IllegalArgumentException if no days of the week are given.
+   */
+  WeeklyRecurrence(LocalDate startDate, DayOfWeek[] days, long count)
+          throws IllegalArgumentException {
+    this(startDate, maskOf(days), count);
+  }
+
+  private WeeklyRecurrence(LocalDate startDate, int dayMask, long count)
+          throws IllegalArgumentException {
+    this.dayMask = dayMask;
+    if (dayMask == 0) {
+      throw new IllegalArgumentException(
+              "Event series must occur on at least one day of the week.");
+    }
+
+    int daysUntilFirst = 0;
+    while (!isSelected(startDate.getDayOfWeek().plus(daysUntilFirst))) {
+      daysUntilFirst++;
+    }
+    this.firstDate = startDate.plusDays(daysUntilFirst);
+
+    this.offsets = new int[Integer.bitCount(dayMask)];
+    int found = 0;
+    for (int day = 0; day < 7; day++) {
+      if (isSelected(firstDate.getDayOfWeek().plus(day))) {
+        offsets[found++] = day;
+      }
+    }
+    this.count = count;
+  }
+
+  /**
+   * Creates a {@code WeeklyRecurrence} that starts on the first of the given days of the week on
+   * or after {@code startDate}, and occurs on every one of those days up to and including
+   * {@code endDate}.
+   *
+   * @param startDate the earliest date the rule may start on.
+   * @param endDate   the last date the rule may occur on.
+   * @param days      the days of the week the rule occurs on.
+   * @return the new rule.
+   * @throws IllegalArgumentException if no days of the week are given.
+   */
+  static WeeklyRecurrence until(LocalDate startDate, LocalDate endDate, DayOfWeek[] days)
+          throws IllegalArgumentException {
+    WeeklyRecurrence unbounded = forever(startDate, days);
+    return new WeeklyRecurrence(startDate, days, unbounded.countBefore(endDate.plusDays(1)));
+  }
+
+  /**
+   * Creates a {@code WeeklyRecurrence} that starts on the first of the given days of the week on
+   * or after {@code startDate}, and never ends.
+   *
+   * @param startDate the earliest date the rule may start on.
+   * @param days      the days of the week the rule occurs on.
+   * @return the new rule.
+   * @throws IllegalArgumentException if no days of the week are given.
+   */
+  static WeeklyRecurrence forever(LocalDate startDate, DayOfWeek[] days)
+          throws IllegalArgumentException {
+    return new WeeklyRecurrence(startDate, days, FOREVER);
+  }
+
+  /**
+   * Gets the bitmask representing the given days of the week, where bit 0 is Monday.
+   *
+   * @param days the days of the week.
+   * @return the bitmask.
+   */
+  static int maskOf(DayOfWeek[] days) {
+    int mask = 0;
+    for (DayOfWeek day : days) {
+      mask |= 1 << (day.getValue() - 1);
+    }
+    return mask;
+  }
+
+  /**
+   * Gets the date of the first occurrence.
+   *
+   * @return the first date.
+   */
+  LocalDate getFirstDate() {
+    return firstDate;
+  }
+
+  /**
+   * Gets the number of occurrences of this rule.
+   *
+   * @return the number of occurrences, or {@code Long.MAX_VALUE} if the rule never ends.
+   */
+  long size() {
+    return count;
+  }
+
+  /**
+   * Checks whether this rule never ends.
+   *
+   * @return {@code true} if the rule never ends, {@code false} otherwise.
+   */
+  boolean isUnbounded() {
+    return count == FOREVER;
+  }
+
+  /**
+   * Gets the rule made of only the occurrences of this rule that happen strictly before
+   * {@code date}.
+   *
+   * @param date the date to end before.
+   * @return the new rule, which may have no occurrences.
+   */
+  WeeklyRecurrence endingBefore(LocalDate date) {
+    return new WeeklyRecurrence(firstDate, dayMask, countBefore(date));
+  }
+
+  /**
+   * Gets the rule made of only the occurrences of this rule that happen on or after
+   * {@code date}.
+   *
+   * @param date the date to start from.
+   * @return the new rule, which may have no occurrences.
+   */
+  WeeklyRecurrence startingFrom(LocalDate date) {
+    LocalDate startDate = date.isBefore(firstDate) ? firstDate : date;
+    long remaining = isUnbounded() ? FOREVER : count - countBefore(startDate);
+    return new WeeklyRecurrence(startDate, dayMask, remaining);
+  }
+
+  /**
+   * Gets the rule whose every occurrence is {@code days} days after an occurrence of this rule.
+   *
+   * @param days the number of days to move the rule by, which may be negative.
+   * @return the new rule.
+   */
+  WeeklyRecurrence shiftedBy(long days) {
+    int shift = (int) Math.floorMod(days, 7L);
+    int shiftedMask = ((dayMask << shift) | (dayMask >>> (7 - shift))) & 0x7F;
+    return new WeeklyRecurrence(firstDate.plusDays(days), shiftedMask, count);
+  }
+
+  /**
+   * Gets the date of the occurrence at {@code index}, where the first occurrence is 0.
+   *
+   * @param index the index of the occurrence.
+   * @return the date of that occurrence.
+   * @throws IndexOutOfBoundsException if there is no occurrence at the index.
+   */
+  LocalDate get(long index) throws IndexOutOfBoundsException {
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException("No occurrence at index " + index);
+    }
+    long weeks = index / offsets.length;
+    return firstDate.plusDays(7 * weeks + offsets[(int) (index % offsets.length)]);
+  }
+
+  /**
+   * Gets the number of occurrences that happen strictly before {@code date}.
+   *
+   * @param date the date to count up to.
+   * @return the number of earlier occurrences.
+   */
+  long countBefore(LocalDate date) {
+    long days = ChronoUnit.DAYS.between(firstDate, date);
+    if (days <= 0) {
+      return 0;
+    }
+    long result = days / 7 * offsets.length;
+    long remainder = days % 7;
+    for (int offset : offsets) {
+      if (offset < remainder) {
+        result++;
+      }
+    }
+    return Math.min(result, count);
+  }
+
+  /**
+   * Checks whether this rule has an occurrence on {@code date}.
+   *
+   * @param date the date to check.
+   * @return {@code true} if the rule occurs on the date, {@code false} otherwise.
+   */
+  boolean occursOn(LocalDate date) {
+    return !date.isBefore(firstDate) && isSelected(date.getDayOfWeek())
+            && countBefore(date) < count;
+  }
+
+  private boolean isSelected(DayOfWeek day) {
+    return (dayMask & (1 << (day.getValue() - 1))) != 0;
+  }
+}
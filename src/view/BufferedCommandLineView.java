@@ -0,0 +1,116 @@
+package view;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import model.event.ReadOnlyCalendarEvent;
+import model.event.SingleEvent;
+import model.event.comparators.StartDateTimeComparator;
+
+/**
+ * A command line view built for printing many events quickly, such as when running a large
+ * headless script. It prints exactly what {@code CommandLineView} prints, but it writes each
+ * event straight into one reusable buffer instead of formatting a new string for it, and only
+ * sends its output on once a large block has built up, or when it is flushed. Output therefore
+ * appears late, so this view suits scripts better than interactive use.
+ */
+public class BufferedCommandLineView implements IView {
+  private static final int BLOCK_SIZE = 1 << 16;
+  private static final Comparator<ReadOnlyCalendarEvent> START_ORDER =
+          new StartDateTimeComparator();
+
+  private final Writer out;
+  private final StringBuilder pending;
+  private final char[] block;
+
+  /**
+   * Constructs the {@code BufferedCommandLineView} object.
+   *
+   * @param out the stream to write output to, in the platform's default encoding.
+   */
+  public BufferedCommandLineView(OutputStream out) {
+    this.out = new OutputStreamWriter(new BufferedOutputStream(out, BLOCK_SIZE),
+            Charset.defaultCharset());
+    this.pending = new StringBuilder(BLOCK_SIZE + 256);
+    this.block = new char[BLOCK_SIZE + 256];
+  }
+
+  @Override
+  public void writeMessage(String message) {
+    pending.append(message).append('\n');
+    writeIfFull();
+  }
+
+  @Override
+  public void showEvents(List<ReadOnlyCalendarEvent> events) {
+    if (!isSorted(events)) {
+      events.sort(START_ORDER);
+    }
+    for (ReadOnlyCalendarEvent event : events) {
+      appendEvent(event);
+    }
+  }
+
+  @Override
+  public void showEvents(Iterator<? extends ReadOnlyCalendarEvent> events) {
+    while (events.hasNext()) {
+      appendEvent(events.next());
+    }
+  }
+
+  @Override
+  public void flush() {
+    write();
+    try {
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static boolean isSorted(List<ReadOnlyCalendarEvent> events) {
+    for (int i = 1; i < events.size(); i++) {
+      if (START_ORDER.compare(events.get(i - 1), events.get(i)) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Writes the same text as the event's toString, followed by a new line
+  private void appendEvent(ReadOnlyCalendarEvent event) {
+    if (event instanceof SingleEvent) {
+      ((SingleEvent) event).appendTo(pending);
+    } else {
+      pending.append(event); // such as a series, which prints all of its events
+    }
+    pending.append('\n');
+    writeIfFull();
+  }
+
+  private void writeIfFull() {
+    if (pending.length() >= BLOCK_SIZE) {
+      write();
+    }
+  }
+
+  private void write() {
+    int length = pending.length();
+    char[] chars = length <= block.length ? block : new char[length];
+    pending.getChars(0, length, chars, 0);
+    pending.setLength(0);
+    try {
+      out.write(chars, 0, length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
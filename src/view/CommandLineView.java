@@ -1,6 +1,7 @@
 package view;
 
 import java.io.PrintStream;
+import java.util.Iterator;
 import java.util.List;
 
 import model.event.ReadOnlyCalendarEvent;
@@ -34,4 +35,11 @@ public class CommandLineView implements IView {
     }
   }
 
+  @Override
+  public void showEvents(Iterator<? extends ReadOnlyCalendarEvent> events) {
+    while (events.hasNext()) {
+      out.printf("%s\n", events.next().toString());
+    }
+  }
+
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.ZoneId;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -104,6 +105,16 @@ public class GUIView extends JFrame implements IGUIView {
     this.setVisible(true);
   }
 
+  @Override
+  public void showEvents(Iterator<? extends ReadOnlyCalendarEvent> events) {
+    // Only the events that fit in the list are ever read
+    List<ReadOnlyCalendarEvent> shown = new LinkedList<>();
+    while (shown.size() < MAX_EVENT_LIST_SIZE && events.hasNext()) {
+      shown.add(events.next());
+    }
+    showEvents(shown);
+  }
+
   @Override
   public void showEvents(List<ReadOnlyCalendarEvent> events) {
     JPanel centerPanel = new JPanel();
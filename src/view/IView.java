@@ -1,5 +1,6 @@
 package view;
 
+import java.util.Iterator;
 import java.util.List;
 
 import model.event.ReadOnlyCalendarEvent;
@@ -21,4 +22,19 @@ public interface IView {
    * @param events the list of events to display
    */
   void showEvents(List<ReadOnlyCalendarEvent> events);
+
+  /**
+   * Displays events as they are read from an iterator, which must already give them in order
+   * starting from the earliest start date/time.
+   *
+   * @param events the iterator over the events to display
+   */
+  void showEvents(Iterator<? extends ReadOnlyCalendarEvent> events);
+
+  /**
+   * Sends on any output the view has held back. Views that show everything at once have
+   * nothing to send.
+   */
+  default void flush() {
+  }
 }
@@ -11,10 +11,13 @@ import model.event.CalendarEvent;
 import model.event.EventSeries;
 import model.event.ISingleEvent;
 import model.event.Location;
+import model.event.RecurringEventSeries;
 import model.event.SingleEvent;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the correctness of the {@code BetterCalendar} class.
@@ -159,4 +162,85 @@ public class BetterCalendarTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testMakeCalWithNewTimeZoneFollowsDaylightSavingForNeverEndingSeries() {
+    IBetterCalendar firstCal = new BetterCalendar(timeZone1);
+    firstCal.addEvent(new RecurringEventSeries(new SingleEvent.Builder("Evening Call",
+            LocalDateTime.of(2024, 1, 2, 20, 0),
+            LocalDateTime.of(2024, 1, 2, 21, 0)).build(), DayOfWeek.TUESDAY));
+
+    IBetterCalendar tokyoCal = firstCal.makeCalWithNewTimeZone("Asia/Tokyo");
+    List<ISingleEvent> winter = tokyoCal.query(LocalDateTime.of(2024, 1, 3, 0, 0),
+            LocalDateTime.of(2024, 1, 3, 23, 59));
+    List<ISingleEvent> summer = tokyoCal.query(LocalDateTime.of(2024, 7, 3, 0, 0),
+            LocalDateTime.of(2024, 7, 3, 23, 59));
+
+    assertEquals(LocalDateTime.of(2024, 1, 3, 10, 0), winter.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2024, 7, 3, 9, 0), summer.get(0).getStartDateTime());
+  }
+
+  @Test
+  public void testMakeCalWithNewTimeZoneConvertsChanges() {
+    IBetterCalendar firstCal = new BetterCalendar(timeZone1);
+    IBetterCalendar parisCal = firstCal.makeCalWithNewTimeZone(timeZone2);
+    parisCal.addEvent(new SingleEvent.Builder("Dinner", LocalDateTime.of(2023, 5, 15, 20, 0),
+            LocalDateTime.of(2023, 5, 15, 21, 0)).build());
+    parisCal.editEvent("subject", "Dinner", LocalDateTime.of(2023, 5, 15, 20, 0),
+            LocalDateTime.of(2023, 5, 15, 21, 0), "Late Dinner");
+
+    IBetterCalendar backCal = parisCal.makeCalWithNewTimeZone(timeZone1);
+    ISingleEvent event = backCal.getSingleEventWithStartAndEndDate("Late Dinner",
+            LocalDateTime.of(2023, 5, 15, 14, 0), LocalDateTime.of(2023, 5, 15, 15, 0));
+    assertNotNull(event);
+    assertTrue(parisCal.containsTime(LocalDateTime.of(2023, 5, 15, 20, 30)));
+    assertFalse(parisCal.containsTime(LocalDateTime.of(2023, 5, 15, 14, 30)));
+  }
+
+  // In New York, where the events are stored, 04:00 in London is the evening before
+  private IBetterCalendar londonCalendarWithEarlySeries() {
+    IBetterCalendar londonCal = new BetterCalendar(timeZone1)
+            .makeCalWithNewTimeZone("Europe/London");
+    londonCal.addEvent(new EventSeries(new SingleEvent.Builder("Early",
+            LocalDateTime.of(2025, 6, 2, 6, 0), LocalDateTime.of(2025, 6, 2, 7, 0)).build(), 4,
+            DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY));
+    return londonCal;
+  }
+
+  @Test
+  public void testEditEventsAcrossMidnightOfStoredTimeZone() {
+    IBetterCalendar londonCal = londonCalendarWithEarlySeries();
+    londonCal.editEvents("start", "Early", LocalDateTime.of(2025, 6, 4, 6, 0), "events",
+            "2025-06-04T04:00");
+
+    List<ISingleEvent> events = londonCal.query(LocalDateTime.of(2025, 6, 2, 0, 0),
+            LocalDateTime.of(2025, 6, 12, 0, 0));
+    assertEquals(4, events.size());
+    assertEquals(LocalDateTime.of(2025, 6, 2, 6, 0), events.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 4, 4, 0), events.get(1).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 4, 5, 0), events.get(1).getEndDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 11, 4, 0), events.get(3).getStartDateTime());
+    assertNotNull(londonCal.isInSeries(events.get(3)));
+  }
+
+  @Test
+  public void testEditSeriesAndEventAcrossMidnightOfStoredTimeZone() {
+    IBetterCalendar londonCal = londonCalendarWithEarlySeries();
+    londonCal.editEvents("start", "Early", LocalDateTime.of(2025, 6, 2, 6, 0), "series",
+            "2025-06-02T04:30");
+    List<ISingleEvent> events = londonCal.query(LocalDateTime.of(2025, 6, 2, 0, 0),
+            LocalDateTime.of(2025, 6, 12, 0, 0));
+    assertEquals(4, events.size());
+    for (ISingleEvent event : events) {
+      assertEquals(4, event.getStartDateTime().getHour());
+      assertEquals(30, event.getStartDateTime().getMinute());
+    }
+
+    londonCal.editEvent("end", "Early", LocalDateTime.of(2025, 6, 9, 4, 30),
+            LocalDateTime.of(2025, 6, 9, 5, 30), "2025-06-09T06:00");
+    assertNotNull(londonCal.getSingleEventWithStartAndEndDate("Early",
+            LocalDateTime.of(2025, 6, 9, 4, 30), LocalDateTime.of(2025, 6, 9, 6, 0)));
+    assertEquals(4, londonCal.query(LocalDateTime.of(2025, 6, 2, 0, 0),
+            LocalDateTime.of(2025, 6, 12, 0, 0)).size());
+  }
+
+}
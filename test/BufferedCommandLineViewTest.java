@@ -0,0 +1,98 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.event.EventSeries;
+import model.event.Location;
+import model.event.ReadOnlyCalendarEvent;
+import model.event.SingleEvent;
+import model.event.Status;
+import view.BufferedCommandLineView;
+import view.CommandLineView;
+import view.IView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@code BufferedCommandLineView} prints exactly what {@code CommandLineView}
+ * prints.
+ */
+public class BufferedCommandLineViewTest {
+  private ByteArrayOutputStream bufferedOutput;
+  private ByteArrayOutputStream plainOutput;
+  private IView bufferedView;
+  private IView plainView;
+  private List<ReadOnlyCalendarEvent> events;
+
+  @Before
+  public void setUp() {
+    bufferedOutput = new ByteArrayOutputStream();
+    plainOutput = new ByteArrayOutputStream();
+    bufferedView = new BufferedCommandLineView(bufferedOutput);
+    plainView = new CommandLineView(new PrintStream(plainOutput));
+
+    events = new ArrayList<>();
+    events.add(new SingleEvent.Builder("Lunch", LocalDateTime.of(2025, 5, 5, 12, 0, 30),
+            LocalDateTime.of(2025, 5, 5, 13, 0)).description("With the team")
+            .location(Location.PHYSICAL).status(Status.PRIVATE).build());
+    events.add(new SingleEvent.Builder("Meeting", LocalDateTime.of(2025, 5, 5, 9, 0),
+            LocalDateTime.of(2025, 5, 5, 10, 0)).build());
+    events.add(new EventSeries(new SingleEvent.Builder("Standup",
+            LocalDateTime.of(2025, 6, 2, 8, 0), LocalDateTime.of(2025, 6, 2, 8, 15)).build(),
+            2, DayOfWeek.MONDAY));
+  }
+
+  @Test
+  public void testHoldsOutputUntilFlushed() {
+    bufferedView.writeMessage("Test output");
+    assertEquals("", bufferedOutput.toString());
+
+    bufferedView.flush();
+    assertEquals("Test output\n", bufferedOutput.toString());
+  }
+
+  @Test
+  public void testShowsEventsLikeCommandLineView() {
+    bufferedView.writeMessage("All events:");
+    bufferedView.showEvents(new ArrayList<>(events));
+    bufferedView.flush();
+    plainView.writeMessage("All events:");
+    plainView.showEvents(new ArrayList<>(events));
+
+    assertEquals(plainOutput.toString(), bufferedOutput.toString());
+  }
+
+  @Test
+  public void testShowsEventsFromIteratorLikeCommandLineView() {
+    List<ReadOnlyCalendarEvent> singleEvents = events.subList(0, 2);
+    bufferedView.showEvents(singleEvents.iterator());
+    bufferedView.flush();
+    plainView.showEvents(singleEvents.iterator());
+
+    assertEquals(plainOutput.toString(), bufferedOutput.toString());
+  }
+
+  @Test
+  public void testWritesLargeOutputInBlocks() {
+    List<ReadOnlyCalendarEvent> manyEvents = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(i);
+      manyEvents.add(new SingleEvent.Builder("Event " + i, start, start.plusMinutes(30))
+              .build());
+    }
+    bufferedView.showEvents(new ArrayList<>(manyEvents));
+    int beforeFlush = bufferedOutput.size();
+    bufferedView.flush();
+    plainView.showEvents(new ArrayList<>(manyEvents));
+
+    assertTrue(beforeFlush > 0 && beforeFlush < bufferedOutput.size());
+    assertEquals(plainOutput.toString(), bufferedOutput.toString());
+  }
+}
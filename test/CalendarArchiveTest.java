@@ -0,0 +1,152 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import model.application.CalendarManager;
+import model.calendar.CalendarArchive;
+import model.calendar.IBetterCalendar;
+import model.calendar.ICalendar;
+import model.event.ISingleEvent;
+import model.event.Location;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+import model.event.Status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@code CalendarArchive} answers queries the same way as the calendar it was
+ * written from.
+ */
+public class CalendarArchiveTest {
+  private static final LocalDateTime START = LocalDateTime.of(2020, 1, 6, 9, 0);
+
+  private Path file;
+  private IBetterCalendar calendar;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendar", ".archive");
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", "UTC");
+    calendar = manager.getCalendar("Work");
+
+    for (int day = 0; day < 200; day++) {
+      LocalDateTime start = START.plusDays(day);
+      calendar.addEvent(new SingleEvent.Builder("Standup", start, start.plusMinutes(15))
+              .description(day % 2 == 0 ? "Daily" : null).location(Location.ONLINE).build());
+      calendar.addEvent(new SingleEvent.Builder("Focus", start, start.plusHours(2))
+              .status(Status.PRIVATE).build());
+    }
+    // A long event early on that contains times well after many shorter events have ended
+    calendar.addEvent(new SingleEvent.Builder("Sabbatical", START.minusDays(1),
+            START.plusDays(100)).build());
+    calendar.addEvent(new RecurringEventSeries(new SingleEvent.Builder("Gym",
+            START.plusHours(9), START.plusHours(10)).build(), LocalDate.of(2020, 6, 1),
+            DayOfWeek.MONDAY, DayOfWeek.THURSDAY));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private CalendarArchive archive() throws IOException {
+    CalendarArchive.write(calendar, START.minusYears(1), START.plusYears(1), file);
+    return CalendarArchive.open(file);
+  }
+
+  @Test
+  public void testQueriesMatchCalendar() throws IOException {
+    CalendarArchive archive = archive();
+    assertEquals(calendar.query(START.minusYears(1), START.plusYears(1)).size(), archive.size());
+    assertEquals(calendar.query(START.plusDays(10), START.plusDays(40)).toString(),
+            archive.query(START.plusDays(10), START.plusDays(40)).toString());
+    assertEquals(calendar.query(START.minusDays(1), START.plusDays(3)).toString(),
+            archive.query(START.minusDays(1), START.plusDays(3)).toString());
+    assertEquals(calendar.queryNext(START.plusDays(50).plusMinutes(1), 7).toString(),
+            archive.queryNext(START.plusDays(50).plusMinutes(1), 7).toString());
+    assertEquals(0, archive.query(START.plusYears(2), START.plusYears(3)).size());
+  }
+
+  @Test
+  public void testContainsTimeMatchesCalendar() throws IOException {
+    CalendarArchive archive = archive();
+    for (int hour = -48; hour < 24 * 210; hour += 5) {
+      LocalDateTime time = START.plusHours(hour).plusMinutes(7);
+      assertEquals(time.toString(), calendar.containsTime(time), archive.containsTime(time));
+    }
+    assertTrue(archive.containsTime(START.plusDays(99).plusHours(23)));
+    assertFalse(archive.containsTime(START.plusDays(150).plusHours(23)));
+    assertFalse(archive.containsTime(START.minusDays(2)));
+  }
+
+  @Test
+  public void testQueryIteratorResumesAfterEvent() throws IOException {
+    CalendarArchive archive = archive();
+    LocalDateTime from = START.plusDays(5);
+    LocalDateTime to = START.plusDays(9);
+    List<ISingleEvent> expected = archive.query(from, to);
+
+    List<ISingleEvent> paged = new ArrayList<>();
+    ISingleEvent last = null;
+    do {
+      Iterator<ISingleEvent> page = archive.queryIterator(from, to, last);
+      for (int i = 0; i < 3 && page.hasNext(); i++) {
+        paged.add(page.next());
+      }
+      last = paged.isEmpty() ? null : paged.get(paged.size() - 1);
+    } while (paged.size() < expected.size());
+    assertEquals(expected.toString(), paged.toString());
+    assertFalse(archive.queryIterator(from, to, last).hasNext());
+  }
+
+  @Test
+  public void testFindsEventsBySubjectAndStart() throws IOException {
+    ICalendar archive = archive();
+    LocalDateTime start = START.plusDays(4);
+    ISingleEvent focus = archive.getSingleEventWithStartAndEndDate("Focus", start,
+            start.plusHours(2));
+    assertEquals(Status.PRIVATE, focus.getStatus());
+    assertNull(archive.getSingleEventWithStartAndEndDate("Focus", start, start.plusHours(1)));
+    assertEquals("Daily", archive.getSingleEventsWithStartDate("Standup", start).get(0)
+            .getDescription());
+    assertEquals(calendar.getSingleEventsWithStartDate("Gym", START.plusDays(3).plusHours(9))
+            .toString(), archive.getSingleEventsWithStartDate("Gym",
+            START.plusDays(3).plusHours(9)).toString());
+    assertFalse(archive.canAddSingleEvent(focus));
+  }
+
+  @Test
+  public void testCannotBeChanged() throws IOException {
+    ICalendar archive = archive();
+    assertThrows(IllegalArgumentException.class, () -> archive.addEvent(
+            new SingleEvent.Builder("Lunch", START.plusHours(3), START.plusHours(4)).build()));
+    assertThrows(IllegalArgumentException.class, () -> archive.editEvent("subject", "Focus",
+            START, START.plusHours(2), "Deep work"));
+    assertThrows(IllegalArgumentException.class, () -> archive.editEvents("subject", "Gym",
+            START.plusHours(9), "series", "Run"));
+  }
+
+  @Test
+  public void testRejectsFileThatIsNotArchive() throws IOException {
+    Files.write(file, "create calendar --name Work --timezone UTC"
+            .getBytes(StandardCharsets.UTF_8));
+    assertThrows(IllegalArgumentException.class, () -> CalendarArchive.open(file));
+  }
+}
@@ -457,12 +457,12 @@ public class CalendarManagerTest {
     application.getCurrentCalendar().addEvent(event);
 
     // Try copying a non-existent event or wrong start time
-    assertThrows(IndexOutOfBoundsException.class, () -> {
+    assertThrows(IllegalArgumentException.class, () -> {
       application.copyEvent("wrong event", eventStart, targetCalName,
               LocalDateTime.of(2023, 6, 20, 14, 0));
     });
 
-    assertThrows(IndexOutOfBoundsException.class, () -> {
+    assertThrows(IllegalArgumentException.class, () -> {
       application.copyEvent("Meeting", LocalDateTime.of(2023, 5, 15, 11, 0), targetCalName,
               LocalDateTime.of(2023, 6, 20, 14, 0));
     });
@@ -937,4 +937,64 @@ public class CalendarManagerTest {
     assertEquals(DayOfWeek.THURSDAY, reviewSeries.getOccurringDays()[1]);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testSessionsKeepTheirOwnCurrentCalendar() {
+    CalendarManager manager = new CalendarManager(true);
+    manager.createCalendar("Work", "America/New_York");
+    manager.createCalendar("Home", "Europe/Paris");
+    ICalendarManager first = manager.openSession();
+    ICalendarManager second = manager.openSession();
+
+    first.setCalendarInUse("Work");
+    second.setCalendarInUse("Home");
+    assertEquals("Work", first.getCurrentCalendarName());
+    assertEquals("Home", second.getCurrentCalendarName());
+    assertNull(manager.getCurrentCalendarName());
+
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    first.getCurrentCalendar().addEvent(new SingleEvent.Builder("Standup", start,
+            start.plusHours(1)).build());
+    first.copyEvent("Standup", start, "Home", start);
+    assertEquals(1, second.getCurrentCalendar().query(start, start.plusHours(1)).size());
+    assertThrows(IllegalArgumentException.class, () -> second.setCalendarInUse("Gym"));
+  }
+
+  @Test
+  public void testSessionFollowsItsOwnRename() {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", "America/New_York");
+    ICalendarManager session = manager.openSession();
+    session.setCalendarInUse("Work");
+
+    session.editCalendarName("Work", "Office");
+    assertEquals("Office", session.getCurrentCalendarName());
+    assertNotNull(manager.getCalendar("Office"));
+    assertNull(manager.getCalendar("Work"));
+
+    session.editCalendarTimeZone("Office", "Asia/Tokyo");
+    assertEquals("Asia/Tokyo", session.getCurrentCalendar().getZoneId().getId());
+  }
+
+  @Test
+  public void testCopyEventsAddsAllOrNothing() {
+    CalendarManager manager = new CalendarManager(true);
+    manager.createCalendar("Source", "America/New_York");
+    manager.createCalendar("Target", "America/New_York");
+    manager.setCalendarInUse("Source");
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    manager.getCurrentCalendar().addEvent(new SingleEvent.Builder("Standup", start,
+            start.plusHours(1)).build());
+    manager.getCurrentCalendar().addEvent(new SingleEvent.Builder("Review",
+            start.plusDays(1), start.plusDays(1).plusHours(1)).build());
+    manager.getCalendar("Target").addEvent(new SingleEvent.Builder("Review",
+            start.plusDays(8), start.plusDays(8).plusHours(1)).build());
+
+    // The copy of Review clashes with the one already there, so Standup is not copied either
+    assertThrows(IllegalArgumentException.class, () -> manager.copyEvents(start,
+            start.plusDays(2), "Target", start.plusDays(7).toLocalDate()));
+    assertEquals(1, manager.getCalendar("Target").query(start, start.plusDays(9)).size());
+    assertThrows(IllegalArgumentException.class, () -> manager.copyEvents("Missing", start,
+            start.plusDays(2), "Target", start.toLocalDate()));
+  }
+
+}
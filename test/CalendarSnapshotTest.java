@@ -0,0 +1,121 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import model.application.CalendarManager;
+import model.calendar.IBetterCalendar;
+import model.event.EventSeries;
+import model.event.ISingleEvent;
+import model.event.Location;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+import model.event.Status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests that {@code CalendarManager} snapshots load back exactly the calendars they saved.
+ */
+public class CalendarSnapshotTest {
+  private static final LocalDateTime START = LocalDateTime.of(2025, 6, 2, 10, 0);
+  private static final LocalDateTime END = LocalDateTime.of(2025, 6, 2, 11, 0);
+
+  private Path file;
+  private CalendarManager manager;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendars", ".snapshot");
+    manager = new CalendarManager();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private static String eventsOf(IBetterCalendar calendar) {
+    List<ISingleEvent> events = calendar.query(START.minusYears(1), START.plusYears(1));
+    events.sort((e1, e2) -> e1.toString().compareTo(e2.toString()));
+    return events.toString();
+  }
+
+  @Test
+  public void testLoadsSameEvents() throws IOException {
+    manager.createCalendar("Work", "America/New_York");
+    IBetterCalendar work = manager.getCalendar("Work");
+    work.addEvent(new SingleEvent.Builder("Standup", START, END).description("Daily")
+            .location(Location.ONLINE).status(Status.PRIVATE).build());
+    work.addEvent(new SingleEvent.Builder("Offsite", START.plusDays(3),
+            START.plusDays(4).plusSeconds(30).plusNanos(5)).build());
+    work.addEvent(new EventSeries(new SingleEvent.Builder("Review", START.plusHours(3),
+            END.plusHours(3)).build(), 5, DayOfWeek.TUESDAY, DayOfWeek.THURSDAY));
+    work.addEvent(new RecurringEventSeries(new SingleEvent.Builder("Gym", START.plusHours(8),
+            END.plusHours(8)).build(), LocalDate.of(2025, 8, 1), DayOfWeek.MONDAY,
+            DayOfWeek.FRIDAY));
+    work.editEvent("subject", "Gym", START.plusDays(4).plusHours(8), END.plusDays(4).plusHours(8),
+            "Run");
+    work.editEvents("location", "Gym", START.plusDays(14).plusHours(8), "events", "physical");
+
+    manager.createCalendar("Home", "Europe/London");
+    manager.getCalendar("Home").addEvent(new RecurringEventSeries(new SingleEvent.Builder(
+            "Dinner", START.plusHours(9), END.plusHours(9)).build(), DayOfWeek.SUNDAY));
+    manager.editCalendarTimeZone("Home", "Asia/Tokyo");
+    manager.setCalendarInUse("Home");
+
+    manager.writeSnapshot(file);
+    CalendarManager loaded = CalendarManager.readSnapshot(file, false);
+
+    assertEquals("Home", loaded.getCurrentCalendarName());
+    assertEquals("Asia/Tokyo", loaded.getCalendar("Home").getZoneId().getId());
+    assertEquals(eventsOf(manager.getCalendar("Work")), eventsOf(loaded.getCalendar("Work")));
+    assertEquals(eventsOf(manager.getCalendar("Home")), eventsOf(loaded.getCalendar("Home")));
+  }
+
+  @Test
+  public void testLoadedCalendarsCanBeChanged() throws IOException {
+    manager = new CalendarManager(true);
+    manager.createCalendar("Work", "UTC");
+    manager.getCalendar("Work").addEvent(new SingleEvent.Builder("Standup", START, END).build());
+    manager.writeSnapshot(file);
+
+    CalendarManager loaded = CalendarManager.readSnapshot(file, true);
+    assertNull(loaded.getCurrentCalendarName());
+    IBetterCalendar work = loaded.getCalendar("Work");
+    assertThrows(IllegalArgumentException.class, () -> work.addEvent(
+            new SingleEvent.Builder("Standup", START, END).build()));
+    work.editEvent("subject", "Standup", START, END, "Sync");
+    assertEquals(1, work.getSingleEventsWithStartDate("Sync", START).size());
+  }
+
+  @Test
+  public void testRejectsFileThatIsNotSnapshot() throws IOException {
+    Files.write(file, "create calendar --name Work".getBytes(StandardCharsets.UTF_8));
+    assertThrows(IllegalArgumentException.class,
+            () -> CalendarManager.readSnapshot(file, false));
+  }
+
+  @Test
+  public void testRejectsDamagedSnapshot() throws IOException {
+    manager.createCalendar("Work", "UTC");
+    manager.getCalendar("Work").addEvent(new SingleEvent.Builder("Standup", START, END).build());
+    manager.writeSnapshot(file);
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length - 3] ^= 0x40;
+    Files.write(file, bytes);
+
+    assertThrows(IllegalArgumentException.class,
+            () -> CalendarManager.readSnapshot(file, false));
+  }
+}
@@ -4,12 +4,16 @@ import org.junit.Test;
 import java.time.DateTimeException;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import model.calendar.Calendar;
 import model.calendar.ICalendar;
+import model.event.CalendarEvent;
 import model.event.EventSeries;
 import model.event.IEventSeries;
+import model.event.RecurringEventSeries;
 import model.event.ISingleEvent;
 import model.event.SingleEvent;
 import model.event.Location;
@@ -246,6 +250,31 @@ public class CalendarTest {
     assertFalse(events.contains(eventOutside));
   }
 
+  @Test
+  public void testQueryIsSortedByStartThenSubject() {
+    ISingleEvent later = new SingleEvent.Builder("A Later Event",
+            testStart.plusHours(3), testEnd.plusHours(3)).build();
+    ISingleEvent sameStart = new SingleEvent.Builder("A Same Start Event",
+            testStart, testEnd.plusHours(1)).build();
+    calendar.addEvent(later);
+    calendar.addEvent(testSingleEvent);
+    calendar.addEvent(sameStart);
+
+    List<ISingleEvent> events = calendar.query(testStart.minusDays(1), testStart.plusDays(1));
+    assertEquals(List.of(sameStart, testSingleEvent, later), events);
+  }
+
+  @Test
+  public void testQueryExcludesEventStartingInRangeButEndingAfter() {
+    ISingleEvent longEvent = new SingleEvent.Builder("Long Event",
+            testStart, testStart.plusDays(3)).build();
+    calendar.addEvent(longEvent);
+    calendar.addEvent(testSingleEvent);
+
+    List<ISingleEvent> events = calendar.query(testStart, testEnd.plusHours(1));
+    assertEquals(List.of(testSingleEvent), events);
+  }
+
   @Test
   public void testQueryWithRangeStartEqualsEventEnd() {
     calendar.addEvent(testSingleEvent);
@@ -520,6 +549,32 @@ public class CalendarTest {
     assertTrue(calendar.containsTime(eventEnd.minusSeconds(1)));
   }
 
+  @Test
+  public void testContainsTimeInsideLongEventAmongShortOnes() {
+    ISingleEvent longEvent = new SingleEvent.Builder("Conference",
+            LocalDateTime.of(2023, 10, 1, 9, 0),
+            LocalDateTime.of(2023, 10, 20, 17, 0)).build();
+    calendar.addEvent(longEvent);
+    for (int i = 0; i < 30; i++) {
+      calendar.addEvent(new SingleEvent.Builder("Standup " + i,
+              LocalDateTime.of(2023, 9, 1, 9, 0).plusDays(i * 2),
+              LocalDateTime.of(2023, 9, 1, 9, 15).plusDays(i * 2)).build());
+    }
+
+    assertTrue(calendar.containsTime(LocalDateTime.of(2023, 10, 19, 23, 0)));
+    assertFalse(calendar.containsTime(LocalDateTime.of(2023, 10, 21, 0, 0)));
+  }
+
+  @Test
+  public void testContainsTimeAfterEventIsEdited() {
+    calendar.addEvent(testSingleEvent);
+    calendar.editEvent("start", "Test Event", testStart, testEnd,
+            testStart.plusDays(1).toString());
+
+    assertFalse(calendar.containsTime(testStart.plusMinutes(30)));
+    assertTrue(calendar.containsTime(testStart.plusDays(1).plusMinutes(30)));
+  }
+
   @Test
   public void testCanAddSingleEventNoExistingEvents() {
     ISingleEvent newEvent = new SingleEvent.Builder("Meeting",
@@ -588,6 +643,54 @@ public class CalendarTest {
     assertFalse(calendar.canAddSingleEvent(newEvent));
   }
 
+  @Test
+  public void testCanAddSingleEventAfterMatchingEventIsEdited() {
+    calendar.addEvent(testEventSeries);
+    ISingleEvent secondEvent = testEventSeries.getEvents().get(1);
+    calendar.editEvent("subject", secondEvent.getSubject(), secondEvent.getStartDateTime(),
+            secondEvent.getEndDateTime(), "Renamed Event");
+
+    assertTrue(calendar.canAddSingleEvent(secondEvent));
+    assertFalse(calendar.canAddSingleEvent(secondEvent.createNewEventWithSubject("Renamed Event")));
+  }
+
+  @Test
+  public void testCannotAddOverlappingSeries() {
+    calendar.addEvent(testEventSeries);
+    ISingleEvent laterEvent = testEventSeries.getEvents().get(3);
+    IEventSeries overlapping = new EventSeries(laterEvent, 3, DayOfWeek.SUNDAY);
+
+    assertThrows(IllegalArgumentException.class, () -> calendar.addEvent(overlapping));
+    assertEquals(5, calendar.query(testStart, testStart.plusWeeks(10)).size());
+  }
+
+  @Test
+  public void testIsInSeriesFindsOwningSeries() {
+    calendar.addEvent(testSingleEvent.createNewEventWithSubject("Lone Event"));
+    calendar.addEvent(testEventSeries);
+    ISingleEvent fourthEvent = testEventSeries.getEvents().get(3);
+    ISingleEvent equalEvent = new SingleEvent.Builder(fourthEvent.getSubject(),
+            fourthEvent.getStartDateTime(), fourthEvent.getEndDateTime()).build();
+
+    assertEquals(testEventSeries, calendar.isInSeries(equalEvent));
+    assertNull(calendar.isInSeries(testSingleEvent.createNewEventWithSubject("Lone Event")));
+  }
+
+  @Test
+  public void testIsInSeriesAfterOccurrenceLeavesSeries() {
+    calendar.addEvent(testEventSeries);
+    ISingleEvent secondEvent = testEventSeries.getEvents().get(1);
+    calendar.editEvent("start", secondEvent.getSubject(), secondEvent.getStartDateTime(),
+            secondEvent.getEndDateTime(), secondEvent.getStartDateTime().plusHours(2).toString());
+
+    assertNull(calendar.isInSeries(secondEvent.createNewEventWithNewStartDate(
+            secondEvent.getStartDateTime().plusHours(2))));
+    IEventSeries remaining = calendar.isInSeries(testEventSeries.getEvents().get(0));
+    assertNotNull(remaining);
+    assertEquals(remaining, calendar.isInSeries(testEventSeries.getEvents().get(4)));
+    assertEquals(4, remaining.getEvents().size());
+  }
+
   @Test
   public void testGetSingleEventWithStartDateNoMatches() {
     List<ISingleEvent> result = calendar.getSingleEventsWithStartDate("Test Event", testStart);
@@ -661,6 +764,23 @@ public class CalendarTest {
     assertTrue(result.isEmpty());
   }
 
+  @Test
+  public void testGetSingleEventWithStartDateAfterSeriesSubjectEdit() {
+    calendar.addEvent(testEventSeries);
+    ISingleEvent thirdEvent = testEventSeries.getEvents().get(2);
+    calendar.editEvents("subject", thirdEvent.getSubject(), thirdEvent.getStartDateTime(),
+            "series", "Renamed Series");
+
+    assertTrue(calendar.getSingleEventsWithStartDate(thirdEvent.getSubject(),
+            thirdEvent.getStartDateTime()).isEmpty());
+    List<ISingleEvent> result = calendar.getSingleEventsWithStartDate("Renamed Series",
+            thirdEvent.getStartDateTime());
+    assertEquals(1, result.size());
+    assertEquals(thirdEvent.getEndDateTime(), result.get(0).getEndDateTime());
+    assertEquals(result.get(0), calendar.getSingleEventWithStartAndEndDate("Renamed Series",
+            thirdEvent.getStartDateTime(), thirdEvent.getEndDateTime()));
+  }
+
   @Test
   public void testEditSingleEventSubject() {
     ISingleEvent event = new SingleEvent.Builder("Original Subject", testStart, testEnd)
@@ -1597,4 +1717,187 @@ public class CalendarTest {
                     "events", "New Value"));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testQueryNeverEndingSeriesOnlyReturnsWindow() {
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent, DayOfWeek.SUNDAY));
+    LocalDateTime farAway = LocalDateTime.of(2523, 10, 1, 0, 0);
+
+    List<ISingleEvent> events = calendar.query(farAway, farAway.plusWeeks(2));
+    assertEquals(2, events.size());
+    assertEquals(LocalDateTime.of(2523, 10, 3, 10, 0), events.get(0).getStartDateTime());
+    assertTrue(calendar.containsTime(LocalDateTime.of(2523, 10, 10, 10, 30)));
+    assertFalse(calendar.containsTime(LocalDateTime.of(2523, 10, 11, 10, 30)));
+  }
+
+  @Test
+  public void testCannotAddEventAlreadyInNeverEndingSeries() {
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent, DayOfWeek.SUNDAY));
+    ISingleEvent later = testSingleEvent.createNewEventWithNewStartDateAndEndDate(
+            testStart.plusWeeks(1000), testEnd.plusWeeks(1000));
+
+    assertFalse(calendar.canAddSingleEvent(later));
+    assertThrows(IllegalArgumentException.class, () -> calendar.addEvent(later));
+    assertThrows(IllegalArgumentException.class, () -> calendar.addEvent(
+            new RecurringEventSeries(later, DayOfWeek.SUNDAY, DayOfWeek.MONDAY)));
+    assertThrows(IllegalArgumentException.class, () -> calendar.addEvent(
+            new RecurringEventSeries(later, 3, DayOfWeek.SUNDAY)));
+  }
+
+  @Test
+  public void testCannotAddNeverEndingSeriesOverExistingEvent() {
+    ISingleEvent later = testSingleEvent.createNewEventWithNewStartDateAndEndDate(
+            testStart.plusWeeks(1000), testEnd.plusWeeks(1000));
+    calendar.addEvent(later);
+
+    assertThrows(IllegalArgumentException.class, () -> calendar.addEvent(
+            new RecurringEventSeries(testSingleEvent, DayOfWeek.SUNDAY)));
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent, DayOfWeek.MONDAY));
+    assertEquals(1, calendar.query(later.getStartDateTime(), later.getEndDateTime()).size());
+  }
+
+  @Test
+  public void testEditNeverEndingSeriesStartTimeFromOneEvent() {
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent, DayOfWeek.SUNDAY));
+    calendar.editEvents("start", "Test Event", testStart.plusWeeks(2), "events",
+            testStart.plusWeeks(2).plusHours(1).toString());
+
+    List<ISingleEvent> events = calendar.query(testStart, testStart.plusWeeks(200));
+    assertEquals(testStart.plusWeeks(1), events.get(1).getStartDateTime());
+    assertEquals(testStart.plusWeeks(2).plusHours(1), events.get(2).getStartDateTime());
+    assertEquals(testEnd.plusWeeks(150).plusHours(1), events.get(150).getEndDateTime());
+    assertNotNull(calendar.isInSeries(events.get(0)));
+    assertNotEquals(calendar.isInSeries(events.get(0)), calendar.isInSeries(events.get(2)));
+  }
+
+  @Test
+  public void testEditNeverEndingSeriesStartToAnotherDay() {
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent, DayOfWeek.SUNDAY));
+    calendar.editEvents("start", "Test Event", testStart.plusWeeks(2), "events",
+            testStart.plusWeeks(2).plusDays(1).toString());
+
+    // Monday is not in the series, so the moved events start on the following Sunday
+    List<ISingleEvent> events = calendar.query(testStart, testStart.plusWeeks(4));
+    assertEquals(3, events.size());
+    assertEquals(testStart.plusWeeks(1), events.get(1).getStartDateTime());
+    assertEquals(testStart.plusWeeks(3), events.get(2).getStartDateTime());
+    assertNotEquals(calendar.isInSeries(events.get(1)), calendar.isInSeries(events.get(2)));
+  }
+
+  @Test
+  public void testQueryNextReturnsFirstEventsFromStart() {
+    calendar.addEvent(testEventSeries);
+    calendar.addEvent(new SingleEvent.Builder("Lunch", testStart.plusDays(8),
+            testEnd.plusDays(8)).build());
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent.createNewEventWithSubject(
+            "Standup"), DayOfWeek.MONDAY));
+
+    List<ISingleEvent> events = calendar.queryNext(testStart.plusDays(1), 4);
+    assertEquals(4, events.size());
+    assertEquals("Standup", events.get(0).getSubject());
+    assertEquals(testStart.plusDays(1), events.get(0).getStartDateTime());
+    assertEquals("Test Event", events.get(1).getSubject());
+    assertEquals(testStart.plusWeeks(1), events.get(1).getStartDateTime());
+    // Both start at the same time, so they are ordered by subject
+    assertEquals("Lunch", events.get(2).getSubject());
+    assertEquals("Standup", events.get(3).getSubject());
+  }
+
+  @Test
+  public void testQueryNextMatchesQueryToTheEnd() {
+    calendar.addEvent(testEventSeries);
+    calendar.addEvent(testSingleEvent.createNewEventWithSubject("Other"));
+
+    assertEquals(calendar.query(testStart, LocalDateTime.MAX),
+            calendar.queryNext(testStart, 100));
+    assertEquals(calendar.query(testStart, LocalDateTime.MAX).subList(0, 3),
+            calendar.queryNext(testStart, 3));
+    assertTrue(calendar.queryNext(testStart, 0).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> calendar.queryNext(testStart, -1));
+  }
+
+  @Test
+  public void testQueryIteratorMatchesQuery() {
+    calendar.addEvent(testEventSeries);
+    calendar.addEvent(new SingleEvent.Builder("Lunch", testStart.plusDays(8),
+            testEnd.plusDays(8)).build());
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent.createNewEventWithSubject(
+            "Standup"), DayOfWeek.MONDAY));
+
+    LocalDateTime end = testStart.plusWeeks(3);
+    List<ISingleEvent> iterated = new ArrayList<>();
+    calendar.queryIterator(testStart, end).forEachRemaining(iterated::add);
+    assertEquals(calendar.query(testStart, end), iterated);
+    assertThrows(IllegalArgumentException.class,
+            () -> calendar.queryIterator(end, testStart));
+  }
+
+  @Test
+  public void testQueryIteratorResumesAfterEvent() {
+    calendar.addEvent(testEventSeries);
+    calendar.addEvent(new RecurringEventSeries(testSingleEvent.createNewEventWithSubject(
+            "Standup"), DayOfWeek.MONDAY));
+    List<ISingleEvent> all = calendar.query(testStart, testStart.plusWeeks(5));
+
+    List<ISingleEvent> rest = new ArrayList<>();
+    calendar.queryIterator(testStart, testStart.plusWeeks(5), all.get(3))
+            .forEachRemaining(rest::add);
+    assertEquals(all.subList(4, all.size()), rest);
+  }
+
+  @Test
+  public void testQueryIteratorReadsSnapshot() {
+    calendar.addEvent(testEventSeries);
+    Iterator<ISingleEvent> events = calendar.queryIterator(testStart, LocalDateTime.MAX);
+    calendar.addEvent(testSingleEvent.createNewEventWithSubject("Later"));
+
+    int count = 0;
+    while (events.hasNext()) {
+      assertEquals("Test Event", events.next().getSubject());
+      count++;
+    }
+    assertEquals(5, count);
+  }
+
+  @Test
+  public void testAddEventsAddsWholeBatch() {
+    calendar.addEvent(testSingleEvent);
+    List<CalendarEvent> batch = List.of(testEventSeries.createNewSeriesWithoutEvent(
+            testSingleEvent), testSingleEvent.createNewEventWithSubject("Review"));
+    calendar.addEvents(batch);
+    assertEquals(6, calendar.query(testStart, testStart.plusWeeks(5)).size());
+  }
+
+  @Test
+  public void testAddEventsAddsNothingIfAnyConflict() {
+    calendar.addEvent(testSingleEvent);
+    ISingleEvent review = testSingleEvent.createNewEventWithSubject("Review");
+    assertThrows(IllegalArgumentException.class, () -> calendar.addEvents(
+            List.of(review, testEventSeries)));
+    assertThrows(IllegalArgumentException.class, () -> calendar.addEvents(
+            List.of(review, review)));
+    assertEquals(1, calendar.query(testStart, testStart.plusWeeks(5)).size());
+  }
+
+  @Test
+  public void testEventIteratorReturnsEachSeriesOnce() {
+    calendar.addEvent(testEventSeries);
+    ISingleEvent monday = new SingleEvent.Builder("Review", testStart.plusDays(1),
+            testEnd.plusDays(1)).build();
+    calendar.addEvent(monday);
+    IEventSeries tuesdays = new RecurringEventSeries(new SingleEvent.Builder("Gym",
+            testStart.plusDays(2), testEnd.plusDays(2)).build(), DayOfWeek.TUESDAY);
+    calendar.addEvent(tuesdays);
+
+    List<CalendarEvent> events = new ArrayList<>();
+    calendar.eventIterator(testStart, testStart.plusWeeks(2)).forEachRemaining(events::add);
+    assertEquals(List.of(testEventSeries, monday, tuesdays), events);
+
+    events.clear();
+    calendar.eventIterator(testStart.plusWeeks(5), testStart.plusWeeks(6))
+            .forEachRemaining(events::add);
+    assertEquals(List.of(tuesdays), events);
+    assertFalse(calendar.eventIterator(testStart.plusDays(3), testStart.plusDays(5)).hasNext());
+    assertThrows(IllegalArgumentException.class, () -> calendar.eventIterator(testEnd,
+            testStart));
+  }
+}
@@ -6,6 +6,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import controller.IController;
@@ -14,8 +16,8 @@ import model.application.ICalendarManager;
 import model.calendar.BetterCalendar;
 import model.calendar.IBetterCalendar;
 import model.event.CalendarEvent;
-import model.event.EventSeries;
 import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
 import model.event.ISingleEvent;
 import model.event.ReadOnlyCalendarEvent;
 import model.event.SingleEvent;
@@ -312,6 +314,30 @@ public class CommandLineControllerTest {
     assertEquals(initialOutput + e, log.toString());
   }
 
+  @Test
+  public void testControllerKeepsSpacingInsideQuotes() {
+    Readable command = new StringReader(initialInput
+            + "  create   event \"two  spaced\twords\"   on 2025-03-02  \r\n\n\nexit");
+    controller = new CommandLineController(command, mock, view);
+
+    controller.run();
+    String e = "event added: subject=two  spaced\twords,start=2025-03-02T08:00,"
+            + "end=2025-03-02T17:00\n";
+    assertEquals(initialOutput + e, log.toString());
+  }
+
+  @Test
+  public void testControllerRejectsUnclosedQuote() {
+    Readable command = new StringReader(initialInput
+            + "create event \"never closed on 2025-03-02\nexit");
+    controller = new CommandLineController(command, mock, view);
+
+    controller.run();
+    String e = "Error in 'create event \"never closed on 2025-03-02': Invalid input syntax, "
+            + "missing closing quote!";
+    assertEquals(initialOutput + e, log.toString());
+  }
+
   @Test
   public void testControllerParsesCreatesAllDayRepeatingForEvent() {
     Readable command = new StringReader(initialInput
@@ -1064,8 +1090,8 @@ public class CommandLineControllerTest {
         log.append("event added: subject=").append(event.getSubject())
                 .append(",start=").append(event.getStartDateTime())
                 .append(",end=").append(event.getEndDateTime());
-      } else if (event.getClass() == EventSeries.class) {
-        IEventSeries series = (EventSeries) event; // safe cast b/c we checked above
+      } else if (event instanceof IEventSeries) {
+        IEventSeries series = (IEventSeries) event; // safe cast b/c we checked above
         log.append("series added: subject=").append(series.getSubject())
                 .append(",start=").append(series.getStartDateTime())
                 .append(",end=").append(series.getEndDateTime())
@@ -1075,6 +1101,12 @@ public class CommandLineControllerTest {
       log.append("\n");
     }
 
+    @Override
+    public void addEvents(List<CalendarEvent> events) {
+      log.append("batch added: ").append(events.size()).append("\n");
+      events.forEach(this::addEvent);
+    }
+
     @Override
     public void editEvent(String property, String subject, LocalDateTime startDateTime,
                           LocalDateTime endDateTime, String newValue) {
@@ -1107,6 +1139,29 @@ public class CommandLineControllerTest {
       return List.of(); // we don't care about the return value
     }
 
+    @Override
+    public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end) {
+      return queryIterator(start, end, null);
+    }
+
+    @Override
+    public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                                ReadOnlyCalendarEvent after) {
+      log.append("printed event(s) with: start=").append(start.toString())
+              .append(",end=").append(end.toString());
+      return Collections.emptyIterator(); // we don't care about the return value
+    }
+
+    @Override
+    public Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end) {
+      return Collections.emptyIterator();
+    }
+
+    @Override
+    public List<ISingleEvent> queryNext(LocalDateTime start, int count) {
+      return List.of();
+    }
+
     @Override
     public IEventSeries isInSeries(ISingleEvent original) {
       return null;
@@ -1123,6 +1178,11 @@ public class CommandLineControllerTest {
       return false;
     }
 
+    @Override
+    public boolean canAddRecurringSeries(IRecurringEventSeries newSeries) {
+      return false;
+    }
+
     @Override
     public SingleEvent getSingleEventWithStartAndEndDate(String subject,
                                                          LocalDateTime startDateTime,
@@ -1165,6 +1225,11 @@ public class CommandLineControllerTest {
       // empty because we never use this part of the mock view
     }
 
+    @Override
+    public void showEvents(Iterator<? extends ReadOnlyCalendarEvent> events) {
+      // empty because we never use this part of the mock view
+    }
+
     @Override
     public void writeMessage(String message) {
       log.append(message);
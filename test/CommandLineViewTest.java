@@ -65,4 +65,18 @@ public class CommandLineViewTest {
     assertEquals(expected, outputStream.toString());
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testViewDisplaysEventsFromIterator() {
+    commandLineView.showEvents(List.of(
+            new SingleEvent.Builder("Meeting", LocalDateTime.of(2025, 5, 5, 9, 0, 0),
+                    LocalDateTime.of(2025, 5, 5, 10, 0, 0)).build(),
+            new SingleEvent.Builder("Lunch", LocalDateTime.of(2025, 5, 5, 12, 0, 0),
+                    LocalDateTime.of(2025, 5, 5, 13, 0, 0)).build()).iterator());
+    String expected = "• [Subject: Meeting, Start: 2025-05-05T09:00, End: 2025-05-05T10:00,"
+            + " Description: N/A, Location: N/A, Status: N/A]\n"
+            + "• [Subject: Lunch, Start: 2025-05-05T12:00, End: 2025-05-05T13:00,"
+            + " Description: N/A, Location: N/A, Status: N/A]\n";
+    assertEquals(expected, outputStream.toString());
+  }
+
+}
@@ -0,0 +1,112 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import controller.CommandServer;
+import model.application.CalendarManager;
+import model.application.ICalendarManager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the correctness of the {@code CommandServer} class.
+ */
+public class CommandServerTest {
+  private CommandServer server;
+  private Thread serverThread;
+
+  @Before
+  public void setUp() {
+    server = new CommandServer(0, new CalendarManager(true));
+    serverThread = new Thread(server::run);
+    serverThread.start();
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    server.close();
+    serverThread.join(1000);
+  }
+
+  @Test
+  public void testClientRunsCommands() throws IOException {
+    try (Socket socket = new Socket("localhost", server.getPort());
+         PrintWriter out = new PrintWriter(socket.getOutputStream(), true,
+                 StandardCharsets.UTF_8);
+         BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                 StandardCharsets.UTF_8))) {
+      out.println("create calendar --name Work --timezone America/New_York");
+      out.println("use calendar --name Work");
+      out.println("create event Party from 2025-06-01T15:00 to 2025-06-01T17:00");
+      out.println("show status on 2025-06-01T16:00");
+      assertEquals("Status is busy on 2025-06-01T16:00.", in.readLine());
+      out.println("exit");
+      assertNull(in.readLine());
+    }
+  }
+
+  @Test
+  public void testClientsShareCalendarsButNotCurrentCalendar() throws IOException {
+    try (Socket first = new Socket("localhost", server.getPort());
+         Socket second = new Socket("localhost", server.getPort());
+         PrintWriter firstOut = new PrintWriter(first.getOutputStream(), true,
+                 StandardCharsets.UTF_8);
+         PrintWriter secondOut = new PrintWriter(second.getOutputStream(), true,
+                 StandardCharsets.UTF_8);
+         BufferedReader firstIn = new BufferedReader(new InputStreamReader(
+                 first.getInputStream(), StandardCharsets.UTF_8));
+         BufferedReader secondIn = new BufferedReader(new InputStreamReader(
+                 second.getInputStream(), StandardCharsets.UTF_8))) {
+      firstOut.println("create calendar --name Shared --timezone Europe/Paris");
+      firstOut.println("use calendar --name Shared");
+      firstOut.println("create event Lunch from 2025-06-02T12:00 to 2025-06-02T13:00");
+      firstOut.println("show status on 2025-06-02T12:30");
+      assertEquals("Status is busy on 2025-06-02T12:30.", firstIn.readLine());
+
+      secondOut.println("show status on 2025-06-02T12:30");
+      assertTrue(secondIn.readLine().startsWith("Error in 'show status"));
+      secondOut.println("use calendar --name Shared");
+      secondOut.println("show status on 2025-06-02T12:30");
+      assertEquals("Status is busy on 2025-06-02T12:30.", secondIn.readLine());
+    }
+  }
+
+  @Test
+  public void testUnexpectedFailureEndsConnectionWithError() throws IOException,
+          InterruptedException {
+    tearDown();
+    server = new CommandServer(0, new CalendarManager(true) {
+      @Override
+      public ICalendarManager openSession() {
+        return new CalendarManager() {
+          @Override
+          public void createCalendar(String calendarName, String timeZone) {
+            throw new IllegalStateException("Out of space");
+          }
+        };
+      }
+    });
+    serverThread = new Thread(server::run);
+    serverThread.start();
+
+    try (Socket socket = new Socket("localhost", server.getPort());
+         PrintWriter out = new PrintWriter(socket.getOutputStream(), true,
+                 StandardCharsets.UTF_8);
+         BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                 StandardCharsets.UTF_8))) {
+      out.println("create calendar --name Work --timezone America/New_York");
+      assertEquals("Error: java.lang.IllegalStateException: Out of space. Closing the connection.",
+              in.readLine());
+      assertNull(in.readLine());
+    }
+  }
+}
@@ -0,0 +1,145 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import model.application.CalendarManager;
+import model.application.ICalendarManager;
+import model.calendar.BetterCalendar;
+import model.calendar.ConcurrentCalendar;
+import model.calendar.IBetterCalendar;
+import model.event.EventSeries;
+import model.event.ISingleEvent;
+import model.event.SingleEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the correctness of the {@code ConcurrentCalendar} class.
+ */
+public class ConcurrentCalendarTest {
+  private static final int THREADS = 8;
+  private static final int EVENTS_PER_THREAD = 250;
+  private static final LocalDateTime FIRST_START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+  private IBetterCalendar calendar;
+
+  @Before
+  public void setUp() {
+    calendar = new ConcurrentCalendar(new BetterCalendar("America/New_York"));
+  }
+
+  @Test
+  public void testBehavesLikeWrappedCalendar() {
+    ISingleEvent event = new SingleEvent.Builder("Standup", FIRST_START,
+            FIRST_START.plusHours(1)).build();
+    calendar.addEvent(event);
+    calendar.editEvent("subject", "Standup", FIRST_START, FIRST_START.plusHours(1), "Sync");
+
+    List<ISingleEvent> events = calendar.query(FIRST_START, FIRST_START.plusDays(1));
+    assertEquals(1, events.size());
+    assertEquals("Sync", events.get(0).getSubject());
+    assertTrue(calendar.containsTime(FIRST_START.plusMinutes(30)));
+    assertEquals("America/New_York", calendar.getZoneId().getId());
+  }
+
+  @Test
+  public void testParallelWritersAndReaders() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS * 2);
+    List<Future<?>> tasks = new ArrayList<>();
+    for (int thread = 0; thread < THREADS; thread++) {
+      int writer = thread;
+      tasks.add(executor.submit(() -> {
+        for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+          LocalDateTime start = FIRST_START.plusHours((long) i * THREADS + writer);
+          calendar.addEvent(new SingleEvent.Builder("Event " + writer, start,
+                  start.plusMinutes(30)).build());
+        }
+      }));
+      tasks.add(executor.submit(() -> {
+        for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+          // Every event is added whole, so a reader never sees one half-way through
+          for (ISingleEvent event : calendar.query(LocalDateTime.MIN, LocalDateTime.MAX)) {
+            assertTrue(event.getEndDateTime().isAfter(event.getStartDateTime()));
+          }
+        }
+      }));
+    }
+    for (Future<?> task : tasks) {
+      task.get();
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(THREADS * EVENTS_PER_THREAD,
+            calendar.query(LocalDateTime.MIN, LocalDateTime.MAX).size());
+  }
+
+  @Test
+  public void testReadersNeverSeeHalfAnEdit() throws Exception {
+    calendar.addEvent(new EventSeries(new SingleEvent.Builder("Even", FIRST_START,
+            FIRST_START.plusHours(1)).build(), 50, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    Future<?> writer = executor.submit(() -> {
+      for (int i = 1; i <= 200; i++) {
+        calendar.editEvents("subject", i % 2 == 0 ? "Odd" : "Even", FIRST_START, "series",
+                i % 2 == 0 ? "Even" : "Odd");
+      }
+    });
+    Future<?> reader = executor.submit(() -> {
+      while (!writer.isDone()) {
+        // A series edit replaces every event at once, so all of them must share one subject
+        long subjects = calendar.query(LocalDateTime.MIN, LocalDateTime.MAX).stream()
+                .map(ISingleEvent::getSubject).distinct().count();
+        assertEquals(1, subjects);
+      }
+    });
+    writer.get();
+    reader.get();
+    executor.shutdown();
+  }
+
+  @Test
+  public void testNewTimeZoneSharesEvents() {
+    IBetterCalendar paris = calendar.makeCalWithNewTimeZone("Europe/Paris");
+    paris.addEvent(new SingleEvent.Builder("Dinner", LocalDateTime.of(2025, 5, 15, 20, 0),
+            LocalDateTime.of(2025, 5, 15, 21, 0)).build());
+
+    assertEquals(LocalDateTime.of(2025, 5, 15, 14, 0),
+            calendar.query(LocalDateTime.MIN, LocalDateTime.MAX).get(0).getStartDateTime());
+  }
+
+  @Test
+  public void testConcurrentManagerCreatesEachCalendarOnce() throws Exception {
+    ICalendarManager manager = new CalendarManager(true);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<Boolean>> tasks = new ArrayList<>();
+    for (int thread = 0; thread < THREADS; thread++) {
+      tasks.add(executor.submit(() -> {
+        try {
+          manager.createCalendar("Shared", "Europe/Paris");
+          return true;
+        } catch (IllegalArgumentException e) {
+          return false;
+        }
+      }));
+    }
+    int created = 0;
+    for (Future<Boolean> task : tasks) {
+      created += task.get() ? 1 : 0;
+    }
+    executor.shutdown();
+
+    assertEquals(1, created);
+    manager.setCalendarInUse("Shared");
+    assertTrue(manager.getCurrentCalendar() instanceof ConcurrentCalendar);
+  }
+}
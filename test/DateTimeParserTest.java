@@ -0,0 +1,68 @@
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import controller.commands.DateTimeParser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the correctness of the {@code DateTimeParser} class.
+ */
+public class DateTimeParserTest {
+
+  @Test
+  public void testParsesDates() {
+    assertEquals(LocalDate.of(2025, 6, 1), DateTimeParser.parseDate("2025-06-01"));
+    assertEquals(LocalDate.of(2024, 2, 29), DateTimeParser.parseDate("2024-02-29"));
+    assertEquals(LocalDate.of(25, 12, 31), DateTimeParser.parseDate("0025-12-31"));
+  }
+
+  @Test
+  public void testParsesDateTimes() {
+    assertEquals(LocalDateTime.of(2025, 6, 1, 15, 30),
+            DateTimeParser.parseDateTime("2025-06-01T15:30"));
+    assertEquals(LocalDateTime.of(2025, 6, 1, 0, 0),
+            DateTimeParser.parseDateTime("2025-06-01T00:00"));
+    assertEquals(LocalDateTime.of(2025, 6, 1, 23, 59, 59),
+            DateTimeParser.parseDateTime("2025-06-01T23:59:59"));
+  }
+
+  @Test
+  public void testParsesPartOfAnArray() {
+    char[] chars = "on 2025-06-01T15:30 to 2025-06-02".toCharArray();
+    assertEquals(LocalDateTime.of(2025, 6, 1, 15, 30),
+            DateTimeParser.parseDateTime(chars, 3, 19));
+    assertEquals(LocalDate.of(2025, 6, 2), DateTimeParser.parseDate(chars, 23, 33));
+  }
+
+  @Test
+  public void testReusesRecentValues() {
+    assertSame(DateTimeParser.parseDateTime("2031-03-04T05:06"),
+            DateTimeParser.parseDateTime("2031-03-04T05:06"));
+    assertSame(DateTimeParser.parseDate("2031-03-04"), DateTimeParser.parseDate("2031-03-04"));
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void testRejectsDayPastEndOfMonth() {
+    DateTimeParser.parseDate("2025-02-29");
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void testRejectsHourOutOfRange() {
+    DateTimeParser.parseDateTime("2025-02-01T24:00");
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void testRejectsNonDigits() {
+    DateTimeParser.parseDateTime("2025-0a-01T10:00");
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void testRejectsDateWithoutTime() {
+    DateTimeParser.parseDateTime("2025-02-01");
+  }
+}
@@ -0,0 +1,197 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import model.application.CalendarManager;
+import model.application.DurableCalendarManager;
+import model.application.DurableCalendarManager.Durability;
+import model.event.ISingleEvent;
+import model.event.Location;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the correctness of the {@code DurableCalendarManager} class.
+ */
+public class DurableCalendarManagerTest {
+  private static final LocalDateTime START = LocalDateTime.of(2025, 6, 2, 10, 0);
+  private static final LocalDateTime END = LocalDateTime.of(2025, 6, 2, 11, 0);
+
+  private Path logFile;
+  private DurableCalendarManager manager;
+
+  @Before
+  public void setUp() throws IOException {
+    logFile = Files.createTempFile("calendar", ".log");
+    manager = new DurableCalendarManager(new CalendarManager(), logFile, Durability.SYNC);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    manager.close();
+    Files.deleteIfExists(logFile);
+  }
+
+  private DurableCalendarManager reopen(Durability durability) {
+    manager.close();
+    manager = new DurableCalendarManager(new CalendarManager(), logFile, durability);
+    return manager;
+  }
+
+  @Test
+  public void testReplaysCalendarsAndEvents() {
+    manager.createCalendar("Work", "America/New_York");
+    manager.setCalendarInUse("Work");
+    manager.getCurrentCalendar().addEvent(new SingleEvent.Builder("Standup", START, END)
+            .description("Daily\tsync\nwith team").location(Location.ONLINE).build());
+    manager.getCurrentCalendar().addEvent(new RecurringEventSeries(
+            new SingleEvent.Builder("Gym", START.plusHours(8), END.plusHours(8)).build(),
+            LocalDate.of(2025, 6, 30), DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY));
+
+    reopen(Durability.SYNC);
+    assertEquals("Work", manager.getCurrentCalendarName());
+    assertEquals("America/New_York", manager.getCurrentCalendar().getZoneId().getId());
+    List<ISingleEvent> events = manager.getCurrentCalendar().query(START.minusDays(1),
+            START.plusMonths(1));
+    assertEquals(10, events.size());
+    ISingleEvent standup = manager.getCurrentCalendar().getSingleEventWithStartAndEndDate(
+            "Standup", START, END);
+    assertEquals("Daily\tsync\nwith team", standup.getDescription());
+    assertEquals(Location.ONLINE, standup.getLocation());
+    assertEquals(1, manager.getCurrentCalendar().getSingleEventsWithStartDate("Gym",
+            LocalDateTime.of(2025, 6, 30, 18, 0)).size());
+  }
+
+  @Test
+  public void testReplaysEditsRenamesAndCopies() {
+    manager.createCalendar("Work", "America/New_York");
+    manager.createCalendar("Home", "Europe/London");
+    manager.setCalendarInUse("Work");
+    manager.getCurrentCalendar().addEvent(new SingleEvent.Builder("Standup", START, END).build());
+    manager.getCurrentCalendar().editEvent("subject", "Standup", START, END, "Sync");
+    manager.copyEvent("Sync", START, "Home", START.plusDays(1));
+    manager.editCalendarName("Work", "Office");
+    manager.editCalendarTimeZone("Home", "Asia/Tokyo");
+
+    reopen(Durability.SYNC);
+    assertEquals("Office", manager.getCurrentCalendarName());
+    assertEquals(1, manager.getCurrentCalendar().getSingleEventsWithStartDate("Sync", START)
+            .size());
+    manager.setCalendarInUse("Home");
+    assertEquals("Asia/Tokyo", manager.getCurrentCalendar().getZoneId().getId());
+    // The copy was made in London time, then moved with the calendar to Tokyo time
+    assertEquals(1, manager.getCurrentCalendar().getSingleEventsWithStartDate("Sync",
+            START.plusDays(1).plusHours(8)).size());
+  }
+
+  @Test
+  public void testReplaysBatchesOfEvents() {
+    manager.createCalendar("Work", "America/New_York");
+    manager.setCalendarInUse("Work");
+    ISingleEvent standup = new SingleEvent.Builder("Standup", START, END).build();
+    manager.getCurrentCalendar().addEvents(List.of(standup, new RecurringEventSeries(
+            new SingleEvent.Builder("Gym", START.plusHours(8), END.plusHours(8)).build(),
+            LocalDate.of(2025, 6, 30), DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY)));
+    assertThrows(IllegalArgumentException.class, () -> manager.getCurrentCalendar().addEvents(
+            List.of(new SingleEvent.Builder("Lunch", START, END).build(), standup)));
+
+    reopen(Durability.SYNC);
+    assertEquals(10, manager.getCurrentCalendar().query(START.minusDays(1), START.plusMonths(1))
+            .size());
+  }
+
+  @Test
+  public void testFailedChangesStayFailed() {
+    manager.createCalendar("Work", "America/New_York");
+    manager.setCalendarInUse("Work");
+    manager.getCurrentCalendar().addEvent(new SingleEvent.Builder("Standup", START, END).build());
+    assertThrows(IllegalArgumentException.class, () -> manager.createCalendar("Work", "UTC"));
+    assertThrows(IllegalArgumentException.class, () -> manager.getCurrentCalendar().addEvent(
+            new SingleEvent.Builder("Standup", START, END).build()));
+
+    reopen(Durability.SYNC);
+    assertEquals("America/New_York", manager.getCurrentCalendar().getZoneId().getId());
+    assertEquals(1, manager.getCurrentCalendar().query(START, END).size());
+  }
+
+  @Test
+  public void testChangeThatCannotBeMadeAgainStopsReplay() throws IOException {
+    manager.createCalendar("Work", "UTC");
+    manager.close();
+    // Creating the same calendar twice fails, which no change that was logged could have done
+    Files.write(logFile, Files.readAllBytes(logFile), StandardOpenOption.APPEND);
+    long length = Files.size(logFile);
+
+    assertThrows(IllegalArgumentException.class, () -> new DurableCalendarManager(
+            new CalendarManager(), logFile, Durability.SYNC));
+    assertEquals(length, Files.size(logFile));
+  }
+
+  @Test
+  public void testChangeThatCannotBeSavedIsReportedButKept() {
+    CalendarManager calendars = new CalendarManager();
+    manager.close();
+    manager = new DurableCalendarManager(calendars, logFile, Durability.SYNC);
+    manager.createCalendar("Work", "UTC");
+    manager.close();
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> manager.createCalendar("Home", "UTC"));
+    assertTrue(e.getMessage().startsWith("The change was kept in memory but could not be saved"));
+    assertEquals("UTC", calendars.getCalendar("Home").getZoneId().getId());
+
+    // The log never got the change, so it is gone once the log is replayed
+    manager = new DurableCalendarManager(new CalendarManager(), logFile, Durability.SYNC);
+    manager.setCalendarInUse("Work");
+    assertThrows(IllegalArgumentException.class, () -> manager.setCalendarInUse("Home"));
+  }
+
+  @Test
+  public void testDropsRecordCutOffByCrash() throws IOException {
+    manager.createCalendar("Work", "UTC");
+    manager.close();
+    Files.write(logFile, "1234abcd\tcreate\tHo".getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+
+    reopen(Durability.SYNC);
+    manager.createCalendar("Home", "UTC");
+    manager.setCalendarInUse("Home");
+
+    reopen(Durability.SYNC);
+    assertEquals("Home", manager.getCurrentCalendarName());
+    manager.setCalendarInUse("Work");
+    assertEquals("Work", manager.getCurrentCalendarName());
+  }
+
+  @Test
+  public void testPeriodicLogIsWrittenOnClose() {
+    reopen(Durability.PERIODIC);
+    manager.createCalendar("Work", "UTC");
+    manager.setCalendarInUse("Work");
+
+    reopen(Durability.SYNC);
+    assertEquals("Work", manager.getCurrentCalendarName());
+  }
+
+  @Test
+  public void testEmptyLogStartsWithNoCalendars() {
+    reopen(Durability.SYNC);
+    assertNull(manager.getCurrentCalendarName());
+    assertNull(manager.getCurrentCalendar());
+  }
+}
@@ -4,6 +4,7 @@ import org.junit.Test;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import model.event.IEventSeries;
@@ -12,6 +13,11 @@ import model.event.ISingleEvent;
 import model.event.SingleEvent;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test class verifying the correctness of the {@code EventSeries} class.
@@ -205,4 +211,61 @@ public class EventSeriesTest {
     assertEquals(DayOfWeek.FRIDAY, occurringDays[3]);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testTenYearEventSeries() {
+    series = new EventSeries(withEndDateEvent, LocalDate.of(2017, 4, 30),
+            DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+    events = series.getEvents();
+
+    assertEquals(1565, events.size());
+    assertEquals(LocalDateTime.of(2007, 5, 2, 10, 30), events.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2017, 4, 28, 12, 30), series.getEndDateTime());
+    for (ISingleEvent event : events) {
+      assertNotEquals(DayOfWeek.TUESDAY, event.getStartDateTime().getDayOfWeek());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEventSeriesWithNoDaysThrows() {
+    new EventSeries(singleEvent, 5);
+  }
+
+  @Test
+  public void testGetEventsInRangeIsReadOnlyView() {
+    List<ISingleEvent> inRange = series.getEventsInRange(LocalDateTime.of(2006, 7, 2, 0, 0),
+            LocalDateTime.of(2006, 7, 9, 23, 0));
+
+    assertEquals(List.of(events.get(1), events.get(2), events.get(3)), inRange);
+    assertThrows(UnsupportedOperationException.class, () -> inRange.remove(0));
+    assertTrue(series.getEventsInRange(LocalDateTime.of(2006, 7, 3, 0, 0),
+            LocalDateTime.of(2006, 7, 7, 0, 0)).isEmpty());
+  }
+
+  @Test
+  public void testEventsAreSortedByStart() {
+    series = new EventSeries(List.of(events.get(3), events.get(0), events.get(2)),
+            LocalDate.of(2006, 7, 15), series.getOccurringDays());
+
+    assertEquals(List.of(events.get(0), events.get(2), events.get(3)), series.getEvents());
+    assertEquals(events.get(2), series.getCorrespondingEventFromStartDate("Birthday",
+            events.get(2).getStartDateTime()));
+    assertNull(series.getCorrespondingEventFromStartDate("Birthday",
+            events.get(1).getStartDateTime()));
+  }
+
+  @Test
+  public void testContainsTimeFindsLongEventBeforeShortOnes() {
+    ISingleEvent longEvent = new SingleEvent.Builder("Long", LocalDateTime.of(2006, 6, 30, 0, 0),
+            LocalDateTime.of(2006, 7, 20, 0, 0)).build();
+    List<ISingleEvent> withLongEvent = new ArrayList<>(events);
+    withLongEvent.add(longEvent);
+    series = new EventSeries(withLongEvent, LocalDate.of(2006, 7, 20),
+            series.getOccurringDays());
+
+    assertTrue(series.containsTime(LocalDateTime.of(2006, 7, 5, 12, 0)));
+    assertTrue(series.containsTime(LocalDateTime.of(2006, 7, 1, 12, 0)));
+    assertFalse(series.containsTime(LocalDateTime.of(2006, 7, 21, 12, 0)));
+    assertEquals(longEvent, series.getCorrespondingEvent("Long",
+            longEvent.getStartDateTime(), longEvent.getEndDateTime()));
+  }
+}
@@ -4,6 +4,8 @@ import org.junit.Test;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import controller.Features;
@@ -13,6 +15,7 @@ import model.calendar.BetterCalendar;
 import model.calendar.IBetterCalendar;
 import model.event.CalendarEvent;
 import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
 import model.event.ISingleEvent;
 import model.event.Location;
 import model.event.ReadOnlyCalendarEvent;
@@ -72,8 +75,7 @@ public class GuiControllerTest {
     // Make sure that the controller successfully adds the event and
     String expectedContains = "event added: subject=Meeting,start=2023-10-01T10:00,"
             + "end=2023-10-01T11:00,desc=Discuss project,location=Physical,status=Public"
-            + "\nqueried events with: start=2023-10-01T00:00,"
-            + "end=+999999999-12-31T23:59:59.999999999";
+            + "\nqueried next events with: start=2023-10-01T00:00,count=10";
     assertTrue(log.toString().contains(expectedContains));
   }
 
@@ -81,8 +83,7 @@ public class GuiControllerTest {
   public void testShowEventsFrom() {
     controller.showEventsFrom(LocalDate.of(2025, 7, 1));
 
-    String expectedContains = "queried events with: start=2025-07-01T00:00,"
-            + "end=+999999999-12-31T23:59:59.999999999";
+    String expectedContains = "queried next events with: start=2025-07-01T00:00,count=10";
     assertTrue(log.toString().contains(expectedContains));
   }
 
@@ -242,6 +243,11 @@ public class GuiControllerTest {
       log.append("\n");
     }
 
+    @Override
+    public void addEvents(List<CalendarEvent> events) {
+      events.forEach(this::addEvent);
+    }
+
     @Override
     public void editEvent(String property, String subject, LocalDateTime startDateTime,
                           LocalDateTime endDateTime, String newValue) {
@@ -275,6 +281,33 @@ public class GuiControllerTest {
       return List.of(); // we don't care about the return value
     }
 
+    @Override
+    public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end) {
+      return queryIterator(start, end, null);
+    }
+
+    @Override
+    public Iterator<ISingleEvent> queryIterator(LocalDateTime start, LocalDateTime end,
+                                                ReadOnlyCalendarEvent after) {
+      log.append("queried events with: start=").append(start.toString())
+              .append(",end=").append(end.toString())
+      .append("\n");
+      return Collections.emptyIterator(); // we don't care about the return value
+    }
+
+    @Override
+    public Iterator<CalendarEvent> eventIterator(LocalDateTime start, LocalDateTime end) {
+      return Collections.emptyIterator();
+    }
+
+    @Override
+    public List<ISingleEvent> queryNext(LocalDateTime start, int count) {
+      log.append("queried next events with: start=").append(start.toString())
+              .append(",count=").append(count)
+              .append("\n");
+      return List.of(); // we don't care about the return value
+    }
+
     @Override
     public IEventSeries isInSeries(ISingleEvent original) {
       // no use for this method in the mock
@@ -294,6 +327,12 @@ public class GuiControllerTest {
       return false;
     }
 
+    @Override
+    public boolean canAddRecurringSeries(IRecurringEventSeries newSeries) {
+      // no use for this method in the mock
+      return false;
+    }
+
     @Override
     public SingleEvent getSingleEventWithStartAndEndDate(String subject,
                                                          LocalDateTime startDateTime,
@@ -366,6 +405,11 @@ public class GuiControllerTest {
     public void showEvents(List<ReadOnlyCalendarEvent> events) {
       // no use for this method in the mock
     }
+
+    @Override
+    public void showEvents(Iterator<? extends ReadOnlyCalendarEvent> events) {
+      // no use for this method in the mock
+    }
   }
 
 }
\ No newline at end of file
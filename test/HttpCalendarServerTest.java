@@ -0,0 +1,159 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import controller.HttpCalendarServer;
+import model.application.CalendarManager;
+import model.calendar.IBetterCalendar;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the correctness of the {@code HttpCalendarServer} class.
+ */
+public class HttpCalendarServerTest {
+  private HttpCalendarServer server;
+  private Thread serverThread;
+
+  @Before
+  public void setUp() throws IOException {
+    server = new HttpCalendarServer(0, new CalendarManager(true));
+    serverThread = new Thread(server::run);
+    serverThread.start();
+    post("/calendars", "{\"name\": \"Work\", \"timezone\": \"America/New_York\"}");
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    server.close();
+    serverThread.join(1000);
+  }
+
+  @Test
+  public void testCreateAndQueryEvents() throws IOException {
+    assertEquals("200 {}", post("/calendars/Work/events",
+            "{\"subject\": \"Party \\\"A\\\"\", \"start\": \"2025-06-01T15:00\","
+                    + " \"end\": \"2025-06-01T17:00\", \"location\": \"online\"}"));
+    assertEquals("200 {}", post("/calendars/Work/events",
+            "{\"subject\": \"Gym\", \"start\": \"2025-06-02T07:00\", \"end\": \"2025-06-02T08:00\","
+                    + " \"repeats\": \"MW\", \"times\": 3}"));
+
+    assertEquals("200 [{\"subject\":\"Party \\\"A\\\"\",\"start\":\"2025-06-01T15:00\","
+                    + "\"end\":\"2025-06-01T17:00\",\"description\":null,\"location\":\"Online\","
+                    + "\"status\":null},"
+                    + "{\"subject\":\"Gym\",\"start\":\"2025-06-02T07:00\","
+                    + "\"end\":\"2025-06-02T08:00\",\"description\":null,\"location\":null,"
+                    + "\"status\":null}]",
+            get("/calendars/Work/events?from=2025-06-01T00:00&to=2025-06-03T00:00"));
+    assertEquals("200 {\"busy\":true}", get("/calendars/Work/status?at=2025-06-04T07:30"));
+    assertEquals("200 {\"busy\":false}", get("/calendars/Work/status?at=2025-06-05T07:30"));
+  }
+
+  @Test
+  public void testEditEvents() throws IOException {
+    post("/calendars/Work/events", "{\"subject\": \"Gym\", \"start\": \"2025-06-02T07:00\","
+            + " \"end\": \"2025-06-02T08:00\", \"repeats\": \"MW\", \"until\": \"2025-06-30\"}");
+    assertEquals("200 {}", post("/calendars/Work/events/edit",
+            "{\"scope\": \"series\", \"property\": \"subject\", \"subject\": \"Gym\","
+                    + " \"start\": \"2025-06-02T07:00\", \"value\": \"Run\"}"));
+    assertEquals("200 {}", post("/calendars/Work/events/edit",
+            "{\"scope\": \"event\", \"property\": \"description\", \"subject\": \"Run\","
+                    + " \"start\": \"2025-06-04T07:00\", \"end\": \"2025-06-04T08:00\","
+                    + " \"value\": \"Laps\"}"));
+
+    assertEquals("200 [{\"subject\":\"Run\",\"start\":\"2025-06-04T07:00\","
+                    + "\"end\":\"2025-06-04T08:00\",\"description\":\"Laps\",\"location\":null,"
+                    + "\"status\":null}]",
+            get("/calendars/Work/events?from=2025-06-03T00:00&to=2025-06-05T00:00"));
+  }
+
+  @Test
+  public void testCopyEventsAndEditCalendar() throws IOException {
+    post("/calendars", "{\"name\": \"Paris\", \"timezone\": \"Europe/Paris\"}");
+    post("/calendars/Work/events", "{\"subject\": \"Call\", \"date\": \"2025-06-03\"}");
+    assertEquals("200 {}", post("/calendars/Work/copy", "{\"target\": \"Paris\","
+            + " \"from\": \"2025-06-03\", \"to\": \"2025-06-03\", \"at\": \"2025-07-01\"}"));
+    assertEquals("200 {}", post("/calendars/Paris", "{\"property\": \"name\","
+            + " \"value\": \"Europe\"}"));
+
+    assertEquals("200 [{\"subject\":\"Call\",\"start\":\"2025-07-01T14:00\","
+                    + "\"end\":\"2025-07-01T23:00\",\"description\":null,\"location\":null,"
+                    + "\"status\":null}]",
+            get("/calendars/Europe/events?from=2025-07-01T00:00&to=2025-07-02T00:00"));
+  }
+
+  @Test
+  public void testBadRequests() throws IOException {
+    assertEquals("400 {\"error\":\"There is no calendar named Home.\"}",
+            get("/calendars/Home/status?at=2025-06-04T07:30"));
+    assertEquals("400 {\"error\":\"Missing \\\"end\\\".\"}",
+            post("/calendars/Work/events", "{\"subject\": \"Party\","
+                    + " \"start\": \"2025-06-01T15:00\"}"));
+    assertEquals("400 {\"error\":\"2025-13-01T15:00 is not a valid date/time.\"}",
+            get("/calendars/Work/status?at=2025-13-01T15:00"));
+    assertEquals("404 {\"error\":\"No such request.\"}", get("/calendars/Work/nothing"));
+    assertEquals("400 {\"error\":\"Invalid input syntax, cannot parse days of week!\"}",
+            post("/calendars/Work/events", "{\"subject\": \"Gym\", \"date\": \"2025-06-02\","
+                    + " \"repeats\": \"MX\"}"));
+    assertEquals("400 {\"error\":\"Could not find event to copy!\"}",
+            post("/calendars/Work/copy", "{\"target\": \"Work\", \"subject\": \"Party\","
+                    + " \"start\": \"2025-06-01T15:00\", \"at\": \"2025-06-02T15:00\"}"));
+    assertEquals("400 {\"error\":\"soon is not a valid date/time.\"}",
+            post("/calendars/Work/events/edit", "{\"scope\": \"events\", \"property\": \"start\","
+                    + " \"subject\": \"Party\", \"start\": \"2025-06-01T15:00\","
+                    + " \"value\": \"soon\"}"));
+  }
+
+  @Test
+  public void testFailuresStillGetReply() throws IOException, InterruptedException {
+    tearDown();
+    server = new HttpCalendarServer(0, new CalendarManager(true) {
+      @Override
+      public IBetterCalendar getCalendar(String calendarName) {
+        throw new IllegalStateException("Calendars are unavailable");
+      }
+    });
+    serverThread = new Thread(server::run);
+    serverThread.start();
+
+    assertEquals("500 {\"error\":\"Could not handle the request: "
+                    + "java.lang.IllegalStateException: Calendars are unavailable\"}",
+            get("/calendars/Work/status?at=2025-06-04T07:30"));
+  }
+
+  private String get(String path) throws IOException {
+    return read(open(path, "GET"));
+  }
+
+  private String post(String path, String json) throws IOException {
+    HttpURLConnection connection = open(path, "POST");
+    connection.setDoOutput(true);
+    try (OutputStream out = connection.getOutputStream()) {
+      out.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+    return read(connection);
+  }
+
+  private HttpURLConnection open(String path, String method) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection)
+            new URL("http://localhost:" + server.getPort() + path).openConnection();
+    connection.setRequestMethod(method);
+    return connection;
+  }
+
+  // Returns the status code and the body of the reply, separated by a space
+  private String read(HttpURLConnection connection) throws IOException {
+    int status = connection.getResponseCode();
+    try (InputStream in = status < 400 ? connection.getInputStream()
+            : connection.getErrorStream()) {
+      return status + " " + new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
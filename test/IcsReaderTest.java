@@ -0,0 +1,147 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import model.event.CalendarEvent;
+import model.event.IEventSeries;
+import model.event.ISingleEvent;
+import model.event.IcsReader;
+import model.event.Location;
+import model.event.RecurringEventSeries;
+import model.event.Status;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@code IcsReader} reads iCalendar files into the events they describe.
+ */
+public class IcsReaderTest {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private static IcsReader reader(String... lines) {
+    return new IcsReader(new StringReader("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"
+            + String.join("\r\n", lines) + "\r\nEND:VCALENDAR\r\n"), NEW_YORK);
+  }
+
+  private static CalendarEvent readOne(String... lines) throws IOException {
+    List<CalendarEvent> events = reader(lines).readEvents(10);
+    assertEquals(1, events.size());
+    return events.get(0);
+  }
+
+  @Test
+  public void testReadsSingleEvent() throws IOException {
+    ISingleEvent event = (ISingleEvent) readOne("BEGIN:VEVENT", "UID:1",
+            "SUMMARY:Planning\\, part 2", "DTSTART;TZID=Europe/London:20250602T140000",
+            "DTEND:20250602T140000Z", "DESCRIPTION:Bring the\\nnumbers and a very long line of",
+            " text that was folded", "LOCATION:https://meet.example.com/abc", "CLASS:PRIVATE",
+            "BEGIN:VALARM", "TRIGGER:-PT15M", "DESCRIPTION:Reminder", "END:VALARM",
+            "END:VEVENT");
+    assertEquals("Planning, part 2", event.getSubject());
+    assertEquals(LocalDateTime.of(2025, 6, 2, 9, 0), event.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 2, 10, 0), event.getEndDateTime());
+    assertEquals("Bring the\nnumbers and a very long line oftext that was folded",
+            event.getDescription());
+    assertEquals(Location.ONLINE, event.getLocation());
+    assertEquals(Status.PRIVATE, event.getStatus());
+  }
+
+  @Test
+  public void testReadsAllDayAndFloatingEvents() throws IOException {
+    List<CalendarEvent> events = reader("BEGIN:VEVENT", "SUMMARY:Holiday",
+            "DTSTART;VALUE=DATE:20250704", "DTEND;VALUE=DATE:20250705", "END:VEVENT",
+            "BEGIN:VEVENT", "SUMMARY:Offsite", "DTSTART:20250707T090000", "DURATION:P1DT2H",
+            "LOCATION:Building 4", "END:VEVENT").readEvents(10);
+    assertEquals(LocalDateTime.of(2025, 7, 4, 8, 0), events.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 7, 4, 17, 0), events.get(0).getEndDateTime());
+    assertNull(events.get(0).getLocation());
+    assertEquals(LocalDateTime.of(2025, 7, 8, 11, 0), events.get(1).getEndDateTime());
+    assertEquals(Location.PHYSICAL, events.get(1).getLocation());
+  }
+
+  @Test
+  public void testReadsRepeatingEvents() throws IOException {
+    List<CalendarEvent> events = reader("BEGIN:VEVENT", "SUMMARY:Standup",
+            "DTSTART:20250602T090000", "DTEND:20250602T091500",
+            "RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=6", "EXDATE:20250604T090000", "END:VEVENT",
+            "BEGIN:VEVENT", "SUMMARY:Gym", "DTSTART:20250602T180000", "DTEND:20250602T190000",
+            "RRULE:FREQ=DAILY;UNTIL=20250606T220000Z", "END:VEVENT",
+            "BEGIN:VEVENT", "SUMMARY:Review", "DTSTART:20250603T100000",
+            "DTEND:20250603T110000", "RRULE:FREQ=WEEKLY", "END:VEVENT").readEvents(10);
+
+    IEventSeries standup = (IEventSeries) events.get(0);
+    assertEquals(5, standup.getEvents().size());
+    assertEquals(LocalDate.of(2025, 6, 6), standup.getEvents().get(1).getStartDateTime()
+            .toLocalDate());
+    assertEquals(5, ((IEventSeries) events.get(1)).getEvents().size());
+    assertTrue(events.get(2) instanceof RecurringEventSeries);
+    assertEquals(LocalDate.of(2025, 6, 10), ((RecurringEventSeries) events.get(2))
+            .getEventsStartingFrom(LocalDateTime.of(2025, 6, 4, 0, 0), 1).get(0)
+            .getStartDateTime().toLocalDate());
+  }
+
+  @Test
+  public void testRepeatsOnDaysOfTimeZoneRuleWasWrittenIn() throws IOException {
+    List<CalendarEvent> events = new IcsReader(new StringReader("BEGIN:VCALENDAR\r\n"
+            + "BEGIN:VEVENT\r\nSUMMARY:Late call\r\n"
+            + "DTSTART;TZID=America/Los_Angeles:20250602T230000\r\n"
+            + "DTEND;TZID=America/Los_Angeles:20250602T233000\r\n"
+            + "RRULE:FREQ=WEEKLY;BYDAY=MO;COUNT=3\r\nEND:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\nSUMMARY:Later call\r\n"
+            + "DTSTART;TZID=America/Los_Angeles:20250603T230000\r\n"
+            + "DTEND;TZID=America/Los_Angeles:20250603T233000\r\n"
+            + "RRULE:FREQ=WEEKLY;BYDAY=TU\r\nEND:VEVENT\r\nEND:VCALENDAR\r\n"),
+            ZoneId.of("Europe/London")).readEvents(10);
+
+    IEventSeries calls = (IEventSeries) events.get(0);
+    assertEquals(3, calls.getEvents().size());
+    for (ISingleEvent call : calls.getEvents()) {
+      assertEquals(DayOfWeek.TUESDAY, call.getStartDateTime().getDayOfWeek());
+      assertEquals(7, call.getStartDateTime().getHour());
+    }
+    assertEquals(LocalDate.of(2025, 6, 17), calls.getEvents().get(2).getStartDateTime()
+            .toLocalDate());
+    assertArrayEquals(new DayOfWeek[] {DayOfWeek.TUESDAY}, calls.getOccurringDays());
+
+    RecurringEventSeries later = (RecurringEventSeries) events.get(1);
+    assertEquals(LocalDateTime.of(2025, 6, 11, 7, 0), later.getEventsStartingFrom(
+            LocalDateTime.of(2025, 6, 5, 0, 0), 1).get(0).getStartDateTime());
+  }
+
+  @Test
+  public void testReadsInBatchesAndSkipsChangedOccurrences() throws IOException {
+    IcsReader reader = reader("BEGIN:VEVENT", "SUMMARY:One", "DTSTART:20250602T090000",
+            "END:VEVENT", "BEGIN:VEVENT", "SUMMARY:Two", "DTSTART:20250603T090000",
+            "END:VEVENT", "BEGIN:VEVENT", "SUMMARY:One", "RECURRENCE-ID:20250602T090000",
+            "DTSTART:20250602T100000", "END:VEVENT", "BEGIN:VEVENT", "SUMMARY:Three",
+            "DTSTART:20250604T090000", "END:VEVENT");
+    assertEquals(2, reader.readEvents(2).size());
+    assertEquals("Three", reader.readEvents(2).get(0).getSubject());
+    assertEquals(0, reader.readEvents(2).size());
+    assertEquals(1, reader.getSkipped());
+  }
+
+  @Test
+  public void testRejectsEventsItCannotRead() {
+    assertThrows(IllegalArgumentException.class, () -> readOne("BEGIN:VEVENT",
+            "DTSTART:20250602T090000", "END:VEVENT"));
+    assertThrows(IllegalArgumentException.class, () -> readOne("BEGIN:VEVENT", "SUMMARY:Rent",
+            "DTSTART:20250602T090000", "RRULE:FREQ=MONTHLY;BYMONTHDAY=1", "END:VEVENT"));
+    assertThrows(IllegalArgumentException.class, () -> readOne("BEGIN:VEVENT", "SUMMARY:Call",
+            "DTSTART;TZID=Nowhere/Special:20250602T090000", "END:VEVENT"));
+    assertThrows(IllegalArgumentException.class, () -> readOne("BEGIN:VEVENT", "SUMMARY:Call",
+            "DTSTART;VALUE=DATE:2025", "END:VEVENT"));
+    assertThrows(IllegalArgumentException.class, () -> readOne("BEGIN:VEVENT", "SUMMARY:Call",
+            "DTSTART:20250602T090000", "RRULE:FREQ=WEEKLY;UNTIL=2025", "END:VEVENT"));
+  }
+}
@@ -0,0 +1,155 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import model.event.CalendarEvent;
+import model.event.CsvWriter;
+import model.event.EventSeries;
+import model.event.IEventSeries;
+import model.event.IEventWriter;
+import model.event.ISingleEvent;
+import model.event.IcsReader;
+import model.event.IcsWriter;
+import model.event.Location;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+import model.event.Status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@code IcsWriter} and {@code CsvWriter} write events in a form that can be read back.
+ */
+public class IcsWriterTest {
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final LocalDateTime START = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+  private static String ics(CalendarEvent event, LocalDateTime from, LocalDateTime to)
+          throws IOException {
+    StringWriter out = new StringWriter();
+    try (IEventWriter writer = new IcsWriter(out, NEW_YORK)) {
+      writer.write(event, from, to);
+    }
+    return out.toString();
+  }
+
+  private static List<CalendarEvent> read(String ics) throws IOException {
+    return new IcsReader(new StringReader(ics), NEW_YORK).readEvents(10);
+  }
+
+  @Test
+  public void testWritesSingleEvent() throws IOException {
+    String description = "Agenda; budget, hiring\nand a long note about the café that goes on "
+            + "for well over seventy-five octets";
+    ISingleEvent event = new SingleEvent.Builder("Planning", START, START.plusHours(1))
+            .description(description).location(Location.ONLINE).status(Status.PRIVATE).build();
+    String ics = ics(event, LocalDateTime.MIN, LocalDateTime.MAX);
+
+    assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+    assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+    assertTrue(ics.contains("DTSTART;TZID=America/New_York:20250602T090000\r\n"));
+    for (String line : ics.split("\r\n")) {
+      assertTrue(line, line.getBytes("UTF-8").length <= 75);
+    }
+    ISingleEvent read = (ISingleEvent) read(ics).get(0);
+    assertEquals(event, read);
+    assertEquals(description, read.getDescription());
+    assertEquals(Location.ONLINE, read.getLocation());
+    assertEquals(Status.PRIVATE, read.getStatus());
+    String empty = ics(event, START.plusDays(1), LocalDateTime.MAX);
+    assertFalse(empty.contains("BEGIN:VEVENT"));
+    assertTrue(empty.endsWith("END:VTIMEZONE\r\nEND:VCALENDAR\r\n"));
+  }
+
+  @Test
+  public void testDescribesTimeZone() throws IOException {
+    String ics = ics(new SingleEvent.Builder("Planning", START, START.plusHours(1)).build(),
+            LocalDateTime.MIN, LocalDateTime.MAX);
+    int timeZone = ics.indexOf("BEGIN:VTIMEZONE\r\nTZID:America/New_York\r\n");
+    assertTrue(timeZone > 0 && timeZone < ics.indexOf("BEGIN:VEVENT"));
+    assertTrue(ics.contains("BEGIN:DAYLIGHT\r\nDTSTART:20090308T020000\r\nTZOFFSETFROM:-0500\r\n"
+            + "TZOFFSETTO:-0400\r\nRRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=SU;"
+            + "BYMONTHDAY=8,9,10,11,12,13,14\r\nEND:DAYLIGHT\r\n"));
+    assertTrue(ics.contains("BEGIN:STANDARD\r\nDTSTART:20091101T020000\r\nTZOFFSETFROM:-0400\r\n"
+            + "TZOFFSETTO:-0500\r\nRRULE:FREQ=YEARLY;BYMONTH=11;BYDAY=SU;"
+            + "BYMONTHDAY=1,2,3,4,5,6,7\r\nEND:STANDARD\r\n"));
+    // Earlier years followed other rules, so each of their changes is listed
+    assertTrue(ics.contains("RDATE:20060402T020000\r\n"));
+
+    StringWriter utc = new StringWriter();
+    new IcsWriter(utc, ZoneId.of("UTC")).close();
+    assertTrue(utc.toString().contains("BEGIN:VTIMEZONE\r\nTZID:UTC\r\nBEGIN:STANDARD\r\n"
+            + "DTSTART:19700101T000000\r\nTZOFFSETFROM:+0000\r\nTZOFFSETTO:+0000\r\n"
+            + "END:STANDARD\r\nEND:VTIMEZONE\r\n"));
+  }
+
+  @Test
+  public void testWritesSeriesAsOneRule() throws IOException {
+    IEventSeries series = new EventSeries(new SingleEvent.Builder("Standup", START,
+            START.plusMinutes(15)).build(), 6, DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY);
+    List<ISingleEvent> events = series.getEvents();
+    series = series.createNewSeriesWithoutEvent(events.get(1));
+    series = series.createNewSeriesWithReplacedEvent(events.get(2), new SingleEvent.Builder(
+            "Standup", events.get(2).getStartDateTime().plusHours(1),
+            events.get(2).getEndDateTime().plusHours(1)).build());
+    String ics = ics(series, LocalDateTime.MIN, LocalDateTime.MAX);
+
+    assertEquals(2, ics.split("BEGIN:VEVENT").length - 1);
+    assertTrue(ics.contains("RRULE:FREQ=WEEKLY;BYDAY=MO,WE;COUNT=6\r\n"));
+    assertTrue(ics.contains("EXDATE;TZID=America/New_York:20250604T090000\r\n"));
+    assertTrue(ics.contains("RECURRENCE-ID;TZID=America/New_York:20250609T090000\r\n"));
+    assertTrue(ics.contains("DTSTART;TZID=America/New_York:20250609T100000\r\n"));
+
+    // Reading skips the edited occurrence, so the rest of the series comes back as it was
+    IEventSeries read = (IEventSeries) read(ics).get(0);
+    assertEquals(5, read.getEvents().size());
+    assertEquals(events.get(3), read.getEvents().get(2));
+
+    String lastWeek = ics(series, START.plusDays(8), START.plusDays(10));
+    assertTrue(lastWeek.contains("RRULE:FREQ=WEEKLY;BYDAY=MO,WE;COUNT=1\r\n"));
+    assertTrue(lastWeek.contains("DTSTART;TZID=America/New_York:20250611T090000\r\n"));
+  }
+
+  @Test
+  public void testWritesSeriesThatNeverEnds() throws IOException {
+    RecurringEventSeries gym = new RecurringEventSeries(new SingleEvent.Builder("Gym",
+            START.withHour(18), START.withHour(19)).build(), DayOfWeek.TUESDAY,
+            DayOfWeek.THURSDAY);
+    String ics = ics(gym, LocalDateTime.MIN, LocalDateTime.MAX);
+    assertTrue(ics.contains("RRULE:FREQ=WEEKLY;BYDAY=TU,TH\r\n"));
+    assertTrue(read(ics).get(0) instanceof RecurringEventSeries);
+
+    String july = ics(gym, LocalDateTime.of(2025, 7, 1, 0, 0), LocalDateTime.of(2025, 8, 1, 0,
+            0));
+    assertTrue(july.contains("RRULE:FREQ=WEEKLY;BYDAY=TU,TH;COUNT=10\r\n"));
+    assertEquals(10, ((IEventSeries) read(july).get(0)).getEvents().size());
+  }
+
+  @Test
+  public void testWritesCsvRowPerOccurrence() throws IOException {
+    IEventSeries series = new EventSeries(new SingleEvent.Builder("Lunch, team", START
+            .withHour(12), START.withHour(13)).description("Say \"hi\"").build(), 2,
+            DayOfWeek.FRIDAY);
+    StringWriter out = new StringWriter();
+    try (IEventWriter writer = new CsvWriter(out)) {
+      writer.write(series, LocalDateTime.MIN, LocalDateTime.MAX);
+      assertThrows(IllegalArgumentException.class, () -> writer.write(new RecurringEventSeries(
+              series.getEvents().get(0), DayOfWeek.MONDAY), LocalDateTime.MIN,
+              LocalDateTime.MAX));
+    }
+    String[] rows = out.toString().split("\r\n");
+    assertEquals(3, rows.length);
+    assertEquals("\"Lunch, team\",06/06/2025,12:00 PM,06/06/2025,1:00 PM,False,"
+            + "\"Say \"\"hi\"\"\",,False", rows[1]);
+    assertFalse(rows[2].contains("06/06/2025"));
+  }
+}
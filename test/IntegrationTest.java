@@ -668,7 +668,9 @@ public class IntegrationTest {
     controller.run();
 
     String expectedViewOutput = "Error in 'copy events on 2025-05-05 --target EST to 2025-05-05': "
-            + "Event cannot be added to the calendar.\n";
+            + "Event cannot be added to the calendar: \u2022 [Subject: test, "
+            + "Start: 2025-05-05T08:00, End: 2025-05-05T17:00, Description: N/A, Location: N/A, "
+            + "Status: N/A]\n";
     assertEquals(expectedViewOutput, outputStream.toString());
   }
 
@@ -979,6 +981,33 @@ public class IntegrationTest {
     assertEquals(1, events.size());
   }
 
+  @Test
+  public void testIntegrationCreatesAndCopiesNeverEndingSeries() {
+    Readable command = new StringReader("create calendar --name EST --timezone America/New_York"
+            + "\ncreate calendar --name PST --timezone America/Los_Angeles"
+            + "\nuse calendar --name EST"
+            + "\ncreate event standup from 2025-05-05T09:00 to 2025-05-05T09:15 repeats MWF forever"
+            + "\nprint events on 2125-05-06"
+            + "\nprint events on 2125-05-07"
+            + "\ncopy events between 2025-05-05 and 2025-05-09 --target PST to 2025-06-02"
+            + "\nexit");
+    IController controller = new CommandLineController(command, application, view);
+    controller.run();
+
+    // Only the events on the printed days are ever worked out, even a century later
+    String expectedViewOutput = "All events in EST on 2125-05-06:\n"
+            + "All events in EST on 2125-05-07:\n"
+            + "• [Subject: standup, Start: 2125-05-07T09:00, End: 2125-05-07T09:15, "
+            + "Description: N/A, Location: N/A, Status: N/A]\n";
+    assertEquals(expectedViewOutput, outputStream.toString());
+
+    // Copying only copies the events in the interval
+    application.setCalendarInUse("PST");
+    List<ISingleEvent> events = getAllEventsInCurrentCalendar();
+    assertEquals(3, events.size());
+    assertEquals(LocalDateTime.of(2025, 6, 2, 6, 0), events.get(0).getStartDateTime());
+  }
+
   private List<ISingleEvent> getAllEventsInCurrentCalendar() {
     return application.getCurrentCalendar().query(LocalDateTime.MIN, LocalDateTime.MAX);
   }
@@ -0,0 +1,194 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TimeZone;
+
+import model.event.EventSeries;
+import model.event.IEventSeries;
+import model.event.IRecurringEventSeries;
+import model.event.ISingleEvent;
+import model.event.RecurringEventSeries;
+import model.event.SingleEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class verifying the correctness of the {@code RecurringEventSeries} class.
+ */
+public class RecurringEventSeriesTest {
+  private ISingleEvent coffee;
+  private IRecurringEventSeries series;
+
+  @Before
+  public void setup() {
+    coffee = new SingleEvent.Builder("Get Coffee",
+            LocalDateTime.of(2007, 5, 1, 10, 30),
+            LocalDateTime.of(2007, 5, 1, 12, 30))
+            .build();
+    series = new RecurringEventSeries(coffee, LocalDate.of(2007, 5, 31),
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY);
+  }
+
+  @Test
+  public void testSameEventsAsEventSeries() {
+    assertEquals(new EventSeries(coffee, LocalDate.of(2007, 5, 31),
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY).getEvents(), series.getEvents());
+    assertEquals(new EventSeries(coffee, 7, DayOfWeek.FRIDAY, DayOfWeek.SUNDAY).getEvents(),
+            new RecurringEventSeries(coffee, 7, DayOfWeek.FRIDAY, DayOfWeek.SUNDAY).getEvents());
+  }
+
+  @Test
+  public void testStartAndEnd() {
+    assertEquals("Get Coffee", series.getSubject());
+    assertEquals(LocalDateTime.of(2007, 5, 1, 10, 30), series.getStartDateTime());
+    assertEquals(LocalDateTime.of(2007, 5, 29, 12, 30), series.getEndDateTime());
+    assertEquals(9, series.getEvents().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEventSpanningDaysThrows() {
+    new RecurringEventSeries(new SingleEvent.Builder("Overnight",
+            LocalDateTime.of(2007, 5, 1, 22, 0),
+            LocalDateTime.of(2007, 5, 2, 2, 0)).build(), 3, DayOfWeek.TUESDAY);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoOccurrencesThrows() {
+    new RecurringEventSeries(coffee, 0, DayOfWeek.TUESDAY);
+  }
+
+  @Test
+  public void testGetEventsInRange() {
+    List<ISingleEvent> events = series.getEventsInRange(LocalDateTime.of(2007, 5, 7, 0, 0),
+            LocalDateTime.of(2007, 5, 14, 12, 0));
+    assertEquals(2, events.size());
+    assertEquals(LocalDateTime.of(2007, 5, 7, 10, 30), events.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2007, 5, 8, 10, 30), events.get(1).getStartDateTime());
+  }
+
+  @Test
+  public void testGetEventOnAndContainsTime() {
+    assertEquals(LocalDateTime.of(2007, 5, 15, 10, 30),
+            series.getEventOn(LocalDate.of(2007, 5, 15)).getStartDateTime());
+    assertNull(series.getEventOn(LocalDate.of(2007, 5, 16)));
+    assertNull(series.getEventOn(LocalDate.of(2007, 6, 4)));
+    assertTrue(series.containsTime(LocalDateTime.of(2007, 5, 15, 11, 0)));
+    assertFalse(series.containsTime(LocalDateTime.of(2007, 5, 15, 13, 0)));
+  }
+
+  @Test
+  public void testReplacedEventOverridesRule() {
+    ISingleEvent original = series.getEventOn(LocalDate.of(2007, 5, 8));
+    IEventSeries edited = series.createNewSeriesWithReplacedEvent(original,
+            original.createNewEventWithSubject("Get Tea"));
+
+    assertEquals("Get Tea", edited.getEvents().get(2).getSubject());
+    assertEquals("Get Coffee", edited.getEvents().get(3).getSubject());
+    assertFalse(edited.matchesWith(original));
+    assertEquals("Get Coffee", series.getEvents().get(2).getSubject());
+  }
+
+  @Test
+  public void testRemovedEventIsExcluded() {
+    ISingleEvent original = series.getEventOn(LocalDate.of(2007, 5, 1));
+    IEventSeries edited = series.createNewSeriesWithoutEvent(original);
+
+    assertEquals(8, edited.getEvents().size());
+    assertEquals(LocalDateTime.of(2007, 5, 7, 10, 30), edited.getStartDateTime());
+    assertNull(((IRecurringEventSeries) edited).getEventOn(LocalDate.of(2007, 5, 1)));
+  }
+
+  @Test
+  public void testRemovingLastEventGivesNull() {
+    IEventSeries single = new RecurringEventSeries(coffee, 1, DayOfWeek.TUESDAY);
+    assertNull(single.createNewSeriesWithoutEvent(single.getEvents().get(0)));
+  }
+
+  @Test
+  public void testEventsEditedFromDate() {
+    IEventSeries edited = series.createNewSeriesWithEventsEditedFrom(
+            LocalDateTime.of(2007, 5, 15, 10, 30),
+            event -> event.createNewEventWithSubject("Get Tea"));
+    List<ISingleEvent> events = edited.getEvents();
+
+    assertEquals(9, events.size());
+    assertEquals("Get Coffee", events.get(3).getSubject());
+    assertEquals("Get Tea", events.get(4).getSubject());
+    assertEquals("Get Tea", events.get(8).getSubject());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEditMovingEventToAnotherDayThrows() {
+    series.createNewSeriesWithEventsEditedFrom(LocalDateTime.of(2007, 5, 1, 10, 30),
+            event -> event.createNewEventWithNewStartDateAndEndDate(
+                    event.getStartDateTime().plusDays(1), event.getEndDateTime().plusDays(1)));
+  }
+
+  @Test
+  public void testNeverEndingSeries() {
+    IRecurringEventSeries forever = new RecurringEventSeries(coffee, DayOfWeek.TUESDAY);
+
+    assertTrue(forever.isUnbounded());
+    assertEquals(LocalDateTime.MAX, forever.getEndDateTime());
+    LocalDate farAway = LocalDate.of(2007, 5, 1).plusWeeks(52_000);
+    assertEquals(LocalDateTime.of(farAway, coffee.getStartDateTime().toLocalTime()),
+            forever.getEventOn(farAway).getStartDateTime());
+    assertEquals(4, forever.getEventsInRange(farAway.atStartOfDay(),
+            farAway.plusDays(27).atStartOfDay()).size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNeverEndingSeriesCannotListEvents() {
+    new RecurringEventSeries(coffee, DayOfWeek.TUESDAY).getEvents();
+  }
+
+  @Test
+  public void testSplitNeverEndingSeries() {
+    IRecurringEventSeries forever = new RecurringEventSeries(coffee, DayOfWeek.TUESDAY);
+    IRecurringEventSeries before = forever.createNewSeriesBefore(LocalDate.of(2007, 5, 15));
+    IRecurringEventSeries after = forever.createNewSeriesFrom(LocalDate.of(2007, 5, 15));
+
+    assertEquals(2, before.getEvents().size());
+    assertEquals(LocalDateTime.of(2007, 5, 15, 10, 30), after.getStartDateTime());
+    assertTrue(after.isUnbounded());
+    assertNull(forever.createNewSeriesBefore(LocalDate.of(2007, 5, 1)));
+  }
+
+  @Test
+  public void testSharesEventWith() {
+    IRecurringEventSeries forever = new RecurringEventSeries(coffee, DayOfWeek.TUESDAY);
+    IRecurringEventSeries later = new RecurringEventSeries(coffee
+            .createNewEventWithNewStartDateAndEndDate(LocalDateTime.of(2107, 5, 3, 10, 30),
+                    LocalDateTime.of(2107, 5, 3, 12, 30)), DayOfWeek.TUESDAY);
+    IRecurringEventSeries otherDays = new RecurringEventSeries(coffee, DayOfWeek.WEDNESDAY);
+
+    assertTrue(forever.sharesEventWith(later));
+    assertTrue(series.sharesEventWith(forever));
+    assertFalse(forever.sharesEventWith(otherDays));
+    assertFalse(forever.sharesEventWith((IRecurringEventSeries) forever
+            .createNewSeriesWithEventsEditedFrom(coffee.getStartDateTime(),
+                    event -> event.createNewEventWithSubject("Get Tea"))));
+  }
+
+  @Test
+  public void testNeverEndingSeriesTimeZoneMovesRule() {
+    IRecurringEventSeries forever = new RecurringEventSeries(coffee
+            .createNewEventWithNewStartDateAndEndDate(LocalDateTime.of(2007, 5, 1, 20, 0),
+                    LocalDateTime.of(2007, 5, 1, 21, 0)), DayOfWeek.TUESDAY);
+    IRecurringEventSeries converted = (IRecurringEventSeries) forever.setTimeZone(
+            TimeZone.getTimeZone("America/New_York"), TimeZone.getTimeZone("Asia/Tokyo"));
+
+    assertTrue(converted.isUnbounded());
+    assertEquals(LocalDateTime.of(2007, 5, 2, 9, 0), converted.getStartDateTime());
+    assertEquals(DayOfWeek.WEDNESDAY, converted.getOccurringDays()[0]);
+    assertEquals(LocalDateTime.of(2007, 5, 9, 9, 0),
+            converted.getEventOn(LocalDate.of(2007, 5, 9)).getStartDateTime());
+  }
+}